@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+/**
+ * A {@link ReceiverCreditPolicy} that sizes the credit window from the rate at which the application
+ * consumes deliveries and the estimated round trip time of a credit grant.
+ * <p>
+ * The target window is twice the number of deliveries consumed in one round trip, bounded by the
+ * configured minimum and maximum credit, and optionally reduced so that the queued deliveries stay
+ * within a byte budget based on their average size.  Credit is only granted once the outstanding
+ * credit and queued deliveries have fallen a quarter of the target below it, so that Flow frames
+ * are sent in batches rather than for each consumed delivery.
+ * <p>
+ * While a link never runs out of credit no round trip estimate is available and the window stays
+ * at the minimum, which is then large enough to keep the consumer busy.
+ */
+public final class AdaptiveCreditPolicy implements ReceiverCreditPolicy {
+
+    private static final double RATE_SMOOTHING = 0.25;
+
+    private final int minCredit;
+    private final int maxCredit;
+    private final long maxQueuedBytes;
+
+    private long lastCheckTime;
+    private long lastConsumed;
+    private double consumptionRate;
+    private long averageDeliverySize;
+    private int target;
+    private int threshold;
+
+    /**
+     * Creates a new policy whose credit window varies between the given bounds.
+     *
+     * @param minCredit
+     * 		the smallest credit window, must be greater than zero.
+     * @param maxCredit
+     * 		the largest credit window, must not be less than the minimum.
+     */
+    public AdaptiveCreditPolicy(int minCredit, int maxCredit) {
+        this(minCredit, maxCredit, 0);
+    }
+
+    /**
+     * Creates a new policy whose credit window varies between the given bounds and is reduced when
+     * the queued deliveries would otherwise exceed the given number of bytes.
+     *
+     * @param minCredit
+     * 		the smallest credit window, must be greater than zero.
+     * @param maxCredit
+     * 		the largest credit window, must not be less than the minimum.
+     * @param maxQueuedBytes
+     * 		the byte budget for queued deliveries or zero for no byte budget.
+     */
+    public AdaptiveCreditPolicy(int minCredit, int maxCredit, long maxQueuedBytes) {
+        if (minCredit <= 0) {
+            throw new IllegalArgumentException("The minimum credit must be > 0");
+        }
+        if (maxCredit < minCredit) {
+            throw new IllegalArgumentException("The maximum credit cannot be less than the minimum credit");
+        }
+        if (maxQueuedBytes < 0) {
+            throw new IllegalArgumentException("The maximum queued bytes cannot be negative");
+        }
+
+        this.minCredit = minCredit;
+        this.maxCredit = maxCredit;
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.target = minCredit;
+        this.threshold = thresholdFor(minCredit);
+    }
+
+    /**
+     * @return the smallest credit window this policy maintains.
+     */
+    public int minCredit() {
+        return minCredit;
+    }
+
+    /**
+     * @return the largest credit window this policy maintains.
+     */
+    public int maxCredit() {
+        return maxCredit;
+    }
+
+    /**
+     * @return the byte budget for queued deliveries or zero if there is none.
+     */
+    public long maxQueuedBytes() {
+        return maxQueuedBytes;
+    }
+
+    /**
+     * @return the credit window computed by the most recent check.
+     */
+    public int currentTarget() {
+        return target;
+    }
+
+    @Override
+    public int initialCredit() {
+        return minCredit;
+    }
+
+    @Override
+    public int creditToGrant(ReceiverCreditState state) {
+        updateConsumptionRate(state);
+
+        if (state.queuedDeliveries() > 0) {
+            averageDeliverySize = state.queuedBytes() / state.queuedDeliveries();
+        }
+
+        target = computeTarget(state.roundTripTime());
+        threshold = thresholdFor(target);
+
+        final int outstanding = state.credit() + state.queuedDeliveries();
+        final int deficit = target - outstanding;
+
+        return deficit >= threshold ? deficit : 0;
+    }
+
+    @Override
+    public int consumedBeforeNextCheck(ReceiverCreditState state) {
+        final int outstanding = state.credit() + state.queuedDeliveries();
+        return Math.max(1, outstanding - (target - threshold));
+    }
+
+    private void updateConsumptionRate(ReceiverCreditState state) {
+        final long now = System.nanoTime();
+        final long consumed = state.consumedDeliveries();
+
+        if (lastCheckTime != 0) {
+            final long elapsed = now - lastCheckTime;
+            if (elapsed > 0) {
+                final double sample = (double) (consumed - lastConsumed) / elapsed;
+                consumptionRate = consumptionRate == 0 ? sample : consumptionRate + (sample - consumptionRate) * RATE_SMOOTHING;
+            }
+        }
+
+        lastCheckTime = now;
+        lastConsumed = consumed;
+    }
+
+    private int computeTarget(long roundTripTime) {
+        long window = (long) Math.ceil(2 * consumptionRate * roundTripTime);
+
+        if (maxQueuedBytes > 0 && averageDeliverySize > 0) {
+            window = Math.min(window, maxQueuedBytes / averageDeliverySize);
+        }
+
+        return (int) Math.max(minCredit, Math.min(maxCredit, window));
+    }
+
+    private static int thresholdFor(int target) {
+        return Math.max(1, target / 4);
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveCreditPolicy { min=" + minCredit + ", max=" + maxCredit + ", target=" + target + " }";
+    }
+}
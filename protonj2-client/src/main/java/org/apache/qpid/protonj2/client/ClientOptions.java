@@ -21,8 +21,14 @@ package org.apache.qpid.protonj2.client;
  */
 public class ClientOptions implements Cloneable {
 
+    /**
+     * Default number of shared IO threads, zero indicates that each connection should use its own IO thread.
+     */
+    public static final int DEFAULT_SHARED_IO_THREADS = 0;
+
     private String id;
     private String futureType;
+    private int sharedIOThreads = DEFAULT_SHARED_IO_THREADS;
 
     /**
      * Create a new ClientOptions instance with defaults set for all options.
@@ -83,6 +89,35 @@ public class ClientOptions implements Cloneable {
         return this;
     }
 
+    /**
+     * @return the number of IO threads shared by all connections created from the client, or zero if not shared.
+     */
+    public int sharedIOThreads() {
+        return sharedIOThreads;
+    }
+
+    /**
+     * Configures the number of IO threads that are shared amongst all the connections that are created
+     * from the client.  By default each connection creates its own IO thread and its own thread for
+     * dispatching connection events, when the number of shared IO threads is greater than zero the client
+     * instead creates a fixed pool of IO threads and event dispatch threads and each connection is bound
+     * to one of them, which allows an application to create many connections without an equal increase
+     * in the number of threads in use.
+     *
+     * @param sharedIOThreads
+     *      The number of IO threads that all client connections will share, or zero to disable sharing.
+     *
+     * @return this options object for chaining.
+     */
+    public ClientOptions sharedIOThreads(int sharedIOThreads) {
+        if (sharedIOThreads < 0) {
+            throw new IllegalArgumentException("The number of shared IO threads cannot be negative");
+        }
+
+        this.sharedIOThreads = sharedIOThreads;
+        return this;
+    }
+
     @Override
     public ClientOptions clone() {
         return copyInto(new ClientOptions());
@@ -100,6 +135,7 @@ public class ClientOptions implements Cloneable {
     protected ClientOptions copyInto(ClientOptions other) {
         other.id(id);
         other.futureType(futureType);
+        other.sharedIOThreads(sharedIOThreads);
 
         return other;
     }
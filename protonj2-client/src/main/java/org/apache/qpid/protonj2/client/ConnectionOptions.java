@@ -51,6 +51,7 @@ public class ConnectionOptions implements Cloneable {
     public static final long DEFAULT_DRAIN_TIMEOUT = 60000;
     public static final int DEFAULT_CHANNEL_MAX = 65535;
     public static final int DEFAULT_MAX_FRAME_SIZE = 65536;
+    public static final int DEFAULT_ZERO_COPY_THRESHOLD = 0;
     public static final NextReceiverPolicy DEFAULT_NEXT_RECEIVER_POLICY = NextReceiverPolicy.ROUND_ROBIN;
 
     private long sendTimeout = DEFAULT_SEND_TIMEOUT;
@@ -69,6 +70,7 @@ public class ConnectionOptions implements Cloneable {
     private String password;
     private int channelMax = DEFAULT_CHANNEL_MAX;
     private int maxFrameSize = DEFAULT_MAX_FRAME_SIZE;
+    private int zeroCopyThreshold = DEFAULT_ZERO_COPY_THRESHOLD;
     private String[] offeredCapabilities;
     private String[] desiredCapabilities = DEFAULT_DESIRED_CAPABILITIES_ARRAY;
     private Map<String, Object> properties;
@@ -123,6 +125,7 @@ public class ConnectionOptions implements Cloneable {
         other.drainTimeout(drainTimeout);
         other.channelMax(channelMax);
         other.maxFrameSize(maxFrameSize);
+        other.zeroCopyThreshold(zeroCopyThreshold);
         other.user(user);
         other.password(password);
         other.traceFrames(traceFrames);
@@ -355,6 +358,31 @@ public class ConnectionOptions implements Cloneable {
         return this;
     }
 
+    /**
+     * @return the size in bytes at or above which message body bytes are sent by reference instead of being copied.
+     */
+    public int zeroCopyThreshold() {
+        return zeroCopyThreshold;
+    }
+
+    /**
+     * Sets the size in bytes at or above which the binary body of a message sent from this connection
+     * is written by reference instead of being copied into the encoded message and then again into
+     * each outgoing transfer frame.  The body bytes of a message sent this way are written directly
+     * from the message and must not be modified once the message has been sent as they may still be
+     * queued for write in the IO layer.  A value of zero (the default) disables this and message body
+     * bytes are always copied.
+     *
+     * @param zeroCopyThreshold
+     *      the body size in bytes at which message body bytes are sent by reference or zero to disable.
+     *
+     * @return this {@link ConnectionOptions} instance.
+     */
+    public ConnectionOptions zeroCopyThreshold(int zeroCopyThreshold) {
+        this.zeroCopyThreshold = zeroCopyThreshold;
+        return this;
+    }
+
     /**
      * @return the configured idle timeout value that will be sent to the remote.
      */
@@ -0,0 +1,57 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+/**
+ * Strategy that decides how much link credit a {@link Receiver} grants to the remote.
+ * <p>
+ * Each {@link Receiver} obtains its own policy instance from the supplier configured with
+ * {@link ReceiverOptions#creditPolicy(java.util.function.Supplier)}.  All policy methods are
+ * called from the connection IO thread, so an instance does not need to be thread safe, and
+ * they must not block.
+ */
+public interface ReceiverCreditPolicy {
+
+    /**
+     * @return the credit granted to the remote when the {@link Receiver} is created.
+     */
+    int initialCredit();
+
+    /**
+     * Called when the {@link Receiver} checks whether its credit needs to be replenished.  A policy
+     * should only return a non-zero value when the change is large enough to justify a Flow frame.
+     *
+     * @param state
+     * 		a view of the current credit and prefetch state of the {@link Receiver}.
+     *
+     * @return the additional credit to grant to the remote or zero to grant none.
+     */
+    int creditToGrant(ReceiverCreditState state);
+
+    /**
+     * Called after each {@link #creditToGrant(ReceiverCreditState)} check to learn how many deliveries
+     * the application may consume before the next check can produce a grant.  The {@link Receiver}
+     * uses this to avoid checking its credit from the IO thread for each consumed delivery.
+     *
+     * @param state
+     * 		a view of the current credit and prefetch state of the {@link Receiver}.
+     *
+     * @return the number of deliveries consumed before credit should be checked again.
+     */
+    int consumedBeforeNextCheck(ReceiverCreditState state);
+
+}
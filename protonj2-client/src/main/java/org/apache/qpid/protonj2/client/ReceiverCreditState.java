@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+/**
+ * A view of the credit and prefetch state of a {@link Receiver} provided to a {@link ReceiverCreditPolicy}.
+ */
+public interface ReceiverCreditState {
+
+    /**
+     * @return the credit currently outstanding on the link.
+     */
+    int credit();
+
+    /**
+     * @return the number of deliveries that have arrived but have not yet been consumed by the application.
+     */
+    int queuedDeliveries();
+
+    /**
+     * @return the payload bytes of the deliveries that have arrived but have not yet been consumed.
+     */
+    long queuedBytes();
+
+    /**
+     * @return the total number of deliveries the application has consumed from the {@link Receiver}.
+     */
+    long consumedDeliveries();
+
+    /**
+     * Returns a smoothed estimate of the time between the {@link Receiver} granting credit to a starved
+     * link and the first delivery arriving.  The estimate includes any time the remote spent waiting
+     * for a message to become available and so is an upper bound on the network round trip.
+     *
+     * @return the estimated round trip time in nanoseconds or zero if no estimate is available yet.
+     */
+    long roundTripTime();
+
+}
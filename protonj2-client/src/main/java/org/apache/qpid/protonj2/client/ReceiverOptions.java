@@ -17,15 +17,25 @@
 package org.apache.qpid.protonj2.client;
 
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Options that control the behavior of the {@link Receiver} created from them.
  */
 public class ReceiverOptions extends LinkOptions<ReceiverOptions> implements Cloneable {
 
+    /**
+     * The default delivery queue type used by {@link Receiver} instances.
+     */
+    public static final String DEFAULT_DELIVERY_QUEUE_TYPE = "fifo";
+
     private long drainTimeout = ConnectionOptions.DEFAULT_DRAIN_TIMEOUT;
     private boolean autoAccept = true;
     private int creditWindow = 10;
+    private String deliveryQueueType = DEFAULT_DELIVERY_QUEUE_TYPE;
+    private boolean coalesceDispositions;
+    private Supplier<? extends ReceiverCreditPolicy> creditPolicy;
+    private long maxPrefetchBytes;
 
     /**
      * Create a new ReceiverOptions instance with defaults set for all options.
@@ -92,6 +102,115 @@ public class ReceiverOptions extends LinkOptions<ReceiverOptions> implements Clo
         return this;
     }
 
+    /**
+     * @return the type of queue the {@link Receiver} uses to hold deliveries until they are received.
+     */
+    public String deliveryQueueType() {
+        return deliveryQueueType;
+    }
+
+    /**
+     * Sets the type of queue the {@link Receiver} uses to hold incoming deliveries until the
+     * application receives them.  The default "fifo" queue is lock based and safe for any number
+     * of threads receiving concurrently.  The "spsc" queue is lock free and supports only a single
+     * thread calling the receive methods at any one time, while the "spmc" queue is lock free and
+     * supports any number of threads receiving concurrently.  The lock free queues are sized from
+     * the configured credit window.
+     *
+     * @param deliveryQueueType
+     *      The name of the delivery queue type to use, one of "fifo", "spsc" or "spmc".
+     *
+     * @return this {@link ReceiverOptions} instance.
+     *
+     * @throws IllegalArgumentException if the value given is not one of the known delivery queue types.
+     */
+    public ReceiverOptions deliveryQueueType(String deliveryQueueType) {
+        if (!"fifo".equalsIgnoreCase(deliveryQueueType) &&
+            !"spsc".equalsIgnoreCase(deliveryQueueType) &&
+            !"spmc".equalsIgnoreCase(deliveryQueueType)) {
+            throw new IllegalArgumentException("Unknown delivery queue type: " + deliveryQueueType);
+        }
+
+        this.deliveryQueueType = deliveryQueueType;
+        return this;
+    }
+
+    /**
+     * @return true if the {@link Receiver} coalesces the dispositions it sends for consecutive deliveries.
+     */
+    public boolean coalesceDispositions() {
+        return coalesceDispositions;
+    }
+
+    /**
+     * Controls if the created {@link Receiver} merges the dispositions of deliveries with consecutive
+     * delivery ids that are given the same outcome into a single ranged disposition frame (default is
+     * <code>false</code>).  A receiver that accepts deliveries in the order they arrive then acknowledges
+     * them in batches, each pending range is sent once it reaches the engine limit or age or before the
+     * next frame the connection writes.
+     *
+     * @param coalesceDispositions
+     *      Should the dispositions sent by the {@link Receiver} be coalesced.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions coalesceDispositions(boolean coalesceDispositions) {
+        this.coalesceDispositions = coalesceDispositions;
+        return this;
+    }
+
+    /**
+     * @return the supplier of the {@link ReceiverCreditPolicy} used by created {@link Receiver} instances or null if not set.
+     */
+    public Supplier<? extends ReceiverCreditPolicy> creditPolicy() {
+        return creditPolicy;
+    }
+
+    /**
+     * Configures a supplier of the {@link ReceiverCreditPolicy} that manages the credit of each created
+     * {@link Receiver}, the supplier is called once for each {@link Receiver} so that every receiver has
+     * its own policy state.  When set the policy takes the place of the fixed credit window configured
+     * with {@link #creditWindow(int)} and credit cannot be added manually.
+     *
+     * @param creditPolicy
+     *      The supplier of credit policy instances or null to use the credit window.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions creditPolicy(Supplier<? extends ReceiverCreditPolicy> creditPolicy) {
+        this.creditPolicy = creditPolicy;
+        return this;
+    }
+
+    /**
+     * @return the limit on the payload bytes of prefetched deliveries or zero if there is no limit.
+     */
+    public long maxPrefetchBytes() {
+        return maxPrefetchBytes;
+    }
+
+    /**
+     * Configures a limit on the payload bytes of the deliveries a {@link Receiver} holds that have
+     * arrived but not yet been consumed by the application (default is zero which applies no limit).
+     * While the prefetched bytes are at or above this limit the {@link Receiver} withholds any further
+     * credit, whether from the credit window or a credit policy, so that a few large messages cannot
+     * cause the whole credit window worth of payload to be buffered.  Credit that was already granted
+     * is not revoked so the limit can be exceeded by the deliveries that credit allows.
+     * <p>
+     * This limit complements the session incoming capacity which bounds the bytes of deliveries that
+     * are still being received, as the bytes of a completed delivery no longer count against the
+     * session once it has been handed to the {@link Receiver}.
+     *
+     * @param maxPrefetchBytes
+     *      The limit on prefetched payload bytes or zero for no limit.
+     *
+     * @return this {@link ReceiverOptions} instance.
+     */
+    public ReceiverOptions maxPrefetchBytes(long maxPrefetchBytes) {
+        this.maxPrefetchBytes = maxPrefetchBytes;
+        return this;
+    }
+
     /**
      * @return the configured drain timeout value that will use to fail a pending drain request.
      */
@@ -148,6 +267,10 @@ public class ReceiverOptions extends LinkOptions<ReceiverOptions> implements Clo
         other.autoAccept(autoAccept);
         other.creditWindow(creditWindow);
         other.drainTimeout(drainTimeout);
+        other.deliveryQueueType(deliveryQueueType);
+        other.coalesceDispositions(coalesceDispositions);
+        other.creditPolicy(creditPolicy);
+        other.maxPrefetchBytes(maxPrefetchBytes);
 
         return other;
     }
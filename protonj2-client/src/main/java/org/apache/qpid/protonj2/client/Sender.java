@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.client;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -105,4 +107,55 @@ public interface Sender extends Link<Sender> {
      */
     Tracker trySend(Message<?> message, Map<String, Object> deliveryAnnotations) throws ClientException;
 
+    /**
+     * Send the given batch of messages, blocking until each message has been sent if the link
+     * has not been granted enough credit to send all of them immediately.
+     * <p>
+     * The messages are encoded by the calling thread and are then handed to the connection's IO
+     * thread as a single unit of work which writes all the resulting transfers before flushing
+     * the connection output, which for high rate producers avoids the cost of a thread hop and
+     * a flush of the IO layer for every message sent.
+     * <p>
+     * Upon successfully sending the messages the methods returns a {@link List} of {@link Tracker}
+     * instances, in the same order as the messages were provided, that can be used to await
+     * settlement of each message from the remote.  If the sender has been configured to send the
+     * messages pre-settled then the resulting Trackers will immediately report the messages as
+     * remotely settlement and accepted.
+     *
+     * @param messages
+     *      the batch of {@link Message} instances to send.
+     *
+     * @return a {@link List} containing the {@link Tracker} for each of the message deliveries.
+     *
+     * @throws ClientException if an error occurs while initiating the send operation.
+     */
+    List<Tracker> send(Collection<? extends Message<?>> messages) throws ClientException;
+
+    /**
+     * Send the given batch of messages, blocking until each message has been sent if the link
+     * has not been granted enough credit to send all of them immediately. The provided delivery
+     * annotations are encoded along with each of the messages in the batch.
+     * <p>
+     * The messages are encoded by the calling thread and are then handed to the connection's IO
+     * thread as a single unit of work which writes all the resulting transfers before flushing
+     * the connection output, which for high rate producers avoids the cost of a thread hop and
+     * a flush of the IO layer for every message sent.
+     * <p>
+     * Upon successfully sending the messages the methods returns a {@link List} of {@link Tracker}
+     * instances, in the same order as the messages were provided, that can be used to await
+     * settlement of each message from the remote.  If the sender has been configured to send the
+     * messages pre-settled then the resulting Trackers will immediately report the messages as
+     * remotely settlement and accepted.
+     *
+     * @param messages
+     *      the batch of {@link Message} instances to send.
+     * @param deliveryAnnotations
+     *      the delivery annotations that should be included in each sent {@link Message}.
+     *
+     * @return a {@link List} containing the {@link Tracker} for each of the message deliveries.
+     *
+     * @throws ClientException if an error occurs while initiating the send operation.
+     */
+    List<Tracker> send(Collection<? extends Message<?>> messages, Map<String, Object> deliveryAnnotations) throws ClientException;
+
 }
@@ -27,7 +27,13 @@ import org.apache.qpid.protonj2.engine.DeliveryTagGenerator;
  */
 public class SenderOptions extends LinkOptions<SenderOptions> implements Cloneable {
 
+    /**
+     * The default buffer allocator type used by {@link Sender} instances when encoding messages.
+     */
+    public static final String DEFAULT_BUFFER_ALLOCATOR_TYPE = "heap";
+
     private long sendTimeout = ConnectionOptions.DEFAULT_SEND_TIMEOUT;
+    private String bufferAllocatorType = DEFAULT_BUFFER_ALLOCATOR_TYPE;
 
     private Supplier<DeliveryTagGenerator> tagGeneratorSupplier;
 
@@ -89,6 +95,37 @@ public class SenderOptions extends LinkOptions<SenderOptions> implements Cloneab
         return this;
     }
 
+    /**
+     * @return the type of buffer allocator the {@link Sender} uses when encoding messages for transmission.
+     */
+    public String bufferAllocatorType() {
+        return bufferAllocatorType;
+    }
+
+    /**
+     * Sets the type of buffer allocator the {@link Sender} uses to obtain the buffer each message is
+     * encoded into before it is sent.  The default "heap" allocator creates a new heap buffer for each
+     * message which is left to the garbage collector once the message has been written.  The "pooled"
+     * allocator takes the buffers from the pool of the Netty version in use by the client transport and
+     * returns them to that pool as soon as the encoded bytes have been written into the transfer frames,
+     * which reduces allocation and GC pressure when sending at high rates.
+     *
+     * @param bufferAllocatorType
+     *      The name of the buffer allocator type to use, one of "heap" or "pooled".
+     *
+     * @return this {@link SenderOptions} instance.
+     *
+     * @throws IllegalArgumentException if the value given is not one of the known allocator types.
+     */
+    public SenderOptions bufferAllocatorType(String bufferAllocatorType) {
+        if (!"heap".equalsIgnoreCase(bufferAllocatorType) && !"pooled".equalsIgnoreCase(bufferAllocatorType)) {
+            throw new IllegalArgumentException("Unknown buffer allocator type: " + bufferAllocatorType);
+        }
+
+        this.bufferAllocatorType = bufferAllocatorType;
+        return this;
+    }
+
     @Override
     public SenderOptions clone() {
         return copyInto(new SenderOptions());
@@ -108,6 +145,7 @@ public class SenderOptions extends LinkOptions<SenderOptions> implements Cloneab
 
         other.sendTimeout(sendTimeout);
         other.deliveryTagGeneratorSupplier(tagGeneratorSupplier);
+        other.bufferAllocatorType(bufferAllocatorType);
 
         return other;
     }
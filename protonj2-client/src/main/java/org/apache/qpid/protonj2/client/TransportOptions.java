@@ -41,6 +41,9 @@ public class TransportOptions implements Cloneable {
     public static final int DEFAULT_LOCAL_PORT = 0;
     public static final boolean DEFAULT_USE_WEBSOCKETS = false;
     public static final int DEFAULT_WEBSOCKET_MAX_FRAME_SIZE = 65535;
+    public static final boolean DEFAULT_WRITE_BATCHING = false;
+    public static final int DEFAULT_WRITE_BATCHING_MAX_BYTES = 64 * 1024;
+    public static final int DEFAULT_WRITE_BATCHING_MAX_FRAMES = 256;
     private static final String[] DEFAULT_NATIVEIO_PREFERENCES_ARRAY = { "EPOLL", "KQUEUE" };
     public static final List<String> DEFAULT_NATIVEIO_PREFERENCES =
         Collections.unmodifiableList(Arrays.asList( DEFAULT_NATIVEIO_PREFERENCES_ARRAY ));
@@ -62,6 +65,10 @@ public class TransportOptions implements Cloneable {
     private boolean useWebSockets = DEFAULT_USE_WEBSOCKETS;
     private String webSocketPath;
     private int webSocketMaxFrameSize = DEFAULT_WEBSOCKET_MAX_FRAME_SIZE;
+    private boolean writeBatching = DEFAULT_WRITE_BATCHING;
+    private int writeBatchingMaxBytes = DEFAULT_WRITE_BATCHING_MAX_BYTES;
+    private int writeBatchingMaxFrames = DEFAULT_WRITE_BATCHING_MAX_FRAMES;
+    private WriteBatchingStatistics writeBatchingStatistics;
 
     private final Map<String, String> webSocketHeaders = new HashMap<>();
 
@@ -454,6 +461,106 @@ public class TransportOptions implements Cloneable {
         return this;
     }
 
+    /**
+     * @return true if frames written during a single IO task are batched into one flush.
+     */
+    public boolean writeBatching() {
+        return writeBatching;
+    }
+
+    /**
+     * Configures the transport to batch the frames that are written during a single unit of work on
+     * the connection IO thread and flush them once when that work completes instead of flushing each
+     * frame as it is written.  A flush is also issued when the batched frames exceed the configured
+     * byte or frame count limits.  While enabled the connection engine also encodes successive frames
+     * into shared output buffers of up to the configured batch byte limit.
+     *
+     * @param writeBatching
+     * 		should frames written during a single IO task be batched into a single flush.
+     *
+     * @return this {@link TransportOptions} instance.
+     */
+    public TransportOptions writeBatching(boolean writeBatching) {
+        this.writeBatching = writeBatching;
+        return this;
+    }
+
+    /**
+     * @return the number of batched bytes that triggers a flush when write batching is enabled.
+     */
+    public int writeBatchingMaxBytes() {
+        return writeBatchingMaxBytes;
+    }
+
+    /**
+     * Sets the number of bytes that can be written without a flush when write batching is enabled,
+     * the value must be greater than zero or an {@link IllegalArgumentException} will be thrown.
+     *
+     * @param writeBatchingMaxBytes
+     * 		the number of batched bytes that triggers a flush.
+     *
+     * @return this {@link TransportOptions} instance.
+     *
+     * @throws IllegalArgumentException if the value given is not in the valid range.
+     */
+    public TransportOptions writeBatchingMaxBytes(int writeBatchingMaxBytes) {
+        if (writeBatchingMaxBytes <= 0) {
+            throw new IllegalArgumentException("The write batching max bytes must be > 0");
+        }
+
+        this.writeBatchingMaxBytes = writeBatchingMaxBytes;
+        return this;
+    }
+
+    /**
+     * @return the number of batched frames that triggers a flush when write batching is enabled.
+     */
+    public int writeBatchingMaxFrames() {
+        return writeBatchingMaxFrames;
+    }
+
+    /**
+     * Sets the number of frames that can be written without a flush when write batching is enabled,
+     * the value must be greater than zero or an {@link IllegalArgumentException} will be thrown.
+     *
+     * @param writeBatchingMaxFrames
+     * 		the number of batched frames that triggers a flush.
+     *
+     * @return this {@link TransportOptions} instance.
+     *
+     * @throws IllegalArgumentException if the value given is not in the valid range.
+     */
+    public TransportOptions writeBatchingMaxFrames(int writeBatchingMaxFrames) {
+        if (writeBatchingMaxFrames <= 0) {
+            throw new IllegalArgumentException("The write batching max frames must be > 0");
+        }
+
+        this.writeBatchingMaxFrames = writeBatchingMaxFrames;
+        return this;
+    }
+
+    /**
+     * @return the {@link WriteBatchingStatistics} that connections update on each flush or null if not set.
+     */
+    public WriteBatchingStatistics writeBatchingStatistics() {
+        return writeBatchingStatistics;
+    }
+
+    /**
+     * Provides a {@link WriteBatchingStatistics} instance that connections created with these options
+     * update each time written frames are flushed.  The instance is shared with any copy of these
+     * options so one statistics instance can aggregate the counts of several connections.
+     *
+     * @param writeBatchingStatistics
+     * 		the statistics instance to update or null to disable collection.
+     *
+     * @return this {@link TransportOptions} instance.
+     */
+    public TransportOptions writeBatchingStatistics(WriteBatchingStatistics writeBatchingStatistics) {
+        this.writeBatchingStatistics = writeBatchingStatistics;
+        return this;
+    }
+
     /**
      * Copy all configuration into the given {@link TransportOptions} from this instance.
      *
@@ -481,6 +588,10 @@ public class TransportOptions implements Cloneable {
         other.webSocketPath(webSocketPath());
         other.webSocketHeaders().putAll(webSocketHeaders);
         other.webSocketMaxFrameSize(webSocketMaxFrameSize());
+        other.writeBatching(writeBatching());
+        other.writeBatchingMaxBytes(writeBatchingMaxBytes());
+        other.writeBatchingMaxFrames(writeBatchingMaxFrames());
+        other.writeBatchingStatistics(writeBatchingStatistics());
 
         return other;
     }
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for the frames written by client connections and the flushes that pushed those frames
+ * to the network, used to observe how many frames each flush carries when write batching is enabled.
+ * <p>
+ * An instance is provided through {@link TransportOptions#writeBatchingStatistics(WriteBatchingStatistics)}
+ * and is safe to read from any thread while connections are updating it.
+ */
+public final class WriteBatchingStatistics {
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    /**
+     * @return the number of flushes that carried at least one written frame.
+     */
+    public long flushCount() {
+        return flushes.sum();
+    }
+
+    /**
+     * @return the number of frames that have been written and flushed.
+     */
+    public long frameCount() {
+        return frames.sum();
+    }
+
+    /**
+     * @return the number of bytes that have been written and flushed.
+     */
+    public long byteCount() {
+        return bytes.sum();
+    }
+
+    /**
+     * @return the average number of frames carried by each flush or zero if nothing has been flushed.
+     */
+    public double averageFramesPerFlush() {
+        final long flushCount = flushes.sum();
+        return flushCount == 0 ? 0 : (double) frames.sum() / flushCount;
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void reset() {
+        flushes.reset();
+        frames.reset();
+        bytes.reset();
+    }
+
+    /**
+     * Records a flush of the given number of frames and bytes.
+     *
+     * @param frameCount
+     * 		the number of frames carried by the flush.
+     * @param byteCount
+     * 		the number of bytes carried by the flush.
+     */
+    public void recordFlush(int frameCount, long byteCount) {
+        flushes.increment();
+        frames.add(frameCount);
+        bytes.add(byteCount);
+    }
+
+    @Override
+    public String toString() {
+        return "WriteBatchingStatistics { flushes=" + flushCount() + ", frames=" + frameCount() + ", bytes=" + byteCount() + " }";
+    }
+}
@@ -22,10 +22,9 @@ import java.security.Principal;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
@@ -52,6 +51,8 @@ import org.apache.qpid.protonj2.client.StreamReceiverOptions;
 import org.apache.qpid.protonj2.client.StreamSender;
 import org.apache.qpid.protonj2.client.StreamSenderOptions;
 import org.apache.qpid.protonj2.client.Tracker;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.WriteBatchingStatistics;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionSecurityException;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionSecuritySaslException;
@@ -65,10 +66,11 @@ import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
 import org.apache.qpid.protonj2.client.transport.IOContext;
 import org.apache.qpid.protonj2.client.transport.Transport;
 import org.apache.qpid.protonj2.client.util.ReconnectLocationPool;
-import org.apache.qpid.protonj2.client.util.TrackableThreadFactory;
 import org.apache.qpid.protonj2.engine.Engine;
 import org.apache.qpid.protonj2.engine.EngineFactory;
 import org.apache.qpid.protonj2.engine.Scheduler;
+import org.apache.qpid.protonj2.engine.exceptions.EngineStateException;
+import org.apache.qpid.protonj2.engine.impl.ProtonFrameEncodingHandler;
 import org.apache.qpid.protonj2.engine.sasl.client.SaslAuthenticator;
 import org.apache.qpid.protonj2.engine.sasl.client.SaslCredentialsProvider;
 import org.apache.qpid.protonj2.engine.sasl.client.SaslMechanismSelector;
@@ -101,7 +103,11 @@ public final class ClientConnection implements Connection {
     private final IOContext ioContext;
     private final String connectionId;
     private final Scheduler executor;
-    private final ThreadPoolExecutor notifications;
+    private final ExecutorService notifications;
+    private final boolean writeBatching;
+    private final WriteBatchingStatistics writeStatistics;
+    private final int writeBatchingMaxBytes;
+    private final int writeBatchingMaxFrames;
 
     private Engine engine;
     private org.apache.qpid.protonj2.engine.Connection protonConnection;
@@ -109,6 +115,9 @@ public final class ClientConnection implements Connection {
     private ClientSender connectionSender;
     private Transport transport;
     private boolean autoFlush = true;
+    private int writeBatchDepth;
+    private int unflushedFrames;
+    private long unflushedBytes;
     private ClientFuture<Connection> openFuture;
     private ClientFuture<Connection> closeFuture;
     private volatile int closed;
@@ -138,15 +147,25 @@ public final class ClientConnection implements Connection {
         this.openFuture = futureFactory.createFuture();
         this.closeFuture = futureFactory.createFuture();
         this.sessionBuilder = new ClientSessionBuilder(this);
-        this.ioContext = IOContext.create(options.transportOptions(), options.sslOptions(),
-                                          "ClientConnection :(" + connectionId + "): I/O Thread");
-        this.executor = ioContext.ioScheduler();
+        this.ioContext = client.createIOContext(options, connectionId);
+
+        final TransportOptions transportOptions = options.transportOptions();
+
+        this.writeBatching = transportOptions.writeBatching();
+        this.writeStatistics = transportOptions.writeBatchingStatistics();
+        this.writeBatchingMaxBytes = transportOptions.writeBatchingMaxBytes();
+        this.writeBatchingMaxFrames = transportOptions.writeBatchingMaxFrames();
+
+        if (writeBatching) {
+            this.executor = new ClientWriteBatchingScheduler(this, ioContext.ioScheduler());
+        } else {
+            this.executor = ioContext.ioScheduler();
+        }
 
         // This executor can be used for dispatching asynchronous tasks that might block or result
-        // in reentrant calls to this Connection that could block.
-        notifications = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(),
-            new TrackableThreadFactory("protonj2 Client Connection Executor: " + getId(), true));
-        notifications.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
+        // in reentrant calls to this Connection that could block, it may be shared with other
+        // connections when the client is configured to share IO resources.
+        this.notifications = client.createNotificationExecutor(connectionId);
 
         reconnectPool.add(new ReconnectLocation(host, port));
         reconnectPool.addAll(options.reconnectOptions().reconnectLocations());
@@ -610,12 +629,42 @@ public final class ClientConnection implements Connection {
     void flush() {
         try {
             transport.flush();
+            flushCompleted();
         } catch (IOException e) {
             LOG.debug("Error while flushing engine output to transport: ", e.getMessage());
             throw new UncheckedIOException(e);
         }
     }
 
+    void beginWriteBatch() {
+        if (writeBatching) {
+            writeBatchDepth++;
+        }
+    }
+
+    void endWriteBatch() {
+        if (writeBatching && --writeBatchDepth == 0) {
+            try {
+                // Work that the engine deferred to the end of the cycle is written before the batch is flushed
+                if (engine != null && engine.isRunning()) {
+                    engine.completeWorkCycle();
+                }
+
+                if (unflushedFrames > 0) {
+                    flush();
+                }
+            } catch (EngineStateException error) {
+                // The engine has already been failed or shut down and its handlers report the cause
+                LOG.debug("Engine could not complete batched engine output: {}", error.getMessage());
+            } catch (UncheckedIOException error) {
+                LOG.debug("Error while flushing batched engine output to transport: {}", error.getMessage());
+                if (engine != null) {
+                    engine.engineFailed(error.getCause());
+                }
+            }
+        }
+    }
+
     //----- Private implementation events handlers and utility methods
 
     private void handleLocalOpen(org.apache.qpid.protonj2.engine.Connection connection) {
@@ -700,11 +749,21 @@ public final class ClientConnection implements Connection {
     }
 
     private void handleEngineOutput(ProtonBuffer output, Runnable ioComplete) {
+        // With write batching the engine coalesces frames so one output buffer may carry several
+        unflushedFrames += ProtonFrameEncodingHandler.frameCount(ioComplete);
+        unflushedBytes += output.getReadableBytes();
+
         try {
-            if (autoFlush) {
+            if (autoFlush && writeBatchDepth == 0) {
                 transport.writeAndFlush(output, ioComplete);
+                flushCompleted();
             } else {
                 transport.write(output, ioComplete);
+
+                if (writeBatchDepth > 0 && (unflushedFrames >= writeBatchingMaxFrames || unflushedBytes >= writeBatchingMaxBytes)) {
+                    transport.flush();
+                    flushCompleted();
+                }
             }
         } catch (IOException e) {
             LOG.debug("Error while writing engine output to transport: ", e.getMessage());
@@ -712,6 +771,15 @@ public final class ClientConnection implements Connection {
         }
     }
 
+    private void flushCompleted() {
+        if (writeStatistics != null && unflushedFrames > 0) {
+            writeStatistics.recordFlush(unflushedFrames, unflushedBytes);
+        }
+
+        unflushedFrames = 0;
+        unflushedBytes = 0;
+    }
+
     /*
      * When an engine fails we check if we can reconnect or not and act accordingly.
      */
@@ -874,6 +942,15 @@ public final class ClientConnection implements Connection {
             }
         }
 
+        if (options.zeroCopyThreshold() > 0) {
+            engine.configuration().setZeroCopyThreshold(options.zeroCopyThreshold());
+        }
+
+        if (writeBatching) {
+            // Each batch ends the engine work cycle so frames can be coalesced into batch sized buffers
+            engine.configuration().setFrameCoalescingLimit(writeBatchingMaxBytes);
+        }
+
         engine.outputHandler(this::handleEngineOutput)
               .shutdownHandler(this::handleEngineShutdown)
               .errorHandler(this::handleEngineFailure);
@@ -969,6 +1046,8 @@ public final class ClientConnection implements Connection {
     private void attemptConnection(ReconnectLocation location) {
         try {
             reconnectAttempts++;
+            unflushedFrames = 0;
+            unflushedBytes = 0;
             transport = ioContext.newTransport();
             LOG.trace("Connection {} Attempting connection to remote {}:{}", getId(), location.getHost(), location.getPort());
             transport.connect(location.getHost(), location.getPort(), new ClientTransportListener(this, engine));
@@ -36,6 +36,7 @@ import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
 public final class ClientDelivery extends ClientDeliverable<ClientDelivery, ClientReceiver> implements Delivery {
 
     private final ProtonBuffer payload;
+    private final int payloadSize;
 
     private DeliveryAnnotations deliveryAnnotations;
     private Message<?> cachedMessage;
@@ -53,9 +54,17 @@ public final class ClientDelivery extends ClientDeliverable<ClientDelivery, Clie
     ClientDelivery(ClientReceiver receiver, IncomingDelivery delivery) {
         super(receiver, delivery);
 
+        this.payloadSize = delivery.available();
         this.payload = delivery.readAll();
     }
 
+    /**
+     * @return the number of payload bytes that were available when this delivery was created.
+     */
+    int payloadSize() {
+        return payloadSize;
+    }
+
     @Override
     protected ClientDelivery self() {
         return this;
@@ -76,7 +85,7 @@ public final class ClientDelivery extends ClientDeliverable<ClientDelivery, Clie
         Message<E> message = (Message<E>) cachedMessage;
         if (message == null && payload.isReadable()) {
             try (payload) {
-                message = (Message<E>)(cachedMessage = ClientMessageSupport.decodeMessage(payload, this::deliveryAnnotations));
+                message = (Message<E>)(cachedMessage = ClientLazyMessage.create(payload, this::deliveryAnnotations));
             }
         }
 
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import org.apache.qpid.protonj2.client.ReceiverCreditPolicy;
+import org.apache.qpid.protonj2.client.ReceiverCreditState;
+
+/**
+ * The {@link ReceiverCreditPolicy} used for a fixed credit window, credit is topped back up to the
+ * window once the outstanding credit falls to half of it and the outstanding credit and queued
+ * deliveries together fall to seventy percent of it.
+ */
+final class ClientFixedCreditPolicy implements ReceiverCreditPolicy {
+
+    private final int creditWindow;
+
+    ClientFixedCreditPolicy(int creditWindow) {
+        this.creditWindow = creditWindow;
+    }
+
+    @Override
+    public int initialCredit() {
+        return creditWindow;
+    }
+
+    @Override
+    public int creditToGrant(ReceiverCreditState state) {
+        final int currentCredit = state.credit();
+
+        if (currentCredit <= creditWindow * 0.5) {
+            final int potentialPrefetch = currentCredit + state.queuedDeliveries();
+
+            if (potentialPrefetch <= creditWindow * 0.7) {
+                return creditWindow - potentialPrefetch;
+            }
+        }
+
+        return 0;
+    }
+
+    @Override
+    public int consumedBeforeNextCheck(ReceiverCreditState state) {
+        final int potentialPrefetch = state.credit() + state.queuedDeliveries();
+        return Math.max(1, potentialPrefetch - (int) (creditWindow * 0.7));
+    }
+}
@@ -22,7 +22,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
@@ -34,7 +38,10 @@ import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
 import org.apache.qpid.protonj2.client.futures.ClientFutureFactory;
+import org.apache.qpid.protonj2.client.transport.IOContext;
+import org.apache.qpid.protonj2.client.transport.SharedIOContext;
 import org.apache.qpid.protonj2.client.util.IdGenerator;
+import org.apache.qpid.protonj2.client.util.TrackableThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -58,6 +65,9 @@ public final class ClientInstance implements Client {
     private final String clientUniqueId = CONTAINER_ID_GENERATOR.generateId();
     private final ClientFuture<Client> closedFuture = FUTURES.createFuture();
 
+    private SharedIOContext sharedIOContext;
+    private ThreadPoolExecutor[] sharedNotifications;
+
     private volatile int closed;
 
     /**
@@ -141,6 +151,7 @@ public final class ClientInstance implements Client {
     public synchronized Future<Client> closeAsync() {
         if (CLOSED_UPDATER.compareAndSet(this, 0, 1)) {
             if (connections.isEmpty()) {
+                shutdownSharedResources();
                 closedFuture.complete(this);
             } else {
                 // Make a copy as the connection close will modify the connections
@@ -171,6 +182,66 @@ public final class ClientInstance implements Client {
         }
     }
 
+    synchronized IOContext createIOContext(ConnectionOptions connectionOptions, String connectionId) {
+        if (options.sharedIOThreads() > 0) {
+            if (sharedIOContext == null) {
+                sharedIOContext = SharedIOContext.create(
+                    options.sharedIOThreads(), "ClientInstance :(" + getClientUniqueId() + "): Shared I/O Thread");
+            }
+
+            return sharedIOContext.newContext(connectionOptions.transportOptions(), connectionOptions.sslOptions(), connectionId);
+        } else {
+            return IOContext.create(connectionOptions.transportOptions(), connectionOptions.sslOptions(),
+                                    "ClientConnection :(" + connectionId + "): I/O Thread");
+        }
+    }
+
+    synchronized ExecutorService createNotificationExecutor(String connectionId) {
+        if (options.sharedIOThreads() > 0) {
+            if (sharedNotifications == null) {
+                sharedNotifications = new ThreadPoolExecutor[options.sharedIOThreads()];
+            }
+
+            final int index = SharedIOContext.selectIndex(connectionId, sharedNotifications.length);
+
+            if (sharedNotifications[index] == null) {
+                sharedNotifications[index] = createSingleThreadExecutor(
+                    "protonj2 Client Shared Connection Executor: " + getClientUniqueId() + ":" + index);
+            }
+
+            return sharedNotifications[index];
+        } else {
+            return createSingleThreadExecutor("protonj2 Client Connection Executor: " + connectionId);
+        }
+    }
+
+    private static ThreadPoolExecutor createSingleThreadExecutor(String threadName) {
+        // This executor can be used for dispatching asynchronous tasks that might block or result
+        // in reentrant calls to a Connection that could block.
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 1, TimeUnit.MINUTES,
+            new LinkedBlockingQueue<Runnable>(), new TrackableThreadFactory(threadName, true));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardOldestPolicy());
+
+        return executor;
+    }
+
+    private void shutdownSharedResources() {
+        if (sharedIOContext != null) {
+            sharedIOContext.shutdownAsync();
+            sharedIOContext = null;
+        }
+
+        if (sharedNotifications != null) {
+            for (ThreadPoolExecutor executor : sharedNotifications) {
+                if (executor != null) {
+                    executor.shutdown();
+                }
+            }
+
+            sharedNotifications = null;
+        }
+    }
+
     String nextConnectionId() {
         return getClientUniqueId() + ":" + CONNECTION_COUNTER.incrementAndGet();
     }
@@ -183,6 +254,7 @@ public final class ClientInstance implements Client {
     synchronized void unregisterConnection(ClientConnection connection) {
         connections.remove(connection.getId());
         if (isClosed() && connections.isEmpty()) {
+            shutdownSharedResources();
             closedFuture.complete(this);
         }
     }
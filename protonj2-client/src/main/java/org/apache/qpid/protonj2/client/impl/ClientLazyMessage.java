@@ -0,0 +1,733 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.client.AdvancedMessage;
+import org.apache.qpid.protonj2.client.Message;
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.client.exceptions.ClientMessageFormatViolationException;
+import org.apache.qpid.protonj2.codec.CodecFactory;
+import org.apache.qpid.protonj2.codec.DecodeException;
+import org.apache.qpid.protonj2.codec.Decoder;
+import org.apache.qpid.protonj2.codec.DecoderState;
+import org.apache.qpid.protonj2.codec.TypeDecoder;
+import org.apache.qpid.protonj2.engine.util.StringUtils;
+import org.apache.qpid.protonj2.types.messaging.AmqpSequence;
+import org.apache.qpid.protonj2.types.messaging.AmqpValue;
+import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Data;
+import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Footer;
+import org.apache.qpid.protonj2.types.messaging.Header;
+import org.apache.qpid.protonj2.types.messaging.MessageAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Properties;
+import org.apache.qpid.protonj2.types.messaging.Section;
+
+/**
+ * Client provided {@link AdvancedMessage} implementation that is returned from a received
+ * {@link ClientDelivery} and which decodes the message sections only when they are accessed.
+ * <p>
+ * The encoded message is scanned once on creation to find where each section starts and ends,
+ * after which a section is decoded the first time any of the API methods that read or write it
+ * is called.  When the message is encoded again (for instance to forward it to another address)
+ * any section that was never decoded is written using its original encoding, only the sections
+ * that have been accessed are encoded from their decoded form.
+ *
+ * @param <E> the body type that the {@link Message} carries
+ */
+public final class ClientLazyMessage<E> implements AdvancedMessage<E> {
+
+    private static final Decoder DEFAULT_DECODER = CodecFactory.getDefaultDecoder();
+
+    private static final ThreadLocal<DecoderState> THREAD_LOCAL_DECODER_STATE =
+        ThreadLocal.withInitial(() -> DEFAULT_DECODER.newDecoderState());
+
+    private static final int HEADER = 0;
+    private static final int MESSAGE_ANNOTATIONS = 1;
+    private static final int PROPERTIES = 2;
+    private static final int APPLICATION_PROPERTIES = 3;
+    private static final int BODY = 4;
+    private static final int FOOTER = 5;
+    private static final int SECTION_COUNT = 6;
+
+    private final ClientMessage<E> message = new ClientMessage<>();
+    private final ProtonBuffer payload;
+
+    // Offset and length of each section in the payload, the body range covers all body sections
+    private final int[] sectionOffsets = new int[SECTION_COUNT];
+    private final int[] sectionLengths = new int[SECTION_COUNT];
+
+    // One bit per section that has been decoded into (or replaced in) the backing message
+    private int decodedSections;
+
+    private ClientLazyMessage(ProtonBuffer payload) {
+        this.payload = payload;
+
+        Arrays.fill(sectionOffsets, -1);
+    }
+
+    /**
+     * Creates a {@link ClientLazyMessage} from the encoded message bytes in the given buffer. The
+     * readable bytes of the buffer are copied so the caller retains ownership of the given buffer
+     * and can close it once this method returns.  Any delivery annotations in the encoded message
+     * are decoded immediately and handed to the provided consumer.
+     *
+     * @param <V> The type of the body value carried in this message.
+     *
+     * @param buffer
+     *      The buffer that holds the encoded message sections.
+     * @param daConsumer
+     *      The consumer of any delivery annotations read from the message (can be null).
+     *
+     * @return a new {@link ClientLazyMessage} that decodes its sections on demand.
+     *
+     * @throws ClientException if the section boundaries of the encoded message cannot be read.
+     */
+    public static <V> ClientLazyMessage<V> create(ProtonBuffer buffer, Consumer<DeliveryAnnotations> daConsumer) throws ClientException {
+        final ProtonBuffer payload = ProtonBufferAllocator.defaultAllocator().allocateHeapBuffer(buffer.getReadableBytes());
+
+        payload.writeBytes(buffer);
+
+        final ClientLazyMessage<V> message = new ClientLazyMessage<>(payload.convertToReadOnly());
+
+        message.scanSections(daConsumer);
+
+        return message;
+    }
+
+    @Override
+    public AdvancedMessage<E> toAdvancedMessage() {
+        return this;
+    }
+
+    //----- Message Header API
+
+    @Override
+    public boolean durable() throws ClientException {
+        return ensureDecoded(HEADER).durable();
+    }
+
+    @Override
+    public ClientLazyMessage<E> durable(boolean durable) throws ClientException {
+        ensureDecoded(HEADER).durable(durable);
+        return this;
+    }
+
+    @Override
+    public byte priority() throws ClientException {
+        return ensureDecoded(HEADER).priority();
+    }
+
+    @Override
+    public ClientLazyMessage<E> priority(byte priority) throws ClientException {
+        ensureDecoded(HEADER).priority(priority);
+        return this;
+    }
+
+    @Override
+    public long timeToLive() throws ClientException {
+        return ensureDecoded(HEADER).timeToLive();
+    }
+
+    @Override
+    public ClientLazyMessage<E> timeToLive(long timeToLive) throws ClientException {
+        ensureDecoded(HEADER).timeToLive(timeToLive);
+        return this;
+    }
+
+    @Override
+    public boolean firstAcquirer() throws ClientException {
+        return ensureDecoded(HEADER).firstAcquirer();
+    }
+
+    @Override
+    public ClientLazyMessage<E> firstAcquirer(boolean firstAcquirer) throws ClientException {
+        ensureDecoded(HEADER).firstAcquirer(firstAcquirer);
+        return this;
+    }
+
+    @Override
+    public long deliveryCount() throws ClientException {
+        return ensureDecoded(HEADER).deliveryCount();
+    }
+
+    @Override
+    public ClientLazyMessage<E> deliveryCount(long deliveryCount) throws ClientException {
+        ensureDecoded(HEADER).deliveryCount(deliveryCount);
+        return this;
+    }
+
+    //----- Message Properties access
+
+    @Override
+    public Object messageId() throws ClientException {
+        return ensureDecoded(PROPERTIES).messageId();
+    }
+
+    @Override
+    public ClientLazyMessage<E> messageId(Object messageId) throws ClientException {
+        ensureDecoded(PROPERTIES).messageId(messageId);
+        return this;
+    }
+
+    @Override
+    public byte[] userId() throws ClientException {
+        return ensureDecoded(PROPERTIES).userId();
+    }
+
+    @Override
+    public ClientLazyMessage<E> userId(byte[] userId) throws ClientException {
+        ensureDecoded(PROPERTIES).userId(userId);
+        return this;
+    }
+
+    @Override
+    public String to() throws ClientException {
+        return ensureDecoded(PROPERTIES).to();
+    }
+
+    @Override
+    public ClientLazyMessage<E> to(String to) throws ClientException {
+        ensureDecoded(PROPERTIES).to(to);
+        return this;
+    }
+
+    @Override
+    public String subject() throws ClientException {
+        return ensureDecoded(PROPERTIES).subject();
+    }
+
+    @Override
+    public ClientLazyMessage<E> subject(String subject) throws ClientException {
+        ensureDecoded(PROPERTIES).subject(subject);
+        return this;
+    }
+
+    @Override
+    public String replyTo() throws ClientException {
+        return ensureDecoded(PROPERTIES).replyTo();
+    }
+
+    @Override
+    public ClientLazyMessage<E> replyTo(String replyTo) throws ClientException {
+        ensureDecoded(PROPERTIES).replyTo(replyTo);
+        return this;
+    }
+
+    @Override
+    public Object correlationId() throws ClientException {
+        return ensureDecoded(PROPERTIES).correlationId();
+    }
+
+    @Override
+    public ClientLazyMessage<E> correlationId(Object correlationId) throws ClientException {
+        ensureDecoded(PROPERTIES).correlationId(correlationId);
+        return this;
+    }
+
+    @Override
+    public String contentType() throws ClientException {
+        return ensureDecoded(PROPERTIES).contentType();
+    }
+
+    @Override
+    public ClientLazyMessage<E> contentType(String contentType) throws ClientException {
+        ensureDecoded(PROPERTIES).contentType(contentType);
+        return this;
+    }
+
+    @Override
+    public String contentEncoding() throws ClientException {
+        return ensureDecoded(PROPERTIES).contentEncoding();
+    }
+
+    @Override
+    public ClientLazyMessage<E> contentEncoding(String contentEncoding) throws ClientException {
+        ensureDecoded(PROPERTIES).contentEncoding(contentEncoding);
+        return this;
+    }
+
+    @Override
+    public long absoluteExpiryTime() throws ClientException {
+        return ensureDecoded(PROPERTIES).absoluteExpiryTime();
+    }
+
+    @Override
+    public ClientLazyMessage<E> absoluteExpiryTime(long expiryTime) throws ClientException {
+        ensureDecoded(PROPERTIES).absoluteExpiryTime(expiryTime);
+        return this;
+    }
+
+    @Override
+    public long creationTime() throws ClientException {
+        return ensureDecoded(PROPERTIES).creationTime();
+    }
+
+    @Override
+    public ClientLazyMessage<E> creationTime(long createTime) throws ClientException {
+        ensureDecoded(PROPERTIES).creationTime(createTime);
+        return this;
+    }
+
+    @Override
+    public String groupId() throws ClientException {
+        return ensureDecoded(PROPERTIES).groupId();
+    }
+
+    @Override
+    public ClientLazyMessage<E> groupId(String groupId) throws ClientException {
+        ensureDecoded(PROPERTIES).groupId(groupId);
+        return this;
+    }
+
+    @Override
+    public int groupSequence() throws ClientException {
+        return ensureDecoded(PROPERTIES).groupSequence();
+    }
+
+    @Override
+    public ClientLazyMessage<E> groupSequence(int groupSequence) throws ClientException {
+        ensureDecoded(PROPERTIES).groupSequence(groupSequence);
+        return this;
+    }
+
+    @Override
+    public String replyToGroupId() throws ClientException {
+        return ensureDecoded(PROPERTIES).replyToGroupId();
+    }
+
+    @Override
+    public ClientLazyMessage<E> replyToGroupId(String replyToGroupId) throws ClientException {
+        ensureDecoded(PROPERTIES).replyToGroupId(replyToGroupId);
+        return this;
+    }
+
+    //----- Message Annotations Access
+
+    @Override
+    public Object annotation(String key) throws ClientException {
+        return ensureDecoded(MESSAGE_ANNOTATIONS).annotation(key);
+    }
+
+    @Override
+    public boolean hasAnnotation(String key) throws ClientException {
+        return ensureDecoded(MESSAGE_ANNOTATIONS).hasAnnotation(key);
+    }
+
+    @Override
+    public boolean hasAnnotations() throws ClientException {
+        return ensureDecoded(MESSAGE_ANNOTATIONS).hasAnnotations();
+    }
+
+    @Override
+    public Object removeAnnotation(String key) throws ClientException {
+        return ensureDecoded(MESSAGE_ANNOTATIONS).removeAnnotation(key);
+    }
+
+    @Override
+    public ClientLazyMessage<E> forEachAnnotation(BiConsumer<String, Object> action) throws ClientException {
+        ensureDecoded(MESSAGE_ANNOTATIONS).forEachAnnotation(action);
+        return this;
+    }
+
+    @Override
+    public ClientLazyMessage<E> annotation(String key, Object value) throws ClientException {
+        ensureDecoded(MESSAGE_ANNOTATIONS).annotation(key, value);
+        return this;
+    }
+
+    //----- Application Properties Access
+
+    @Override
+    public Object property(String key) throws ClientException {
+        return ensureDecoded(APPLICATION_PROPERTIES).property(key);
+    }
+
+    @Override
+    public boolean hasProperty(String key) throws ClientException {
+        return ensureDecoded(APPLICATION_PROPERTIES).hasProperty(key);
+    }
+
+    @Override
+    public boolean hasProperties() throws ClientException {
+        return ensureDecoded(APPLICATION_PROPERTIES).hasProperties();
+    }
+
+    @Override
+    public Object removeProperty(String key) throws ClientException {
+        return ensureDecoded(APPLICATION_PROPERTIES).removeProperty(key);
+    }
+
+    @Override
+    public ClientLazyMessage<E> forEachProperty(BiConsumer<String, Object> action) throws ClientException {
+        ensureDecoded(APPLICATION_PROPERTIES).forEachProperty(action);
+        return this;
+    }
+
+    @Override
+    public ClientLazyMessage<E> property(String key, Object value) throws ClientException {
+        ensureDecoded(APPLICATION_PROPERTIES).property(key, value);
+        return this;
+    }
+
+    //----- Footer Access
+
+    @Override
+    public Object footer(String key) throws ClientException {
+        return ensureDecoded(FOOTER).footer(key);
+    }
+
+    @Override
+    public boolean hasFooter(String key) throws ClientException {
+        return ensureDecoded(FOOTER).hasFooter(key);
+    }
+
+    @Override
+    public boolean hasFooters() throws ClientException {
+        return ensureDecoded(FOOTER).hasFooters();
+    }
+
+    @Override
+    public Object removeFooter(String key) throws ClientException {
+        return ensureDecoded(FOOTER).removeFooter(key);
+    }
+
+    @Override
+    public ClientLazyMessage<E> forEachFooter(BiConsumer<String, Object> action) throws ClientException {
+        ensureDecoded(FOOTER).forEachFooter(action);
+        return this;
+    }
+
+    @Override
+    public ClientLazyMessage<E> footer(String key, Object value) throws ClientException {
+        ensureDecoded(FOOTER).footer(key, value);
+        return this;
+    }
+
+    //----- Message body access
+
+    @Override
+    public E body() throws ClientException {
+        return ensureDecoded(BODY).body();
+    }
+
+    @Override
+    public ClientLazyMessage<E> body(E value) throws ClientException {
+        replaced(BODY).body(value);
+        return this;
+    }
+
+    //----- AdvancedMessage interface implementation
+
+    @Override
+    public Header header() throws ClientException {
+        return ensureDecoded(HEADER).header();
+    }
+
+    @Override
+    public ClientLazyMessage<E> header(Header header) {
+        replaced(HEADER).header(header);
+        return this;
+    }
+
+    @Override
+    public MessageAnnotations annotations() throws ClientException {
+        return ensureDecoded(MESSAGE_ANNOTATIONS).annotations();
+    }
+
+    @Override
+    public ClientLazyMessage<E> annotations(MessageAnnotations messageAnnotations) {
+        replaced(MESSAGE_ANNOTATIONS).annotations(messageAnnotations);
+        return this;
+    }
+
+    @Override
+    public Properties properties() throws ClientException {
+        return ensureDecoded(PROPERTIES).properties();
+    }
+
+    @Override
+    public ClientLazyMessage<E> properties(Properties properties) {
+        replaced(PROPERTIES).properties(properties);
+        return this;
+    }
+
+    @Override
+    public ApplicationProperties applicationProperties() throws ClientException {
+        return ensureDecoded(APPLICATION_PROPERTIES).applicationProperties();
+    }
+
+    @Override
+    public ClientLazyMessage<E> applicationProperties(ApplicationProperties applicationProperties) {
+        replaced(APPLICATION_PROPERTIES).applicationProperties(applicationProperties);
+        return this;
+    }
+
+    @Override
+    public Footer footer() throws ClientException {
+        return ensureDecoded(FOOTER).footer();
+    }
+
+    @Override
+    public ClientLazyMessage<E> footer(Footer footer) {
+        replaced(FOOTER).footer(footer);
+        return this;
+    }
+
+    @Override
+    public int messageFormat() {
+        return message.messageFormat();
+    }
+
+    @Override
+    public ClientLazyMessage<E> messageFormat(int messageFormat) {
+        message.messageFormat(messageFormat);
+        return this;
+    }
+
+    @Override
+    public ClientLazyMessage<E> addBodySection(Section<?> bodySection) throws ClientException {
+        ensureDecoded(BODY).addBodySection(bodySection);
+        return this;
+    }
+
+    @Override
+    public ClientLazyMessage<E> bodySections(Collection<Section<?>> sections) {
+        replaced(BODY).bodySections(sections);
+        return this;
+    }
+
+    @Override
+    public Collection<Section<?>> bodySections() throws ClientException {
+        return ensureDecoded(BODY).bodySections();
+    }
+
+    @Override
+    public ClientLazyMessage<E> forEachBodySection(Consumer<Section<?>> consumer) throws ClientException {
+        ensureDecoded(BODY).forEachBodySection(consumer);
+        return this;
+    }
+
+    @Override
+    public ClientLazyMessage<E> clearBodySections() {
+        replaced(BODY).clearBodySections();
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer encode(Map<String, Object> deliveryAnnotations, ProtonBufferAllocator allocator) throws ClientException {
+        final DeliveryAnnotations annotations =
+            deliveryAnnotations != null ? new DeliveryAnnotations(StringUtils.toSymbolKeyedMap(deliveryAnnotations)) : null;
+
+        int encodedSize = annotations != null ? ClientMessageSupport.sizeOfSection(annotations) : 0;
+        for (int section = 0; section < SECTION_COUNT; ++section) {
+            encodedSize += encodedSizeOf(section);
+        }
+
+        final ProtonBuffer buffer = allocator.outputBuffer(encodedSize);
+
+        try {
+            writeSection(buffer, HEADER);
+            if (annotations != null) {
+                ClientMessageSupport.writeSection(buffer, annotations);
+            }
+            for (int section = MESSAGE_ANNOTATIONS; section < SECTION_COUNT; ++section) {
+                writeSection(buffer, section);
+            }
+        } catch (Throwable error) {
+            // Return the buffer now as a pooled allocator would otherwise never get it back
+            buffer.close();
+            throw ClientExceptionSupport.createNonFatalOrPassthrough(error);
+        }
+
+        return buffer.convertToReadOnly();
+    }
+
+    //----- Internal API
+
+    private boolean isDecoded(int section) {
+        return (decodedSections & (1 << section)) != 0;
+    }
+
+    private ClientMessage<E> replaced(int section) {
+        decodedSections |= 1 << section;
+        return message;
+    }
+
+    private ClientMessage<E> ensureDecoded(int section) throws ClientException {
+        if (!isDecoded(section)) {
+            if (sectionOffsets[section] >= 0) {
+                decodeSection(section);
+            }
+
+            decodedSections |= 1 << section;
+        }
+
+        return message;
+    }
+
+    private void decodeSection(int section) throws ClientException {
+        final DecoderState decoderState = THREAD_LOCAL_DECODER_STATE.get();
+        final int sectionEnd = sectionOffsets[section] + sectionLengths[section];
+
+        payload.setReadOffset(sectionOffsets[section]);
+
+        try {
+            switch (section) {
+                case HEADER:
+                    message.header((Header) DEFAULT_DECODER.readObject(payload, decoderState));
+                    break;
+                case MESSAGE_ANNOTATIONS:
+                    message.annotations((MessageAnnotations) DEFAULT_DECODER.readObject(payload, decoderState));
+                    break;
+                case PROPERTIES:
+                    message.properties((Properties) DEFAULT_DECODER.readObject(payload, decoderState));
+                    break;
+                case APPLICATION_PROPERTIES:
+                    message.applicationProperties((ApplicationProperties) DEFAULT_DECODER.readObject(payload, decoderState));
+                    break;
+                case BODY:
+                    while (payload.getReadOffset() < sectionEnd) {
+                        message.addBodySection((Section<?>) DEFAULT_DECODER.readObject(payload, decoderState));
+                    }
+                    break;
+                case FOOTER:
+                    message.footer((Footer) DEFAULT_DECODER.readObject(payload, decoderState));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown message section index: " + section);
+            }
+        } catch (Exception e) {
+            throw ClientExceptionSupport.createNonFatalOrPassthrough(e);
+        }
+    }
+
+    private void scanSections(Consumer<DeliveryAnnotations> daConsumer) throws ClientException {
+        final DecoderState decoderState = THREAD_LOCAL_DECODER_STATE.get();
+
+        int previousSection = -1;
+
+        try {
+            while (payload.isReadable()) {
+                final int sectionStart = payload.getReadOffset();
+                final TypeDecoder<?> decoder = DEFAULT_DECODER.readNextTypeDecoder(payload, decoderState);
+                final Class<?> typeClass = decoder.getTypeClass();
+
+                if (typeClass == DeliveryAnnotations.class) {
+                    final DeliveryAnnotations annotations = (DeliveryAnnotations) decoder.readValue(payload, decoderState);
+                    if (daConsumer != null) {
+                        daConsumer.accept(annotations);
+                    }
+                    continue;
+                }
+
+                final int section = sectionIndexOf(typeClass);
+
+                decoder.skipValue(payload, decoderState);
+
+                if (section == BODY && sectionOffsets[BODY] >= 0) {
+                    // The recorded body range must not span any other section
+                    if (previousSection != BODY) {
+                        throw new ClientMessageFormatViolationException("Incoming message body sections are not contiguous");
+                    }
+
+                    sectionLengths[BODY] = payload.getReadOffset() - sectionOffsets[BODY];
+                } else {
+                    sectionOffsets[section] = sectionStart;
+                    sectionLengths[section] = payload.getReadOffset() - sectionStart;
+                }
+
+                previousSection = section;
+            }
+        } catch (DecodeException e) {
+            throw ClientExceptionSupport.createNonFatalOrPassthrough(e);
+        }
+    }
+
+    private static int sectionIndexOf(Class<?> typeClass) throws ClientMessageFormatViolationException {
+        if (typeClass == Header.class) {
+            return HEADER;
+        } else if (typeClass == MessageAnnotations.class) {
+            return MESSAGE_ANNOTATIONS;
+        } else if (typeClass == Properties.class) {
+            return PROPERTIES;
+        } else if (typeClass == ApplicationProperties.class) {
+            return APPLICATION_PROPERTIES;
+        } else if (typeClass == Data.class || typeClass == AmqpSequence.class || typeClass == AmqpValue.class) {
+            return BODY;
+        } else if (typeClass == Footer.class) {
+            return FOOTER;
+        } else {
+            throw new ClientMessageFormatViolationException("Incoming message carries unknown Section");
+        }
+    }
+
+    private int encodedSizeOf(int section) throws ClientException {
+        if (!isDecoded(section)) {
+            return sectionOffsets[section] >= 0 ? sectionLengths[section] : 0;
+        } else if (section == BODY) {
+            final int[] size = new int[1];
+            message.forEachBodySection(body -> size[0] += ClientMessageSupport.sizeOfSection(body));
+            return size[0];
+        } else {
+            final Section<?> decoded = decodedSection(section);
+            return decoded != null ? ClientMessageSupport.sizeOfSection(decoded) : 0;
+        }
+    }
+
+    private void writeSection(ProtonBuffer buffer, int section) {
+        if (!isDecoded(section)) {
+            // Sections that were never decoded are written out exactly as they arrived
+            if (sectionOffsets[section] >= 0) {
+                payload.copyInto(sectionOffsets[section], buffer, buffer.getWriteOffset(), sectionLengths[section]);
+                buffer.advanceWriteOffset(sectionLengths[section]);
+            }
+        } else if (section == BODY) {
+            message.forEachBodySection(body -> ClientMessageSupport.writeSection(buffer, body));
+        } else {
+            final Section<?> decoded = decodedSection(section);
+            if (decoded != null) {
+                ClientMessageSupport.writeSection(buffer, decoded);
+            }
+        }
+    }
+
+    private Section<?> decodedSection(int section) {
+        switch (section) {
+            case HEADER:
+                return message.header();
+            case MESSAGE_ANNOTATIONS:
+                return message.annotations();
+            case PROPERTIES:
+                return message.properties();
+            case APPLICATION_PROPERTIES:
+                return message.applicationProperties();
+            case FOOTER:
+                return message.footer();
+            default:
+                throw new IllegalArgumentException("Unknown message section index: " + section);
+        }
+    }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,14 +24,19 @@ import java.util.function.Consumer;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.netty.Netty4ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.netty.Netty5ProtonBufferAllocator;
 import org.apache.qpid.protonj2.client.AdvancedMessage;
 import org.apache.qpid.protonj2.client.Message;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.client.transport.netty4.Netty4Support;
+import org.apache.qpid.protonj2.client.transport.netty5.Netty5Support;
 import org.apache.qpid.protonj2.codec.CodecFactory;
 import org.apache.qpid.protonj2.codec.Decoder;
 import org.apache.qpid.protonj2.codec.DecoderState;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
+import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.SectionEncoder;
 import org.apache.qpid.protonj2.engine.util.StringUtils;
 import org.apache.qpid.protonj2.types.Binary;
@@ -56,7 +62,12 @@ public abstract class ClientMessageSupport {
 
     private static final SectionEncoder SECTION_ENCODER = new SectionEncoder(DEFAULT_ENCODER);
 
-    private static final int DEFAULT_BUFFER_ALLOCATION = 256;
+    private static final byte[] DATA_SECTION_PREAMBLE = { EncodingCodes.DESCRIBED_TYPE_INDICATOR,
+                                                          EncodingCodes.SMALLULONG,
+                                                          Data.DESCRIPTOR_CODE.byteValue() };
+
+    private static final String HEAP_BUFFER_ALLOCATOR = "heap";
+    private static final String POOLED_BUFFER_ALLOCATOR = "pooled";
 
     private static final ThreadLocal<EncoderState> THREAD_LOCAL_ENCODER_STATE =
         ThreadLocal.withInitial(() -> DEFAULT_ENCODER.newEncoderState());
@@ -98,6 +109,15 @@ public abstract class ClientMessageSupport {
         return buffer;
     }
 
+    static int sizeOfSection(Section<?> section) {
+        return SECTION_ENCODER.sizeOf(section);
+    }
+
+    static ProtonBuffer writeSection(ProtonBuffer buffer, Section<?> section) {
+        SECTION_ENCODER.write(buffer, section);
+        return buffer;
+    }
+
     //----- Message Encoding
 
     public static ProtonBuffer encodeMessage(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
@@ -113,37 +133,190 @@ public abstract class ClientMessageSupport {
     }
 
     public static ProtonBuffer encodeMessage(Encoder encoder, EncoderState encoderState, ProtonBufferAllocator allocator, AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
-        ProtonBuffer buffer = allocator.outputBuffer(DEFAULT_BUFFER_ALLOCATION);
+        return encodeMessage(allocator, message, deliveryAnnotations, 0);
+    }
 
-        Header header = message.header();
-        MessageAnnotations messageAnnotations = message.annotations();
-        Properties properties = message.properties();
-        ApplicationProperties applicationProperties = message.applicationProperties();
-        Footer footer = message.footer();
+    /**
+     * Encodes the given message using the provided allocator, any {@link Data} body section that carries
+     * at least the given number of bytes is not copied into the encoded message and the returned buffer
+     * is instead a read-only composite that references the bytes of those sections.  A zero copy threshold
+     * of zero disables this and the result is the same as any other encode operation.
+     *
+     * @param allocator
+     *      The allocator used to create the buffer that the message sections are encoded into.
+     * @param message
+     *      The message to encode.
+     * @param deliveryAnnotations
+     *      Optional delivery annotations to encode into the message.
+     * @param zeroCopyThreshold
+     *      The size at or above which a {@link Data} section is referenced instead of copied.
+     *
+     * @return a read-only buffer that holds or references the encoded form of the message.
+     *
+     * @throws ClientException if an error occurs while encoding the message.
+     */
+    public static ProtonBuffer encodeMessage(ProtonBufferAllocator allocator, AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations, int zeroCopyThreshold) throws ClientException {
+        final DeliveryAnnotations annotations =
+            deliveryAnnotations != null ? new DeliveryAnnotations(StringUtils.toSymbolKeyedMap(deliveryAnnotations)) : null;
+
+        // Size the buffer up front so the encode never has to grow and copy what was written
+        final ProtonBuffer buffer = allocator.outputBuffer(encodedSizeOf(message, annotations, zeroCopyThreshold));
+
+        try {
+            return encodeMessage(allocator, buffer, message, annotations, zeroCopyThreshold);
+        } catch (Throwable error) {
+            // Return the buffer now as a pooled allocator would otherwise never get it back
+            buffer.close();
+            throw error;
+        }
+    }
+
+    private static int encodedSizeOf(AdvancedMessage<?> message, DeliveryAnnotations deliveryAnnotations, int zeroCopyThreshold) throws ClientException {
+        final Header header = message.header();
+        final MessageAnnotations messageAnnotations = message.annotations();
+        final Properties properties = message.properties();
+        final ApplicationProperties applicationProperties = message.applicationProperties();
+        final Footer footer = message.footer();
+        final int[] size = new int[1];
 
         if (header != null) {
-            SECTION_ENCODER.write(buffer, header);
+            size[0] += SECTION_ENCODER.sizeOf(header);
         }
         if (deliveryAnnotations != null) {
-            SECTION_ENCODER.write(buffer, new DeliveryAnnotations(StringUtils.toSymbolKeyedMap(deliveryAnnotations)));
+            size[0] += SECTION_ENCODER.sizeOf(deliveryAnnotations);
         }
         if (messageAnnotations != null) {
-            SECTION_ENCODER.write(buffer, messageAnnotations);
+            size[0] += SECTION_ENCODER.sizeOf(messageAnnotations);
         }
         if (properties != null) {
-            SECTION_ENCODER.write(buffer, properties);
+            size[0] += SECTION_ENCODER.sizeOf(properties);
         }
         if (applicationProperties != null) {
-            SECTION_ENCODER.write(buffer, applicationProperties);
+            size[0] += SECTION_ENCODER.sizeOf(applicationProperties);
         }
 
-        message.forEachBodySection(section -> SECTION_ENCODER.write(buffer, section));
+        message.forEachBodySection(section -> {
+            size[0] += SECTION_ENCODER.sizeOf(section);
+
+            // Referenced data bytes are not written into the encode buffer
+            if (isReferencedDataSection(section, zeroCopyThreshold)) {
+                size[0] -= ((Data) section).getDataLength();
+            }
+        });
 
         if (footer != null) {
-            SECTION_ENCODER.write(buffer, footer);
+            size[0] += SECTION_ENCODER.sizeOf(footer);
+        }
+
+        return size[0];
+    }
+
+    private static ProtonBuffer encodeMessage(ProtonBufferAllocator allocator, ProtonBuffer buffer, AdvancedMessage<?> message, DeliveryAnnotations deliveryAnnotations, int zeroCopyThreshold) throws ClientException {
+        final List<ProtonBuffer> chain = new ArrayList<>(zeroCopyThreshold > 0 ? 4 : 0);
+
+        Header header = message.header();
+        MessageAnnotations messageAnnotations = message.annotations();
+        Properties properties = message.properties();
+        ApplicationProperties applicationProperties = message.applicationProperties();
+        Footer footer = message.footer();
+
+        try {
+            if (header != null) {
+                SECTION_ENCODER.write(buffer, header);
+            }
+            if (deliveryAnnotations != null) {
+                SECTION_ENCODER.write(buffer, deliveryAnnotations);
+            }
+            if (messageAnnotations != null) {
+                SECTION_ENCODER.write(buffer, messageAnnotations);
+            }
+            if (properties != null) {
+                SECTION_ENCODER.write(buffer, properties);
+            }
+            if (applicationProperties != null) {
+                SECTION_ENCODER.write(buffer, applicationProperties);
+            }
+
+            message.forEachBodySection(section -> {
+                if (isReferencedDataSection(section, zeroCopyThreshold)) {
+                    final ProtonBuffer data = ((Data) section).getBuffer();
+
+                    // Write only the preamble and then split off what was encoded so far and
+                    // follow it with a read-only view of the section bytes in the output chain.
+                    writeDataSectionPreamble(buffer, data.getReadableBytes());
+
+                    chain.add(buffer.split().convertToReadOnly());
+                    chain.add(data.copy(true));
+                } else {
+                    SECTION_ENCODER.write(buffer, section);
+                }
+            });
+
+            if (footer != null) {
+                SECTION_ENCODER.write(buffer, footer);
+            }
+        } catch (Throwable error) {
+            chain.forEach(ProtonBuffer::close);
+            throw error;
+        }
+
+        if (chain.isEmpty()) {
+            return buffer.convertToReadOnly();
+        } else {
+            chain.add(buffer.convertToReadOnly());
+            return allocator.composite(chain.toArray(new ProtonBuffer[chain.size()]));
+        }
+    }
+
+    private static boolean isReferencedDataSection(Section<?> section, int zeroCopyThreshold) {
+        if (zeroCopyThreshold > 0 && section instanceof Data) {
+            final Data data = (Data) section;
+
+            return data.getDataLength() >= zeroCopyThreshold && !data.getBuffer().isComposite();
+        }
+
+        return false;
+    }
+
+    private static void writeDataSectionPreamble(ProtonBuffer buffer, int dataLength) {
+        buffer.writeBytes(DATA_SECTION_PREAMBLE);
+
+        if (dataLength > 255) {
+            buffer.writeByte(EncodingCodes.VBIN32);
+            buffer.writeInt(dataLength);
+        } else {
+            buffer.writeByte(EncodingCodes.VBIN8);
+            buffer.writeByte((byte) dataLength);
+        }
+    }
+
+    /**
+     * Returns the {@link ProtonBufferAllocator} that matches the given allocator type name, the
+     * "heap" allocator creates unpooled heap buffers while the "pooled" allocator draws buffers
+     * from the pool of the Netty version in use by the client and expects that they be closed
+     * once the encoded bytes have been written.
+     *
+     * @param type
+     *      The name of the buffer allocator type, a null value selects the "heap" allocator.
+     *
+     * @return the {@link ProtonBufferAllocator} to use when encoding messages.
+     *
+     * @throws IllegalArgumentException if the type is not a known allocator type.
+     */
+    public static ProtonBufferAllocator encodeBufferAllocator(String type) {
+        if (type == null || HEAP_BUFFER_ALLOCATOR.equalsIgnoreCase(type)) {
+            return ProtonBufferAllocator.defaultAllocator();
+        } else if (POOLED_BUFFER_ALLOCATOR.equalsIgnoreCase(type)) {
+            if (Netty4Support.isAvailable()) {
+                return Netty4ProtonBufferAllocator.POOLED;
+            } else if (Netty5Support.isAvailable()) {
+                return Netty5ProtonBufferAllocator.POOLED;
+            } else {
+                return ProtonBufferAllocator.defaultAllocator();
+            }
         }
 
-        return buffer.convertToReadOnly();
+        throw new IllegalArgumentException("Unknown buffer allocator type: " + type);
     }
 
     //----- Message Decoding
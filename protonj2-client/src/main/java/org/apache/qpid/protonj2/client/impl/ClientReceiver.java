@@ -17,17 +17,22 @@
 package org.apache.qpid.protonj2.client.impl;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Objects;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.qpid.protonj2.client.Delivery;
 import org.apache.qpid.protonj2.client.Receiver;
+import org.apache.qpid.protonj2.client.ReceiverCreditPolicy;
+import org.apache.qpid.protonj2.client.ReceiverCreditState;
 import org.apache.qpid.protonj2.client.ReceiverOptions;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
 import org.apache.qpid.protonj2.client.exceptions.ClientIllegalStateException;
 import org.apache.qpid.protonj2.client.exceptions.ClientOperationTimedOutException;
 import org.apache.qpid.protonj2.client.futures.ClientFuture;
-import org.apache.qpid.protonj2.client.util.FifoDeliveryQueue;
+import org.apache.qpid.protonj2.client.util.DeliveryQueue;
 import org.apache.qpid.protonj2.engine.IncomingDelivery;
 import org.apache.qpid.protonj2.types.messaging.Accepted;
 import org.apache.qpid.protonj2.types.messaging.Released;
@@ -42,18 +47,37 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
     private static final Logger LOG = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
     private final ReceiverOptions options;
-    private final FifoDeliveryQueue deliveryQueue;
+    private final DeliveryQueue deliveryQueue;
+    private final ReceiverCreditPolicy creditPolicy;
+    private final CreditState creditState = new CreditState();
+    private final AtomicLong queuedBytes = new AtomicLong();
+    private final AtomicLong consumedDeliveries = new AtomicLong();
+    private final AtomicInteger consumedUntilCreditCheck = new AtomicInteger(1);
+
+    private long creditGrantedWhileStarved;
+    private long roundTripTime;
 
     ClientReceiver(ClientSession session, ReceiverOptions options, String receiverId, org.apache.qpid.protonj2.engine.Receiver receiver) {
         super(session, receiverId, options, receiver);
 
         this.options = options;
 
-        if (options.creditWindow() > 0) {
-            protonReceiver.addCredit(options.creditWindow());
+        if (options.creditPolicy() != null) {
+            this.creditPolicy = Objects.requireNonNull(options.creditPolicy().get(), "The credit policy supplier returned null");
+        } else if (options.creditWindow() > 0) {
+            this.creditPolicy = new ClientFixedCreditPolicy(options.creditWindow());
+        } else {
+            this.creditPolicy = null;
+        }
+
+        final int initialCredit = creditPolicy != null ? creditPolicy.initialCredit() : 0;
+
+        this.deliveryQueue = DeliveryQueue.create(options.deliveryQueueType(), initialCredit);
+
+        if (initialCredit > 0) {
+            grantCredit(initialCredit);
         }
 
-        deliveryQueue = new FifoDeliveryQueue(options.creditWindow());
         deliveryQueue.start();
     }
 
@@ -69,9 +93,11 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
         try {
             ClientDelivery delivery = deliveryQueue.dequeue(Math.max(-1, units.toMillis(timeout)));
             if (delivery != null) {
+                deliveryConsumed(delivery);
+
                 if (options.autoAccept()) {
                     disposition(delivery.protonDelivery(), Accepted.getInstance(), options.autoSettle());
-                } else if (options.creditWindow() > 0) {
+                } else if (isCreditCheckNeeded()) {
                     executor.execute(() -> replenishCreditIfNeeded());
                 }
 
@@ -91,11 +117,13 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
     public Delivery tryReceive() throws ClientException {
         checkClosedOrFailed();
 
-        Delivery delivery = deliveryQueue.dequeueNoWait();
+        ClientDelivery delivery = deliveryQueue.dequeueNoWait();
         if (delivery != null) {
+            deliveryConsumed(delivery);
+
             if (options.autoAccept()) {
                 delivery.disposition(org.apache.qpid.protonj2.client.DeliveryState.accepted(), options.autoSettle());
-            } else if (options.creditWindow() > 0) {
+            } else if (isCreditCheckNeeded()) {
                 executor.execute(() -> replenishCreditIfNeeded());
             }
         } else {
@@ -117,13 +145,15 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
 
         executor.execute(() -> {
             if (notClosedOrFailed(creditAdded)) {
-                if (options.creditWindow() != 0) {
+                if (options.creditPolicy() != null) {
+                    creditAdded.failed(new ClientIllegalStateException("Cannot add credit when a credit policy has been configured"));
+                } else if (options.creditWindow() != 0) {
                     creditAdded.failed(new ClientIllegalStateException("Cannot add credit when a credit window has been configured"));
                 } else if (protonReceiver.isDraining()) {
                     creditAdded.failed(new ClientIllegalStateException("Cannot add credit while a drain is pending"));
                 } else {
                     try {
-                        protonReceiver.addCredit(credits);
+                        grantCredit(credits);
                         creditAdded.complete(this);
                     } catch (Exception ex) {
                         creditAdded.failed(ClientExceptionSupport.createNonFatalOrPassthrough(ex));
@@ -183,7 +213,16 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
 
         if (!delivery.isPartial()) {
             LOG.trace("{} has incoming Message(s).", this);
-            deliveryQueue.enqueue(new ClientDelivery(this, delivery));
+
+            if (creditGrantedWhileStarved != 0) {
+                updateRoundTripTime(System.nanoTime() - creditGrantedWhileStarved);
+                creditGrantedWhileStarved = 0;
+            }
+
+            final ClientDelivery clientDelivery = new ClientDelivery(this, delivery);
+
+            queuedBytes.addAndGet(clientDelivery.payloadSize());
+            deliveryQueue.enqueue(clientDelivery);
         } else {
             delivery.claimAvailableBytes();
         }
@@ -193,30 +232,68 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
 
     @Override
     protected void replenishCreditIfNeeded() {
-        int creditWindow = options.creditWindow();
-        if (creditWindow > 0) {
-            int currentCredit = protonReceiver.getCredit();
-            if (currentCredit <= creditWindow * 0.5) {
-                int potentialPrefetch = currentCredit + deliveryQueue.size();
+        if (creditPolicy != null) {
+            if (isPrefetchByteLimitReached()) {
+                LOG.trace("Receiver {} withholding credit while {} bytes are prefetched", linkId, queuedBytes.get());
+                consumedUntilCreditCheck.set(1);
+                return;
+            }
 
-                if (potentialPrefetch <= creditWindow * 0.7) {
-                    int additionalCredit = creditWindow - potentialPrefetch;
+            final int additionalCredit = creditPolicy.creditToGrant(creditState);
 
-                    LOG.trace("Receiver {} granting additional credit: {}", linkId, additionalCredit);
-                    try {
-                        protonReceiver.addCredit(additionalCredit);
-                    } catch (Exception ex) {
-                        LOG.debug("Error caught during credit top-up", ex);
-                    }
+            if (additionalCredit > 0) {
+                LOG.trace("Receiver {} granting additional credit: {}", linkId, additionalCredit);
+                try {
+                    grantCredit(additionalCredit);
+                } catch (Exception ex) {
+                    LOG.debug("Error caught during credit top-up", ex);
                 }
             }
+
+            consumedUntilCreditCheck.set(creditPolicy.consumedBeforeNextCheck(creditState));
+        }
+    }
+
+    private void grantCredit(int credit) {
+        if (protonReceiver.getCredit() == 0 && deliveryQueue.isEmpty()) {
+            creditGrantedWhileStarved = System.nanoTime();
+        }
+
+        protonReceiver.addCredit(credit);
+    }
+
+    private boolean isPrefetchByteLimitReached() {
+        return options.maxPrefetchBytes() > 0 && queuedBytes.get() >= options.maxPrefetchBytes();
+    }
+
+    private void deliveryConsumed(ClientDelivery delivery) {
+        queuedBytes.addAndGet(-delivery.payloadSize());
+        consumedDeliveries.incrementAndGet();
+    }
+
+    /*
+     * Credit is checked once the policy's consumption countdown runs out, and always when the
+     * last queued delivery is taken so that a stale countdown can never leave the link starved.
+     */
+    private boolean isCreditCheckNeeded() {
+        if (creditPolicy == null) {
+            return false;
         }
+
+        final int remaining = consumedUntilCreditCheck.decrementAndGet();
+
+        return remaining == 0 || (remaining < 0 && deliveryQueue.isEmpty());
+    }
+
+    private void updateRoundTripTime(long sample) {
+        roundTripTime = roundTripTime == 0 ? sample : roundTripTime + ((sample - roundTripTime) >> 3);
     }
 
     @Override
     protected void linkSpecificLocalCloseHandler() {
         deliveryQueue.stop();  // Ensure blocked receivers are all unblocked.
         deliveryQueue.clear();
+        queuedBytes.set(0);
     }
 
     @Override
@@ -224,6 +301,8 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
         int previousCredit = protonReceiver.getCredit() + deliveryQueue.size();
 
         deliveryQueue.clear();  // Prefetched messages should be discarded.
+        queuedBytes.set(0);
+        creditGrantedWhileStarved = 0;
 
         if (drainingFuture != null) {
             drainingFuture.complete(this);
@@ -240,4 +319,32 @@ public final class ClientReceiver extends ClientReceiverLinkType<Receiver> imple
         protonReceiver.setLinkedResource(this);
         protonReceiver.addCredit(previousCredit);
     }
+
+    private final class CreditState implements ReceiverCreditState {
+
+        @Override
+        public int credit() {
+            return protonReceiver.getCredit();
+        }
+
+        @Override
+        public int queuedDeliveries() {
+            return deliveryQueue.size();
+        }
+
+        @Override
+        public long queuedBytes() {
+            return Math.max(0, queuedBytes.get());
+        }
+
+        @Override
+        public long consumedDeliveries() {
+            return consumedDeliveries.get();
+        }
+
+        @Override
+        public long roundTripTime() {
+            return roundTripTime;
+        }
+    }
 }
@@ -122,6 +122,7 @@ final class ClientReceiverBuilder {
         protonReceiver.setDesiredCapabilities(ClientConversionSupport.toSymbolArray(options.desiredCapabilities()));
         protonReceiver.setProperties(ClientConversionSupport.toSymbolKeyedMap(options.properties()));
         protonReceiver.setDefaultDeliveryState(Released.getInstance());
+        protonReceiver.setCoalesceDispositions(previousReceiver.isCoalesceDispositions());
 
         return protonReceiver;
     }
@@ -157,6 +158,10 @@ final class ClientReceiverBuilder {
         protonReceiver.setProperties(ClientConversionSupport.toSymbolKeyedMap(options.properties()));
         protonReceiver.setDefaultDeliveryState(Released.getInstance());
 
+        if (options instanceof ReceiverOptions) {
+            protonReceiver.setCoalesceDispositions(((ReceiverOptions) options).coalesceDispositions());
+        }
+
         return protonReceiver;
     }
 
@@ -17,8 +17,13 @@
 package org.apache.qpid.protonj2.client.impl;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -49,11 +54,15 @@ public final class ClientSender extends ClientSenderLinkType<Sender> implements
 
     private final Deque<ClientOutgoingEnvelope> blocked = new ArrayDeque<>();
     private final SenderOptions options;
+    private final ProtonBufferAllocator encodeAllocator;
+    private final int zeroCopyThreshold;
 
     ClientSender(ClientSession session, SenderOptions options, String senderId, org.apache.qpid.protonj2.engine.Sender protonSender) {
         super(session, senderId, options, protonSender);
 
         this.options = new SenderOptions(options);
+        this.encodeAllocator = ClientMessageSupport.encodeBufferAllocator(options.bufferAllocatorType());
+        this.zeroCopyThreshold = session.getConnection().getOptions().zeroCopyThreshold();
     }
 
     @Override
@@ -80,6 +89,20 @@ public final class ClientSender extends ClientSenderLinkType<Sender> implements
         return sendMessage(ClientMessageSupport.convertMessage(message), deliveryAnnotations, false);
     }
 
+    @Override
+    public List<Tracker> send(Collection<? extends Message<?>> messages) throws ClientException {
+        checkClosedOrFailed();
+        Objects.requireNonNull(messages, "Cannot send a null collection of messages");
+        return sendMessages(messages, null);
+    }
+
+    @Override
+    public List<Tracker> send(Collection<? extends Message<?>> messages, Map<String, Object> deliveryAnnotations) throws ClientException {
+        checkClosedOrFailed();
+        Objects.requireNonNull(messages, "Cannot send a null collection of messages");
+        return sendMessages(messages, deliveryAnnotations);
+    }
+
     //----- Internal API
 
     SenderOptions options() {
@@ -152,7 +175,7 @@ public final class ClientSender extends ClientSenderLinkType<Sender> implements
 
     private Tracker sendMessage(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations, boolean waitForCredit) throws ClientException {
         final ClientFuture<Tracker> operation = session.getFutureFactory().createFuture();
-        final ProtonBuffer buffer = message.encode(deliveryAnnotations, ProtonBufferAllocator.defaultAllocator());
+        final ProtonBuffer buffer = encodeMessage(message, deliveryAnnotations);
 
         executor.execute(() -> {
             if (notClosedOrFailed(operation)) {
@@ -164,17 +187,86 @@ public final class ClientSender extends ClientSenderLinkType<Sender> implements
                     } else if (waitForCredit) {
                         addToTailOfBlockedQueue(envelope);
                     } else {
+                        buffer.close();
                         operation.complete(null);
                     }
                 } catch (Exception error) {
+                    buffer.close();
                     operation.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
                 }
+            } else {
+                buffer.close();
             }
         });
 
         return session.request(this, operation);
     }
 
+    private ProtonBuffer encodeMessage(AdvancedMessage<?> message, Map<String, Object> deliveryAnnotations) throws ClientException {
+        if (zeroCopyThreshold > 0 && message instanceof ClientMessage) {
+            return ClientMessageSupport.encodeMessage(encodeAllocator, message, deliveryAnnotations, zeroCopyThreshold);
+        } else {
+            return message.encode(deliveryAnnotations, encodeAllocator);
+        }
+    }
+
+    private List<Tracker> sendMessages(Collection<? extends Message<?>> messages, Map<String, Object> deliveryAnnotations) throws ClientException {
+        if (messages.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<ClientOutgoingEnvelope> envelopes = new ArrayList<>(messages.size());
+
+        try {
+            for (Message<?> message : messages) {
+                Objects.requireNonNull(message, "Cannot send a null message");
+
+                final AdvancedMessage<?> advanced = ClientMessageSupport.convertMessage(message);
+                final ProtonBuffer buffer = encodeMessage(advanced, deliveryAnnotations);
+
+                envelopes.add(new ClientOutgoingEnvelope(this, advanced.messageFormat(), buffer, session.getFutureFactory().createFuture()));
+            }
+        } catch (Exception error) {
+            envelopes.forEach((envelope) -> envelope.payload.close());
+            throw ClientExceptionSupport.createNonFatalOrPassthrough(error);
+        }
+
+        // All transfers are written in one event loop task and then flushed once
+        executor.execute(() -> {
+            final boolean wasAutoFlushOn = connection().autoFlushOff();
+            try {
+                for (ClientOutgoingEnvelope envelope : envelopes) {
+                    if (notClosedOrFailed(envelope.request)) {
+                        try {
+                            if (protonSender.isSendable() && protonSender.current() == null) {
+                                session.getTransactionContext().send(envelope, null, protonSender.getSenderSettleMode() == SenderSettleMode.SETTLED);
+                            } else {
+                                addToTailOfBlockedQueue(envelope);
+                            }
+                        } catch (Exception error) {
+                            envelope.failed(ClientExceptionSupport.createNonFatalOrPassthrough(error));
+                        }
+                    } else {
+                        envelope.payload.close();
+                    }
+                }
+            } finally {
+                if (wasAutoFlushOn) {
+                    connection().flush();
+                    connection().autoFlushOn();
+                }
+            }
+        });
+
+        final List<Tracker> trackers = new ArrayList<>(envelopes.size());
+
+        for (ClientOutgoingEnvelope envelope : envelopes) {
+            trackers.add(session.request(this, envelope.request));
+        }
+
+        return trackers;
+    }
+
     private Tracker createTracker(OutgoingDelivery delivery) {
         return new ClientTracker(this, delivery);
     }
@@ -269,7 +269,10 @@ public final class ClientStreamDelivery extends ClientDeliverable<ClientStreamDe
 
                 try {
                     executor.execute(() -> {
-                        if (protonDelivery.available() > 0) {
+                        if (protonDelivery.getLink().isLocallyClosedOrDetached()) {
+                            request.failed(new ClientException("Cannot read from delivery due to link having been closed"));
+                            return;
+                        } else if (protonDelivery.available() > 0) {
                             buffer.append(protonDelivery.readAll());
                         }
 
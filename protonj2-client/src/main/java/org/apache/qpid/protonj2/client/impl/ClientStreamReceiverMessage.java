@@ -98,7 +98,7 @@ public final class ClientStreamReceiverMessage implements StreamReceiverMessage
     ClientStreamReceiverMessage(ClientStreamReceiver receiver, ClientStreamDelivery delivery, InputStream deliveryStream) {
         this.receiver = receiver;
         this.delivery = delivery;
-        this.deliveryStream = deliveryStream;
+        this.deliveryStream = decoderState.readAheadStream(deliveryStream);
         this.protonDelivery = delivery.protonDelivery();
     }
 
@@ -55,6 +55,7 @@ final class ClientTransportListener implements TransportListener {
     public void transportRead(ProtonBuffer incoming) {
         try {
             connection.autoFlushOff();
+            connection.beginWriteBatch();
             do {
                 engine.ingest(incoming);
             } while (incoming.isReadable() && engine.isWritable());
@@ -64,6 +65,7 @@ final class ClientTransportListener implements TransportListener {
             engine.engineFailed(ClientExceptionSupport.createOrPassthroughFatal(e));
         } finally {
             connection.autoFlushOn();
+            connection.endWriteBatch();
         }
     }
 
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.engine.Scheduler;
+
+/**
+ * A {@link Scheduler} that wraps the connection IO scheduler and marks each task it runs as a
+ * single write batch, frames written by the connection engine while the task runs are flushed
+ * once when the task completes instead of being flushed as each frame is written.
+ */
+final class ClientWriteBatchingScheduler implements Scheduler {
+
+    private final ClientConnection connection;
+    private final Scheduler delegate;
+
+    ClientWriteBatchingScheduler(ClientConnection connection, Scheduler delegate) {
+        this.connection = connection;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(batched(command));
+    }
+
+    @Override
+    public Future<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return delegate.schedule(batched(command), delay, unit);
+    }
+
+    @Override
+    public <V> Future<V> schedule(Callable<V> task, long delay, TimeUnit unit) {
+        return delegate.schedule(() -> {
+            connection.beginWriteBatch();
+            try {
+                return task.call();
+            } finally {
+                connection.endWriteBatch();
+            }
+        }, delay, unit);
+    }
+
+    @Override
+    public Future<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return delegate.scheduleAtFixedRate(batched(command), initialDelay, period, unit);
+    }
+
+    @Override
+    public Future<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return delegate.scheduleWithFixedDelay(batched(command), initialDelay, delay, unit);
+    }
+
+    private Runnable batched(Runnable command) {
+        return () -> {
+            connection.beginWriteBatch();
+            try {
+                command.run();
+            } finally {
+                connection.endWriteBatch();
+            }
+        };
+    }
+}
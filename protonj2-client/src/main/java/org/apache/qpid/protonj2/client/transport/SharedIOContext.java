@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.qpid.protonj2.client.transport;
+
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.transport.netty4.Netty4SharedIOContext;
+import org.apache.qpid.protonj2.client.transport.netty4.Netty4Support;
+import org.apache.qpid.protonj2.client.transport.netty5.Netty5SharedIOContext;
+import org.apache.qpid.protonj2.client.transport.netty5.Netty5Support;
+
+/**
+ * A bounded pool of IO event loops that can be shared by many connections.
+ * <p>
+ * Each {@link IOContext} handed out by the shared context is pinned to exactly one of
+ * the pooled event loops, chosen by hashing the key provided, which preserves the single
+ * threaded IO model that each connection relies on while allowing the total number of IO
+ * threads to remain fixed regardless of how many connections are created.  The contexts
+ * handed out do not own the event loop they are assigned and shutting them down has no
+ * effect on the shared pool, only {@link #shutdown()} or {@link #shutdownAsync()} will
+ * terminate the pooled event loops.
+ */
+public interface SharedIOContext {
+
+    /**
+     * @return the number of IO threads this shared context will create for each IO type in use.
+     */
+    int ioThreads();
+
+    /**
+     * Creates a new {@link IOContext} that is bound to one of the event loops in this shared
+     * context, the same key will always select the same event loop.
+     *
+     * @param options
+     * 		The {@link TransportOptions} that configure the IO Transport the context creates.
+     * @param sslOptions
+     * 		The {@link SslOptions} that configure the SSL layer of the IO Transport the context creates.
+     * @param key
+     * 		The key whose hash code is used to select the event loop that the context is bound to.
+     *
+     * @return a new {@link IOContext} that is bound to one of the shared event loops.
+     */
+    IOContext newContext(TransportOptions options, SslOptions sslOptions, Object key);
+
+    /**
+     * Shutdown all the shared event loops synchronously with a grace period for work that might
+     * be in-bound at the time of termination.  This is not safe to call from inside one of the
+     * shared event loops as it blocks until the shutdown has completed.
+     */
+    void shutdown();
+
+    /**
+     * Shutdown all the shared event loops asynchronously with a grace period for work that might
+     * be in-bound at the time of termination.  This is safe to call from inside one of the shared
+     * event loops where the standard blocking shutdown API is not.
+     */
+    void shutdownAsync();
+
+    /**
+     * Create a {@link SharedIOContext} using the IO library that is available.
+     *
+     * @param ioThreads
+     * 		The number of IO threads to create for each IO type that is requested.
+     * @param ioThreadName
+     * 		The name prefix to give the IO threads that the shared context creates.
+     *
+     * @return a new {@link SharedIOContext} with the given number of IO threads.
+     */
+    static SharedIOContext create(int ioThreads, String ioThreadName) {
+        if (ioThreads <= 0) {
+            throw new IllegalArgumentException("The number of shared IO threads must be greater than zero");
+        }
+
+        if (Netty4Support.isAvailable()) {
+            return new Netty4SharedIOContext(ioThreads, ioThreadName);
+        } else if (Netty5Support.isAvailable()) {
+            return new Netty5SharedIOContext(ioThreads, ioThreadName);
+        }
+
+        throw new UnsupportedOperationException("Netty not available on the class path");
+    }
+
+    /**
+     * Selects an index in the range [0, count) from the hash code of the given key.
+     *
+     * @param key
+     * 		The key whose hash code is used to select the index.
+     * @param count
+     * 		The number of indices that can be selected from.
+     *
+     * @return the index that the key hashes to.
+     */
+    static int selectIndex(Object key, int count) {
+        if (key == null || count <= 1) {
+            return 0;
+        }
+
+        // Spread the higher bits down to avoid poor distribution of keys with similar hashes
+        final int hash = key.hashCode();
+
+        return Math.floorMod(hash ^ (hash >>> 16), count);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.transport.netty4;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.client.SslOptions;
+import org.apache.qpid.protonj2.client.TransportOptions;
+import org.apache.qpid.protonj2.client.transport.IOContext;
+import org.apache.qpid.protonj2.client.transport.SharedIOContext;
+import org.apache.qpid.protonj2.client.util.TrackableThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * Netty 4 based {@link SharedIOContext} which lazily creates one multi-threaded event loop
+ * group for each IO type (NIO, Epoll etc) requested by the transport options of the contexts
+ * that are created from it.
+ */
+public final class Netty4SharedIOContext implements SharedIOContext {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Netty4SharedIOContext.class);
+
+    private static final int SHUTDOWN_TIMEOUT = 50;
+    private static final int ASYNC_SHUTDOWN_TIMEOUT = 100;
+    private static final int ASYNC_SHUTDOWN_QUIET_PERIOD = 10;
+
+    private final int ioThreads;
+    private final String ioThreadName;
+    private final Map<String, SharedGroup> groups = new HashMap<>();
+
+    private boolean shutdown;
+
+    public Netty4SharedIOContext(int ioThreads, String ioThreadName) {
+        if (ioThreads <= 0) {
+            throw new IllegalArgumentException("The number of shared IO threads must be greater than zero");
+        }
+
+        this.ioThreads = ioThreads;
+        this.ioThreadName = Objects.requireNonNull(ioThreadName, "IO thread name cannot be null");
+    }
+
+    @Override
+    public int ioThreads() {
+        return ioThreads;
+    }
+
+    @Override
+    public IOContext newContext(TransportOptions options, SslOptions sslOptions, Object key) {
+        Objects.requireNonNull(options, "Transport Options cannot be null");
+        Objects.requireNonNull(sslOptions, "Transport SSL Options cannot be null");
+
+        final String ioType = Netty4IOContext.selectIOType(options);
+        final SharedGroup sharedGroup;
+
+        synchronized (groups) {
+            if (shutdown) {
+                throw new IllegalStateException("Cannot create an IO context from a shutdown shared IO context");
+            }
+
+            sharedGroup = groups.computeIfAbsent(ioType, (type) -> new SharedGroup(type));
+        }
+
+        return new Netty4IOContext(options, sslOptions, sharedGroup.select(key), sharedGroup.channelClass);
+    }
+
+    @Override
+    public void shutdown() {
+        for (SharedGroup sharedGroup : closeGroups()) {
+            sharedGroup.group.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+            try {
+                if (!sharedGroup.group.awaitTermination(2 * SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                    LOG.trace("Shared IO Event Loop shutdown failed to complete in allotted time");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void shutdownAsync() {
+        for (SharedGroup sharedGroup : closeGroups()) {
+            sharedGroup.group.shutdownGracefully(ASYNC_SHUTDOWN_QUIET_PERIOD, ASYNC_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private List<SharedGroup> closeGroups() {
+        synchronized (groups) {
+            shutdown = true;
+            final List<SharedGroup> result = new ArrayList<>(groups.values());
+            groups.clear();
+            return result;
+        }
+    }
+
+    private final class SharedGroup {
+
+        private final EventLoopGroup group;
+        private final EventLoop[] eventLoops;
+        private final Class<? extends Channel> channelClass;
+
+        public SharedGroup(String ioType) {
+            this.group = Netty4IOContext.createGroup(ioType, ioThreads, new TrackableThreadFactory(ioThreadName + " (" + ioType + ")", true));
+            this.channelClass = Netty4IOContext.getChannelClass(ioType);
+            this.eventLoops = new EventLoop[ioThreads];
+
+            int index = 0;
+            for (EventExecutor executor : group) {
+                eventLoops[index++] = (EventLoop) executor;
+            }
+        }
+
+        public EventLoop select(Object key) {
+            return eventLoops[SharedIOContext.selectIndex(key, eventLoops.length)];
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.buffer.ProtonBufferComponent;
 import org.apache.qpid.protonj2.buffer.ProtonBufferComponentAccessor;
+import org.apache.qpid.protonj2.buffer.impl.ProtonDirectBuffer;
 import org.apache.qpid.protonj2.buffer.netty.Netty4ProtonBufferAllocator;
 import org.apache.qpid.protonj2.buffer.netty.Netty4ToProtonBufferAdapter;
 import org.apache.qpid.protonj2.client.SslOptions;
@@ -39,6 +40,7 @@ import org.slf4j.LoggerFactory;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
@@ -315,6 +317,10 @@ public class TcpTransport implements Transport {
     }
 
     private TcpTransport writeOutputBuffer(final ProtonBuffer buffer, boolean flush, ChannelPromise promise) {
+        if (buffer instanceof ProtonDirectBuffer) {
+            return writeDirectBuffer((ProtonDirectBuffer) buffer, flush, promise);
+        }
+
         int writeCount = buffer.componentCount();
 
         try (ProtonBuffer ioBuffer = buffer; ProtonBufferComponentAccessor accessor = buffer.componentAccessor()) {
@@ -325,6 +331,9 @@ public class TcpTransport implements Transport {
                     nettyBuf = ((Netty4ToProtonBufferAdapter)output).unwrapAndRelease();
                 } else if (output.unwrap() instanceof ByteBuf) {
                     nettyBuf = (ByteBuf) ReferenceCountUtil.retain(output.unwrap());
+                } else if (ioBuffer.isReadOnly() && output.hasReadbleArray()) {
+                    // Read-only bytes cannot change underneath the write so Netty can take them as is
+                    nettyBuf = Unpooled.wrappedBuffer(output.getReadableArray(), output.getReadableArrayOffset(), output.getReadableBytes());
                 } else {
                     nettyBuf = channel.alloc().ioBuffer(output.getReadableBytes());
                     if (output.hasReadbleArray()) {
@@ -349,6 +358,23 @@ public class TcpTransport implements Transport {
         return this;
     }
 
+    private TcpTransport writeDirectBuffer(final ProtonDirectBuffer buffer, boolean flush, ChannelPromise promise) {
+        // The native memory is written as is and the buffer is released once Netty is done with it
+        final ProtonDirectBuffer ioBuffer = (ProtonDirectBuffer) buffer.transfer();
+        final ByteBuf nettyBuf = Unpooled.wrappedBuffer(ioBuffer.getReadableBuffer());
+        final ChannelPromise writePromise = promise.isVoid() ? channel.newPromise() : promise;
+
+        writePromise.addListener(future -> ioBuffer.close());
+
+        if (flush) {
+            channel.writeAndFlush(nettyBuf, writePromise);
+        } else {
+            channel.write(nettyBuf, writePromise);
+        }
+
+        return this;
+    }
+
     //----- Internal implementation details, can be overridden as needed -----//
 
     protected void addAdditionalHandlers(ChannelPipeline pipeline) {
@@ -50,12 +50,14 @@ public final class Netty5IOContext implements IOContext {
     private static final int ASYNC_SHUTDOWN_TIMEOUT = 100;
     private static final int ASYNC_SHUTDOWN_QUIET_PERIOD = 10;
 
+    static final String NIO_NAME = "NIO";
+
     private final EventLoopGroup group;
     private final NettyIOScheduler scheduler = new NettyIOScheduler();
     private final Class<? extends Channel> channelClass;
     private final TransportOptions options;
     private final SslOptions sslOptions;
-    private final ThreadFactory threadFactory;
+    private final boolean ownsGroup;
 
     public Netty5IOContext(TransportOptions options, SslOptions ssl, String ioThreadName) {
         Objects.requireNonNull(options, "Transport Options cannot be null");
@@ -63,35 +65,46 @@ public final class Netty5IOContext implements IOContext {
 
         this.options = options;
         this.sslOptions = ssl;
-        this.threadFactory = new TrackableThreadFactory(ioThreadName, true);
+        this.ownsGroup = true;
+
+        final String ioType = selectIOType(options);
+
+        this.group = createGroup(ioType, 1, new TrackableThreadFactory(ioThreadName, true));
+        this.channelClass = getChannelClass(ioType);
+    }
 
-        final String[] nativeIOPreference = options.nativeIOPreference();
+    /*
+     * Creates an IO context that is bound to an event loop owned by a shared context, the
+     * context created will not shutdown the event loop as it is not the owner.
+     */
+    Netty5IOContext(TransportOptions options, SslOptions ssl, EventLoopGroup eventLoop, Class<? extends Channel> channelClass) {
+        Objects.requireNonNull(options, "Transport Options cannot be null");
+        Objects.requireNonNull(ssl, "Transport SSL Options cannot be null");
 
-        EventLoopGroup selectedGroup = null;
-        Class<? extends Channel> selectedChannelClass = null;
+        this.options = options;
+        this.sslOptions = ssl;
+        this.ownsGroup = false;
+        this.group = eventLoop;
+        this.channelClass = channelClass;
+    }
 
+    static String selectIOType(TransportOptions options) {
         if (options.allowNativeIO()) {
-            for (String nativeID : nativeIOPreference) {
+            for (String nativeID : options.nativeIOPreference()) {
                 if (EpollSupport.NAME.equalsIgnoreCase(nativeID)) {
                     if (EpollSupport.isAvailable(options)) {
                         LOG.trace("Netty Transports will be using Epoll mode");
-                        selectedGroup = EpollSupport.createGroup(1, threadFactory);
-                        selectedChannelClass = EpollSupport.getChannelClass();
-                        break;
+                        return EpollSupport.NAME;
                     }
                 } else if (IOUringSupport.NAME.equalsIgnoreCase(nativeID)) {
                     if (IOUringSupport.isAvailable(options)) {
                         LOG.trace("Netty Transports will be using IO-Uring mode");
-                        selectedGroup = IOUringSupport.createGroup(1, threadFactory);
-                        selectedChannelClass = IOUringSupport.getChannelClass();
-                        break;
+                        return IOUringSupport.NAME;
                     }
                 } else if (KQueueSupport.NAME.equalsIgnoreCase(nativeID)) {
                     if (KQueueSupport.isAvailable(options)) {
                         LOG.trace("Netty Transports will be using KQueue mode");
-                        selectedGroup = KQueueSupport.createGroup(1, threadFactory);
-                        selectedChannelClass = KQueueSupport.getChannelClass();
-                        break;
+                        return KQueueSupport.NAME;
                     }
                 } else {
                     throw new IllegalArgumentException(
@@ -100,19 +113,39 @@ public final class Netty5IOContext implements IOContext {
             }
         }
 
-        if (selectedGroup == null) {
-            LOG.trace("Netty Transports will be using NIO mode");
-            selectedGroup = new MultithreadEventLoopGroup(1, threadFactory, NioHandler.newFactory());
-            selectedChannelClass = NioSocketChannel.class;
+        LOG.trace("Netty Transports will be using NIO mode");
+        return NIO_NAME;
+    }
+
+    static EventLoopGroup createGroup(String ioType, int nThreads, ThreadFactory threadFactory) {
+        switch (ioType) {
+            case EpollSupport.NAME:
+                return EpollSupport.createGroup(nThreads, threadFactory);
+            case IOUringSupport.NAME:
+                return IOUringSupport.createGroup(nThreads, threadFactory);
+            case KQueueSupport.NAME:
+                return KQueueSupport.createGroup(nThreads, threadFactory);
+            default:
+                return new MultithreadEventLoopGroup(nThreads, threadFactory, NioHandler.newFactory());
         }
+    }
 
-        this.group = selectedGroup;
-        this.channelClass = selectedChannelClass;
+    static Class<? extends Channel> getChannelClass(String ioType) {
+        switch (ioType) {
+            case EpollSupport.NAME:
+                return EpollSupport.getChannelClass();
+            case IOUringSupport.NAME:
+                return IOUringSupport.getChannelClass();
+            case KQueueSupport.NAME:
+                return KQueueSupport.getChannelClass();
+            default:
+                return NioSocketChannel.class;
+        }
     }
 
     @Override
     public void shutdown() {
-        if (!group.isShutdown()) {
+        if (ownsGroup && !group.isShutdown()) {
             group.shutdownGracefully(0, SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
             try {
                 if (!group.awaitTermination(2 * SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS)) {
@@ -131,7 +164,7 @@ public final class Netty5IOContext implements IOContext {
      */
     @Override
     public void shutdownAsync() {
-        if (!group.isShutdown()) {
+        if (ownsGroup && !group.isShutdown()) {
             group.shutdownGracefully(ASYNC_SHUTDOWN_QUIET_PERIOD, ASYNC_SHUTDOWN_TIMEOUT, TimeUnit.MILLISECONDS);
         }
     }
@@ -25,6 +25,21 @@ import org.apache.qpid.protonj2.client.impl.ClientDelivery;
  */
 public interface DeliveryQueue {
 
+    /**
+     * Queue type that uses a lock based FIFO queue, safe for any number of consuming threads.
+     */
+    String FIFO = "fifo";
+
+    /**
+     * Queue type that uses a lock free ring which supports only a single consuming thread at a time.
+     */
+    String SPSC = "spsc";
+
+    /**
+     * Queue type that uses a lock free ring which supports any number of consuming threads.
+     */
+    String SPMC = "spmc";
+
     /**
      * Adds the given {@link Delivery} to the end of the Delivery queue.
      *
@@ -124,4 +139,27 @@ public interface DeliveryQueue {
      */
     void clear();
 
-}
\ No newline at end of file
+    /**
+     * Creates a new {@link DeliveryQueue} of the given type.
+     *
+     * @param type
+     * 		The type of queue to create, one of {@link #FIFO}, {@link #SPSC} or {@link #SPMC}.
+     * @param queueDepth
+     * 		The expected number of deliveries that will be queued at any one time.
+     *
+     * @return a new {@link DeliveryQueue} of the requested type.
+     *
+     * @throws IllegalArgumentException if the queue type given is not a known type.
+     */
+    static DeliveryQueue create(String type, int queueDepth) {
+        if (type == null || FIFO.equalsIgnoreCase(type)) {
+            return new FifoDeliveryQueue(queueDepth);
+        } else if (SPSC.equalsIgnoreCase(type)) {
+            return new SpscDeliveryQueue(queueDepth);
+        } else if (SPMC.equalsIgnoreCase(type)) {
+            return new SpmcDeliveryQueue(queueDepth);
+        }
+
+        throw new IllegalArgumentException("Unknown delivery queue type: " + type);
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import java.util.Objects;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.qpid.protonj2.client.Delivery;
+import org.apache.qpid.protonj2.client.impl.ClientDelivery;
+
+/**
+ * Base for lock free {@link Delivery} Queue implementations that store deliveries in a
+ * bounded array based ring which is sized from the configured queue depth.
+ * <p>
+ * The enqueue side of the queue must only ever be used from a single thread (the connection
+ * IO thread) while the dequeue side guarantees are left to the implementation.  When the ring
+ * is full, which can happen if credit is granted beyond the queue depth, deliveries are added
+ * to an unbounded overflow queue and all further deliveries are sent to the overflow queue until
+ * it has been drained which preserves the FIFO ordering of the queue.  Deliveries added to the
+ * front of the queue are held in a separate head queue which is always drained before the ring.
+ * Threads that wait for a delivery to arrive are parked and the enqueue of a new delivery unparks
+ * a waiting thread.
+ */
+abstract class RingDeliveryQueue implements DeliveryQueue {
+
+    private static final AtomicIntegerFieldUpdater<RingDeliveryQueue> STATE_FIELD_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(RingDeliveryQueue.class, "state");
+
+    /**
+     * Default ring capacity used when the configured queue depth is zero (no credit window).
+     */
+    static final int DEFAULT_RING_CAPACITY = 64;
+
+    /**
+     * Largest ring that will be allocated, larger queue depths rely on the overflow queue.
+     */
+    static final int MAX_RING_CAPACITY = 1 << 16;
+
+    private static final int CLOSED = 0;
+    private static final int STOPPED = 1;
+    private static final int RUNNING = 2;
+
+    protected final int capacity;
+    protected final int mask;
+
+    private final Deque<ClientDelivery> head = new ConcurrentLinkedDeque<>();
+    private final Queue<ClientDelivery> overflow = new ConcurrentLinkedQueue<>();
+
+    private volatile int state = STOPPED;
+
+    RingDeliveryQueue(int queueDepth) {
+        final int requested = queueDepth > 0 ? Math.min(queueDepth, MAX_RING_CAPACITY) : DEFAULT_RING_CAPACITY;
+
+        this.capacity = requested == 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+        this.mask = capacity - 1;
+    }
+
+    @Override
+    public final void enqueue(ClientDelivery delivery) {
+        Objects.requireNonNull(delivery, "Cannot enqueue a null delivery");
+
+        if (!overflow.isEmpty() || !offerToRing(delivery)) {
+            overflow.offer(delivery);
+        }
+
+        signalWaiter();
+    }
+
+    @Override
+    public final void enqueueFirst(ClientDelivery delivery) {
+        Objects.requireNonNull(delivery, "Cannot enqueue a null delivery");
+
+        head.offerFirst(delivery);
+
+        signalWaiter();
+    }
+
+    @Override
+    public final ClientDelivery dequeue(long timeout) throws InterruptedException {
+        if (!isRunning()) {
+            return null;
+        }
+
+        ClientDelivery delivery = poll();
+        if (delivery != null || timeout == 0) {
+            return delivery;
+        }
+
+        final long deadline = timeout > 0 ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout) : 0;
+        final Thread current = Thread.currentThread();
+
+        addWaiter(current);
+        try {
+            while (isRunning()) {
+                // Poll after registering as a waiter so that an enqueue racing with us either
+                // is seen here or sees this thread as a waiter and unparks it.
+                if ((delivery = poll()) != null) {
+                    return delivery;
+                }
+
+                if (timeout < 0) {
+                    LockSupport.park(this);
+                } else {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return null;
+                    }
+
+                    LockSupport.parkNanos(this, remaining);
+                }
+
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+
+            return null;
+        } finally {
+            removeWaiter(current);
+
+            // Pass on any signal this waiter might have consumed without taking the delivery
+            if (!isEmpty()) {
+                signalWaiter();
+            }
+        }
+    }
+
+    @Override
+    public final ClientDelivery dequeueNoWait() {
+        if (!isRunning()) {
+            return null;
+        }
+
+        return poll();
+    }
+
+    @Override
+    public final void start() {
+        if (STATE_FIELD_UPDATER.compareAndSet(this, STOPPED, RUNNING)) {
+            signalAllWaiters();
+        }
+    }
+
+    @Override
+    public final void stop() {
+        if (STATE_FIELD_UPDATER.compareAndSet(this, RUNNING, STOPPED)) {
+            signalAllWaiters();
+        }
+    }
+
+    @Override
+    public final void close() {
+        if (STATE_FIELD_UPDATER.getAndSet(this, CLOSED) > CLOSED) {
+            signalAllWaiters();
+        }
+    }
+
+    @Override
+    public final boolean isRunning() {
+        return state == RUNNING;
+    }
+
+    @Override
+    public final boolean isClosed() {
+        return state == CLOSED;
+    }
+
+    @Override
+    public final boolean isEmpty() {
+        return head.isEmpty() && ringSize() == 0 && overflow.isEmpty();
+    }
+
+    @Override
+    public final int size() {
+        return head.size() + ringSize() + overflow.size();
+    }
+
+    @Override
+    public final void clear() {
+        head.clear();
+        clearRing();
+        overflow.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " { size = " + size() + ", capacity = " + capacity + " }";
+    }
+
+    private ClientDelivery poll() {
+        ClientDelivery delivery = head.pollFirst();
+        if (delivery != null) {
+            return delivery;
+        }
+
+        delivery = pollRing();
+
+        // Overflow only holds entries that arrived after everything that was in the ring
+        return delivery != null ? delivery : overflow.poll();
+    }
+
+    //----- Implementation specific ring and waiter management
+
+    /**
+     * Attempts to add the delivery to the ring, called only from the single producer thread.
+     *
+     * @param delivery
+     * 		The delivery to add to the tail of the ring.
+     *
+     * @return true if the delivery was added or false if the ring is full.
+     */
+    protected abstract boolean offerToRing(ClientDelivery delivery);
+
+    /**
+     * @return the delivery at the head of the ring or null if the ring is empty.
+     */
+    protected abstract ClientDelivery pollRing();
+
+    /**
+     * @return the number of deliveries currently held in the ring.
+     */
+    protected abstract int ringSize();
+
+    /**
+     * Discards all deliveries currently held in the ring.
+     */
+    protected abstract void clearRing();
+
+    /**
+     * Registers the given thread as waiting for a delivery to be enqueued.
+     *
+     * @param waiter
+     * 		The thread that will park waiting for a delivery.
+     */
+    protected abstract void addWaiter(Thread waiter);
+
+    /**
+     * Removes the given thread from the set of threads waiting for a delivery.
+     *
+     * @param waiter
+     * 		The thread that is no longer waiting for a delivery.
+     */
+    protected abstract void removeWaiter(Thread waiter);
+
+    /**
+     * Unparks a thread that is waiting for a delivery if there is one.
+     */
+    protected abstract void signalWaiter();
+
+    /**
+     * Unparks all threads that are waiting for a delivery.
+     */
+    protected abstract void signalAllWaiters();
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.qpid.protonj2.client.Delivery;
+import org.apache.qpid.protonj2.client.impl.ClientDelivery;
+
+/**
+ * Lock free single producer and multiple consumer {@link Delivery} Queue.
+ * <p>
+ * Deliveries are enqueued only by the connection IO thread while any number of application
+ * threads may receive from the queue concurrently.  Each ring slot carries a sequence value
+ * that tells the producer when the slot is free and the consumers when it holds a delivery,
+ * consumers claim a delivery by advancing the shared consumer index with a compare and set.
+ */
+public final class SpmcDeliveryQueue extends RingDeliveryQueue {
+
+    private static final AtomicLongFieldUpdater<SpmcDeliveryQueue> PRODUCER_INDEX_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(SpmcDeliveryQueue.class, "producerIndex");
+    private static final AtomicLongFieldUpdater<SpmcDeliveryQueue> CONSUMER_INDEX_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(SpmcDeliveryQueue.class, "consumerIndex");
+
+    private final AtomicReferenceArray<ClientDelivery> ring;
+    private final AtomicLongArray sequences;
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    private volatile long producerIndex;
+    private volatile long consumerIndex;
+
+    /**
+     * Creates a new {@link SpmcDeliveryQueue} whose ring is sized to hold the given number of deliveries.
+     *
+     * @param queueDepth
+     * 		The expected number of deliveries that will be queued at any one time.
+     */
+    public SpmcDeliveryQueue(int queueDepth) {
+        super(queueDepth);
+
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+
+        for (int i = 0; i < capacity; ++i) {
+            sequences.lazySet(i, i);
+        }
+    }
+
+    @Override
+    protected boolean offerToRing(ClientDelivery delivery) {
+        final long index = producerIndex;
+        final int slot = (int) (index & mask);
+
+        if (sequences.get(slot) != index) {
+            return false;
+        }
+
+        ring.lazySet(slot, delivery);
+        // Full volatile store publishes the delivery and orders it before the waiter check
+        sequences.set(slot, index + 1);
+        PRODUCER_INDEX_UPDATER.lazySet(this, index + 1);
+
+        return true;
+    }
+
+    @Override
+    protected ClientDelivery pollRing() {
+        while (true) {
+            final long index = consumerIndex;
+            final int slot = (int) (index & mask);
+            final long available = sequences.get(slot) - (index + 1);
+
+            if (available < 0) {
+                return null;
+            } else if (available == 0 && CONSUMER_INDEX_UPDATER.compareAndSet(this, index, index + 1)) {
+                final ClientDelivery delivery = ring.get(slot);
+
+                ring.lazySet(slot, null);
+                sequences.lazySet(slot, index + capacity);
+
+                return delivery;
+            }
+
+            // Another consumer claimed the slot first, retry from the updated index
+        }
+    }
+
+    @Override
+    protected int ringSize() {
+        final long head = consumerIndex;
+        final long tail = producerIndex;
+
+        return (int) Math.max(0, tail - head);
+    }
+
+    @Override
+    protected void clearRing() {
+        while (pollRing() != null) {
+            // Discard until empty
+        }
+    }
+
+    @Override
+    protected void addWaiter(Thread waiter) {
+        waiters.add(waiter);
+    }
+
+    @Override
+    protected void removeWaiter(Thread waiter) {
+        waiters.remove(waiter);
+    }
+
+    @Override
+    protected void signalWaiter() {
+        final Thread waiting = waiters.peek();
+        if (waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    @Override
+    protected void signalAllWaiters() {
+        waiters.forEach(LockSupport::unpark);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.qpid.protonj2.client.Delivery;
+import org.apache.qpid.protonj2.client.impl.ClientDelivery;
+
+/**
+ * Lock free single producer and single consumer {@link Delivery} Queue.
+ * <p>
+ * Deliveries are enqueued only by the connection IO thread and this queue requires that at
+ * most one application thread is receiving from it at any given time, the consumer can be any
+ * thread but concurrent receive calls are not supported.  A ring slot that holds a delivery is
+ * considered full until the consumer takes it which allows both sides to operate without any
+ * shared mutable index and without locks.
+ */
+public final class SpscDeliveryQueue extends RingDeliveryQueue {
+
+    private static final AtomicLongFieldUpdater<SpscDeliveryQueue> PRODUCER_INDEX_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(SpscDeliveryQueue.class, "producerIndex");
+    private static final AtomicLongFieldUpdater<SpscDeliveryQueue> CONSUMER_INDEX_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(SpscDeliveryQueue.class, "consumerIndex");
+    private static final AtomicLongFieldUpdater<SpscDeliveryQueue> CLEAR_INDEX_UPDATER =
+            AtomicLongFieldUpdater.newUpdater(SpscDeliveryQueue.class, "clearIndex");
+
+    private final AtomicReferenceArray<ClientDelivery> ring;
+
+    private volatile long producerIndex;
+    private volatile long consumerIndex;
+    private volatile long clearIndex;
+    private volatile Thread waiter;
+
+    /**
+     * Creates a new {@link SpscDeliveryQueue} whose ring is sized to hold the given number of deliveries.
+     *
+     * @param queueDepth
+     * 		The expected number of deliveries that will be queued at any one time.
+     */
+    public SpscDeliveryQueue(int queueDepth) {
+        super(queueDepth);
+
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    protected boolean offerToRing(ClientDelivery delivery) {
+        final long index = producerIndex;
+        final int slot = (int) (index & mask);
+
+        if (ring.get(slot) != null) {
+            return false;
+        }
+
+        // Full volatile store so the consumer registering as a waiter cannot miss this delivery
+        ring.set(slot, delivery);
+        PRODUCER_INDEX_UPDATER.lazySet(this, index + 1);
+
+        return true;
+    }
+
+    @Override
+    protected ClientDelivery pollRing() {
+        long index = consumerIndex;
+
+        final long cleared = clearIndex;
+        if (index < cleared) {
+            // Discard the entries that were cleared and free their slots for the producer.
+            for (; index < cleared; ++index) {
+                ring.lazySet((int) (index & mask), null);
+            }
+
+            CONSUMER_INDEX_UPDATER.lazySet(this, index);
+        }
+
+        final int slot = (int) (index & mask);
+        final ClientDelivery delivery = ring.get(slot);
+
+        if (delivery != null) {
+            ring.lazySet(slot, null);
+            CONSUMER_INDEX_UPDATER.lazySet(this, index + 1);
+        }
+
+        return delivery;
+    }
+
+    @Override
+    protected int ringSize() {
+        final long head = Math.max(consumerIndex, clearIndex);
+        final long tail = producerIndex;
+
+        return (int) Math.max(0, tail - head);
+    }
+
+    @Override
+    protected void clearRing() {
+        // The consumer owns the ring slots so the clear only marks the point it must skip to.
+        CLEAR_INDEX_UPDATER.accumulateAndGet(this, producerIndex, Math::max);
+    }
+
+    @Override
+    protected void addWaiter(Thread waiter) {
+        this.waiter = waiter;
+    }
+
+    @Override
+    protected void removeWaiter(Thread waiter) {
+        if (this.waiter == waiter) {
+            this.waiter = null;
+        }
+    }
+
+    @Override
+    protected void signalWaiter() {
+        final Thread waiting = waiter;
+        if (waiting != null) {
+            LockSupport.unpark(waiting);
+        }
+    }
+
+    @Override
+    protected void signalAllWaiters() {
+        signalWaiter();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveCreditPolicyTest {
+
+    @Test
+    void testCreateWithInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveCreditPolicy(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveCreditPolicy(10, 5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveCreditPolicy(1, 10, -1));
+    }
+
+    @Test
+    void testInitialCreditIsMinimum() {
+        AdaptiveCreditPolicy policy = new AdaptiveCreditPolicy(20, 1000);
+
+        assertEquals(20, policy.initialCredit());
+        assertEquals(20, policy.currentTarget());
+    }
+
+    @Test
+    void testNoGrantUntilBelowThreshold() {
+        AdaptiveCreditPolicy policy = new AdaptiveCreditPolicy(100, 100);
+        TestCreditState state = new TestCreditState();
+
+        state.credit = 80;
+        state.queued = 0;
+        assertEquals(0, policy.creditToGrant(state));
+        assertEquals(5, policy.consumedBeforeNextCheck(state));
+
+        state.credit = 75;
+        assertEquals(25, policy.creditToGrant(state));
+    }
+
+    @Test
+    void testQueuedDeliveriesCountAgainstWindow() {
+        AdaptiveCreditPolicy policy = new AdaptiveCreditPolicy(100, 100);
+        TestCreditState state = new TestCreditState();
+
+        state.credit = 0;
+        state.queued = 90;
+        assertEquals(0, policy.creditToGrant(state));
+
+        state.queued = 50;
+        assertEquals(50, policy.creditToGrant(state));
+    }
+
+    @Test
+    void testWindowGrowsWithConsumptionRateAndRoundTripTime() throws Exception {
+        AdaptiveCreditPolicy policy = new AdaptiveCreditPolicy(10, 100000);
+        TestCreditState state = new TestCreditState();
+
+        state.roundTripTime = TimeUnit.SECONDS.toNanos(1);
+
+        policy.creditToGrant(state);
+        Thread.sleep(10);
+        state.consumed = 1000;
+        policy.creditToGrant(state);
+
+        assertTrue(policy.currentTarget() > 10);
+        assertTrue(policy.currentTarget() <= 100000);
+    }
+
+    @Test
+    void testWindowLimitedByQueuedByteBudget() throws Exception {
+        AdaptiveCreditPolicy policy = new AdaptiveCreditPolicy(1, 100000, 1024);
+        TestCreditState state = new TestCreditState();
+
+        state.roundTripTime = TimeUnit.SECONDS.toNanos(1);
+        state.queued = 1;
+        state.queuedBytes = 256;
+
+        policy.creditToGrant(state);
+        Thread.sleep(10);
+        state.consumed = 1000;
+        policy.creditToGrant(state);
+
+        assertEquals(4, policy.currentTarget());
+    }
+
+    private static class TestCreditState implements ReceiverCreditState {
+
+        int credit;
+        int queued;
+        long queuedBytes;
+        long consumed;
+        long roundTripTime;
+
+        @Override
+        public int credit() {
+            return credit;
+        }
+
+        @Override
+        public int queuedDeliveries() {
+            return queued;
+        }
+
+        @Override
+        public long queuedBytes() {
+            return queuedBytes;
+        }
+
+        @Override
+        public long consumedDeliveries() {
+            return consumed;
+        }
+
+        @Override
+        public long roundTripTime() {
+            return roundTripTime;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.apache.qpid.protonj2.client;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +31,7 @@ public class ClientOptionsTest {
 
         assertNull(options.id());
         assertNull(options.futureType());
+        assertEquals(ClientOptions.DEFAULT_SHARED_IO_THREADS, options.sharedIOThreads());
     }
 
     @Test
@@ -38,11 +40,20 @@ public class ClientOptionsTest {
 
         options.id("test");
         options.futureType("past-present");
+        options.sharedIOThreads(4);
 
         ClientOptions copy = options.clone();
 
         assertNotSame(copy, options);
         assertEquals(options.id(), copy.id());
         assertEquals(options.futureType(), copy.futureType());
+        assertEquals(options.sharedIOThreads(), copy.sharedIOThreads());
+    }
+
+    @Test
+    void testSharedIOThreadsCannotBeNegative() {
+        ClientOptions options = new ClientOptions();
+
+        assertThrows(IllegalArgumentException.class, () -> options.sharedIOThreads(-1));
     }
 }
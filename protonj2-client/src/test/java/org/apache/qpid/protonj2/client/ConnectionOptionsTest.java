@@ -52,6 +52,7 @@ public class ConnectionOptionsTest {
 
         assertEquals(ConnectionOptions.DEFAULT_CHANNEL_MAX, options.channelMax());
         assertEquals(ConnectionOptions.DEFAULT_MAX_FRAME_SIZE, options.maxFrameSize());
+        assertEquals(ConnectionOptions.DEFAULT_ZERO_COPY_THRESHOLD, options.zeroCopyThreshold());
         assertEquals(ConnectionOptions.DEFAULT_OPEN_TIMEOUT, options.openTimeout());
         assertEquals(ConnectionOptions.DEFAULT_CLOSE_TIMEOUT, options.closeTimeout());
         assertEquals(ConnectionOptions.DEFAULT_SEND_TIMEOUT, options.sendTimeout());
@@ -80,6 +81,7 @@ public class ConnectionOptionsTest {
         options.drainTimeout(60);
         options.channelMax(1);
         options.maxFrameSize(1024);
+        options.zeroCopyThreshold(65536);
         options.traceFrames(true);
         options.defaultNextReceiverPolicy(NextReceiverPolicy.FIRST_AVAILABLE);
         options.offeredCapabilities(offeredCapabilities);
@@ -116,6 +118,7 @@ public class ConnectionOptionsTest {
         assertEquals(options.drainTimeout(), copy.drainTimeout());
         assertEquals(options.channelMax(), copy.channelMax());
         assertEquals(options.maxFrameSize(), copy.maxFrameSize());
+        assertEquals(options.zeroCopyThreshold(), copy.zeroCopyThreshold());
         assertEquals(options.traceFrames(), copy.traceFrames());
         assertEquals(options.defaultNextReceiverPolicy(), copy.defaultNextReceiverPolicy());
         assertEquals(options.saslOptions().saslEnabled(), copy.saslOptions().saslEnabled());
@@ -20,8 +20,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.function.Supplier;
+
 import org.junit.jupiter.api.Test;
 
 public class ReceiverOptionsTest {
@@ -48,4 +53,69 @@ public class ReceiverOptionsTest {
         assertEquals(options.reconnectLocations(), copy.reconnectLocations());
         assertEquals(options.reconnectEnabled(), copy.reconnectEnabled());
     }
+
+    @Test
+    void testDeliveryQueueTypeDefaultAndCopy() {
+        ReceiverOptions options = new ReceiverOptions();
+
+        assertEquals(ReceiverOptions.DEFAULT_DELIVERY_QUEUE_TYPE, options.deliveryQueueType());
+
+        options.deliveryQueueType("spsc");
+
+        assertEquals("spsc", options.clone().deliveryQueueType());
+        assertEquals("spsc", new ReceiverOptions(options).deliveryQueueType());
+    }
+
+    @Test
+    void testDeliveryQueueTypeValidated() {
+        ReceiverOptions options = new ReceiverOptions();
+
+        assertEquals("fifo", options.deliveryQueueType("fifo").deliveryQueueType());
+        assertEquals("spmc", options.deliveryQueueType("spmc").deliveryQueueType());
+        assertEquals("SPSC", options.deliveryQueueType("SPSC").deliveryQueueType());
+
+        assertThrows(IllegalArgumentException.class, () -> options.deliveryQueueType("mpmc"));
+        assertThrows(IllegalArgumentException.class, () -> options.deliveryQueueType(""));
+        assertThrows(IllegalArgumentException.class, () -> options.deliveryQueueType(null));
+
+        assertEquals("SPSC", options.deliveryQueueType());
+    }
+
+    @Test
+    void testCoalesceDispositionsDefaultAndCopy() {
+        ReceiverOptions options = new ReceiverOptions();
+
+        assertFalse(options.coalesceDispositions());
+
+        options.coalesceDispositions(true);
+
+        assertTrue(options.clone().coalesceDispositions());
+        assertTrue(new ReceiverOptions(options).coalesceDispositions());
+    }
+
+    @Test
+    void testCreditPolicyDefaultAndCopy() {
+        ReceiverOptions options = new ReceiverOptions();
+
+        assertNull(options.creditPolicy());
+
+        Supplier<AdaptiveCreditPolicy> supplier = () -> new AdaptiveCreditPolicy(10, 1000);
+
+        options.creditPolicy(supplier);
+
+        assertSame(supplier, options.clone().creditPolicy());
+        assertSame(supplier, new ReceiverOptions(options).creditPolicy());
+    }
+
+    @Test
+    void testMaxPrefetchBytesDefaultAndCopy() {
+        ReceiverOptions options = new ReceiverOptions();
+
+        assertEquals(0, options.maxPrefetchBytes());
+
+        options.maxPrefetchBytes(1024);
+
+        assertEquals(1024, options.clone().maxPrefetchBytes());
+        assertEquals(1024, new ReceiverOptions(options).maxPrefetchBytes());
+    }
 }
@@ -17,8 +17,10 @@
 package org.apache.qpid.protonj2.client;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +32,7 @@ public class SenderOptionsTest {
 
         assertNull(options.offeredCapabilities());
         assertNull(options.desiredCapabilities());
+        assertEquals(SenderOptions.DEFAULT_BUFFER_ALLOCATOR_TYPE, options.bufferAllocatorType());
     }
 
     @Test
@@ -38,11 +41,27 @@ public class SenderOptionsTest {
 
         options.offeredCapabilities("test1");
         options.desiredCapabilities("test2");
+        options.bufferAllocatorType("pooled");
 
         SenderOptions copy = options.clone();
 
         assertNotSame(copy, options);
         assertArrayEquals(options.offeredCapabilities(), copy.offeredCapabilities());
         assertArrayEquals(options.desiredCapabilities(), copy.desiredCapabilities());
+        assertEquals("pooled", copy.bufferAllocatorType());
+    }
+
+    @Test
+    void testBufferAllocatorTypeValidated() {
+        SenderOptions options = new SenderOptions();
+
+        assertEquals("pooled", options.bufferAllocatorType("pooled").bufferAllocatorType());
+        assertEquals("HEAP", options.bufferAllocatorType("HEAP").bufferAllocatorType());
+
+        assertThrows(IllegalArgumentException.class, () -> options.bufferAllocatorType("direct"));
+        assertThrows(IllegalArgumentException.class, () -> options.bufferAllocatorType(""));
+        assertThrows(IllegalArgumentException.class, () -> options.bufferAllocatorType(null));
+
+        assertEquals("HEAP", options.bufferAllocatorType());
     }
 }
@@ -22,6 +22,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -52,6 +53,10 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
     public static final String TEST_WEBSOCKET_HEADER_KEY = "compression";
     public static final String TEST_WEBSOCKET_HEADER_VALUE = "gzip";
     public static final int TEST_WEBSOCKET_MAX_FRAME_SIZE = TransportOptions.DEFAULT_WEBSOCKET_MAX_FRAME_SIZE + 1024;
+    public static final boolean TEST_WRITE_BATCHING = !TransportOptions.DEFAULT_WRITE_BATCHING;
+    public static final int TEST_WRITE_BATCHING_MAX_BYTES = TransportOptions.DEFAULT_WRITE_BATCHING_MAX_BYTES * 2;
+    public static final int TEST_WRITE_BATCHING_MAX_FRAMES = TransportOptions.DEFAULT_WRITE_BATCHING_MAX_FRAMES * 2;
+    public static final WriteBatchingStatistics TEST_WRITE_BATCHING_STATISTICS = new WriteBatchingStatistics();
 
     @Test
     public void testCreate() {
@@ -62,6 +67,10 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         assertTrue(options.allowNativeIO());
         assertFalse(options.useWebSockets());
         assertNull(options.webSocketPath());
+        assertFalse(options.writeBatching());
+        assertEquals(TransportOptions.DEFAULT_WRITE_BATCHING_MAX_BYTES, options.writeBatchingMaxBytes());
+        assertEquals(TransportOptions.DEFAULT_WRITE_BATCHING_MAX_FRAMES, options.writeBatchingMaxFrames());
+        assertNull(options.writeBatchingStatistics());
     }
 
     @Test
@@ -104,6 +113,10 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         assertEquals(TEST_WEBSOCKET_PATH, options.webSocketPath());
         assertEquals(TEST_WEBSOCKET_HEADER_VALUE, options.webSocketHeaders().get(TEST_WEBSOCKET_HEADER_KEY));
         assertEquals(TEST_WEBSOCKET_MAX_FRAME_SIZE, options.webSocketMaxFrameSize());
+        assertEquals(TEST_WRITE_BATCHING, options.writeBatching());
+        assertEquals(TEST_WRITE_BATCHING_MAX_BYTES, options.writeBatchingMaxBytes());
+        assertEquals(TEST_WRITE_BATCHING_MAX_FRAMES, options.writeBatchingMaxFrames());
+        assertSame(TEST_WRITE_BATCHING_STATISTICS, options.writeBatchingStatistics());
     }
 
     @Test
@@ -140,6 +153,44 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         options.receiveBufferSize(1);
     }
 
+    @Test
+    public void testWriteBatchingThresholdValidation() {
+        TransportOptions options = createNonDefaultOptions().clone();
+        try {
+            options.writeBatchingMaxBytes(0);
+            fail("Should have thrown an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            options.writeBatchingMaxFrames(0);
+            fail("Should have thrown an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        options.writeBatchingMaxBytes(1);
+        options.writeBatchingMaxFrames(1);
+    }
+
+    @Test
+    public void testWriteBatchingStatisticsAverage() {
+        WriteBatchingStatistics statistics = new WriteBatchingStatistics();
+
+        assertEquals(0, statistics.averageFramesPerFlush(), 0.0);
+
+        statistics.recordFlush(3, 300);
+        statistics.recordFlush(1, 100);
+
+        assertEquals(2, statistics.flushCount());
+        assertEquals(4, statistics.frameCount());
+        assertEquals(400, statistics.byteCount());
+        assertEquals(2.0, statistics.averageFramesPerFlush(), 0.0);
+
+        statistics.reset();
+
+        assertEquals(0, statistics.flushCount());
+        assertEquals(0, statistics.frameCount());
+    }
+
     @Test
     public void testTrafficClassValidation() {
         TransportOptions options = createNonDefaultOptions().clone();
@@ -210,6 +261,10 @@ public class TransportOptionsTest extends ImperativeClientTestCase {
         options.webSocketPath(TEST_WEBSOCKET_PATH);
         options.addWebSocketHeader(TEST_WEBSOCKET_HEADER_KEY, TEST_WEBSOCKET_HEADER_VALUE);
         options.webSocketMaxFrameSize(TEST_WEBSOCKET_MAX_FRAME_SIZE);
+        options.writeBatching(TEST_WRITE_BATCHING);
+        options.writeBatchingMaxBytes(TEST_WRITE_BATCHING_MAX_BYTES);
+        options.writeBatchingMaxFrames(TEST_WRITE_BATCHING_MAX_FRAMES);
+        options.writeBatchingStatistics(TEST_WRITE_BATCHING_STATISTICS);
 
         return options;
     }
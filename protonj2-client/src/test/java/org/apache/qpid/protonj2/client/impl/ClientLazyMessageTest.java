@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.client.Message;
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.apache.qpid.protonj2.client.exceptions.ClientMessageFormatViolationException;
+import org.apache.qpid.protonj2.types.messaging.Data;
+import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Footer;
+import org.apache.qpid.protonj2.types.messaging.Section;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the API of {@link ClientLazyMessage}
+ */
+class ClientLazyMessageTest {
+
+    @Test
+    public void testCreateFromEmptyEncoding() throws ClientException {
+        ClientLazyMessage<String> message = ClientLazyMessage.create(ProtonBufferAllocator.defaultAllocator().allocate(), null);
+
+        assertNull(message.header());
+        assertNull(message.properties());
+        assertNull(message.body());
+        assertTrue(message.bodySections().isEmpty());
+        assertFalse(message.hasProperties());
+        assertFalse(message.hasAnnotations());
+        assertFalse(message.hasFooters());
+
+        assertEquals(0, message.encode(null).getReadableBytes());
+    }
+
+    @Test
+    public void testDecodesAllSectionsOnAccess() throws ClientException {
+        final ClientMessage<String> source = createFullMessage();
+        final ProtonBuffer encoded = ClientMessageSupport.encodeMessage(source, null);
+
+        ClientLazyMessage<String> message = ClientLazyMessage.create(encoded, null);
+
+        assertEquals(source.durable(), message.durable());
+        assertEquals(source.priority(), message.priority());
+        assertEquals(source.messageId(), message.messageId());
+        assertEquals(source.to(), message.to());
+        assertEquals(source.subject(), message.subject());
+        assertEquals(source.annotation("x-opt-test"), message.annotation("x-opt-test"));
+        assertEquals(source.property("routing"), message.property("routing"));
+        assertEquals(source.property("count"), message.property("count"));
+        assertEquals(source.body(), message.body());
+        assertEquals(source.footer("checksum"), message.footer("checksum"));
+    }
+
+    @Test
+    public void testCreateCopiesTheGivenBuffer() throws ClientException {
+        final ProtonBuffer encoded = ClientMessageSupport.encodeMessage(createFullMessage(), null);
+        final byte[] expected = new byte[encoded.getReadableBytes()];
+
+        encoded.copyInto(encoded.getReadOffset(), expected, 0, expected.length);
+
+        ClientLazyMessage<String> message = ClientLazyMessage.create(encoded, null);
+
+        assertFalse(encoded.isReadable());
+        encoded.close();
+
+        assertEquals("routing-value", message.property("routing"));
+        assertArrayEquals(expected, toArray(message.encode(null)));
+    }
+
+    @Test
+    public void testEncodeWithoutAccessReproducesOriginalEncoding() throws ClientException {
+        final ClientMessage<String> source = createFullMessage();
+        final byte[] expected = toArray(ClientMessageSupport.encodeMessage(source, null));
+
+        ClientLazyMessage<String> message = ClientLazyMessage.create(ClientMessageSupport.encodeMessage(source, null), null);
+
+        assertArrayEquals(expected, toArray(message.encode(null)));
+
+        // Reading sections without modifying them still produces the same encoding
+        assertEquals("address", message.to());
+        assertEquals("routing-value", message.property("routing"));
+
+        assertArrayEquals(expected, toArray(message.encode(null)));
+    }
+
+    @Test
+    public void testEncodeAfterModifyingOneSection() throws ClientException {
+        final ClientMessage<String> source = createFullMessage();
+
+        ClientLazyMessage<String> message = ClientLazyMessage.create(ClientMessageSupport.encodeMessage(source, null), null);
+
+        message.to("forwarded-address");
+        message.property("hops", 1);
+
+        final Message<?> result = ClientMessageSupport.decodeMessage(message.encode(null), null);
+
+        assertEquals("forwarded-address", result.to());
+        assertEquals(source.subject(), result.subject());
+        assertEquals(source.messageId(), result.messageId());
+        assertEquals(source.durable(), result.durable());
+        assertEquals(source.priority(), result.priority());
+        assertEquals(source.annotation("x-opt-test"), result.annotation("x-opt-test"));
+        assertEquals(source.property("routing"), result.property("routing"));
+        assertEquals(1, result.property("hops"));
+        assertEquals(source.body(), result.body());
+        assertEquals(source.footer("checksum"), result.footer("checksum"));
+    }
+
+    @Test
+    public void testEncodeAfterReplacingSections() throws ClientException {
+        final ClientMessage<String> source = createFullMessage();
+
+        ClientLazyMessage<String> message = ClientLazyMessage.create(ClientMessageSupport.encodeMessage(source, null), null);
+
+        message.header(null);
+        message.footer((Footer) null);
+        message.body("replaced");
+
+        final Message<?> result = ClientMessageSupport.decodeMessage(message.encode(null), null);
+
+        assertNull(result.toAdvancedMessage().header());
+        assertNull(result.toAdvancedMessage().footer());
+        assertEquals("replaced", result.body());
+        assertEquals(source.to(), result.to());
+        assertEquals(source.property("routing"), result.property("routing"));
+    }
+
+    @Test
+    public void testDeliveryAnnotationsHandedToConsumerAndNotReEncoded() throws ClientException {
+        final ClientMessage<String> source = createFullMessage();
+        final Map<String, Object> deliveryAnnotations = new HashMap<>();
+        deliveryAnnotations.put("da", "value");
+
+        final byte[] expected = toArray(ClientMessageSupport.encodeMessage(source, null));
+        final List<DeliveryAnnotations> received = new ArrayList<>();
+
+        ClientLazyMessage<String> message =
+            ClientLazyMessage.create(ClientMessageSupport.encodeMessage(source, deliveryAnnotations), received::add);
+
+        assertEquals(1, received.size());
+        assertNotNull(received.get(0).getValue());
+        assertEquals("value", received.get(0).getValue().values().iterator().next());
+
+        assertArrayEquals(expected, toArray(message.encode(null)));
+
+        final List<DeliveryAnnotations> reEncoded = new ArrayList<>();
+
+        ClientLazyMessage.create(message.encode(deliveryAnnotations), reEncoded::add);
+
+        assertEquals(1, reEncoded.size());
+        assertEquals(received.get(0).getValue(), reEncoded.get(0).getValue());
+    }
+
+    @Test
+    public void testMultipleBodySections() throws ClientException {
+        final ClientMessage<byte[]> source = ClientMessage.create();
+
+        source.addBodySection(new Data(new byte[] { 0, 1, 2 }));
+        source.addBodySection(new Data(new byte[] { 3, 4, 5 }));
+        source.footer("checksum", 42);
+
+        final byte[] expected = toArray(ClientMessageSupport.encodeMessage(source, null));
+
+        ClientLazyMessage<byte[]> message = ClientLazyMessage.create(ClientMessageSupport.encodeMessage(source, null), null);
+
+        final List<Section<?>> sections = new ArrayList<>(message.bodySections());
+
+        assertEquals(2, sections.size());
+        assertArrayEquals(new byte[] { 0, 1, 2 }, (byte[]) sections.get(0).getValue());
+        assertArrayEquals(new byte[] { 3, 4, 5 }, (byte[]) sections.get(1).getValue());
+        assertEquals(42, message.footer("checksum"));
+
+        assertArrayEquals(expected, toArray(message.encode(null)));
+    }
+
+    @Test
+    public void testCreateFailsOnUnknownSection() {
+        final ProtonBuffer encoded = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ClientMessageSupport.encodeSection(new Data(new byte[] { 1 }), encoded);
+        ClientMessageSupport.encodeSection(null, encoded);
+
+        assertThrows(ClientMessageFormatViolationException.class, () -> ClientLazyMessage.create(encoded, null));
+    }
+
+    @Test
+    public void testCreateFailsOnBodySectionsSplitByOtherSection() {
+        final ClientMessage<byte[]> source = ClientMessage.create();
+        final ProtonBuffer encoded = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        source.footer("checksum", 42);
+
+        ClientMessageSupport.encodeSection(new Data(new byte[] { 1 }), encoded);
+        ClientMessageSupport.encodeSection(source.footer(), encoded);
+        ClientMessageSupport.encodeSection(new Data(new byte[] { 2 }), encoded);
+
+        assertThrows(ClientMessageFormatViolationException.class, () -> ClientLazyMessage.create(encoded, null));
+    }
+
+    private static ClientMessage<String> createFullMessage() {
+        final ClientMessage<String> message = ClientMessage.create();
+
+        message.durable(true);
+        message.priority((byte) 7);
+        message.messageId("ID:1");
+        message.to("address");
+        message.subject("subject");
+        message.annotation("x-opt-test", "annotation");
+        message.property("routing", "routing-value");
+        message.property("count", 10);
+        message.body("Hello World");
+        message.footer("checksum", 1024);
+
+        return message;
+    }
+
+    private static byte[] toArray(ProtonBuffer buffer) {
+        final byte[] result = new byte[buffer.getReadableBytes()];
+
+        buffer.readBytes(result, 0, result.length);
+
+        return result;
+    }
+}
@@ -29,6 +29,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -37,6 +38,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.client.AdvancedMessage;
 import org.apache.qpid.protonj2.client.Message;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -810,4 +813,34 @@ class ClientMessageTest {
         assertFalse(message.hasAnnotation("test"));
         assertFalse(message.hasAnnotations());
     }
+
+    @Test
+    public void testEncodeWithZeroCopyThresholdReferencesLargeDataSections() throws ClientException {
+        final byte[] small = new byte[16];
+        final byte[] large = new byte[1024];
+
+        Arrays.fill(small, (byte) 1);
+        Arrays.fill(large, (byte) 2);
+
+        final ClientMessage<byte[]> message = ClientMessage.create();
+
+        message.durable(true);
+        message.property("test", "value");
+        message.addBodySection(new Data(small));
+        message.addBodySection(new Data(large));
+        message.footer("footer", 1);
+
+        final ProtonBuffer copied = ClientMessageSupport.encodeMessage(message, null);
+        final ProtonBuffer referenced = ClientMessageSupport.encodeMessage(ProtonBufferAllocator.defaultAllocator(), message, null, 512);
+
+        assertFalse(copied.isComposite());
+        assertTrue(referenced.isComposite());
+        assertTrue(referenced.isReadOnly());
+        assertEquals(copied, referenced);
+
+        final ProtonBuffer unreferenced = ClientMessageSupport.encodeMessage(ProtonBufferAllocator.defaultAllocator(), message, null, 2048);
+
+        assertFalse(unreferenced.isComposite());
+        assertEquals(copied, unreferenced);
+    }
 }
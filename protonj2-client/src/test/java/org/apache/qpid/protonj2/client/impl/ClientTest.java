@@ -23,6 +23,10 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.net.URI;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -183,4 +187,44 @@ public class ClientTest extends ImperativeClientTestCase {
             secondPeer.waitForScriptToComplete();
         }
     }
+
+    @Test
+    public void testConnectionsShareIOThreadsWhenConfigured() throws Exception {
+        try (ProtonTestServer firstPeer = new ProtonTestServer();
+             ProtonTestServer secondPeer = new ProtonTestServer();
+             ProtonTestServer thirdPeer = new ProtonTestServer()) {
+
+            for (ProtonTestServer peer : Arrays.asList(firstPeer, secondPeer, thirdPeer)) {
+                peer.expectSASLAnonymousConnect();
+                peer.expectOpen().respond();
+                peer.start();
+            }
+
+            final Client container = Client.create(new ClientOptions().sharedIOThreads(1));
+            final Set<Thread> ioThreads = new HashSet<>();
+
+            for (ProtonTestServer peer : Arrays.asList(firstPeer, secondPeer, thirdPeer)) {
+                final URI remoteURI = peer.getServerURI();
+                final ClientConnection connection =
+                    (ClientConnection) container.connect(remoteURI.getHost(), remoteURI.getPort());
+
+                connection.openFuture().get();
+
+                final CompletableFuture<Thread> ioThread = new CompletableFuture<>();
+                connection.getScheduler().execute(() -> ioThread.complete(Thread.currentThread()));
+                ioThreads.add(ioThread.get(5, TimeUnit.SECONDS));
+
+                peer.waitForScriptToComplete();
+                peer.expectClose().respond();
+            }
+
+            assertEquals(1, ioThreads.size());
+
+            container.closeAsync().get(8, TimeUnit.SECONDS);
+
+            firstPeer.waitForScriptToComplete();
+            secondPeer.waitForScriptToComplete();
+            thirdPeer.waitForScriptToComplete();
+        }
+    }
 }
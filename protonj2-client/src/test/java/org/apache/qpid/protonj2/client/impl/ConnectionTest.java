@@ -45,6 +45,7 @@ import org.apache.qpid.protonj2.client.ReceiverOptions;
 import org.apache.qpid.protonj2.client.Sender;
 import org.apache.qpid.protonj2.client.Session;
 import org.apache.qpid.protonj2.client.Tracker;
+import org.apache.qpid.protonj2.client.WriteBatchingStatistics;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionRedirectedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientConnectionRemotelyClosedException;
 import org.apache.qpid.protonj2.client.exceptions.ClientException;
@@ -193,6 +194,44 @@ public class ConnectionTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testWriteBatchingFlushesFramesFromOneTaskTogether() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer(testServerOptions())) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.expectClose().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Connect test started, peer listening on: {}", remoteURI);
+
+            final WriteBatchingStatistics statistics = new WriteBatchingStatistics();
+
+            Client container = Client.create();
+            ConnectionOptions options = connectionOptions();
+            options.transportOptions().writeBatching(true).writeBatchingStatistics(statistics);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), options);
+
+            connection.openFuture().get(10, TimeUnit.SECONDS);
+
+            statistics.reset();
+
+            // The connection session Begin and the sender Attach are written by one task
+            Sender sender = connection.openSender("test");
+            sender.openFuture().get(10, TimeUnit.SECONDS);
+
+            assertEquals(1, statistics.flushCount());
+            assertEquals(2, statistics.frameCount());
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testCreateConnectionSignalsEvent() throws Exception {
         try (ProtonTestServer peer = new ProtonTestServer(testServerOptions())) {
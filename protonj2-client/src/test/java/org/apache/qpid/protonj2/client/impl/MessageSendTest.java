@@ -16,12 +16,17 @@
  */
 package org.apache.qpid.protonj2.client.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayOutputStream;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +36,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.qpid.protonj2.client.AdvancedMessage;
 import org.apache.qpid.protonj2.client.Client;
 import org.apache.qpid.protonj2.client.Connection;
+import org.apache.qpid.protonj2.client.ConnectionOptions;
 import org.apache.qpid.protonj2.client.DeliveryMode;
 import org.apache.qpid.protonj2.client.Message;
 import org.apache.qpid.protonj2.client.Sender;
@@ -39,6 +45,7 @@ import org.apache.qpid.protonj2.client.Session;
 import org.apache.qpid.protonj2.client.Tracker;
 import org.apache.qpid.protonj2.client.test.ImperativeClientTestCase;
 import org.apache.qpid.protonj2.client.util.ExternalMessage;
+import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.test.driver.ProtonTestServer;
 import org.apache.qpid.protonj2.test.driver.matchers.messaging.ApplicationPropertiesMatcher;
 import org.apache.qpid.protonj2.test.driver.matchers.messaging.DeliveryAnnotationsMatcher;
@@ -54,7 +61,10 @@ import org.apache.qpid.protonj2.types.messaging.AmqpSequence;
 import org.apache.qpid.protonj2.types.messaging.AmqpValue;
 import org.apache.qpid.protonj2.types.messaging.Data;
 import org.apache.qpid.protonj2.types.messaging.Header;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
+import org.hamcrest.TypeSafeMatcher;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.slf4j.Logger;
@@ -1378,4 +1388,163 @@ class MessageSendTest extends ImperativeClientTestCase {
             peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
         }
     }
+
+    @Test
+    public void testSendMessageWithDataSectionsAboveZeroCopyThreshold() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.expectAttach().respond();  // Open a receiver to ensure sender link has processed
+            peer.expectFlow();              // the inbound flow frame we sent previously before send.
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions connectionOptions = new ConnectionOptions().zeroCopyThreshold(256);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), connectionOptions).openFuture().get();
+
+            Session session = connection.openSession().openFuture().get();
+            SenderOptions options = new SenderOptions().deliveryMode(DeliveryMode.AT_MOST_ONCE);
+            Sender sender = session.openSender("test-qos", options);
+
+            // Gates send on remote flow having been sent and received
+            session.openReceiver("dummy").openFuture().get();
+
+            byte[] buffer1 = new byte[16];
+            byte[] buffer2 = new byte[256];
+            byte[] buffer3 = new byte[4096];
+
+            Arrays.fill(buffer1, (byte) 1);
+            Arrays.fill(buffer2, (byte) 2);
+            Arrays.fill(buffer3, (byte) 3);
+
+            HeaderMatcher headerMatcher = new HeaderMatcher(true);
+            headerMatcher.withDurable(true);
+            ApplicationPropertiesMatcher apMatcher = new ApplicationPropertiesMatcher(true);
+            apMatcher.withEntry("ap1", Matchers.equalTo(1));
+            EncodedDataMatcher bodyMatcher1 = new EncodedDataMatcher(buffer1, true);
+            EncodedDataMatcher bodyMatcher2 = new EncodedDataMatcher(buffer2, true);
+            EncodedDataMatcher bodyMatcher3 = new EncodedDataMatcher(buffer3, true);
+            FooterMatcher footerMatcher = new FooterMatcher(false);
+            footerMatcher.withEntry("f1", Matchers.equalTo(1));
+            TransferPayloadCompositeMatcher payloadMatcher = new TransferPayloadCompositeMatcher();
+            payloadMatcher.setHeadersMatcher(headerMatcher);
+            payloadMatcher.setApplicationPropertiesMatcher(apMatcher);
+            payloadMatcher.addMessageContentMatcher(bodyMatcher1);
+            payloadMatcher.addMessageContentMatcher(bodyMatcher2);
+            payloadMatcher.addMessageContentMatcher(bodyMatcher3);
+            payloadMatcher.setFootersMatcher(footerMatcher);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withPayload(payloadMatcher).accept();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            final AdvancedMessage<byte[]> message = AdvancedMessage.create();
+
+            message.durable(true);
+            message.property("ap1", 1);
+            message.addBodySection(new Data(buffer1));
+            message.addBodySection(new Data(buffer2));
+            message.addBodySection(new Data(buffer3));
+            message.footer("f1", 1);
+
+            final Tracker tracker = sender.send(message);
+
+            assertNotNull(tracker);
+            assertNotNull(tracker.settlementFuture().isDone());
+            assertNotNull(tracker.settlementFuture().get().settled());
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendMessageAboveZeroCopyThresholdSplitAcrossFrames() throws Exception {
+        final byte[] payload = new byte[3500];
+        final ByteArrayOutputStream received = new ByteArrayOutputStream();
+
+        for (int i = 0; i < payload.length; ++i) {
+            payload[i] = (byte) i;
+        }
+
+        final Matcher<ByteBuffer> frameCapture = new TypeSafeMatcher<ByteBuffer>() {
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("a transfer payload");
+            }
+
+            @Override
+            protected boolean matchesSafely(ByteBuffer frame) {
+                final ByteBuffer view = frame.duplicate();
+                while (view.hasRemaining()) {
+                    received.write(view.get());
+                }
+                return true;
+            }
+        };
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withLinkCredit(10).queue();
+            peer.expectAttach().respond();  // Open a receiver to ensure sender link has processed
+            peer.expectFlow();              // the inbound flow frame we sent previously before send.
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            ConnectionOptions connectionOptions = new ConnectionOptions().zeroCopyThreshold(1024).maxFrameSize(1024);
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort(), connectionOptions).openFuture().get();
+
+            Session session = connection.openSession().openFuture().get();
+            SenderOptions options = new SenderOptions().deliveryMode(DeliveryMode.AT_MOST_ONCE);
+            Sender sender = session.openSender("test-qos", options);
+
+            // Gates send on remote flow having been sent and received
+            session.openReceiver("dummy").openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withMore(true).withPayload(frameCapture);
+            peer.expectTransfer().withMore(true).withPayload(frameCapture);
+            peer.expectTransfer().withMore(true).withPayload(frameCapture);
+            peer.expectTransfer().withMore(false).withPayload(frameCapture).accept();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            final Tracker tracker = sender.send(Message.create(payload));
+
+            assertNotNull(tracker);
+            assertNotNull(tracker.settlementFuture().get().settled());
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+
+        final byte[] encoded = received.toByteArray();
+
+        // Data section preamble is the descriptor followed by a vbin32 encoding
+        assertEquals(payload.length + 8, encoded.length);
+        assertEquals(EncodingCodes.VBIN32, encoded[3]);
+        assertArrayEquals(payload, Arrays.copyOfRange(encoded, 8, encoded.length));
+    }
 }
@@ -2844,6 +2844,68 @@ public class ReceiverTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testReceiverWithholdsCreditWhilePrefetchByteLimitReached() throws Exception {
+       byte[] payload = createEncodedMessage(new AmqpValue<String>("Hello World"));
+
+       try (ProtonTestServer peer = new ProtonTestServer()) {
+           peer.expectSASLAnonymousConnect();
+           peer.expectOpen().respond();
+           peer.expectBegin().respond();
+           peer.expectAttach().ofReceiver().respond();
+           peer.expectFlow().withLinkCredit(10);
+           for (int i = 0; i < 10; ++i) {
+               peer.remoteTransfer().withDeliveryId(i)
+                                    .withMore(false)
+                                    .withMessageFormat(0)
+                                    .withPayload(payload).queue();
+           }
+           peer.start();
+
+           URI remoteURI = peer.getServerURI();
+
+           LOG.info("Test started, peer listening on: {}", remoteURI);
+
+           Client container = Client.create();
+           Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+
+           ReceiverOptions options = new ReceiverOptions();
+           options.autoAccept(false);
+           options.creditWindow(10);
+           options.maxPrefetchBytes(payload.length * 2);
+
+           Receiver receiver = connection.openReceiver("test-receiver", options);
+
+           Wait.waitFor(() -> receiver.queuedDeliveries() == 10);
+
+           peer.waitForScriptToComplete();
+
+           // The credit window alone would replenish after the third receive but the
+           // prefetched bytes stay at or above the limit until only one delivery remains
+           for (int i = 0; i < 8; ++i) {
+               assertNotNull(receiver.receive());
+           }
+
+           peer.expectAttach().ofSender().respond();
+           peer.expectDetach().respond();
+
+           // Ensure that no flow was sent for any of the previous receive calls
+           connection.openSender("test").openFuture().get().close();
+
+           peer.waitForScriptToComplete();
+           peer.expectFlow().withLinkCredit(9);
+
+           assertNotNull(receiver.receive()); // #9
+
+           peer.waitForScriptToComplete();
+           peer.expectClose().respond();
+
+           connection.closeAsync().get();
+
+           peer.waitForScriptToComplete();
+       }
+    }
+
     @Test
     public void testReceiverCreditReplenishedAfterSyncReceiveAutoAccept() throws Exception {
        doTestReceiverCreditReplenishedAfterSyncReceive(true);
@@ -1576,6 +1576,263 @@ public class SenderTest extends ImperativeClientTestCase {
         }
     }
 
+    @Test
+    public void testSendBatchOfMessages() throws Exception {
+        final int CREDIT = 10;
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(CREDIT).queue();
+            peer.expectAttach().ofReceiver().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            // This ensures that the flow to sender is processed before we send
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final List<Message<String>> messages = new ArrayList<>();
+
+            for (int i = 0; i < CREDIT; ++i) {
+                messages.add(Message.create("Hello World: " + i));
+                peer.expectTransfer().withDeliveryId(i)
+                                     .withPayload(new EncodedAmqpValueMatcher("Hello World: " + i))
+                                     .withSettled(false)
+                                     .respond()
+                                     .withSettled(true)
+                                     .withState().accepted();
+            }
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            final List<Tracker> trackers = sender.send(messages);
+
+            assertEquals(CREDIT, trackers.size());
+            for (Tracker tracker : trackers) {
+                assertNotNull(tracker.settlementFuture().get());
+                assertTrue(tracker.remoteSettled());
+            }
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendUsingPooledBufferAllocator() throws Exception {
+        final int BATCH = 5;
+
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(BATCH + 1).queue();
+            peer.expectAttach().ofReceiver().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue", new SenderOptions().bufferAllocatorType("pooled"));
+            sender.openFuture().get();
+
+            // This ensures that the flow to sender is processed before we send
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withDeliveryId(0)
+                                 .withPayload(new EncodedAmqpValueMatcher("Hello World"))
+                                 .respond()
+                                 .withSettled(true)
+                                 .withState().accepted();
+
+            final Tracker single = sender.send(Message.create("Hello World"));
+
+            assertNotNull(single.settlementFuture().get());
+            assertTrue(single.remoteSettled());
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final List<Message<String>> messages = new ArrayList<>();
+
+            for (int i = 0; i < BATCH; ++i) {
+                messages.add(Message.create("Hello World: " + i));
+                peer.expectTransfer().withDeliveryId(i + 1)
+                                     .withPayload(new EncodedAmqpValueMatcher("Hello World: " + i))
+                                     .respond()
+                                     .withSettled(true)
+                                     .withState().accepted();
+            }
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            for (Tracker tracker : sender.send(messages)) {
+                assertNotNull(tracker.settlementFuture().get());
+                assertTrue(tracker.remoteSettled());
+            }
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendBatchOfMessagesWithDeliveryAnnotations() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(10).queue();
+            peer.expectAttach().ofReceiver().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            // This ensures that the flow to sender is processed before we send
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+            final Map<String, Object> deliveryAnnotations = new HashMap<>();
+            deliveryAnnotations.put("da1", 1);
+            deliveryAnnotations.put("da2", 2);
+
+            for (int i = 0; i < 2; ++i) {
+                final DeliveryAnnotationsMatcher daMatcher = new DeliveryAnnotationsMatcher(true);
+                daMatcher.withEntry("da1", Matchers.equalTo(1));
+                daMatcher.withEntry("da2", Matchers.equalTo(2));
+                final EncodedAmqpValueMatcher bodyMatcher = new EncodedAmqpValueMatcher("Hello World");
+                final TransferPayloadCompositeMatcher payloadMatcher = new TransferPayloadCompositeMatcher();
+                payloadMatcher.setDeliveryAnnotationsMatcher(daMatcher);
+                payloadMatcher.setMessageContentMatcher(bodyMatcher);
+
+                peer.expectTransfer().withPayload(payloadMatcher).accept();
+            }
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            final List<Tracker> trackers = sender.send(
+                Arrays.asList(Message.create("Hello World"), Message.create("Hello World")), deliveryAnnotations);
+
+            assertEquals(2, trackers.size());
+            for (Tracker tracker : trackers) {
+                assertNotNull(tracker.awaitSettlement(10, TimeUnit.SECONDS));
+            }
+
+            sender.closeAsync().get(10, TimeUnit.SECONDS);
+            connection.closeAsync().get(10, TimeUnit.SECONDS);
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendBatchCompletesWhenCreditEventuallyOffered() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.remoteFlow().withDeliveryCount(0).withLinkCredit(1).queue();
+            peer.expectAttach().ofReceiver().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Session session = connection.openSession();
+            Sender sender = session.openSender("test-queue");
+            sender.openFuture().get();
+
+            // This ensures that the flow to sender is processed before we send
+            Receiver receiver = session.openReceiver("test-queue", new ReceiverOptions().creditWindow(0));
+            receiver.openFuture().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+            peer.expectTransfer().withDeliveryId(0).withNonNullPayload();
+            peer.remoteFlow().withHandle(0).withDeliveryCount(1).withLinkCredit(2).queue();
+            peer.expectTransfer().withDeliveryId(1).withNonNullPayload();
+            peer.expectTransfer().withDeliveryId(2).withNonNullPayload();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+
+            final List<Tracker> trackers = sender.send(Arrays.asList(
+                Message.create("1"), Message.create("2"), Message.create("3")));
+
+            assertEquals(3, trackers.size());
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testSendEmptyBatchReturnsEmptyTrackerList() throws Exception {
+        try (ProtonTestServer peer = new ProtonTestServer()) {
+            peer.expectSASLAnonymousConnect();
+            peer.expectOpen().respond();
+            peer.expectBegin().respond();
+            peer.expectAttach().ofSender().respond();
+            peer.expectDetach().respond();
+            peer.expectClose().respond();
+            peer.start();
+
+            URI remoteURI = peer.getServerURI();
+
+            LOG.info("Sender test started, peer listening on: {}", remoteURI);
+
+            Client container = Client.create();
+            Connection connection = container.connect(remoteURI.getHost(), remoteURI.getPort());
+            Sender sender = connection.openSender("test-queue").openFuture().get();
+
+            assertTrue(sender.send(new ArrayList<Message<?>>()).isEmpty());
+
+            sender.closeAsync().get();
+            connection.closeAsync().get();
+
+            peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        }
+    }
+
     @Test
     public void testSendBlockedForCreditFailsWhenLinkRemotelyClosed() throws Exception {
         try (ProtonTestServer peer = new ProtonTestServer()) {
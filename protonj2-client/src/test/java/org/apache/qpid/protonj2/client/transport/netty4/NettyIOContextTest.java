@@ -16,14 +16,21 @@
  */
 package org.apache.qpid.protonj2.client.transport.netty4;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 import org.apache.qpid.protonj2.client.SslOptions;
 import org.apache.qpid.protonj2.client.TransportOptions;
 import org.apache.qpid.protonj2.client.transport.IOContext;
+import org.apache.qpid.protonj2.client.transport.SharedIOContext;
 import org.junit.jupiter.api.Test;
 
 class NettyIOContextTest {
@@ -48,4 +55,66 @@ class NettyIOContextTest {
 
         assertTrue(context.ioScheduler().isShutdown());
     }
-}
+
+    @Test
+    void testSharedContextBindsSameKeyToSameEventLoop() throws Exception {
+        SharedIOContext shared = new Netty4SharedIOContext(4, "test");
+
+        try {
+            IOContext context1 = shared.newContext(new TransportOptions(), new SslOptions(), "connection:1");
+            IOContext context2 = shared.newContext(new TransportOptions(), new SslOptions(), "connection:1");
+
+            assertEquals(4, shared.ioThreads());
+            assertEquals(ioThreadOf(context1), ioThreadOf(context2));
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    void testSharedContextThreadCountIndependentOfContextCount() throws Exception {
+        SharedIOContext shared = new Netty4SharedIOContext(2, "test");
+
+        try {
+            final Set<Thread> ioThreads = new HashSet<>();
+
+            for (int i = 0; i < 32; ++i) {
+                ioThreads.add(ioThreadOf(shared.newContext(new TransportOptions(), new SslOptions(), "connection:" + i)));
+            }
+
+            assertEquals(2, ioThreads.size());
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    @Test
+    void testShutdownOfSharedContextChildDoesNotShutdownEventLoop() {
+        SharedIOContext shared = new Netty4SharedIOContext(1, "test");
+
+        try {
+            IOContext context = shared.newContext(new TransportOptions(), new SslOptions(), "connection:1");
+
+            context.shutdown();
+
+            assertFalse(context.ioScheduler().isShutdown());
+            assertNotNull(context.newTransport());
+
+            shared.shutdown();
+
+            assertTrue(context.ioScheduler().isShutdown());
+            assertThrows(IllegalStateException.class, () -> context.newTransport());
+            assertThrows(IllegalStateException.class, () -> shared.newContext(new TransportOptions(), new SslOptions(), "connection:2"));
+        } finally {
+            shared.shutdown();
+        }
+    }
+
+    private static Thread ioThreadOf(IOContext context) throws Exception {
+        final CompletableFuture<Thread> ioThread = new CompletableFuture<>();
+
+        context.ioScheduler().execute(() -> ioThread.complete(Thread.currentThread()));
+
+        return ioThread.get(5, TimeUnit.SECONDS);
+    }
+}
\ No newline at end of file
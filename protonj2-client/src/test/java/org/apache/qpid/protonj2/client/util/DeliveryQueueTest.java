@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.client.impl.ClientDelivery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+@Timeout(20)
+class DeliveryQueueTest {
+
+    @Test
+    void testCreateSelectsQueueByType() {
+        assertInstanceOf(FifoDeliveryQueue.class, DeliveryQueue.create(null, 10));
+        assertInstanceOf(FifoDeliveryQueue.class, DeliveryQueue.create(DeliveryQueue.FIFO, 10));
+        assertInstanceOf(SpscDeliveryQueue.class, DeliveryQueue.create(DeliveryQueue.SPSC, 10));
+        assertInstanceOf(SpmcDeliveryQueue.class, DeliveryQueue.create(DeliveryQueue.SPMC, 10));
+        assertInstanceOf(SpmcDeliveryQueue.class, DeliveryQueue.create("SPMC", 10));
+    }
+
+    @Test
+    void testCreateWithUnknownTypeFails() {
+        assertThrows(IllegalArgumentException.class, () -> DeliveryQueue.create("lifo", 10));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fifo", "spsc", "spmc" })
+    void testQueueNotRunningUntilStarted(String type) throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 10);
+        final ClientDelivery delivery = mock(ClientDelivery.class);
+
+        assertFalse(queue.isRunning());
+        assertFalse(queue.isClosed());
+
+        queue.enqueue(delivery);
+
+        assertEquals(1, queue.size());
+        assertNull(queue.dequeueNoWait());
+        assertNull(queue.dequeue(-1));
+
+        queue.start();
+
+        assertTrue(queue.isRunning());
+        assertSame(delivery, queue.dequeueNoWait());
+        assertTrue(queue.isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fifo", "spsc", "spmc" })
+    void testDequeueInOrderBeyondQueueDepth(String type) throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 4);
+        final List<ClientDelivery> deliveries = new ArrayList<>();
+
+        queue.start();
+
+        for (int i = 0; i < 200; ++i) {
+            final ClientDelivery delivery = mock(ClientDelivery.class);
+            deliveries.add(delivery);
+            queue.enqueue(delivery);
+
+            // Interleave some reads to move the ring indices around the overflow point
+            if (i % 7 == 0) {
+                assertSame(deliveries.remove(0), queue.dequeueNoWait());
+            }
+        }
+
+        assertEquals(deliveries.size(), queue.size());
+
+        for (ClientDelivery delivery : deliveries) {
+            assertSame(delivery, queue.dequeue(0));
+        }
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertNull(queue.dequeueNoWait());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fifo", "spsc", "spmc" })
+    void testClearDiscardsQueuedDeliveries(String type) throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 4);
+
+        queue.start();
+
+        for (int i = 0; i < 10; ++i) {
+            queue.enqueue(mock(ClientDelivery.class));
+        }
+
+        assertEquals(10, queue.size());
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeueNoWait());
+
+        for (int round = 0; round < 3; ++round) {
+            final List<ClientDelivery> deliveries = new ArrayList<>();
+            for (int i = 0; i < 6; ++i) {
+                final ClientDelivery delivery = mock(ClientDelivery.class);
+                deliveries.add(delivery);
+                queue.enqueue(delivery);
+            }
+
+            assertEquals(6, queue.size());
+
+            for (ClientDelivery delivery : deliveries) {
+                assertSame(delivery, queue.dequeueNoWait());
+            }
+
+            assertTrue(queue.isEmpty());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fifo", "spsc", "spmc" })
+    void testTimedDequeueReturnsNullWhenNothingArrives(String type) throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 10);
+
+        queue.start();
+
+        final long start = System.nanoTime();
+        assertNull(queue.dequeue(20));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(15));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fifo", "spsc", "spmc" })
+    void testBlockedDequeueWokenByEnqueue(String type) throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 10);
+        final ClientDelivery delivery = mock(ClientDelivery.class);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        queue.start();
+
+        try {
+            final Future<ClientDelivery> result = executor.submit(() -> queue.dequeue(-1));
+
+            Thread.sleep(10);
+            queue.enqueue(delivery);
+
+            assertSame(delivery, result.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fifo", "spsc", "spmc" })
+    void testBlockedDequeueWokenByStop(String type) throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 10);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch waiting = new CountDownLatch(1);
+
+        queue.start();
+
+        try {
+            final Future<ClientDelivery> result = executor.submit(() -> {
+                waiting.countDown();
+                return queue.dequeue(-1);
+            });
+
+            assertTrue(waiting.await(5, TimeUnit.SECONDS));
+            Thread.sleep(10);
+            queue.stop();
+
+            assertNull(result.get(5, TimeUnit.SECONDS));
+            assertFalse(queue.isRunning());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "fifo", "spsc", "spmc" })
+    void testBlockedDequeueInterrupted(String type) throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 10);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        queue.start();
+
+        try {
+            final Future<Boolean> result = executor.submit(() -> {
+                try {
+                    queue.dequeue(-1);
+                    return false;
+                } catch (InterruptedException e) {
+                    return true;
+                }
+            });
+
+            Thread.sleep(10);
+            executor.shutdownNow();
+
+            assertTrue(result.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "spsc", "spmc" })
+    void testRingQueuesEnqueueFirstDequeuesAheadOfQueuedDeliveries(String type) {
+        final DeliveryQueue queue = DeliveryQueue.create(type, 2);
+        final ClientDelivery first = mock(ClientDelivery.class);
+        final ClientDelivery second = mock(ClientDelivery.class);
+        final ClientDelivery third = mock(ClientDelivery.class);
+        final ClientDelivery fourth = mock(ClientDelivery.class);
+
+        queue.start();
+        queue.enqueue(third);
+        queue.enqueue(fourth);
+        queue.enqueueFirst(second);
+        queue.enqueueFirst(first);
+
+        assertEquals(4, queue.size());
+        assertSame(first, queue.dequeueNoWait());
+        assertSame(second, queue.dequeueNoWait());
+        assertSame(third, queue.dequeueNoWait());
+        assertSame(fourth, queue.dequeueNoWait());
+        assertTrue(queue.isEmpty());
+
+        queue.enqueueFirst(first);
+        assertFalse(queue.isEmpty());
+        queue.clear();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testSingleConsumerReceivesAllInOrder() throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(DeliveryQueue.SPSC, 8);
+        final int count = 5_000;
+        final ClientDelivery[] deliveries = new ClientDelivery[count];
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        for (int i = 0; i < count; ++i) {
+            deliveries[i] = mock(ClientDelivery.class);
+        }
+
+        queue.start();
+
+        try {
+            final Future<Integer> result = executor.submit(() -> {
+                for (int i = 0; i < count; ++i) {
+                    if (queue.dequeue(5_000) != deliveries[i]) {
+                        return i;
+                    }
+                }
+                return count;
+            });
+
+            for (ClientDelivery delivery : deliveries) {
+                queue.enqueue(delivery);
+            }
+
+            assertEquals(count, result.get(15, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testMultipleConsumersReceiveEachDeliveryOnce() throws Exception {
+        final DeliveryQueue queue = DeliveryQueue.create(DeliveryQueue.SPMC, 8);
+        final int consumers = 4;
+        final int count = 5_000;
+        final ClientDelivery[] deliveries = new ClientDelivery[count];
+        final Set<ClientDelivery> received = ConcurrentHashMap.newKeySet();
+        final ExecutorService executor = Executors.newFixedThreadPool(consumers);
+        final List<Future<?>> results = new ArrayList<>();
+
+        for (int i = 0; i < count; ++i) {
+            deliveries[i] = mock(ClientDelivery.class);
+        }
+
+        queue.start();
+
+        try {
+            for (int i = 0; i < consumers; ++i) {
+                results.add(executor.submit(() -> {
+                    ClientDelivery delivery;
+                    while ((delivery = queue.dequeue(-1)) != null) {
+                        assertTrue(received.add(delivery));
+                    }
+                    return null;
+                }));
+            }
+
+            for (ClientDelivery delivery : deliveries) {
+                queue.enqueue(delivery);
+            }
+
+            while (received.size() < count) {
+                Thread.sleep(5);
+            }
+
+            queue.stop();
+
+            for (Future<?> result : results) {
+                result.get(5, TimeUnit.SECONDS);
+            }
+
+            assertEquals(count, received.size());
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a class or record as an AMQP described type that is encoded as a described list.
+ * <p>
+ * The {@link DescribedTypeProcessor} generates a <code>&lt;Type&gt;TypeDecoder</code> and a
+ * <code>&lt;Type&gt;TypeEncoder</code> in the package of the annotated type which can be
+ * registered with the codec using <code>Decoder.registerDescribedTypeDecoder</code>,
+ * <code>StreamDecoder.registerDescribedTypeDecoder</code> and
+ * <code>Encoder.registerDescribedTypeEncoder</code>.
+ * <p>
+ * The list entries are the non-static and non-transient instance fields of the type in declaration
+ * order, or the record components in declaration order.  A class must provide a non-private no-argument
+ * constructor and each field must either be non-private and non-final or have a non-private getter and
+ * setter.  A record is decoded through its canonical constructor.
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface AmqpDescribedType {
+
+    /**
+     * @return the numeric descriptor code of the described type.
+     */
+    long code();
+
+    /**
+     * @return the symbolic descriptor of the described type.
+     */
+    String symbol();
+
+}
@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import java.util.List;
+
+/**
+ * Writes the source of the encoder and decoder for a {@link DescribedTypeModel}.  The generated
+ * code follows the structure of the hand written performative codecs, a switch over the list index
+ * that reads or writes each entry with the type specific codec method.
+ */
+final class DescribedTypeCodecWriter {
+
+    private static final String GENERATED = "@Generated(\"" + DescribedTypeProcessor.class.getName() + "\")";
+
+    // A LIST8 size byte covers the count byte and all the entries.
+    private static final int MAX_LIST8_ENTRIES_SIZE = 254;
+
+    private final StringBuilder source = new StringBuilder();
+
+    private DescribedTypeCodecWriter() {
+    }
+
+    static String writeDecoder(DescribedTypeModel model) {
+        final DescribedTypeCodecWriter writer = new DescribedTypeCodecWriter();
+        final String type = model.getTypeName();
+        final String readMethod = "read" + model.getDecoderName().substring(0, model.getDecoderName().length() - "TypeDecoder".length());
+
+        writer.header(model);
+        writer.line("import java.io.InputStream;");
+        writer.line();
+        writer.line("import javax.annotation.processing.Generated;");
+        writer.line();
+        writer.line("import org.apache.qpid.protonj2.buffer.ProtonBuffer;");
+        writer.line("import org.apache.qpid.protonj2.codec.DecodeException;");
+        writer.line("import org.apache.qpid.protonj2.codec.Decoder;");
+        writer.line("import org.apache.qpid.protonj2.codec.DecoderState;");
+        writer.line("import org.apache.qpid.protonj2.codec.EncodingCodes;");
+        writer.line("import org.apache.qpid.protonj2.codec.StreamDecoder;");
+        writer.line("import org.apache.qpid.protonj2.codec.StreamDecoderState;");
+        writer.line("import org.apache.qpid.protonj2.codec.StreamTypeDecoder;");
+        writer.line("import org.apache.qpid.protonj2.codec.TypeDecoder;");
+        writer.line("import org.apache.qpid.protonj2.codec.decoders.AbstractDescribedListTypeDecoder;");
+        writer.line("import org.apache.qpid.protonj2.codec.decoders.ProtonStreamUtils;");
+        writer.line("import org.apache.qpid.protonj2.codec.decoders.primitives.ListTypeDecoder;");
+        writer.line("import org.apache.qpid.protonj2.types.Symbol;");
+        writer.line("import org.apache.qpid.protonj2.types.UnsignedLong;");
+        writer.line();
+        writer.line("/**");
+        writer.line(" * Decoder of {@link " + type + "} type values from a byte stream.");
+        writer.line(" */");
+        writer.line(GENERATED);
+        writer.line("public final class " + model.getDecoderName() + " extends AbstractDescribedListTypeDecoder<" + type + "> {");
+        writer.line();
+        writer.descriptorConstants(model);
+        writer.typeAccessors(type);
+
+        writer.line("    @Override");
+        writer.line("    public " + type + " readValue(ProtonBuffer buffer, DecoderState state) throws DecodeException {");
+        writer.line("        final TypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(buffer, state);");
+        writer.line();
+        writer.line("        return " + readMethod + "(buffer, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder));");
+        writer.line("    }");
+        writer.line();
+        writer.line("    @Override");
+        writer.line("    public " + type + "[] readArrayElements(ProtonBuffer buffer, DecoderState state, int count) throws DecodeException {");
+        writer.line("        final TypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(buffer, state);");
+        writer.line();
+        writer.line("        final " + type + "[] result = new " + type + "[count];");
+        writer.line("        for (int i = 0; i < count; ++i) {");
+        writer.line("            result[i] = " + readMethod + "(buffer, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder));");
+        writer.line("        }");
+        writer.line();
+        writer.line("        return result;");
+        writer.line("    }");
+        writer.line();
+        writer.readMethod(model, readMethod, "ProtonBuffer buffer", "Decoder decoder", "DecoderState state", "buffer");
+        writer.line();
+        writer.line("    @Override");
+        writer.line("    public " + type + " readValue(InputStream stream, StreamDecoderState state) throws DecodeException {");
+        writer.line("        final StreamTypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(stream, state);");
+        writer.line();
+        writer.line("        return " + readMethod + "(stream, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder));");
+        writer.line("    }");
+        writer.line();
+        writer.line("    @Override");
+        writer.line("    public " + type + "[] readArrayElements(InputStream stream, StreamDecoderState state, int count) throws DecodeException {");
+        writer.line("        final StreamTypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(stream, state);");
+        writer.line();
+        writer.line("        final " + type + "[] result = new " + type + "[count];");
+        writer.line("        for (int i = 0; i < count; ++i) {");
+        writer.line("            result[i] = " + readMethod + "(stream, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder));");
+        writer.line("        }");
+        writer.line();
+        writer.line("        return result;");
+        writer.line("    }");
+        writer.line();
+        writer.readMethod(model, readMethod, "InputStream stream", "StreamDecoder decoder", "StreamDecoderState state", "stream");
+        writer.line("}");
+
+        return writer.source.toString();
+    }
+
+    static String writeEncoder(DescribedTypeModel model) {
+        final DescribedTypeCodecWriter writer = new DescribedTypeCodecWriter();
+        final String type = model.getTypeName();
+        final List<FieldModel> fields = model.getFields();
+
+        writer.header(model);
+        writer.line("import javax.annotation.processing.Generated;");
+        writer.line();
+        writer.line("import org.apache.qpid.protonj2.buffer.ProtonBuffer;");
+        writer.line("import org.apache.qpid.protonj2.codec.Encoder;");
+        writer.line("import org.apache.qpid.protonj2.codec.EncoderState;");
+        writer.line("import org.apache.qpid.protonj2.codec.EncodingCodes;");
+        writer.line("import org.apache.qpid.protonj2.codec.encoders.AbstractDescribedListTypeEncoder;");
+        writer.line("import org.apache.qpid.protonj2.types.Symbol;");
+        writer.line("import org.apache.qpid.protonj2.types.UnsignedLong;");
+        writer.line();
+        writer.line("/**");
+        writer.line(" * Encoder of {@link " + type + "} type values to a byte stream.");
+        writer.line(" */");
+        writer.line(GENERATED);
+        writer.line("public final class " + model.getEncoderName() + " extends AbstractDescribedListTypeEncoder<" + type + "> {");
+        writer.line();
+        writer.descriptorConstants(model);
+        writer.typeAccessors(type);
+
+        writer.line("    @Override");
+        writer.line("    public void writeElement(" + type + " value, int index, ProtonBuffer buffer, Encoder encoder, EncoderState state) {");
+        writer.line("        switch (index) {");
+        for (int i = 0; i < fields.size(); ++i) {
+            final FieldModel field = fields.get(i);
+
+            writer.line("            case " + i + ":");
+            if (field.isPrimitive()) {
+                writer.line("                " + field.getKind().writeStatement(field.getter()) + ";");
+            } else {
+                writer.line("                if (" + field.getter() + " == null) {");
+                writer.line("                    buffer.writeByte(EncodingCodes.NULL);");
+                writer.line("                } else {");
+                writer.line("                    " + field.getKind().writeStatement(field.getter()) + ";");
+                writer.line("                }");
+            }
+            writer.line("                break;");
+        }
+        writer.line("            default:");
+        writer.line("                throw new IllegalArgumentException(\"Unknown " + type + " value index: \" + index);");
+        writer.line("        }");
+        writer.line("    }");
+        writer.line();
+        writer.line("    @Override");
+        writer.line("    public int getElementSize(" + type + " value, int index, Encoder encoder, EncoderState state) {");
+        writer.line("        switch (index) {");
+        for (int i = 0; i < fields.size(); ++i) {
+            final FieldModel field = fields.get(i);
+
+            writer.line("            case " + i + ":");
+            if (field.isPrimitive()) {
+                writer.line("                return " + field.getKind().sizeExpression(field.getter()) + ";");
+            } else {
+                writer.line("                return " + field.getter() + " == null ? 1 : " + field.getKind().sizeExpression(field.getter()) + ";");
+            }
+        }
+        writer.line("            default:");
+        writer.line("                throw new IllegalArgumentException(\"Unknown " + type + " value index: \" + index);");
+        writer.line("        }");
+        writer.line("    }");
+        writer.line();
+        writer.line("    @Override");
+        writer.line("    public int getElementCount(" + type + " value) {");
+
+        // Trailing null entries are omitted, primitives are always present.
+        int minimumCount = 0;
+        for (int i = fields.size() - 1; i >= 0; --i) {
+            if (fields.get(i).isPrimitive()) {
+                minimumCount = i + 1;
+                break;
+            }
+        }
+        for (int i = fields.size() - 1; i >= minimumCount; --i) {
+            writer.line("        if (" + fields.get(i).getter() + " != null) {");
+            writer.line("            return " + (i + 1) + ";");
+            writer.line("        }");
+        }
+        writer.line("        return " + minimumCount + ";");
+        writer.line("    }");
+
+        if (isAlwaysSmallList(fields)) {
+            writer.line();
+            writer.line("    @Override");
+            writer.line("    public byte getListEncoding(" + type + " value) {");
+            writer.line("        return EncodingCodes.LIST8;");
+            writer.line("    }");
+        }
+
+        writer.line("}");
+
+        return writer.source.toString();
+    }
+
+    private static boolean isAlwaysSmallList(List<FieldModel> fields) {
+        int maxSize = 0;
+
+        for (FieldModel field : fields) {
+            if (!field.isPrimitive()) {
+                return false;
+            }
+
+            maxSize += field.getKind().getMaxEncodedSize();
+        }
+
+        return maxSize <= MAX_LIST8_ENTRIES_SIZE;
+    }
+
+    private void readMethod(DescribedTypeModel model, String name, String input, String decoder, String state, String inputName) {
+        final String type = model.getTypeName();
+        final List<FieldModel> fields = model.getFields();
+        final boolean stream = inputName.equals("stream");
+
+        line("    private " + type + " " + name + "(" + input + ", " + decoder + ", " + state + ", ListTypeDecoder listDecoder) throws DecodeException {");
+        if (model.isRecord()) {
+            for (int i = 0; i < fields.size(); ++i) {
+                final FieldModel field = fields.get(i);
+                line("        " + field.getTypeName() + " field" + i + " = " + field.getKind().defaultValue(field.isPrimitive()) + ";");
+            }
+        } else {
+            line("        final " + type + " result = new " + type + "();");
+        }
+        line();
+        line("        @SuppressWarnings(\"unused\")");
+        line("        final int size = listDecoder.readSize(" + inputName + ", state);");
+        line("        final int count = listDecoder.readCount(" + inputName + ", state);");
+        line();
+        line("        for (int index = 0; index < count; ++index) {");
+        if (stream) {
+            line("            // If the stream allows we peek ahead and see if there is a null in the next slot,");
+            line("            // if so the entry keeps its default value.");
+            line("            if (stream.markSupported()) {");
+            line("                stream.mark(1);");
+            line("                if (ProtonStreamUtils.readByte(stream) == EncodingCodes.NULL) {");
+            line("                    continue;");
+            line("                } else {");
+            line("                    ProtonStreamUtils.reset(stream);");
+            line("                }");
+            line("            }");
+        } else {
+            line("            // Peek ahead and see if there is a null in the next slot, if so the entry");
+            line("            // keeps its default value.");
+            line("            if (buffer.getByte(buffer.getReadOffset()) == EncodingCodes.NULL) {");
+            line("                buffer.advanceReadOffset(1);");
+            line("                continue;");
+            line("            }");
+        }
+        line();
+        line("            switch (index) {");
+        for (int i = 0; i < fields.size(); ++i) {
+            final FieldModel field = fields.get(i);
+            final String read = field.readExpression(inputName);
+
+            line("                case " + i + ":");
+            if (model.isRecord()) {
+                line("                    field" + i + " = " + read + ";");
+            } else {
+                line("                    " + field.setter(read) + ";");
+            }
+            line("                    break;");
+        }
+        line("                default:");
+        line("                    // Entries appended by a newer version of the type are skipped.");
+        line("                    decoder.readNextTypeDecoder(" + inputName + ", state).skipValue(" + inputName + ", state);");
+        line("            }");
+        line("        }");
+        line();
+        if (model.isRecord()) {
+            final StringBuilder arguments = new StringBuilder();
+            for (int i = 0; i < fields.size(); ++i) {
+                arguments.append(i == 0 ? "" : ", ").append("field").append(i);
+            }
+            line("        return new " + type + "(" + arguments + ");");
+        } else {
+            line("        return result;");
+        }
+        line("    }");
+    }
+
+    private void header(DescribedTypeModel model) {
+        if (!model.getPackageName().isEmpty()) {
+            line("package " + model.getPackageName() + ";");
+            line();
+        }
+    }
+
+    private void descriptorConstants(DescribedTypeModel model) {
+        line("    public static final UnsignedLong DESCRIPTOR_CODE = UnsignedLong.valueOf(0x" + Long.toHexString(model.getDescriptorCode()) + "L);");
+        line("    public static final Symbol DESCRIPTOR_SYMBOL = Symbol.valueOf(\"" + escape(model.getDescriptorSymbol()) + "\");");
+        line();
+    }
+
+    private void typeAccessors(String type) {
+        line("    @Override");
+        line("    public Class<" + type + "> getTypeClass() {");
+        line("        return " + type + ".class;");
+        line("    }");
+        line();
+        line("    @Override");
+        line("    public UnsignedLong getDescriptorCode() {");
+        line("        return DESCRIPTOR_CODE;");
+        line("    }");
+        line();
+        line("    @Override");
+        line("    public Symbol getDescriptorSymbol() {");
+        line("        return DESCRIPTOR_SYMBOL;");
+        line("    }");
+        line();
+    }
+
+    private static String escape(String value) {
+        final StringBuilder escaped = new StringBuilder(value.length());
+
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                escaped.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7E) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+
+        return escaped.toString();
+    }
+
+    private void line() {
+        source.append('\n');
+    }
+
+    private void line(String text) {
+        source.append(text).append('\n');
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import java.util.List;
+
+/**
+ * The information about an annotated type that the generated codecs are written from.
+ */
+final class DescribedTypeModel {
+
+    private final String packageName;
+    private final String namePrefix;
+    private final String typeName;
+    private final long descriptorCode;
+    private final String descriptorSymbol;
+    private final boolean record;
+    private final List<FieldModel> fields;
+
+    DescribedTypeModel(String packageName, String namePrefix, String typeName, long descriptorCode, String descriptorSymbol, boolean record, List<FieldModel> fields) {
+        this.packageName = packageName;
+        this.namePrefix = namePrefix;
+        this.typeName = typeName;
+        this.descriptorCode = descriptorCode;
+        this.descriptorSymbol = descriptorSymbol;
+        this.record = record;
+        this.fields = fields;
+    }
+
+    String getPackageName() {
+        return packageName;
+    }
+
+    String getDecoderName() {
+        return namePrefix + "TypeDecoder";
+    }
+
+    String getEncoderName() {
+        return namePrefix + "TypeEncoder";
+    }
+
+    String getTypeName() {
+        return typeName;
+    }
+
+    long getDescriptorCode() {
+        return descriptorCode;
+    }
+
+    String getDescriptorSymbol() {
+        return descriptorSymbol;
+    }
+
+    boolean isRecord() {
+        return record;
+    }
+
+    List<FieldModel> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+/**
+ * Annotation processor that generates list based described type encoders and decoders for
+ * types annotated with {@link AmqpDescribedType}.
+ */
+public final class DescribedTypeProcessor extends AbstractProcessor {
+
+    private static final String RECORD_KIND = "RECORD";
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Collections.singleton(AmqpDescribedType.class.getCanonicalName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(AmqpDescribedType.class)) {
+            final DescribedTypeModel model = createModel(element);
+
+            if (model != null) {
+                writeSource(element, model.getPackageName(), model.getDecoderName(), DescribedTypeCodecWriter.writeDecoder(model));
+                writeSource(element, model.getPackageName(), model.getEncoderName(), DescribedTypeCodecWriter.writeEncoder(model));
+            }
+        }
+
+        return true;
+    }
+
+    private DescribedTypeModel createModel(Element element) {
+        final boolean record = RECORD_KIND.equals(element.getKind().name());
+
+        if (element.getKind() != ElementKind.CLASS && !record) {
+            return error(element, "@AmqpDescribedType can only be applied to a class or record");
+        }
+
+        final TypeElement type = (TypeElement) element;
+
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return error(element, "@AmqpDescribedType cannot be applied to an abstract class");
+        }
+        if (type.getModifiers().contains(Modifier.PRIVATE)) {
+            return error(element, "@AmqpDescribedType cannot be applied to a private type");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return error(element, "@AmqpDescribedType cannot be applied to a generic type");
+        }
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL &&
+            (type.getNestingKind() != NestingKind.MEMBER || !type.getModifiers().contains(Modifier.STATIC))) {
+            return error(element, "@AmqpDescribedType can only be applied to top level or static nested types");
+        }
+
+        final AmqpDescribedType annotation = type.getAnnotation(AmqpDescribedType.class);
+
+        if (annotation.symbol().isEmpty()) {
+            return error(element, "The @AmqpDescribedType symbol cannot be empty");
+        }
+
+        if (!record && !hasNoArgConstructor(type)) {
+            return error(element, "A type annotated with @AmqpDescribedType must have a non-private no-argument constructor");
+        }
+
+        final List<FieldModel> fields = new ArrayList<>();
+
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.FIELD ||
+                member.getModifiers().contains(Modifier.STATIC) ||
+                member.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+
+            final FieldModel field = createField(type, (VariableElement) member, record);
+            if (field == null) {
+                return null;
+            }
+
+            fields.add(field);
+        }
+
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+
+        return new DescribedTypeModel(packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString(),
+                                      generatedNamePrefix(type),
+                                      type.getQualifiedName().toString(),
+                                      annotation.code(),
+                                      annotation.symbol(),
+                                      record,
+                                      fields);
+    }
+
+    private FieldModel createField(TypeElement type, VariableElement field, boolean record) {
+        final String name = field.getSimpleName().toString();
+        final TypeMirror fieldType = field.asType();
+        final FieldKind kind;
+        final boolean primitive = fieldType.getKind().isPrimitive();
+
+        if (primitive) {
+            kind = FieldKind.forPrimitive(fieldType.getKind());
+        } else if (fieldType.getKind() == TypeKind.DECLARED) {
+            final DeclaredType declared = (DeclaredType) fieldType;
+            kind = FieldKind.forDeclaredType(((TypeElement) declared.asElement()).getQualifiedName().toString());
+
+            if (kind == FieldKind.OBJECT && !declared.getTypeArguments().isEmpty()) {
+                return error(field, "Generic field types other than List and Map are not supported");
+            }
+        } else {
+            kind = null;
+        }
+
+        if (kind == null) {
+            return error(field, "Unsupported @AmqpDescribedType field type: " + fieldType);
+        }
+
+        final String erasure = processingEnv.getTypeUtils().erasure(fieldType).toString();
+
+        if (record) {
+            return new FieldModel(name, fieldType.toString(), erasure, kind, primitive, "value." + name + "()", null);
+        }
+
+        final boolean accessible = !field.getModifiers().contains(Modifier.PRIVATE);
+
+        if (accessible && !field.getModifiers().contains(Modifier.FINAL)) {
+            return new FieldModel(name, fieldType.toString(), erasure, kind, primitive, "value." + name, "result." + name + " = %s");
+        }
+
+        final String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        final ExecutableElement getter = findGetter(type, fieldType, "get" + capitalized, "is" + capitalized);
+        final ExecutableElement setter = findSetter(type, fieldType, "set" + capitalized);
+
+        if (getter == null || setter == null) {
+            return error(field, "Field " + name + " must be non-private and non-final or have a non-private getter and setter");
+        }
+
+        return new FieldModel(name, fieldType.toString(), erasure, kind, primitive,
+                              "value." + getter.getSimpleName() + "()",
+                              "result." + setter.getSimpleName() + "(%s)");
+    }
+
+    private ExecutableElement findGetter(TypeElement type, TypeMirror fieldType, String... names) {
+        for (ExecutableElement method : methodsOf(type)) {
+            if (method.getParameters().isEmpty() &&
+                processingEnv.getTypeUtils().isSameType(method.getReturnType(), fieldType)) {
+
+                for (String name : names) {
+                    if (method.getSimpleName().contentEquals(name)) {
+                        return method;
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private ExecutableElement findSetter(TypeElement type, TypeMirror fieldType, String name) {
+        for (ExecutableElement method : methodsOf(type)) {
+            if (method.getSimpleName().contentEquals(name) && method.getParameters().size() == 1 &&
+                processingEnv.getTypeUtils().isSameType(method.getParameters().get(0).asType(), fieldType)) {
+                return method;
+            }
+        }
+
+        return null;
+    }
+
+    private static List<ExecutableElement> methodsOf(TypeElement type) {
+        final List<ExecutableElement> methods = new ArrayList<>();
+
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.METHOD &&
+                !member.getModifiers().contains(Modifier.PRIVATE) &&
+                !member.getModifiers().contains(Modifier.STATIC)) {
+                methods.add((ExecutableElement) member);
+            }
+        }
+
+        return methods;
+    }
+
+    private static boolean hasNoArgConstructor(TypeElement type) {
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() == ElementKind.CONSTRUCTOR &&
+                ((ExecutableElement) member).getParameters().isEmpty() &&
+                !member.getModifiers().contains(Modifier.PRIVATE)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String generatedNamePrefix(TypeElement type) {
+        String name = type.getSimpleName().toString();
+
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+
+        return name;
+    }
+
+    private void writeSource(Element element, String packageName, String simpleName, String source) {
+        final String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedName, element);
+
+            try (Writer writer = file.openWriter()) {
+                writer.write(source);
+            }
+        } catch (IOException e) {
+            error(element, "Failed to write generated source " + qualifiedName + ": " + e.getMessage());
+        }
+    }
+
+    private <T> T error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+        return null;
+    }
+}
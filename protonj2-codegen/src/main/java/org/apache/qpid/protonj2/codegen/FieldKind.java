@@ -0,0 +1,217 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import javax.lang.model.type.TypeKind;
+
+/**
+ * The field types the generated codecs know how to read and write without going through the
+ * generic object encoding path.
+ * <p>
+ * The templates are formatted with the input name (<code>buffer</code> or <code>stream</code>) and
+ * the erased field type name for reads, and with the value expression for writes and sizes.
+ */
+enum FieldKind {
+
+    BOOLEAN("decoder.readBoolean(%1$s, state, false)",
+            "decoder.readBoolean(%1$s, state)",
+            "buffer.writeByte(%1$s ? EncodingCodes.BOOLEAN_TRUE : EncodingCodes.BOOLEAN_FALSE)",
+            "1", 1, "false"),
+    BYTE("decoder.readByte(%1$s, state, (byte) 0)",
+         "decoder.readByte(%1$s, state)",
+         "encoder.writeByte(buffer, state, %1$s)",
+         "2", 2, "(byte) 0"),
+    SHORT("decoder.readShort(%1$s, state, (short) 0)",
+          "decoder.readShort(%1$s, state)",
+          "encoder.writeShort(buffer, state, %1$s)",
+          "3", 3, "(short) 0"),
+    INT("decoder.readInteger(%1$s, state, 0)",
+        "decoder.readInteger(%1$s, state)",
+        "encoder.writeInteger(buffer, state, %1$s)",
+        "org.apache.qpid.protonj2.codec.encoders.primitives.IntegerTypeEncoder.getEncodedSize(%1$s)", 5, "0"),
+    LONG("decoder.readLong(%1$s, state, 0l)",
+         "decoder.readLong(%1$s, state)",
+         "encoder.writeLong(buffer, state, %1$s)",
+         "(%1$s >= -128 && %1$s <= 127) ? 2 : 9", 9, "0l"),
+    FLOAT("decoder.readFloat(%1$s, state, 0f)",
+          "decoder.readFloat(%1$s, state)",
+          "encoder.writeFloat(buffer, state, %1$s)",
+          "5", 5, "0f"),
+    DOUBLE("decoder.readDouble(%1$s, state, 0d)",
+           "decoder.readDouble(%1$s, state)",
+           "encoder.writeDouble(buffer, state, %1$s)",
+           "9", 9, "0d"),
+    CHAR("decoder.readCharacter(%1$s, state, (char) 0)",
+         "decoder.readCharacter(%1$s, state)",
+         "encoder.writeCharacter(buffer, state, %1$s)",
+         "5", 5, "(char) 0"),
+    STRING("decoder.readString(%1$s, state)",
+           "encoder.writeString(buffer, state, %1$s)"),
+    SYMBOL("decoder.readSymbol(%1$s, state)",
+           "encoder.writeSymbol(buffer, state, %1$s)"),
+    BINARY("decoder.readBinary(%1$s, state)",
+           "encoder.writeBinary(buffer, state, %1$s)"),
+    UNSIGNED_BYTE("decoder.readUnsignedByte(%1$s, state)",
+                  "encoder.writeUnsignedByte(buffer, state, %1$s)"),
+    UNSIGNED_SHORT("decoder.readUnsignedShort(%1$s, state)",
+                   "encoder.writeUnsignedShort(buffer, state, %1$s)"),
+    UNSIGNED_INTEGER("decoder.readUnsignedInteger(%1$s, state)",
+                     "encoder.writeUnsignedInteger(buffer, state, %1$s)"),
+    UNSIGNED_LONG("decoder.readUnsignedLong(%1$s, state)",
+                  "encoder.writeUnsignedLong(buffer, state, %1$s)"),
+    UUID("decoder.readUUID(%1$s, state)",
+         "encoder.writeUUID(buffer, state, %1$s)"),
+    LIST("decoder.readList(%1$s, state)",
+         "encoder.writeList(buffer, state, %1$s)"),
+    MAP("decoder.readMap(%1$s, state)",
+        "encoder.writeMap(buffer, state, %1$s)"),
+    OBJECT("decoder.readObject(%1$s, state, %2$s.class)",
+           "encoder.writeObject(buffer, state, %1$s)");
+
+    private final String primitiveRead;
+    private final String read;
+    private final String write;
+    private final String size;
+    private final int maxSize;
+    private final String defaultValue;
+
+    FieldKind(String read, String write) {
+        this(null, read, write, "encoder.sizeOf(state, %1$s)", -1, "null");
+    }
+
+    FieldKind(String primitiveRead, String read, String write, String size, int maxSize, String defaultValue) {
+        this.primitiveRead = primitiveRead;
+        this.read = read;
+        this.write = write;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * @return true if this kind has a Java primitive form.
+     */
+    boolean hasPrimitiveForm() {
+        return primitiveRead != null;
+    }
+
+    /**
+     * @return the largest number of bytes the primitive form of this kind encodes to.
+     */
+    int getMaxEncodedSize() {
+        return maxSize;
+    }
+
+    String readExpression(boolean primitive, String input, String erasure) {
+        return String.format(primitive ? primitiveRead : read, input, erasure);
+    }
+
+    String writeStatement(String value) {
+        return String.format(write, value);
+    }
+
+    String sizeExpression(String value) {
+        return String.format(size, value);
+    }
+
+    String defaultValue(boolean primitive) {
+        return primitive ? defaultValue : "null";
+    }
+
+    /**
+     * Returns the kind for a Java primitive type kind or null if the primitive is not supported.
+     *
+     * @param kind
+     * 		The primitive {@link TypeKind} of the field.
+     *
+     * @return the matching {@link FieldKind} or null.
+     */
+    static FieldKind forPrimitive(TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return BOOLEAN;
+            case BYTE:
+                return BYTE;
+            case SHORT:
+                return SHORT;
+            case INT:
+                return INT;
+            case LONG:
+                return LONG;
+            case FLOAT:
+                return FLOAT;
+            case DOUBLE:
+                return DOUBLE;
+            case CHAR:
+                return CHAR;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the kind for a declared type given its erased qualified name.  Types that are not
+     * known are read and written through the generic object path using the registered codecs.
+     *
+     * @param qualifiedName
+     * 		The qualified name of the erased field type.
+     *
+     * @return the matching {@link FieldKind}.
+     */
+    static FieldKind forDeclaredType(String qualifiedName) {
+        switch (qualifiedName) {
+            case "java.lang.Boolean":
+                return BOOLEAN;
+            case "java.lang.Byte":
+                return BYTE;
+            case "java.lang.Short":
+                return SHORT;
+            case "java.lang.Integer":
+                return INT;
+            case "java.lang.Long":
+                return LONG;
+            case "java.lang.Float":
+                return FLOAT;
+            case "java.lang.Double":
+                return DOUBLE;
+            case "java.lang.Character":
+                return CHAR;
+            case "java.lang.String":
+                return STRING;
+            case "org.apache.qpid.protonj2.types.Symbol":
+                return SYMBOL;
+            case "org.apache.qpid.protonj2.types.Binary":
+                return BINARY;
+            case "org.apache.qpid.protonj2.types.UnsignedByte":
+                return UNSIGNED_BYTE;
+            case "org.apache.qpid.protonj2.types.UnsignedShort":
+                return UNSIGNED_SHORT;
+            case "org.apache.qpid.protonj2.types.UnsignedInteger":
+                return UNSIGNED_INTEGER;
+            case "org.apache.qpid.protonj2.types.UnsignedLong":
+                return UNSIGNED_LONG;
+            case "java.util.UUID":
+                return UUID;
+            case "java.util.List":
+                return LIST;
+            case "java.util.Map":
+                return MAP;
+            default:
+                return OBJECT;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+/**
+ * A single list entry of an annotated type and how the generated code reaches it.
+ */
+final class FieldModel {
+
+    private final String name;
+    private final String typeName;
+    private final String erasure;
+    private final FieldKind kind;
+    private final boolean primitive;
+    private final String getter;
+    private final String setter;
+
+    FieldModel(String name, String typeName, String erasure, FieldKind kind, boolean primitive, String getter, String setter) {
+        this.name = name;
+        this.typeName = typeName;
+        this.erasure = erasure;
+        this.kind = kind;
+        this.primitive = primitive;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getTypeName() {
+        return typeName;
+    }
+
+    FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return true if the field is a Java primitive and so is always present in the encoding.
+     */
+    boolean isPrimitive() {
+        return primitive;
+    }
+
+    /**
+     * @return the expression that reads this field from a local named <code>value</code>.
+     */
+    String getter() {
+        return getter;
+    }
+
+    /**
+     * @param value
+     * 		The expression whose result is assigned to the field.
+     *
+     * @return the statement that assigns the field of a local named <code>result</code>.
+     */
+    String setter(String value) {
+        return String.format(setter, value);
+    }
+
+    String readExpression(String input) {
+        return kind.readExpression(primitive, input, erasure);
+    }
+}
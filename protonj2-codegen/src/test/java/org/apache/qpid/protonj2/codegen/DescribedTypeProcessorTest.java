@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.codec.Decoder;
+import org.apache.qpid.protonj2.codec.DescribedTypeDecoder;
+import org.apache.qpid.protonj2.codec.DescribedTypeEncoder;
+import org.apache.qpid.protonj2.codec.Encoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderFactory;
+import org.apache.qpid.protonj2.codec.encoders.ProtonEncoderFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Runs the processor over sources compiled in the test to check the validation it performs.
+ */
+public class DescribedTypeProcessorTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    public void testUnsupportedFieldTypeIsReported() throws Exception {
+        List<String> errors = compile("test.Invalid",
+            "package test;\n" +
+            "@org.apache.qpid.protonj2.codegen.AmqpDescribedType(code = 1, symbol = \"test:invalid\")\n" +
+            "public class Invalid {\n" +
+            "    int[] values;\n" +
+            "}\n");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("Unsupported @AmqpDescribedType field type"), errors.get(0));
+    }
+
+    @Test
+    public void testPrivateFieldWithoutAccessorsIsReported() throws Exception {
+        List<String> errors = compile("test.Invalid",
+            "package test;\n" +
+            "@org.apache.qpid.protonj2.codegen.AmqpDescribedType(code = 1, symbol = \"test:invalid\")\n" +
+            "public class Invalid {\n" +
+            "    private String name;\n" +
+            "    public String getName() { return name; }\n" +
+            "}\n");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("must be non-private and non-final or have a non-private getter and setter"), errors.get(0));
+    }
+
+    @Test
+    public void testMissingNoArgConstructorIsReported() throws Exception {
+        List<String> errors = compile("test.Invalid",
+            "package test;\n" +
+            "@org.apache.qpid.protonj2.codegen.AmqpDescribedType(code = 1, symbol = \"test:invalid\")\n" +
+            "public class Invalid {\n" +
+            "    String name;\n" +
+            "    public Invalid(String name) { this.name = name; }\n" +
+            "}\n");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("no-argument constructor"), errors.get(0));
+    }
+
+    @Test
+    public void testInterfaceIsReported() throws Exception {
+        List<String> errors = compile("test.Invalid",
+            "package test;\n" +
+            "@org.apache.qpid.protonj2.codegen.AmqpDescribedType(code = 1, symbol = \"test:invalid\")\n" +
+            "public interface Invalid {\n" +
+            "}\n");
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).contains("can only be applied to a class or record"), errors.get(0));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_16)
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testRecordIsDecodedThroughCanonicalConstructor() throws Exception {
+        List<String> errors = compile("test.Reading",
+            "package test;\n" +
+            "@org.apache.qpid.protonj2.codegen.AmqpDescribedType(code = 0x0000468C00000010L, symbol = \"test:reading:list\")\n" +
+            "public record Reading(String sensor, double value, Integer quality) {\n" +
+            "}\n");
+
+        assertTrue(errors.isEmpty(), errors.toString());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { output.toUri().toURL() }, getClass().getClassLoader())) {
+            final Class<?> recordType = loader.loadClass("test.Reading");
+            final Object reading = recordType.getConstructors()[0].newInstance("sensor-1", 21.5, null);
+
+            final Encoder encoder = ProtonEncoderFactory.create();
+            final Decoder decoder = ProtonDecoderFactory.create();
+
+            encoder.registerDescribedTypeEncoder((DescribedTypeEncoder) loader.loadClass("test.ReadingTypeEncoder").getConstructor().newInstance());
+            decoder.registerDescribedTypeDecoder((DescribedTypeDecoder) loader.loadClass("test.ReadingTypeDecoder").getConstructor().newInstance());
+
+            ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+            encoder.writeObject(buffer, encoder.newEncoderState(), reading);
+
+            final Object result = decoder.readObject(buffer, decoder.newDecoderState());
+
+            assertEquals(reading, result);
+            assertFalse(buffer.isReadable());
+        }
+    }
+
+    private List<String> compile(String className, String source) throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            final List<String> options = Arrays.asList(
+                "-d", output.toString(),
+                "-s", output.toString(),
+                "-classpath", classpathOf(AmqpDescribedType.class, ProtonBuffer.class));
+
+            final JavaCompiler.CompilationTask task = compiler.getTask(
+                null, fileManager, diagnostics, options, null, Collections.singletonList(new SourceFile(className, source)));
+
+            task.setProcessors(Collections.singletonList(new DescribedTypeProcessor()));
+            task.call();
+        }
+
+        final List<String> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic.getMessage(Locale.ROOT));
+            }
+        }
+
+        return errors;
+    }
+
+    private static String classpathOf(Class<?>... types) throws Exception {
+        final StringBuilder classpath = new StringBuilder();
+
+        for (Class<?> type : types) {
+            if (classpath.length() > 0) {
+                classpath.append(File.pathSeparator);
+            }
+
+            classpath.append(Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()));
+        }
+
+        return classpath.toString();
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonBufferInputStream;
+import org.apache.qpid.protonj2.codec.Decoder;
+import org.apache.qpid.protonj2.codec.DecoderState;
+import org.apache.qpid.protonj2.codec.Encoder;
+import org.apache.qpid.protonj2.codec.EncoderState;
+import org.apache.qpid.protonj2.codec.EncodingCodes;
+import org.apache.qpid.protonj2.codec.StreamDecoder;
+import org.apache.qpid.protonj2.codec.StreamDecoderState;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderFactory;
+import org.apache.qpid.protonj2.codec.decoders.ProtonStreamDecoderFactory;
+import org.apache.qpid.protonj2.codec.encoders.ProtonEncoderFactory;
+import org.apache.qpid.protonj2.types.Binary;
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.UnknownDescribedType;
+import org.apache.qpid.protonj2.types.UnsignedInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Round trips the codecs generated for the test types through the ProtonJ2 codec.
+ */
+public class GeneratedCodecTest {
+
+    private Encoder encoder;
+    private EncoderState encoderState;
+    private Decoder decoder;
+    private DecoderState decoderState;
+    private StreamDecoder streamDecoder;
+    private StreamDecoderState streamDecoderState;
+
+    @BeforeEach
+    public void setUp() {
+        encoder = ProtonEncoderFactory.create();
+        encoderState = encoder.newEncoderState();
+        decoder = ProtonDecoderFactory.create();
+        decoderState = decoder.newDecoderState();
+        streamDecoder = ProtonStreamDecoderFactory.create();
+        streamDecoderState = streamDecoder.newDecoderState();
+
+        encoder.registerDescribedTypeEncoder(new VendorMetricsTypeEncoder());
+        encoder.registerDescribedTypeEncoder(new VendorPointTypeEncoder());
+        encoder.registerDescribedTypeEncoder(new GeneratedCodecTest_NestedTypeEncoder());
+        decoder.registerDescribedTypeDecoder(new VendorMetricsTypeDecoder());
+        decoder.registerDescribedTypeDecoder(new VendorPointTypeDecoder());
+        decoder.registerDescribedTypeDecoder(new GeneratedCodecTest_NestedTypeDecoder());
+        streamDecoder.registerDescribedTypeDecoder(new VendorMetricsTypeDecoder());
+        streamDecoder.registerDescribedTypeDecoder(new VendorPointTypeDecoder());
+    }
+
+    @Test
+    public void testDescriptorsComeFromTheAnnotation() {
+        assertEquals(0x0000468C00000001L, VendorMetricsTypeDecoder.DESCRIPTOR_CODE.longValue());
+        assertEquals(Symbol.valueOf("com.example:metrics:list"), VendorMetricsTypeEncoder.DESCRIPTOR_SYMBOL);
+        assertEquals(VendorMetrics.class, new VendorMetricsTypeDecoder().getTypeClass());
+    }
+
+    @Test
+    public void testEncodeDecodeFullyPopulatedType() {
+        VendorMetrics metrics = createMetrics();
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, metrics);
+
+        VendorMetrics result = (VendorMetrics) decoder.readObject(buffer, decoderState);
+
+        assertFalse(buffer.isReadable());
+        assertMetricsEqual(metrics, result);
+    }
+
+    @Test
+    public void testEncodeDecodeFullyPopulatedTypeFromStream() {
+        VendorMetrics metrics = createMetrics();
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, metrics);
+
+        InputStream stream = new ProtonBufferInputStream(buffer);
+        VendorMetrics result = (VendorMetrics) streamDecoder.readObject(stream, streamDecoderState);
+
+        assertMetricsEqual(metrics, result);
+    }
+
+    @Test
+    public void testNullEntriesKeepFieldDefaults() {
+        VendorMetrics metrics = new VendorMetrics();
+        metrics.setSource(null);
+        metrics.setTimestamp(42);
+        metrics.setCount(null);
+        metrics.setRegion(Symbol.valueOf("emea"));
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, metrics);
+
+        VendorMetrics result = (VendorMetrics) decoder.readObject(buffer, decoderState);
+
+        assertEquals(VendorMetrics.DEFAULT_SOURCE, result.getSource());
+        assertEquals(42, result.getTimestamp());
+        assertNull(result.getCount());
+        assertEquals(Symbol.valueOf("emea"), result.getRegion());
+        assertNull(result.getSequence());
+    }
+
+    @Test
+    public void testTrailingNullEntriesAreOmitted() {
+        VendorMetrics metrics = new VendorMetrics();
+        metrics.setSource("sensor");
+        metrics.setCount(7);
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, metrics);
+
+        UnknownDescribedType result = (UnknownDescribedType) ProtonDecoderFactory.create().readObject(buffer, decoderState);
+
+        assertEquals(VendorMetricsTypeDecoder.DESCRIPTOR_CODE, result.getDescriptor());
+        assertEquals(Arrays.asList("sensor", 0l, false, 7), result.getDescribed());
+    }
+
+    @Test
+    public void testDecodeGenericallyEncodedType() {
+        List<Object> entries = new ArrayList<>();
+        entries.add("sensor");
+        entries.add(100l);
+        entries.add(true);
+        entries.add(5);
+        entries.add(Symbol.valueOf("apac"));
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, new UnknownDescribedType(Symbol.valueOf("com.example:metrics:list"), entries));
+
+        VendorMetrics result = (VendorMetrics) decoder.readObject(buffer, decoderState);
+
+        assertEquals("sensor", result.getSource());
+        assertEquals(100, result.getTimestamp());
+        assertTrue(result.isActive());
+        assertEquals(5, result.getCount());
+        assertEquals(Symbol.valueOf("apac"), result.getRegion());
+        assertNull(result.getSequence());
+    }
+
+    @Test
+    public void testDecodeSkipsEntriesAddedByNewerVersions() {
+        List<Object> entries = new ArrayList<>();
+        entries.add(1);
+        entries.add(2);
+        entries.add(0.5);
+        entries.add("added later");
+        entries.add(Arrays.asList(1, 2, 3));
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, new UnknownDescribedType(VendorPointTypeEncoder.DESCRIPTOR_CODE, entries));
+        encoder.writeObject(buffer, encoderState, "next");
+
+        VendorPoint result = (VendorPoint) decoder.readObject(buffer, decoderState);
+
+        assertEquals(1, result.x);
+        assertEquals(2, result.y);
+        assertEquals(0.5, result.weight);
+        assertEquals("next", decoder.readObject(buffer, decoderState));
+    }
+
+    @Test
+    public void testAllPrimitiveTypeIsWrittenAsSmallList() {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, new VendorPoint(1, 1000, 2.0));
+
+        // Described type indicator followed by the ulong descriptor code
+        assertEquals(EncodingCodes.DESCRIBED_TYPE_INDICATOR, buffer.getByte(0));
+        assertEquals(EncodingCodes.ULONG, buffer.getByte(1));
+        assertEquals(0x0000468C00000002L, buffer.getLong(2));
+        assertEquals(EncodingCodes.LIST8, buffer.getByte(10));
+
+        VendorPoint result = (VendorPoint) decoder.readObject(buffer, decoderState);
+
+        assertEquals(1, result.x);
+        assertEquals(1000, result.y);
+        assertEquals(2.0, result.weight);
+    }
+
+    @Test
+    public void testSizeOfMatchesEncodedSize() {
+        VendorMetrics metrics = createMetrics();
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, metrics);
+
+        assertEquals(buffer.getReadableBytes(), encoder.sizeOf(encoderState, metrics));
+
+        buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, new VendorPoint(-1, 1 << 20, 1.5));
+
+        assertEquals(buffer.getReadableBytes(), encoder.sizeOf(encoderState, new VendorPoint(-1, 1 << 20, 1.5)));
+    }
+
+    @Test
+    public void testStaticNestedType() {
+        Nested nested = new Nested();
+        nested.name = "nested";
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, nested);
+
+        Nested result = (Nested) decoder.readObject(buffer, decoderState);
+
+        assertEquals("nested", result.name);
+    }
+
+    @AmqpDescribedType(code = 0x10, symbol = "com.example:nested:list")
+    public static class Nested {
+
+        String name;
+
+    }
+
+    private static VendorMetrics createMetrics() {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("unit", "celsius");
+        attributes.put("scale", 2);
+
+        VendorMetrics metrics = new VendorMetrics();
+        metrics.setSource("sensor-1");
+        metrics.setTimestamp(System.currentTimeMillis());
+        metrics.setActive(true);
+        metrics.setCount(1024);
+        metrics.setRegion(Symbol.valueOf("emea"));
+        metrics.setSequence(UnsignedInteger.valueOf(99));
+        metrics.setPayload(new Binary(new byte[] { 1, 2, 3 }));
+        metrics.setOrigin(new VendorPoint(3, 4, 0.25));
+        metrics.setTags(Arrays.asList("a", "b"));
+        metrics.setAttributes(attributes);
+
+        return metrics;
+    }
+
+    private static void assertMetricsEqual(VendorMetrics expected, VendorMetrics actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getSource(), actual.getSource());
+        assertEquals(expected.getTimestamp(), actual.getTimestamp());
+        assertEquals(expected.isActive(), actual.isActive());
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getRegion(), actual.getRegion());
+        assertEquals(expected.getSequence(), actual.getSequence());
+        assertArrayEquals(expected.getPayload().asByteArray(), actual.getPayload().asByteArray());
+        assertEquals(expected.getOrigin().x, actual.getOrigin().x);
+        assertEquals(expected.getOrigin().y, actual.getOrigin().y);
+        assertEquals(expected.getOrigin().weight, actual.getOrigin().weight);
+        assertEquals(expected.getTags(), actual.getTags());
+        assertEquals(expected.getAttributes(), actual.getAttributes());
+    }
+}
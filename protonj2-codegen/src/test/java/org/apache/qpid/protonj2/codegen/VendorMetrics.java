@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codegen;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.qpid.protonj2.types.Binary;
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.UnsignedInteger;
+
+/**
+ * Described type with private fields that are accessed through getters and setters.
+ */
+@AmqpDescribedType(code = 0x0000468C00000001L, symbol = "com.example:metrics:list")
+public class VendorMetrics {
+
+    public static final String DEFAULT_SOURCE = "unknown";
+
+    private String source = DEFAULT_SOURCE;
+    private long timestamp;
+    private boolean active;
+    private Integer count;
+    private Symbol region;
+    private UnsignedInteger sequence;
+    private Binary payload;
+    private VendorPoint origin;
+    private List<String> tags;
+    private Map<String, Object> attributes;
+
+    private transient int hash;
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+
+    public Symbol getRegion() {
+        return region;
+    }
+
+    public void setRegion(Symbol region) {
+        this.region = region;
+    }
+
+    public UnsignedInteger getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(UnsignedInteger sequence) {
+        this.sequence = sequence;
+    }
+
+    public Binary getPayload() {
+        return payload;
+    }
+
+    public void setPayload(Binary payload) {
+        this.payload = payload;
+    }
+
+    public VendorPoint getOrigin() {
+        return origin;
+    }
+
+    public void setOrigin(VendorPoint origin) {
+        this.origin = origin;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public void setAttributes(Map<String, Object> attributes) {
+        this.attributes = attributes;
+    }
+
+    public int getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.client.exceptions.ClientException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * End to end benchmark of the client send path from the {@link Sender} and {@link StreamSender}
+ * API through the connection IO thread and the Netty transport to an in-process {@link LoopbackPeer}.
+ * Settled sends complete once the message has been written, unsettled and streaming sends wait
+ * for the peer to accept and settle the delivery.
+ * <p>
+ * Running the main method reports throughput (messages per second), sampled latency percentiles
+ * and, through the GC profiler, the bytes allocated per message.  The allocation figure covers the
+ * whole JVM and so includes the small and fixed per message cost of the peer.  The sender benchmarks
+ * are run with both the heap and the pooled encode buffer allocators and with message bodies either
+ * copied or sent by reference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ClientSendBenchmark {
+
+    @Param({ "64", "1024", "65536" })
+    public int payloadSize;
+
+    @Param({ "heap", "pooled" })
+    public String bufferAllocatorType;
+
+    @Param({ "0", "4096" })
+    public int zeroCopyThreshold;
+
+    private LoopbackPeer peer;
+    private Client client;
+    private Connection connection;
+
+    private Sender settledSender;
+    private Sender unsettledSender;
+    private StreamSender streamSender;
+
+    private byte[] payload;
+
+    @Setup
+    public void init() throws Exception {
+        payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'A');
+
+        peer = new LoopbackPeer().start();
+        client = Client.create();
+
+        final ConnectionOptions options = new ConnectionOptions();
+        options.saslOptions().saslEnabled(false);
+        options.zeroCopyThreshold(zeroCopyThreshold);
+
+        connection = client.connect(peer.host(), peer.port(), options).openFuture().get();
+
+        final SenderOptions senderOptions = new SenderOptions().bufferAllocatorType(bufferAllocatorType);
+
+        settledSender = connection.openSender("queue", senderOptions.clone().deliveryMode(DeliveryMode.AT_MOST_ONCE));
+        unsettledSender = connection.openSender("queue", senderOptions.clone().deliveryMode(DeliveryMode.AT_LEAST_ONCE));
+        streamSender = connection.openStreamSender("queue");
+
+        streamSender.openFuture().get();
+        unsettledSender.openFuture().get();
+        settledSender.openFuture().get();
+    }
+
+    @TearDown
+    public void shutdown() {
+        client.close();
+        peer.close();
+    }
+
+    @Benchmark
+    public Tracker sendSettled() throws ClientException {
+        return settledSender.send(Message.create(payload));
+    }
+
+    @Benchmark
+    public Tracker sendUnsettled() throws ClientException {
+        return unsettledSender.send(Message.create(payload)).awaitSettlement();
+    }
+
+    @Benchmark
+    public StreamTracker sendStreaming() throws Exception {
+        final StreamSenderMessage message = streamSender.beginMessage();
+
+        try (OutputStream body = message.body()) {
+            body.write(payload);
+        }
+
+        return message.tracker().awaitSettlement();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(ClientSendBenchmark.class);
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        // Throughput as messages per second and latency percentiles in microseconds
+        final Options throughput = new OptionsBuilder()
+            .include(benchmarkClass.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .shouldDoGC(true)
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        final Options latency = new OptionsBuilder()
+            .parent(throughput)
+            .mode(Mode.SampleTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .build();
+
+        new Runner(throughput).run();
+        new Runner(latency).run();
+    }
+}
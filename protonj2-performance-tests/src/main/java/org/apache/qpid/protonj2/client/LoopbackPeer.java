@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client;
+
+import java.net.InetSocketAddress;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.netty.Netty4ProtonBufferAllocator;
+import org.apache.qpid.protonj2.engine.Connection;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.apache.qpid.protonj2.engine.Receiver;
+import org.apache.qpid.protonj2.engine.Session;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.messaging.Target;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+
+/**
+ * Minimal in-process AMQP peer used by the client benchmarks.  Each accepted connection is
+ * serviced by a non-SASL proton {@link Engine} that opens whatever the client opens, grants
+ * a window of credit to client senders that it keeps topped up and accepts and settles every
+ * unsettled delivery it reads.  The peer listens on the loopback interface and shares a single
+ * event loop for all connections which keeps its own overhead low and predictable.
+ */
+public final class LoopbackPeer implements AutoCloseable {
+
+    private static final int CREDIT_WINDOW = 1000;
+
+    private final EventLoopGroup group = new NioEventLoopGroup(1);
+
+    private Channel serverChannel;
+
+    /**
+     * Binds the peer to an ephemeral port on the loopback interface.
+     *
+     * @return this {@link LoopbackPeer} instance.
+     *
+     * @throws InterruptedException if interrupted while waiting for the bind to complete.
+     */
+    public LoopbackPeer start() throws InterruptedException {
+        final ServerBootstrap bootstrap = new ServerBootstrap();
+
+        bootstrap.group(group)
+                 .channel(NioServerSocketChannel.class)
+                 .childOption(ChannelOption.TCP_NODELAY, true)
+                 .childHandler(new ChannelInitializer<SocketChannel>() {
+
+                     @Override
+                     protected void initChannel(SocketChannel channel) throws Exception {
+                         channel.pipeline().addLast(new PeerConnectionHandler());
+                     }
+                 });
+
+        serverChannel = bootstrap.bind("127.0.0.1", 0).sync().channel();
+
+        return this;
+    }
+
+    /**
+     * @return the host name the peer is listening on.
+     */
+    public String host() {
+        return ((InetSocketAddress) serverChannel.localAddress()).getHostString();
+    }
+
+    /**
+     * @return the port the peer is listening on.
+     */
+    public int port() {
+        return ((InetSocketAddress) serverChannel.localAddress()).getPort();
+    }
+
+    @Override
+    public void close() {
+        if (serverChannel != null) {
+            serverChannel.close().syncUninterruptibly();
+        }
+
+        group.shutdownGracefully().syncUninterruptibly();
+    }
+
+    private static final class PeerConnectionHandler extends ChannelInboundHandlerAdapter {
+
+        private Engine engine;
+        private Netty4ProtonBufferAllocator allocator;
+
+        @Override
+        public void channelActive(ChannelHandlerContext context) throws Exception {
+            final Channel channel = context.channel();
+
+            allocator = new Netty4ProtonBufferAllocator(channel.alloc());
+            engine = EngineFactory.PROTON.createNonSaslEngine();
+            engine.outputConsumer(output -> writeOutput(channel, output));
+            engine.errorHandler(failed -> channel.close());
+
+            final Connection connection = engine.start();
+
+            connection.setContainerId("loopback-peer");
+            connection.openHandler(Connection::open);
+            connection.closeHandler(remote -> {
+                remote.close();
+                channel.close();
+            });
+            connection.sessionOpenHandler(session -> {
+                session.closeHandler(Session::close);
+                session.open();
+            });
+            connection.receiverOpenHandler(receiver -> {
+                receiver.setSource(receiver.getRemoteSource());
+                receiver.setTarget((Target) receiver.getRemoteTarget());
+                receiver.closeHandler(Receiver::close);
+                receiver.detachHandler(Receiver::detach);
+                receiver.deliveryReadHandler(PeerConnectionHandler::handleDeliveryRead);
+                receiver.open();
+                receiver.addCredit(CREDIT_WINDOW);
+            });
+
+            super.channelActive(context);
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext context, Object message) throws Exception {
+            try (ProtonBuffer input = allocator.wrap((ByteBuf) message).convertToReadOnly()) {
+                engine.ingest(input);
+            }
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext context) throws Exception {
+            engine.shutdown();
+            super.channelInactive(context);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext context, Throwable cause) throws Exception {
+            context.close();
+        }
+
+        private static void writeOutput(Channel channel, ProtonBuffer output) {
+            final int readable = output.getReadableBytes();
+            final ByteBuf buffer = channel.alloc().ioBuffer(readable);
+
+            try (output) {
+                output.readBytes(buffer.nioBuffer(0, readable));
+            }
+
+            channel.writeAndFlush(buffer.writerIndex(readable), channel.voidPromise());
+        }
+
+        private static void handleDeliveryRead(IncomingDelivery delivery) {
+            final ProtonBuffer body = delivery.readAll();
+            if (body != null) {
+                body.close();
+            }
+
+            if (!delivery.isPartial()) {
+                if (delivery.isRemotelySettled()) {
+                    delivery.settle();
+                } else {
+                    delivery.disposition(Accepted.getInstance(), true);
+                }
+
+                final Receiver receiver = delivery.getLink();
+                if (receiver.getCredit() < CREDIT_WINDOW / 2) {
+                    receiver.addCredit(CREDIT_WINDOW - receiver.getCredit());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.client.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.client.impl.ClientDelivery;
+import org.apache.qpid.protonj2.client.impl.ClientReceiver;
+import org.apache.qpid.protonj2.engine.IncomingDelivery;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the {@link DeliveryQueue} implementations with one thread enqueuing deliveries
+ * as the connection IO thread would while another thread receives them either without
+ * waiting (tryReceive) or with a timed wait (receive with timeout).
+ * <p>
+ * An untimed blocking receive is not measured as the consumer thread could remain blocked
+ * forever once the producer thread finishes the final iteration, the timed wait exercises
+ * the same park and wake up path.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DeliveryQueueBenchmark {
+
+    private static final int QUEUE_DEPTH = 1024;
+
+    @Param({ DeliveryQueue.FIFO, DeliveryQueue.SPSC, DeliveryQueue.SPMC })
+    public String queueType;
+
+    @Param({ "0", "1000" })
+    public long receiveTimeout;
+
+    private DeliveryQueue queue;
+    private ClientDelivery delivery;
+
+    @Setup(Level.Trial)
+    public void init() throws Exception {
+        queue = DeliveryQueue.create(queueType, QUEUE_DEPTH);
+        queue.start();
+        delivery = createDelivery();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdown() {
+        queue.close();
+    }
+
+    @Benchmark
+    @Group("exchange")
+    @GroupThreads(1)
+    public void enqueue() {
+        // Bound the backlog in the same way the credit window does for a real receiver
+        while (queue.size() >= QUEUE_DEPTH) {
+            Thread.yield();
+        }
+
+        queue.enqueue(delivery);
+    }
+
+    @Benchmark
+    @Group("exchange")
+    @GroupThreads(1)
+    public ClientDelivery dequeue() throws InterruptedException {
+        return queue.dequeue(receiveTimeout);
+    }
+
+    private static ClientDelivery createDelivery() throws Exception {
+        final IncomingDelivery incoming = (IncomingDelivery) Proxy.newProxyInstance(
+            IncomingDelivery.class.getClassLoader(), new Class<?>[] { IncomingDelivery.class },
+            (proxy, method, args) -> method.getReturnType().isInstance(proxy) ? proxy : null);
+
+        final Constructor<ClientDelivery> constructor =
+            ClientDelivery.class.getDeclaredConstructor(ClientReceiver.class, IncomingDelivery.class);
+        constructor.setAccessible(true);
+
+        return constructor.newInstance(null, incoming);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(DeliveryQueueBenchmark.class);
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(benchmarkClass.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .shouldDoGC(true)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+}
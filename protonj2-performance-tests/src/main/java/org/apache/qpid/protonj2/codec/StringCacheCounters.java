@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec;
+
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reports the string cache hits and misses of a {@link ProtonDecoderState} as secondary
+ * benchmark results.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class StringCacheCounters {
+
+    public long stringCacheHits;
+    public long stringCacheMisses;
+
+    private long lastHits;
+    private long lastMisses;
+
+    @Setup(Level.Iteration)
+    public void clear() {
+        stringCacheHits = 0;
+        stringCacheMisses = 0;
+    }
+
+    public void record(ProtonDecoderState decoderState) {
+        final long hits = decoderState.getStringCacheHits();
+        final long misses = decoderState.getStringCacheMisses();
+
+        stringCacheHits += hits - lastHits;
+        stringCacheMisses += misses - lastMisses;
+
+        lastHits = hits;
+        lastMisses = misses;
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.comparison;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Base for benchmarks that encode and decode the same sample values with different AMQP codec
+ * implementations so that the results of each implementation can be compared side by side.
+ * <p>
+ * Each implementation encodes the same field values for the sampled type, the full message sample
+ * carries every message section with a 256 byte {@code Data} body.  Running the main method runs
+ * every implementation with the GC profiler and writes a JSON report of the results to the file
+ * named by the {@code report} system property, {@code target/codec-comparison.json} by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public abstract class CodecComparisonBenchmarkBase {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    public static final int MESSAGE_BODY_SIZE = 256;
+
+    public static final String DEFAULT_REPORT = "target" + File.separator + "codec-comparison.json";
+
+    @Param({ "open", "attach", "transfer", "flow", "disposition", "message" })
+    public String type;
+
+    @Setup
+    public void init() {
+        initSample(type);
+    }
+
+    @Benchmark
+    public void encode() {
+        encodeSample();
+    }
+
+    @Benchmark
+    public Object decode() {
+        return decodeSample();
+    }
+
+    /**
+     * Creates the sample value of the given type and stores an encoding of it that the
+     * decode benchmark reads from.
+     *
+     * @param type
+     *      The name of the type that is sampled.
+     */
+    protected abstract void initSample(String type);
+
+    /**
+     * Encodes the sample value into the encoding buffer.
+     */
+    protected abstract void encodeSample();
+
+    /**
+     * Decodes the stored sample encoding.
+     *
+     * @return the decoded value or values.
+     */
+    protected abstract Object decodeSample();
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(CodecComparisonBenchmarkBase.class.getPackageName() + ".*");
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        runBenchmark(benchmarkClass.getSimpleName());
+    }
+
+    private static void runBenchmark(String include) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+            .include(include)
+            .addProfiler(GCProfiler.class)
+            .shouldDoGC(true)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .resultFormat(ResultFormatType.JSON)
+            .result(System.getProperty("report", DEFAULT_REPORT))
+            .build();
+
+        new Runner(opt).run();
+    }
+}
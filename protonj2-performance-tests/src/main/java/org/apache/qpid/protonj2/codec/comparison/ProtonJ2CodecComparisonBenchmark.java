@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.comparison;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.codec.CodecFactory;
+import org.apache.qpid.protonj2.codec.Decoder;
+import org.apache.qpid.protonj2.codec.DecoderState;
+import org.apache.qpid.protonj2.codec.Encoder;
+import org.apache.qpid.protonj2.codec.EncoderState;
+import org.apache.qpid.protonj2.types.Binary;
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Data;
+import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Footer;
+import org.apache.qpid.protonj2.types.messaging.Header;
+import org.apache.qpid.protonj2.types.messaging.MessageAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Properties;
+import org.apache.qpid.protonj2.types.messaging.Source;
+import org.apache.qpid.protonj2.types.messaging.Target;
+import org.apache.qpid.protonj2.types.transport.Attach;
+import org.apache.qpid.protonj2.types.transport.Disposition;
+import org.apache.qpid.protonj2.types.transport.Flow;
+import org.apache.qpid.protonj2.types.transport.Open;
+import org.apache.qpid.protonj2.types.transport.ReceiverSettleMode;
+import org.apache.qpid.protonj2.types.transport.Role;
+import org.apache.qpid.protonj2.types.transport.SenderSettleMode;
+import org.apache.qpid.protonj2.types.transport.Transfer;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Codec comparison benchmark for the ProtonJ2 codec.
+ */
+public class ProtonJ2CodecComparisonBenchmark extends CodecComparisonBenchmarkBase {
+
+    private final Encoder encoder = CodecFactory.getDefaultEncoder();
+    private final EncoderState encoderState = encoder.newEncoderState();
+    private final Decoder decoder = CodecFactory.getDefaultDecoder();
+    private final DecoderState decoderState = decoder.newDecoderState();
+
+    private ProtonBuffer encodeBuffer;
+    private ProtonBuffer decodeBuffer;
+    private Object[] sample;
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(ProtonJ2CodecComparisonBenchmark.class);
+    }
+
+    @Override
+    protected void initSample(String type) {
+        switch (type) {
+            case "open":
+                sample = new Object[] { createOpen() };
+                break;
+            case "attach":
+                sample = new Object[] { createAttach() };
+                break;
+            case "transfer":
+                sample = new Object[] { createTransfer() };
+                break;
+            case "flow":
+                sample = new Object[] { createFlow() };
+                break;
+            case "disposition":
+                sample = new Object[] { createDisposition() };
+                break;
+            case "message":
+                sample = createMessage();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sample type: " + type);
+        }
+
+        encodeBuffer = ProtonBufferAllocator.defaultAllocator().allocate(DEFAULT_BUFFER_SIZE);
+        decodeBuffer = ProtonBufferAllocator.defaultAllocator().allocate(DEFAULT_BUFFER_SIZE);
+
+        for (Object value : sample) {
+            encoder.writeObject(decodeBuffer, encoderState, value);
+        }
+    }
+
+    @Override
+    protected void encodeSample() {
+        encodeBuffer.clear();
+        for (Object value : sample) {
+            encoder.writeObject(encodeBuffer, encoderState, value);
+        }
+    }
+
+    @Override
+    protected Object decodeSample() {
+        decodeBuffer.setReadOffset(0);
+
+        Object result = null;
+        for (int i = 0; i < sample.length; ++i) {
+            result = decoder.readObject(decodeBuffer, decoderState);
+        }
+
+        return result;
+    }
+
+    private static Open createOpen() {
+        final Map<Symbol, Object> properties = new LinkedHashMap<>();
+        properties.put(Symbol.valueOf("product"), "benchmark");
+        properties.put(Symbol.valueOf("version"), "1.0.0");
+
+        return new Open().setContainerId("container")
+                         .setHostname("localhost")
+                         .setMaxFrameSize(65535)
+                         .setChannelMax(1024)
+                         .setIdleTimeout(30000)
+                         .setOfferedCapabilities(Symbol.valueOf("ANONYMOUS-RELAY"))
+                         .setProperties(properties);
+    }
+
+    private static Attach createAttach() {
+        final Source source = new Source();
+        source.setAddress("queue://source");
+        final Target target = new Target();
+        target.setAddress("queue://target");
+
+        return new Attach().setName("benchmark-link")
+                           .setHandle(1)
+                           .setRole(Role.SENDER)
+                           .setSenderSettleMode(SenderSettleMode.UNSETTLED)
+                           .setReceiverSettleMode(ReceiverSettleMode.FIRST)
+                           .setSource(source)
+                           .setTarget(target)
+                           .setInitialDeliveryCount(0);
+    }
+
+    private static Transfer createTransfer() {
+        return new Transfer().setHandle(10)
+                             .setDeliveryId(1024)
+                             .setDeliveryTag(new byte[] { 1, 2, 3 })
+                             .setMessageFormat(0)
+                             .setSettled(false)
+                             .setMore(false);
+    }
+
+    private static Flow createFlow() {
+        return new Flow().setNextIncomingId(1)
+                         .setIncomingWindow(2047)
+                         .setNextOutgoingId(1)
+                         .setOutgoingWindow(Integer.MAX_VALUE)
+                         .setHandle(0)
+                         .setDeliveryCount(10)
+                         .setLinkCredit(1000);
+    }
+
+    private static Disposition createDisposition() {
+        return new Disposition().setRole(Role.RECEIVER)
+                                .setFirst(2)
+                                .setLast(4)
+                                .setSettled(true)
+                                .setState(Accepted.getInstance());
+    }
+
+    private static Object[] createMessage() {
+        final Header header = new Header().setDurable(true)
+                                          .setPriority((byte) 4)
+                                          .setTimeToLive(60000)
+                                          .setDeliveryCount(1);
+
+        final Map<Symbol, Object> deliveryAnnotations = new LinkedHashMap<>();
+        deliveryAnnotations.put(Symbol.valueOf("x-opt-trace"), "benchmark");
+
+        final Map<Symbol, Object> messageAnnotations = new LinkedHashMap<>();
+        messageAnnotations.put(Symbol.valueOf("x-opt-jms-msg-type"), (byte) 5);
+        messageAnnotations.put(Symbol.valueOf("x-opt-jms-dest"), (byte) 0);
+
+        final Properties properties = new Properties().setMessageId("ID:b7c3a0a4-0c3e-4d2a-9d8e-1f2f3a4b5c6d:1:1:1-1")
+                                                      .setTo("queue://target")
+                                                      .setSubject("benchmark")
+                                                      .setCorrelationId("correlation")
+                                                      .setContentType("application/octet-stream")
+                                                      .setCreationTime(1700000000000l)
+                                                      .setGroupId("group");
+
+        final Map<String, Object> applicationProperties = new LinkedHashMap<>();
+        applicationProperties.put("string", "value");
+        applicationProperties.put("int", 42);
+        applicationProperties.put("long", 1700000000000l);
+        applicationProperties.put("boolean", true);
+
+        final byte[] body = new byte[MESSAGE_BODY_SIZE];
+        Arrays.fill(body, (byte) 'A');
+
+        final Map<Symbol, Object> footer = new LinkedHashMap<>();
+        footer.put(Symbol.valueOf("x-opt-checksum"), "5d41402abc4b2a76");
+
+        return new Object[] { header,
+                              new DeliveryAnnotations(deliveryAnnotations),
+                              new MessageAnnotations(messageAnnotations),
+                              properties,
+                              new ApplicationProperties(applicationProperties),
+                              new Data(new Binary(body)),
+                              new Footer(footer) };
+    }
+}
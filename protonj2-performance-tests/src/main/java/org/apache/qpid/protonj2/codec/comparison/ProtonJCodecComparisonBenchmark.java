@@ -0,0 +1,249 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.comparison;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.qpid.proton.amqp.Binary;
+import org.apache.qpid.proton.amqp.Symbol;
+import org.apache.qpid.proton.amqp.UnsignedByte;
+import org.apache.qpid.proton.amqp.UnsignedInteger;
+import org.apache.qpid.proton.amqp.UnsignedShort;
+import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.messaging.ApplicationProperties;
+import org.apache.qpid.proton.amqp.messaging.Data;
+import org.apache.qpid.proton.amqp.messaging.DeliveryAnnotations;
+import org.apache.qpid.proton.amqp.messaging.Footer;
+import org.apache.qpid.proton.amqp.messaging.Header;
+import org.apache.qpid.proton.amqp.messaging.MessageAnnotations;
+import org.apache.qpid.proton.amqp.messaging.Properties;
+import org.apache.qpid.proton.amqp.messaging.Source;
+import org.apache.qpid.proton.amqp.messaging.Target;
+import org.apache.qpid.proton.amqp.transport.Attach;
+import org.apache.qpid.proton.amqp.transport.Disposition;
+import org.apache.qpid.proton.amqp.transport.Flow;
+import org.apache.qpid.proton.amqp.transport.Open;
+import org.apache.qpid.proton.amqp.transport.ReceiverSettleMode;
+import org.apache.qpid.proton.amqp.transport.Role;
+import org.apache.qpid.proton.amqp.transport.SenderSettleMode;
+import org.apache.qpid.proton.amqp.transport.Transfer;
+import org.apache.qpid.proton.codec.AMQPDefinedTypes;
+import org.apache.qpid.proton.codec.DecoderImpl;
+import org.apache.qpid.proton.codec.EncoderImpl;
+import org.apache.qpid.proton.codec.ReadableBuffer;
+import org.apache.qpid.proton.codec.WritableBuffer;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Codec comparison benchmark for the legacy proton-j codec.
+ */
+public class ProtonJCodecComparisonBenchmark extends CodecComparisonBenchmarkBase {
+
+    private final DecoderImpl decoder = new DecoderImpl();
+    private final EncoderImpl encoder = new EncoderImpl(decoder);
+
+    private ByteBuffer encodeBuffer;
+    private WritableBuffer encodeTarget;
+    private ReadableBuffer decodeSource;
+    private Object[] sample;
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(ProtonJCodecComparisonBenchmark.class);
+    }
+
+    @Override
+    protected void initSample(String type) {
+        AMQPDefinedTypes.registerAllTypes(decoder, encoder);
+
+        switch (type) {
+            case "open":
+                sample = new Object[] { createOpen() };
+                break;
+            case "attach":
+                sample = new Object[] { createAttach() };
+                break;
+            case "transfer":
+                sample = new Object[] { createTransfer() };
+                break;
+            case "flow":
+                sample = new Object[] { createFlow() };
+                break;
+            case "disposition":
+                sample = new Object[] { createDisposition() };
+                break;
+            case "message":
+                sample = createMessage();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown sample type: " + type);
+        }
+
+        encodeBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        encodeTarget = new WritableBuffer.ByteBufferWrapper(encodeBuffer);
+
+        final ByteBuffer decodeBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+
+        encoder.setByteBuffer(new WritableBuffer.ByteBufferWrapper(decodeBuffer));
+        for (Object value : sample) {
+            encoder.writeObject(value);
+        }
+
+        decodeSource = ReadableBuffer.ByteBufferReader.wrap(decodeBuffer.flip());
+    }
+
+    @Override
+    protected void encodeSample() {
+        encodeBuffer.clear();
+        encoder.setByteBuffer(encodeTarget);
+        for (Object value : sample) {
+            encoder.writeObject(value);
+        }
+    }
+
+    @Override
+    protected Object decodeSample() {
+        decodeSource.position(0);
+        decoder.setBuffer(decodeSource);
+
+        Object result = null;
+        for (int i = 0; i < sample.length; ++i) {
+            result = decoder.readObject();
+        }
+
+        return result;
+    }
+
+    private static Open createOpen() {
+        final Map<Symbol, Object> properties = new LinkedHashMap<>();
+        properties.put(Symbol.valueOf("product"), "benchmark");
+        properties.put(Symbol.valueOf("version"), "1.0.0");
+
+        final Open open = new Open();
+        open.setContainerId("container");
+        open.setHostname("localhost");
+        open.setMaxFrameSize(UnsignedInteger.valueOf(65535));
+        open.setChannelMax(UnsignedShort.valueOf((short) 1024));
+        open.setIdleTimeOut(UnsignedInteger.valueOf(30000));
+        open.setOfferedCapabilities(Symbol.valueOf("ANONYMOUS-RELAY"));
+        open.setProperties(properties);
+
+        return open;
+    }
+
+    private static Attach createAttach() {
+        final Source source = new Source();
+        source.setAddress("queue://source");
+        final Target target = new Target();
+        target.setAddress("queue://target");
+
+        final Attach attach = new Attach();
+        attach.setName("benchmark-link");
+        attach.setHandle(UnsignedInteger.ONE);
+        attach.setRole(Role.SENDER);
+        attach.setSndSettleMode(SenderSettleMode.UNSETTLED);
+        attach.setRcvSettleMode(ReceiverSettleMode.FIRST);
+        attach.setSource(source);
+        attach.setTarget(target);
+        attach.setInitialDeliveryCount(UnsignedInteger.ZERO);
+
+        return attach;
+    }
+
+    private static Transfer createTransfer() {
+        final Transfer transfer = new Transfer();
+        transfer.setHandle(UnsignedInteger.valueOf(10));
+        transfer.setDeliveryId(UnsignedInteger.valueOf(1024));
+        transfer.setDeliveryTag(new Binary(new byte[] { 1, 2, 3 }));
+        transfer.setMessageFormat(UnsignedInteger.ZERO);
+        transfer.setSettled(false);
+        transfer.setMore(false);
+
+        return transfer;
+    }
+
+    private static Flow createFlow() {
+        final Flow flow = new Flow();
+        flow.setNextIncomingId(UnsignedInteger.ONE);
+        flow.setIncomingWindow(UnsignedInteger.valueOf(2047));
+        flow.setNextOutgoingId(UnsignedInteger.ONE);
+        flow.setOutgoingWindow(UnsignedInteger.valueOf(Integer.MAX_VALUE));
+        flow.setHandle(UnsignedInteger.ZERO);
+        flow.setDeliveryCount(UnsignedInteger.valueOf(10));
+        flow.setLinkCredit(UnsignedInteger.valueOf(1000));
+
+        return flow;
+    }
+
+    private static Disposition createDisposition() {
+        final Disposition disposition = new Disposition();
+        disposition.setRole(Role.RECEIVER);
+        disposition.setFirst(UnsignedInteger.valueOf(2));
+        disposition.setLast(UnsignedInteger.valueOf(4));
+        disposition.setSettled(true);
+        disposition.setState(Accepted.getInstance());
+
+        return disposition;
+    }
+
+    private static Object[] createMessage() {
+        final Header header = new Header();
+        header.setDurable(true);
+        header.setPriority(UnsignedByte.valueOf((byte) 4));
+        header.setTtl(UnsignedInteger.valueOf(60000));
+        header.setDeliveryCount(UnsignedInteger.ONE);
+
+        final Map<Symbol, Object> deliveryAnnotations = new LinkedHashMap<>();
+        deliveryAnnotations.put(Symbol.valueOf("x-opt-trace"), "benchmark");
+
+        final Map<Symbol, Object> messageAnnotations = new LinkedHashMap<>();
+        messageAnnotations.put(Symbol.valueOf("x-opt-jms-msg-type"), (byte) 5);
+        messageAnnotations.put(Symbol.valueOf("x-opt-jms-dest"), (byte) 0);
+
+        final Properties properties = new Properties();
+        properties.setMessageId("ID:b7c3a0a4-0c3e-4d2a-9d8e-1f2f3a4b5c6d:1:1:1-1");
+        properties.setTo("queue://target");
+        properties.setSubject("benchmark");
+        properties.setCorrelationId("correlation");
+        properties.setContentType(Symbol.valueOf("application/octet-stream"));
+        properties.setCreationTime(new Date(1700000000000l));
+        properties.setGroupId("group");
+
+        final Map<String, Object> applicationProperties = new LinkedHashMap<>();
+        applicationProperties.put("string", "value");
+        applicationProperties.put("int", 42);
+        applicationProperties.put("long", 1700000000000l);
+        applicationProperties.put("boolean", true);
+
+        final byte[] body = new byte[MESSAGE_BODY_SIZE];
+        Arrays.fill(body, (byte) 'A');
+
+        final Map<Symbol, Object> footer = new LinkedHashMap<>();
+        footer.put(Symbol.valueOf("x-opt-checksum"), "5d41402abc4b2a76");
+
+        return new Object[] { header,
+                              new DeliveryAnnotations(deliveryAnnotations),
+                              new MessageAnnotations(messageAnnotations),
+                              properties,
+                              new ApplicationProperties(applicationProperties),
+                              new Data(new Binary(body)),
+                              new Footer(footer) };
+    }
+}
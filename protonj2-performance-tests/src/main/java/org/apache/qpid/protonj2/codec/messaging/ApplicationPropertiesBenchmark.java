@@ -21,6 +21,8 @@ import java.util.HashMap;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.CodecBenchmarkBase;
+import org.apache.qpid.protonj2.codec.StringCacheCounters;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.types.UnsignedByte;
 import org.apache.qpid.protonj2.types.UnsignedInteger;
 import org.apache.qpid.protonj2.types.UnsignedShort;
@@ -34,6 +36,8 @@ public class ApplicationPropertiesBenchmark extends CodecBenchmarkBase {
 
     private Blackhole blackhole;
     private ApplicationProperties properties;
+    private ApplicationProperties uniformProperties;
+    private ProtonDecoderState cachingDecoderState;
 
     @Setup
     public void init(Blackhole blackhole) {
@@ -41,6 +45,7 @@ public class ApplicationPropertiesBenchmark extends CodecBenchmarkBase {
         this.blackhole = blackhole;
         initApplicationProperties();
         encode();
+        cachingDecoderState = ((ProtonDecoderState) decoder.newDecoderState()).setStringCacheSize(64);
     }
 
     private void initApplicationProperties() {
@@ -48,6 +53,11 @@ public class ApplicationPropertiesBenchmark extends CodecBenchmarkBase {
         properties.getValue().put("test1", UnsignedByte.valueOf((byte) 128));
         properties.getValue().put("test2", UnsignedShort.valueOf((short) 128));
         properties.getValue().put("test3", UnsignedInteger.valueOf((byte) 128));
+
+        uniformProperties = new ApplicationProperties(new HashMap<String, Object>());
+        for (int i = 0; i < 8; ++i) {
+            uniformProperties.getValue().put("test" + i, i * 1024);
+        }
     }
 
     @Benchmark
@@ -57,6 +67,13 @@ public class ApplicationPropertiesBenchmark extends CodecBenchmarkBase {
         return buffer;
     }
 
+    @Benchmark
+    public ProtonBuffer encodeUniformValues() {
+        buffer.clear();
+        encoder.writeObject(buffer, encoderState, uniformProperties);
+        return buffer;
+    }
+
     @Benchmark
     public ProtonBuffer decode() throws IOException {
         buffer.setReadOffset(0);
@@ -64,6 +81,14 @@ public class ApplicationPropertiesBenchmark extends CodecBenchmarkBase {
         return buffer;
     }
 
+    @Benchmark
+    public ProtonBuffer decodeWithStringCache(StringCacheCounters counters) throws IOException {
+        buffer.setReadOffset(0);
+        blackhole.consume(decoder.readObject(buffer, cachingDecoderState));
+        counters.record(cachingDecoderState);
+        return buffer;
+    }
+
     public static void main(String[] args) throws RunnerException {
         runBenchmark(ApplicationPropertiesBenchmark.class);
     }
@@ -33,6 +33,7 @@ import org.openjdk.jmh.runner.RunnerException;
 public class MessageAnnotationsBenchmark extends CodecBenchmarkBase {
 
     private MessageAnnotations annotations;
+    private MessageAnnotations uniformAnnotations;
     private Blackhole blackhole;
 
     @Setup
@@ -48,6 +49,11 @@ public class MessageAnnotationsBenchmark extends CodecBenchmarkBase {
         annotations.getValue().put(Symbol.valueOf("test1"), UnsignedByte.valueOf((byte) 128));
         annotations.getValue().put(Symbol.valueOf("test2"), UnsignedShort.valueOf((short) 128));
         annotations.getValue().put(Symbol.valueOf("test3"), UnsignedInteger.valueOf((byte) 128));
+
+        uniformAnnotations = new MessageAnnotations(new HashMap<Symbol, Object>());
+        for (int i = 0; i < 8; ++i) {
+            uniformAnnotations.getValue().put(Symbol.valueOf("x-opt-test" + i), UnsignedInteger.valueOf(i * 1024));
+        }
     }
 
     @Benchmark
@@ -56,6 +62,12 @@ public class MessageAnnotationsBenchmark extends CodecBenchmarkBase {
         encoder.writeObject(buffer, encoderState, annotations);
     }
 
+    @Benchmark
+    public void encodeUniformValues() {
+        buffer.clear();
+        encoder.writeObject(buffer, encoderState, uniformAnnotations);
+    }
+
     @Benchmark
     public void decode() throws IOException {
         buffer.setReadOffset(0);
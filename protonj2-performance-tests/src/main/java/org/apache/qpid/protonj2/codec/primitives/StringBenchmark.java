@@ -19,7 +19,10 @@ package org.apache.qpid.protonj2.codec.primitives;
 import java.io.IOException;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.codec.CodecBenchmarkBase;
+import org.apache.qpid.protonj2.codec.StringCacheCounters;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.infra.Blackhole;
@@ -34,17 +37,37 @@ public class StringBenchmark extends CodecBenchmarkBase {
         + "0123456789012345678901234567890123456789012345678901234567890123456789012345678901234567890123456789"
         + "0123456789012345678901234567890123456789012345678901234567890123456789012345678901234567890123456789";
 
+    private static final String ASCII_PAYLOAD = "queue://orders/processing/region-eu-west/priority-high";
+    private static final String LATIN1_PAYLOAD = "queue://commandes/trait\u00e9es/r\u00e9gion-\u00e9t\u00e9/priorit\u00e9-\u00e9lev\u00e9e";
+    private static final String MIXED_PAYLOAD = "queue://orders/\u6ce8\u6587/processing/\u5730\u57df-eu-west/priority-\u9ad8";
+
     private Blackhole blackhole;
     private String string1;
     private String string2;
     private String string3;
 
+    private ProtonDecoderState cachingDecoderState;
+
+    private ProtonBuffer asciiBuffer;
+    private ProtonBuffer latin1Buffer;
+    private ProtonBuffer mixedBuffer;
+
     @Setup
     public void init(Blackhole blackhole) {
         this.blackhole = blackhole;
         super.init();
         initStrings();
         encode();
+        cachingDecoderState = ((ProtonDecoderState) decoder.newDecoderState()).setStringCacheSize(64);
+        asciiBuffer = encodeString(ASCII_PAYLOAD);
+        latin1Buffer = encodeString(LATIN1_PAYLOAD);
+        mixedBuffer = encodeString(MIXED_PAYLOAD);
+    }
+
+    private ProtonBuffer encodeString(String value) {
+        ProtonBuffer encoded = ProtonBufferAllocator.defaultAllocator().allocate(bufferSize());
+        encoder.writeString(encoded, encoderState, value);
+        return encoded;
     }
 
     private void initStrings() {
@@ -78,6 +101,55 @@ public class StringBenchmark extends CodecBenchmarkBase {
         return buffer;
     }
 
+    @Benchmark
+    public ProtonBuffer decodeWithStringCache(StringCacheCounters counters) throws IOException {
+        buffer.setReadOffset(0);
+        blackhole.consume(decoder.readString(buffer, cachingDecoderState));
+        blackhole.consume(decoder.readString(buffer, cachingDecoderState));
+        blackhole.consume(decoder.readString(buffer, cachingDecoderState));
+        counters.record(cachingDecoderState);
+        return buffer;
+    }
+
+    @Benchmark
+    public ProtonBuffer encodeAsciiString() {
+        buffer.clear();
+        encoder.writeString(buffer, encoderState, ASCII_PAYLOAD);
+        return buffer;
+    }
+
+    @Benchmark
+    public ProtonBuffer encodeLatin1String() {
+        buffer.clear();
+        encoder.writeString(buffer, encoderState, LATIN1_PAYLOAD);
+        return buffer;
+    }
+
+    @Benchmark
+    public ProtonBuffer encodeMixedString() {
+        buffer.clear();
+        encoder.writeString(buffer, encoderState, MIXED_PAYLOAD);
+        return buffer;
+    }
+
+    @Benchmark
+    public String decodeAsciiString() {
+        asciiBuffer.setReadOffset(0);
+        return decoder.readString(asciiBuffer, decoderState);
+    }
+
+    @Benchmark
+    public String decodeLatin1String() {
+        latin1Buffer.setReadOffset(0);
+        return decoder.readString(latin1Buffer, decoderState);
+    }
+
+    @Benchmark
+    public String decodeMixedString() {
+        mixedBuffer.setReadOffset(0);
+        return decoder.readString(mixedBuffer, decoderState);
+    }
+
     public static void main(String[] args) throws RunnerException {
         runBenchmark(StringBenchmark.class);
     }
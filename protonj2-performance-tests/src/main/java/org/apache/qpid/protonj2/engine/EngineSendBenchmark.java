@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.engine.impl.ProtonDeliveryTagGenerator;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.messaging.Source;
+import org.apache.qpid.protonj2.types.messaging.Target;
+import org.apache.qpid.protonj2.types.transport.SenderSettleMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * End to end benchmark of the engine send and receive path using two {@link Engine} instances
+ * wired back to back in memory, the output of each engine is queued and then ingested by the
+ * other engine until neither has anything more to write.  Each operation sends one delivery and
+ * pumps the frames until the receiving side has read it (and for unsettled sends until the sender
+ * has seen the remote settlement) so the time per operation covers the complete exchange.
+ * <p>
+ * Running the main method reports throughput (messages per second), sampled latency percentiles
+ * and, through the GC profiler, the bytes allocated per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class EngineSendBenchmark {
+
+    private static final int CREDIT_WINDOW = 1000;
+    private static final int STREAMING_CHUNKS = 4;
+
+    @Param({ "64", "1024", "65536" })
+    public int payloadSize;
+
+    private final Queue<ProtonBuffer> clientOutput = new ArrayDeque<>();
+    private final Queue<ProtonBuffer> serverOutput = new ArrayDeque<>();
+
+    private Engine clientEngine;
+    private Engine serverEngine;
+
+    private Sender settledSender;
+    private Sender unsettledSender;
+
+    private ProtonBuffer payload;
+    private long received;
+
+    @Setup
+    public void init() {
+        final byte[] body = new byte[payloadSize];
+        Arrays.fill(body, (byte) 'A');
+
+        payload = ProtonBufferAllocator.defaultAllocator().copy(body).convertToReadOnly();
+
+        clientEngine = EngineFactory.PROTON.createNonSaslEngine();
+        serverEngine = EngineFactory.PROTON.createNonSaslEngine();
+
+        clientEngine.outputConsumer(clientOutput::add);
+        serverEngine.outputConsumer(serverOutput::add);
+
+        final Connection serverConnection = serverEngine.start();
+
+        serverConnection.setContainerId("server");
+        serverConnection.openHandler(Connection::open);
+        serverConnection.closeHandler(Connection::close);
+        serverConnection.sessionOpenHandler(Session::open);
+        serverConnection.receiverOpenHandler(receiver -> {
+            receiver.setSource(receiver.getRemoteSource());
+            receiver.setTarget((Target) receiver.getRemoteTarget());
+            receiver.deliveryReadHandler(this::handleDeliveryRead);
+            receiver.open();
+            receiver.addCredit(CREDIT_WINDOW);
+        });
+
+        final Connection clientConnection = clientEngine.start();
+
+        clientConnection.setContainerId("client").open();
+
+        final Session session = clientConnection.session().open();
+
+        settledSender = openSender(session, "settled", SenderSettleMode.SETTLED);
+        unsettledSender = openSender(session, "unsettled", SenderSettleMode.UNSETTLED);
+
+        pump();
+    }
+
+    @TearDown
+    public void shutdown() {
+        clientEngine.connection().close();
+        pump();
+        clientEngine.shutdown();
+        serverEngine.shutdown();
+    }
+
+    @Benchmark
+    public long sendSettled() {
+        final OutgoingDelivery delivery = settledSender.next();
+
+        delivery.writeBytes(payload.copy(true));
+        delivery.settle();
+
+        pump();
+
+        return received;
+    }
+
+    @Benchmark
+    public long sendUnsettled() {
+        final OutgoingDelivery delivery = unsettledSender.next();
+
+        delivery.writeBytes(payload.copy(true));
+
+        pump();
+
+        return received;
+    }
+
+    @Benchmark
+    public long sendStreaming() {
+        final OutgoingDelivery delivery = unsettledSender.next();
+        final int chunkSize = Math.max(1, payloadSize / STREAMING_CHUNKS);
+
+        for (int offset = 0; offset < payloadSize; offset += chunkSize) {
+            final int length = Math.min(chunkSize, payloadSize - offset);
+
+            delivery.streamBytes(payload.copy(offset, length, true), offset + length == payloadSize);
+
+            pump();
+        }
+
+        return received;
+    }
+
+    private Sender openSender(Session session, String name, SenderSettleMode settleMode) {
+        final Sender sender = session.sender(name);
+
+        sender.setSenderSettleMode(settleMode);
+        sender.setSource(new Source());
+        sender.setTarget(new Target().setAddress("queue"));
+        sender.setDeliveryTagGenerator(ProtonDeliveryTagGenerator.BUILTIN.POOLED.createGenerator());
+        sender.deliveryStateUpdatedHandler(delivery -> {
+            if (delivery.isRemotelySettled()) {
+                delivery.settle();
+            }
+        });
+
+        return sender.open();
+    }
+
+    private void handleDeliveryRead(IncomingDelivery delivery) {
+        final ProtonBuffer body = delivery.readAll();
+        if (body != null) {
+            body.close();
+        }
+
+        if (!delivery.isPartial()) {
+            if (delivery.isRemotelySettled()) {
+                delivery.settle();
+            } else {
+                delivery.disposition(Accepted.getInstance(), true);
+            }
+
+            received++;
+
+            final Receiver receiver = delivery.getLink();
+            if (receiver.getCredit() < CREDIT_WINDOW / 2) {
+                receiver.addCredit(CREDIT_WINDOW - receiver.getCredit());
+            }
+        }
+    }
+
+    private void pump() {
+        while (!clientOutput.isEmpty() || !serverOutput.isEmpty()) {
+            transfer(clientOutput, serverEngine);
+            transfer(serverOutput, clientEngine);
+        }
+    }
+
+    private static void transfer(Queue<ProtonBuffer> output, Engine target) {
+        for (ProtonBuffer buffer = output.poll(); buffer != null; buffer = output.poll()) {
+            try (ProtonBuffer input = buffer) {
+                target.ingest(input);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        runBenchmark(EngineSendBenchmark.class);
+    }
+
+    public static void runBenchmark(Class<?> benchmarkClass) throws RunnerException {
+        // Throughput as messages per second and latency percentiles in microseconds
+        final Options throughput = new OptionsBuilder()
+            .include(benchmarkClass.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .shouldDoGC(true)
+            .mode(Mode.Throughput)
+            .timeUnit(TimeUnit.SECONDS)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .forks(1)
+            .build();
+
+        final Options latency = new OptionsBuilder()
+            .parent(throughput)
+            .mode(Mode.SampleTime)
+            .timeUnit(TimeUnit.MICROSECONDS)
+            .build();
+
+        new Runner(throughput).run();
+        new Runner(latency).run();
+    }
+}
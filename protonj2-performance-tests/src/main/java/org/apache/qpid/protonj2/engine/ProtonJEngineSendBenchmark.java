@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.proton.amqp.messaging.Accepted;
+import org.apache.qpid.proton.amqp.messaging.Source;
+import org.apache.qpid.proton.amqp.messaging.Target;
+import org.apache.qpid.proton.amqp.transport.SenderSettleMode;
+import org.apache.qpid.proton.engine.Connection;
+import org.apache.qpid.proton.engine.Delivery;
+import org.apache.qpid.proton.engine.EndpointState;
+import org.apache.qpid.proton.engine.Link;
+import org.apache.qpid.proton.engine.Receiver;
+import org.apache.qpid.proton.engine.Sender;
+import org.apache.qpid.proton.engine.Session;
+import org.apache.qpid.proton.engine.Transport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * The {@link EngineSendBenchmark} exchange run against the legacy proton-j engine so the results
+ * of both engines can be compared side by side.  Two proton-j {@link Transport} instances are wired
+ * back to back in memory and each operation sends one delivery and moves the frames between them
+ * until the receiving side has read it, the receiving side accepts and settles each delivery in
+ * the same way the ProtonJ2 benchmark does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ProtonJEngineSendBenchmark {
+
+    private static final int CREDIT_WINDOW = 1000;
+    private static final int STREAMING_CHUNKS = 4;
+
+    private static final EnumSet<EndpointState> UNINITIALIZED = EnumSet.of(EndpointState.UNINITIALIZED);
+    private static final EnumSet<EndpointState> ACTIVE = EnumSet.of(EndpointState.ACTIVE);
+
+    @Param({ "64", "1024", "65536" })
+    public int payloadSize;
+
+    private Transport clientTransport;
+    private Transport serverTransport;
+
+    private Connection clientConnection;
+    private Connection serverConnection;
+
+    private Sender settledSender;
+    private Sender unsettledSender;
+    private Receiver[] receivers;
+
+    private byte[][] deliveryTags;
+    private int nextTag;
+
+    private byte[] payload;
+    private byte[] readBuffer;
+    private long received;
+
+    @Setup
+    public void init() {
+        payload = new byte[payloadSize];
+        Arrays.fill(payload, (byte) 'A');
+        readBuffer = new byte[payloadSize];
+
+        deliveryTags = new byte[CREDIT_WINDOW][];
+        for (int i = 0; i < CREDIT_WINDOW; ++i) {
+            deliveryTags[i] = new byte[] { (byte) (i >> 8), (byte) i };
+        }
+
+        clientConnection = Connection.Factory.create();
+        clientTransport = Transport.Factory.create();
+        clientTransport.bind(clientConnection);
+
+        serverConnection = Connection.Factory.create();
+        serverTransport = Transport.Factory.create();
+        serverTransport.bind(serverConnection);
+
+        clientConnection.setContainer("client");
+        clientConnection.open();
+
+        final Session session = clientConnection.session();
+        session.open();
+
+        settledSender = openSender(session, "settled", SenderSettleMode.SETTLED);
+        unsettledSender = openSender(session, "unsettled", SenderSettleMode.UNSETTLED);
+
+        pump();
+
+        serverConnection.setContainer("server");
+        serverConnection.open();
+
+        for (Session remote = serverConnection.sessionHead(UNINITIALIZED, ACTIVE); remote != null; remote = remote.next(UNINITIALIZED, ACTIVE)) {
+            remote.open();
+        }
+
+        receivers = new Receiver[2];
+        int index = 0;
+        for (Link remote = serverConnection.linkHead(UNINITIALIZED, ACTIVE); remote != null; remote = remote.next(UNINITIALIZED, ACTIVE)) {
+            final Receiver receiver = (Receiver) remote;
+
+            receiver.setSource(receiver.getRemoteSource());
+            receiver.setTarget(receiver.getRemoteTarget());
+            receiver.open();
+            receiver.flow(CREDIT_WINDOW);
+
+            receivers[index++] = receiver;
+        }
+
+        pump();
+    }
+
+    @TearDown
+    public void shutdown() {
+        clientConnection.close();
+        pump();
+        serverConnection.close();
+        pump();
+        clientTransport.unbind();
+        serverTransport.unbind();
+    }
+
+    @Benchmark
+    public long sendSettled() {
+        final Delivery delivery = settledSender.delivery(nextDeliveryTag());
+
+        settledSender.send(payload, 0, payloadSize);
+        settledSender.advance();
+        delivery.settle();
+
+        pump();
+
+        return received;
+    }
+
+    @Benchmark
+    public long sendUnsettled() {
+        final Delivery delivery = unsettledSender.delivery(nextDeliveryTag());
+
+        unsettledSender.send(payload, 0, payloadSize);
+        unsettledSender.advance();
+
+        pump();
+
+        if (delivery.remotelySettled()) {
+            delivery.settle();
+        }
+
+        return received;
+    }
+
+    @Benchmark
+    public long sendStreaming() {
+        final Delivery delivery = unsettledSender.delivery(nextDeliveryTag());
+        final int chunkSize = Math.max(1, payloadSize / STREAMING_CHUNKS);
+
+        for (int offset = 0; offset < payloadSize; offset += chunkSize) {
+            final int length = Math.min(chunkSize, payloadSize - offset);
+
+            unsettledSender.send(payload, offset, length);
+            if (offset + length == payloadSize) {
+                unsettledSender.advance();
+            }
+
+            pump();
+        }
+
+        if (delivery.remotelySettled()) {
+            delivery.settle();
+        }
+
+        return received;
+    }
+
+    private Sender openSender(Session session, String name, SenderSettleMode settleMode) {
+        final Target target = new Target();
+        target.setAddress("queue");
+
+        final Sender sender = session.sender(name);
+
+        sender.setSenderSettleMode(settleMode);
+        sender.setSource(new Source());
+        sender.setTarget(target);
+        sender.open();
+
+        return sender;
+    }
+
+    private byte[] nextDeliveryTag() {
+        final byte[] tag = deliveryTags[nextTag++];
+
+        if (nextTag == deliveryTags.length) {
+            nextTag = 0;
+        }
+
+        return tag;
+    }
+
+    private void handleDeliveriesRead() {
+        if (receivers == null) {
+            return;
+        }
+
+        for (Receiver receiver : receivers) {
+            for (Delivery delivery = receiver.current(); delivery != null && delivery.isReadable(); delivery = receiver.current()) {
+                while (receiver.recv(readBuffer, 0, readBuffer.length) > 0) {
+                }
+
+                if (delivery.isPartial()) {
+                    break;
+                }
+
+                receiver.advance();
+
+                if (!delivery.remotelySettled()) {
+                    delivery.disposition(Accepted.getInstance());
+                }
+                delivery.settle();
+
+                received++;
+
+                if (receiver.getCredit() < CREDIT_WINDOW / 2) {
+                    receiver.flow(CREDIT_WINDOW - receiver.getCredit());
+                }
+            }
+        }
+    }
+
+    private void pump() {
+        boolean moved;
+
+        do {
+            moved = transfer(clientTransport, serverTransport);
+            handleDeliveriesRead();
+            moved |= transfer(serverTransport, clientTransport);
+        } while (moved);
+    }
+
+    private static boolean transfer(Transport source, Transport target) {
+        boolean moved = false;
+
+        for (int pending = source.pending(); pending > 0; pending = source.pending()) {
+            final ByteBuffer head = source.head();
+            final ByteBuffer tail = target.tail();
+            final int count = Math.min(head.remaining(), tail.remaining());
+
+            final ByteBuffer chunk = head.duplicate();
+            chunk.limit(chunk.position() + count);
+            tail.put(chunk);
+
+            target.process();
+            source.pop(count);
+            moved = true;
+        }
+
+        return moved;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        EngineSendBenchmark.runBenchmark(ProtonJEngineSendBenchmark.class);
+    }
+}
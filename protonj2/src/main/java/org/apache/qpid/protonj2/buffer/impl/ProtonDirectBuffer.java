@@ -0,0 +1,1103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.buffer.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.NoSuchElementException;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferClosedException;
+import org.apache.qpid.protonj2.buffer.ProtonBufferComponent;
+import org.apache.qpid.protonj2.buffer.ProtonBufferComponentAccessor;
+import org.apache.qpid.protonj2.buffer.ProtonBufferIterator;
+import org.apache.qpid.protonj2.buffer.ProtonBufferUtils;
+import org.apache.qpid.protonj2.buffer.impl.ProtonDirectBufferAllocator.DirectMemory;
+import org.apache.qpid.protonj2.resource.SharedResource;
+
+/**
+ * A buffer implementation that is backed by native memory held in a direct {@link ByteBuffer}.
+ * <p>
+ * The native memory is handed back to the allocator that created it when the buffer is closed,
+ * which for a pooling {@link ProtonDirectBufferAllocator} means it will be reused by the next
+ * buffer allocated with a similar capacity.  Buffers created by splitting or read-only copying
+ * share the memory and it is only released once every buffer that references it has been closed.
+ */
+public final class ProtonDirectBuffer extends SharedResource<ProtonBuffer> implements ProtonBuffer, ProtonBufferComponent, ProtonBufferComponentAccessor {
+
+    /**
+     * The default initial capacity used for the underlying native memory.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * The default maximum capacity that this buffer can grow to.
+     */
+    public static final int DEFAULT_MAXIMUM_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private static final int CLOSED_MARKER = -1;
+
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.allocateDirect(0);
+
+    private final ProtonDirectBufferAllocator allocator;
+
+    /**
+     * The native memory that backs this buffer which might be shared with other buffers.
+     */
+    private DirectMemory memory;
+
+    /**
+     * Private view of the memory used for bulk operations so the memory positions are never touched.
+     */
+    private ByteBuffer view;
+
+    /**
+     * The offset into the memory where this buffers index 0 begins.
+     */
+    private int memoryOffset;
+
+    private int readCapacity;
+    private int writeCapacity;
+    private int implicitGrowthLimit = DEFAULT_MAXIMUM_CAPACITY;
+
+    private int readOffset;
+    private int writeOffset;
+
+    private boolean readOnly;
+    private boolean closed;
+
+    /**
+     * Creates a new {@link ProtonDirectBuffer} instance that uses default configuration values for
+     * initial capacity and the maximum allowed capacity to which the underlying memory will grow
+     * before errors will be thrown from operations that would expand the storage.
+     */
+    public ProtonDirectBuffer() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAXIMUM_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link ProtonDirectBuffer} with the given initial capacity and uses the default
+     * value for the maximum capacity restriction.
+     *
+     * @param initialCapacity
+     * 		The initial size of the backing native memory.
+     *
+     * @throws IllegalArgumentException if the given value is less than zero.
+     */
+    public ProtonDirectBuffer(int initialCapacity) {
+        this(initialCapacity, DEFAULT_MAXIMUM_CAPACITY);
+    }
+
+    /**
+     * Creates a new {@link ProtonDirectBuffer} with the given initial capacity and the given maximum
+     * capacity restriction.
+     *
+     * @param initialCapacity
+     * 		The initial size of the backing native memory.
+     * @param implicitGrowthLimit
+     * 		The maximum size the backing native memory is allowed to grow.
+     *
+     * @throws IllegalArgumentException if the given value is less than zero or greater than the maximum.
+     */
+    public ProtonDirectBuffer(int initialCapacity, int implicitGrowthLimit) {
+        this(ProtonDirectBufferAllocator.unpooled(), initialCapacity, implicitGrowthLimit);
+    }
+
+    ProtonDirectBuffer(ProtonDirectBufferAllocator allocator, int initialCapacity, int implicitGrowthLimit) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be < 0");
+        }
+
+        if (initialCapacity > implicitGrowthLimit) {
+            throw new IllegalArgumentException("Initial capacity cannot exceed maximum capacity.");
+        }
+
+        this.allocator = allocator;
+        this.implicitGrowthLimit = implicitGrowthLimit;
+
+        setMemory(allocator.allocateMemory(initialCapacity), 0, initialCapacity);
+    }
+
+    // For use in split, copy and transfer to setup a new facade around already retained memory
+    private ProtonDirectBuffer(ProtonDirectBufferAllocator allocator, DirectMemory memory, int memoryOffset, int capacity) {
+        this.allocator = allocator;
+
+        setMemory(memory, memoryOffset, capacity);
+    }
+
+    @Override
+    public ProtonBuffer unwrap() {
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "ProtonDirectBuffer" +
+               "{ read:" + readOffset +
+               ", write: " + writeOffset +
+               ", capacity: " + readCapacity + "}";
+    }
+
+    @Override
+    public boolean isDirect() {
+        return true;
+    }
+
+    @Override
+    public boolean isComposite() {
+        return false;
+    }
+
+    @Override
+    public int componentCount() {
+        return 1;
+    }
+
+    @Override
+    public int readableComponentCount() {
+        return isReadable() ? 1 : 0;
+    }
+
+    @Override
+    public int writableComponentCount() {
+        return isWritable() ? 1 : 0;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    @Override
+    public ProtonDirectBuffer convertToReadOnly() {
+        readOnly = true;
+        writeCapacity = CLOSED_MARKER;
+        return this;
+    }
+
+    @Override
+    public int capacity() {
+        return Math.max(0, readCapacity);
+    }
+
+    @Override
+    public int getReadableBytes() {
+        return writeOffset - readOffset;
+    }
+
+    @Override
+    public int getWritableBytes() {
+        return Math.max(0, writeCapacity - writeOffset);
+    }
+
+    @Override
+    public int getReadOffset() {
+        return readOffset;
+    }
+
+    @Override
+    public int getWriteOffset() {
+        return writeOffset;
+    }
+
+    @Override
+    public ProtonBuffer setWriteOffset(int value) {
+        checkWrite(value, 0, false);
+        writeOffset = value;
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer setReadOffset(int value) {
+        checkRead(value, 0);
+        readOffset = value;
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer fill(byte value) {
+        checkSet(0, 1);
+
+        final ByteBuffer buffer = memory.buffer;
+        final int end = offset(readCapacity);
+        final long pattern = (value & 0xFFL) * 0x101010101010101L;
+
+        int index = memoryOffset;
+        for (; index + Long.BYTES <= end; index += Long.BYTES) {
+            buffer.putLong(index, pattern);
+        }
+        for (; index < end; ++index) {
+            buffer.put(index, value);
+        }
+
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer split(int splitOffset) {
+        ProtonBufferUtils.checkIsNotNegative(splitOffset, "The split offset cannot be negative");
+
+        if (capacity() < splitOffset) {
+            throw new IllegalArgumentException(
+                "The split offset cannot be greater than the buffer capacity, " +
+                "but the split offset was " + splitOffset + ", and capacity is " + capacity() + '.');
+        }
+        if (isClosed()) {
+            throw new ProtonBufferClosedException("Cannot split a closed buffer");
+        }
+
+        ProtonDirectBuffer front = new ProtonDirectBuffer(allocator, memory.retain(), memoryOffset, splitOffset);
+        front.writeOffset = Math.min(writeOffset, splitOffset);
+        front.readOffset = Math.min(readOffset, splitOffset);
+        if (isReadOnly()) {
+            front.convertToReadOnly();
+        }
+
+        // This buffer realigned to house only the tail of the split
+        memoryOffset += splitOffset;
+        readCapacity -= splitOffset;
+        writeCapacity = isReadOnly() ? CLOSED_MARKER : readCapacity;
+        writeOffset = Math.max(writeOffset, splitOffset) - splitOffset;
+        readOffset = Math.max(readOffset, splitOffset) - splitOffset;
+
+        return front;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ProtonBuffer && ProtonBufferUtils.equals(this, (ProtonBuffer) o);
+    }
+
+    @Override
+    public int hashCode() {
+        return ProtonBufferUtils.hashCode(this);
+    }
+
+    //----- Indexed Get operations
+
+    @Override
+    public byte getByte(int index) {
+        checkGet(index, Byte.BYTES);
+        return memory.buffer.get(offset(index));
+    }
+
+    @Override
+    public char getChar(int index) {
+        checkGet(index, Character.BYTES);
+        return memory.buffer.getChar(offset(index));
+    }
+
+    @Override
+    public short getShort(int index) {
+        checkGet(index, Short.BYTES);
+        return memory.buffer.getShort(offset(index));
+    }
+
+    @Override
+    public int getInt(int index) {
+        checkGet(index, Integer.BYTES);
+        return memory.buffer.getInt(offset(index));
+    }
+
+    @Override
+    public long getLong(int index) {
+        checkGet(index, Long.BYTES);
+        return memory.buffer.getLong(offset(index));
+    }
+
+    //----- Offset based read operations
+
+    @Override
+    public byte readByte() {
+        checkRead(readOffset, Byte.BYTES);
+        final byte result = memory.buffer.get(offset(readOffset));
+        readOffset += Byte.BYTES;
+        return result;
+    }
+
+    @Override
+    public char readChar() {
+        checkRead(readOffset, Character.BYTES);
+        final char result = memory.buffer.getChar(offset(readOffset));
+        readOffset += Character.BYTES;
+        return result;
+    }
+
+    @Override
+    public short readShort() {
+        checkRead(readOffset, Short.BYTES);
+        final short result = memory.buffer.getShort(offset(readOffset));
+        readOffset += Short.BYTES;
+        return result;
+    }
+
+    @Override
+    public int readInt() {
+        checkRead(readOffset, Integer.BYTES);
+        final int result = memory.buffer.getInt(offset(readOffset));
+        readOffset += Integer.BYTES;
+        return result;
+    }
+
+    @Override
+    public long readLong() {
+        checkRead(readOffset, Long.BYTES);
+        final long result = memory.buffer.getLong(offset(readOffset));
+        readOffset += Long.BYTES;
+        return result;
+    }
+
+    //----- Indexed Set operations
+
+    @Override
+    public ProtonBuffer setByte(int index, byte value) {
+        checkSet(index, Byte.BYTES);
+        memory.buffer.put(offset(index), value);
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer setChar(int index, char value) {
+        checkSet(index, Character.BYTES);
+        memory.buffer.putChar(offset(index), value);
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer setShort(int index, short value) {
+        checkSet(index, Short.BYTES);
+        memory.buffer.putShort(offset(index), value);
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer setInt(int index, int value) {
+        checkSet(index, Integer.BYTES);
+        memory.buffer.putInt(offset(index), value);
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer setLong(int index, long value) {
+        checkSet(index, Long.BYTES);
+        memory.buffer.putLong(offset(index), value);
+        return this;
+    }
+
+    //----- Offset based Write operations
+
+    @Override
+    public ProtonBuffer writeByte(byte value) {
+        checkWrite(writeOffset, Byte.BYTES, true);
+        memory.buffer.put(offset(writeOffset++), value);
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer writeChar(char value) {
+        checkWrite(writeOffset, Character.BYTES, true);
+        memory.buffer.putChar(offset(writeOffset), value);
+        writeOffset += Character.BYTES;
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer writeShort(short value) {
+        checkWrite(writeOffset, Short.BYTES, true);
+        memory.buffer.putShort(offset(writeOffset), value);
+        writeOffset += Short.BYTES;
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer writeInt(int value) {
+        checkWrite(writeOffset, Integer.BYTES, true);
+        memory.buffer.putInt(offset(writeOffset), value);
+        writeOffset += Integer.BYTES;
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer writeLong(long value) {
+        checkWrite(writeOffset, Long.BYTES, true);
+        memory.buffer.putLong(offset(writeOffset), value);
+        writeOffset += Long.BYTES;
+        return this;
+    }
+
+    //----- Buffer Copy and Compaction API
+
+    @Override
+    public ProtonBuffer copy(int offset, int length, boolean readOnly) throws IllegalArgumentException {
+        ProtonBufferUtils.checkLength(length);
+
+        final ProtonDirectBuffer result;
+
+        if (readOnly && isReadOnly()) {
+            checkGet(offset, length);
+            // Neither buffer can change the bytes so they can safely share the memory
+            result = new ProtonDirectBuffer(allocator, memory.retain(), offset(offset), length);
+            result.writeOffset = length;
+        } else {
+            checkGet(offset, length);
+
+            result = new ProtonDirectBuffer(allocator, length, DEFAULT_MAXIMUM_CAPACITY);
+            result.view(0, length).put(view(offset, length));
+            result.writeOffset = length;
+        }
+
+        if (readOnly) {
+            result.convertToReadOnly();
+        }
+
+        return result;
+    }
+
+    @Override
+    public void copyInto(int offset, byte[] destination, int destOffset, int length) {
+        checkCopyIntoArgs(offset, length, destOffset, destination.length);
+        view(offset, length).get(destination, destOffset, length);
+    }
+
+    @Override
+    public void copyInto(int offset, ByteBuffer destination, int destOffset, int length) {
+        if (destination.isReadOnly()) {
+            throw ProtonBufferUtils.genericBufferIsReadOnly(this);
+        }
+        checkCopyIntoArgs(offset, length, destOffset, destination.capacity());
+
+        final ByteBuffer target = destination.duplicate();
+        target.clear().position(destOffset);
+        target.put(view(offset, length));
+    }
+
+    @Override
+    public void copyInto(int offset, ProtonBuffer destination, int destOffset, int length) {
+        ProtonBufferUtils.checkIsClosed(destination);
+        ProtonBufferUtils.checkIsReadOnly(destination);
+
+        checkCopyIntoArgs(offset, length, destOffset, destination.capacity());
+
+        final int originalReadOffset = destination.getReadOffset();
+        final int originalWriteOffset = destination.getWriteOffset();
+        destination.setReadOffset(0);
+        destination.setWriteOffset(destOffset);
+        try {
+            destination.writeBytes(view(offset, length));
+        } finally {
+            destination.setReadOffset(originalReadOffset);
+            destination.setWriteOffset(originalWriteOffset);
+        }
+    }
+
+    @Override
+    public ProtonBuffer writeBytes(byte[] source, int offset, int length) {
+        checkWrite(writeOffset, length, true);
+        view(writeOffset, length).put(source, offset, length);
+        writeOffset += length;
+
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer writeBytes(ByteBuffer source) {
+        final int length = source.remaining();
+        checkWrite(writeOffset, length, true);
+        // Copying from this buffer into itself would otherwise reposition the source view
+        final ByteBuffer input = source == view ? source.duplicate() : source;
+        view(writeOffset, length).put(input);
+        writeOffset += length;
+
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer writeBytes(ProtonBuffer source) {
+        final int length = source.getReadableBytes();
+        checkWrite(writeOffset, length, true);
+        source.readBytes(view(writeOffset, length));
+        writeOffset += length;
+
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer readBytes(ByteBuffer destination) {
+        final int byteCount = destination.remaining();
+        checkCopyIntoArgs(readOffset, byteCount, destination.position(), destination.capacity());
+        // Copying from this buffer into itself would otherwise reposition the target view
+        final ByteBuffer output = destination == view ? destination.duplicate() : destination;
+        output.put(view(readOffset, byteCount));
+        readOffset += byteCount;
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer readBytes(byte[] destination, int offset, int length) {
+        checkCopyIntoArgs(readOffset, length, offset, destination.length);
+        view(readOffset, length).get(destination, offset, length);
+        readOffset += length;
+
+        return this;
+    }
+
+    //----- Buffer size management API
+
+    @Override
+    public int implicitGrowthLimit() {
+        return implicitGrowthLimit;
+    }
+
+    @Override
+    public ProtonBuffer implicitGrowthLimit(int limit) {
+        ProtonBufferUtils.checkImplicitGrowthLimit(limit, capacity());
+        this.implicitGrowthLimit = limit;
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer ensureWritable(int size, int minimumGrowth, boolean allowCompaction) throws IndexOutOfBoundsException, IllegalArgumentException {
+        if (isClosed()) {
+            throw ProtonBufferUtils.genericBufferIsClosed(this);
+        }
+        if (size < 0) {
+            throw new IllegalArgumentException("Cannot ensure writable for a negative size: " + size + '.');
+        }
+        if (minimumGrowth < 0) {
+            throw new IllegalArgumentException("The minimum growth cannot be negative: " + minimumGrowth + '.');
+        }
+        if (writeCapacity == CLOSED_MARKER) {
+            throw ProtonBufferUtils.genericBufferIsReadOnly(this);
+        }
+        if (getWritableBytes() > size) {
+            return this;
+        }
+        if (allowCompaction && getWritableBytes() + getReadOffset() >= size) {
+            return compact();
+        }
+
+        final long newSize = capacity() + (long) Math.max(size - getWritableBytes(), minimumGrowth);
+        ProtonBufferUtils.checkIsNotNegative(newSize, "The buffer cannot be resized to a negative value");
+        if (newSize > DEFAULT_MAXIMUM_CAPACITY) {
+            throw new IllegalArgumentException(
+                "The buffer cannot grow to a size greater than " + DEFAULT_MAXIMUM_CAPACITY + ", requested size was " + newSize);
+        }
+
+        final DirectMemory newMemory = allocator.allocateMemory((int) newSize);
+        final ByteBuffer newView = newMemory.buffer.duplicate();
+
+        newView.put(view(0, capacity()));
+
+        memory.release();
+        setMemory(newMemory, 0, (int) newSize);
+        this.writeCapacity = readOnly ? CLOSED_MARKER : readCapacity;
+
+        return this;
+    }
+
+    @Override
+    public ProtonBuffer compact() {
+        if (isClosed()) {
+            throw ProtonBufferUtils.genericBufferIsClosed(this);
+        }
+        if (isReadOnly()) {
+            throw ProtonBufferUtils.genericBufferIsReadOnly(this);
+        }
+
+        if (readOffset != 0) {
+            final ByteBuffer target = memory.buffer.duplicate();
+            target.clear().position(memoryOffset);
+            target.put(view(readOffset, writeOffset - readOffset));
+            writeOffset -= readOffset;
+            readOffset = 0;
+        }
+
+        return this;
+    }
+
+    //----- Buffer IO interoperability handlers
+
+    @Override
+    public int transferTo(WritableByteChannel channel, int length) throws IOException {
+        ProtonBufferUtils.checkIsClosed(this);
+        ProtonBufferUtils.checkIsNotNegative(length, "TransferTo length cannot be negative: " + length);
+
+        final int writableBytes = Math.min(getReadableBytes(), length);
+
+        checkGet(readOffset, writableBytes);
+
+        if (writableBytes == 0) {
+            return 0;
+        }
+
+        final int actualWrite = channel.write(view(readOffset, writableBytes));
+        readOffset += actualWrite;
+
+        return actualWrite;
+    }
+
+    @Override
+    public int transferFrom(ReadableByteChannel channel, int length) throws IOException {
+        ProtonBufferUtils.checkIsClosed(this);
+        ProtonBufferUtils.checkIsReadOnly(this);
+
+        length = Math.min(getWritableBytes(), length);
+
+        if (length == 0) {
+            return 0;
+        }
+
+        checkSet(getWriteOffset(), length);
+        final int bytesRead = channel.read(view(writeOffset, length));
+        if (bytesRead != -1) {
+            writeOffset += bytesRead;
+        }
+
+        return bytesRead;
+    }
+
+    @Override
+    public int transferFrom(FileChannel channel, long position, int length) throws IOException {
+        ProtonBufferUtils.checkIsClosed(this);
+        ProtonBufferUtils.checkIsReadOnly(this);
+
+        length = Math.min(getWritableBytes(), length);
+
+        if (length == 0) {
+            return 0;
+        }
+
+        checkSet(getWriteOffset(), length);
+        final int bytesRead = channel.read(view(writeOffset, length), position);
+        if (bytesRead != -1) {
+            writeOffset += bytesRead;
+        }
+
+        return bytesRead;
+    }
+
+    //----- Buff component access
+
+    @Override
+    public ProtonBufferComponentAccessor componentAccessor() {
+        if (isClosed()) {
+            throw ProtonBufferUtils.genericBufferIsClosed(this);
+        }
+
+        return (ProtonBufferComponentAccessor) acquire();
+    }
+
+    @Override
+    public ProtonBufferComponent first() {
+        return this;
+    }
+
+    @Override
+    public ProtonBufferComponent next() {
+        return null; // There is never a next.
+    }
+
+    //----- Buffer iteration API
+
+    @Override
+    public ProtonBufferIterator bufferIterator() {
+        return bufferIterator(getReadOffset(), getReadableBytes());
+    }
+
+    @Override
+    public ProtonBufferIterator bufferIterator(int offset, int length) {
+        ProtonBufferUtils.checkIsClosed(this);
+        ProtonBufferUtils.checkArgumentIsNotNegative(offset, "offset");
+        ProtonBufferUtils.checkArgumentIsNotNegative(length, "length");
+
+        checkGet(offset, length);
+
+        return new ProtonDirectBufferIterator(memory.buffer, memoryOffset, offset, length);
+    }
+
+    @Override
+    public ProtonBufferIterator bufferReverseIterator(int offset, int length) {
+        ProtonBufferUtils.checkIsClosed(this);
+        ProtonBufferUtils.checkArgumentIsNotNegative(offset, "offset");
+        ProtonBufferUtils.checkArgumentIsNotNegative(length, "length");
+
+        if (offset >= capacity()) {
+            throw new IndexOutOfBoundsException(
+                "Read offset must be within the bounds of the buffer: offset = " + offset + ", capacity = " + capacity());
+        }
+
+        if (offset - length < -1) {
+            throw new IndexOutOfBoundsException(
+                "Cannot read past start of buffer: offset = " + offset + ", length = " + length);
+        }
+
+        return new ProtonDirectBufferReverseIterator(memory.buffer, memoryOffset, offset, length);
+    }
+
+    //----- Buffer component API
+
+    @Override
+    public boolean hasReadbleArray() {
+        return false;
+    }
+
+    @Override
+    public ProtonDirectBuffer advanceReadOffset(int amount) {
+        return (ProtonDirectBuffer) ProtonBuffer.super.advanceReadOffset(amount);
+    }
+
+    @Override
+    public byte[] getReadableArray() {
+        throw new UnsupportedOperationException("This component has no backing array");
+    }
+
+    @Override
+    public int getReadableArrayOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getReadableArrayLength() {
+        return getReadableBytes();
+    }
+
+    @Override
+    public ByteBuffer getReadableBuffer() {
+        if (readCapacity < 0) {
+            return EMPTY_BUFFER.asReadOnlyBuffer();
+        } else {
+            return view(readOffset, getReadableBytes()).slice().asReadOnlyBuffer();
+        }
+    }
+
+    @Override
+    public ProtonDirectBuffer advanceWriteOffset(int amount) {
+        return (ProtonDirectBuffer) ProtonBuffer.super.advanceWriteOffset(amount);
+    }
+
+    @Override
+    public boolean hasWritableArray() {
+        return false;
+    }
+
+    @Override
+    public byte[] getWritableArray() {
+        throw new UnsupportedOperationException("This component has no backing array");
+    }
+
+    @Override
+    public int getWritableArrayOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getWritableArrayLength() {
+        return getWritableBytes();
+    }
+
+    @Override
+    public ByteBuffer getWritableBuffer() {
+        if (writeCapacity < 0) {
+            return EMPTY_BUFFER.duplicate();
+        } else {
+            return view(writeOffset, getWritableBytes()).slice();
+        }
+    }
+
+    @Override
+    public long getNativeAddress() {
+        return 0;
+    }
+
+    @Override
+    public long getNativeReadAddress() {
+        return 0;
+    }
+
+    @Override
+    public long getNativeWriteAddress() {
+        return 0;
+    }
+
+    //----- Buffer search API
+
+    @Override
+    public int indexOf(byte needle, int offset, int length) {
+        ProtonBufferUtils.checkIsClosed(this);
+
+        checkIndexOfBounds(offset, length);
+
+        final ByteBuffer buffer = memory.buffer;
+        final int end = offset + length;
+
+        if (length > 7) {
+            final long pattern = (needle & 0xFFL) * 0x101010101010101L;
+            final int stopAfter = offset + (length >>> 3) * Long.BYTES;
+
+            for (; offset < stopAfter; offset += Long.BYTES) {
+                final long word = buffer.getLong(offset(offset));
+
+                // Hackers delight chapter six describes this algorithm
+                long input = word ^ pattern;
+                long tmp = (input & 0x7F7F7F7F7F7F7F7FL) + 0x7F7F7F7F7F7F7F7FL;
+                tmp = ~(tmp | input | 0x7F7F7F7F7F7F7F7FL);
+
+                final int index = Long.numberOfLeadingZeros(tmp) >>> 3;
+
+                if (index < Long.BYTES) {
+                    return offset + index;
+                }
+            }
+        }
+
+        for (; offset < end; offset++) {
+            if (buffer.get(offset(offset)) == needle) {
+                return offset;
+            }
+        }
+
+        return -1;
+    }
+
+    //----- Sharable resource API implementation
+
+    @Override
+    protected void releaseResourceOwnership() {
+        closed = true;
+        readOnly = false;
+        writeCapacity = CLOSED_MARKER;
+        readCapacity = CLOSED_MARKER;
+        readOffset = 0;
+        writeOffset = 0;
+
+        if (memory != null) {
+            memory.release();
+            memory = null;
+            view = null;
+        }
+    }
+
+    @Override
+    protected ProtonBuffer transferTheResource() {
+        // Our release of ownership follows so the transferred buffer takes over our reference
+        ProtonDirectBuffer transfer = new ProtonDirectBuffer(allocator, memory.retain(), memoryOffset, readCapacity);
+
+        // Match transfer state to this buffer
+        transfer.readOnly = readOnly;
+        transfer.readCapacity = readCapacity;
+        transfer.writeCapacity = writeCapacity;
+        transfer.readOffset = readOffset;
+        transfer.writeOffset = writeOffset;
+        transfer.implicitGrowthLimit = implicitGrowthLimit;
+
+        return transfer;
+    }
+
+    @Override
+    protected RuntimeException resourceIsClosedException() {
+        return ProtonBufferUtils.genericBufferIsClosed(this);
+    }
+
+    //----- Private ProtonBuffer APIs
+
+    private void setMemory(DirectMemory memory, int memoryOffset, int capacity) {
+        this.memory = memory;
+        this.view = memory.buffer.duplicate();
+        this.memoryOffset = memoryOffset;
+        this.readCapacity = capacity;
+        this.writeCapacity = capacity;
+    }
+
+    private int offset(int index) {
+       return index + memoryOffset;
+    }
+
+    private ByteBuffer view(int index, int length) {
+        final int start = offset(index);
+
+        view.clear();
+        view.position(start).limit(start + length);
+
+        return view;
+    }
+
+    private void checkWrite(int index, int size, boolean allowExpansion) {
+        if (index < readOffset || writeCapacity < (index + size)) {
+            expandOrThrowError(index, size, allowExpansion);
+        }
+    }
+
+    private void checkRead(int index, int size) {
+        if (index < 0 || writeOffset < index + size || closed) {
+            if (closed) {
+                throw ProtonBufferUtils.genericBufferIsClosed(this);
+            } else {
+                throw ProtonBufferUtils.genericOutOfBounds(this, index);
+            }
+        }
+    }
+
+    private void checkGet(int index, int size) {
+        if (index < 0 || readCapacity < index + size) {
+            if (closed) {
+                throw ProtonBufferUtils.genericBufferIsClosed(this);
+            } else {
+                throw ProtonBufferUtils.genericOutOfBounds(this, index);
+            }
+        }
+    }
+
+    private void checkSet(int index, int size) {
+        if (index < 0 || writeCapacity < index + size) {
+            expandOrThrowError(index, size, false);
+        }
+    }
+
+    private void checkIndexOfBounds(int index, int size) {
+        if (index < readOffset || writeOffset < index + size) {
+            throw new IndexOutOfBoundsException(
+                "Search range [read " + index + " length " + size  +
+                "] is out of bounds: [read " + readOffset + " length " + getReadableBytes() + "].");
+        }
+    }
+
+    private void expandOrThrowError(int index, int size, boolean mayExpand) {
+        if (readCapacity == CLOSED_MARKER) {
+            throw ProtonBufferUtils.genericBufferIsClosed(this);
+        }
+
+        if (readOnly) {
+            throw ProtonBufferUtils.genericBufferIsReadOnly(this);
+        }
+
+        int capacity = capacity();
+        if (mayExpand && index >= 0 && index <= capacity && writeOffset + size <= implicitGrowthLimit) {
+            int minimumGrowth = Math.min(Math.max(capacity * 2, size), implicitGrowthLimit) - capacity;
+            ensureWritable(size, minimumGrowth, false);
+            checkSet(index, size); // Verify writing is now possible, without recursing.
+            return;
+        }
+
+        throw ProtonBufferUtils.genericOutOfBounds(this, index);
+    }
+
+    private void checkCopyIntoArgs(int srcPos, int length, int destPos, int destLength) {
+        if (readCapacity == CLOSED_MARKER) {
+            throw ProtonBufferUtils.genericBufferIsClosed(this);
+        }
+        if (srcPos < 0) {
+            throw new IndexOutOfBoundsException("The srcPos cannot be negative: " + srcPos + '.');
+        }
+        if (length < 0) {
+            throw new IndexOutOfBoundsException("The length value cannot be negative " + length + ".");
+        }
+        if (readCapacity < srcPos + length) {
+            throw new IndexOutOfBoundsException("The srcPos + length is beyond the end of the buffer: " +
+                    "srcPos = " + srcPos + ", length = " + length + '.');
+        }
+        if (destPos < 0) {
+            throw new IndexOutOfBoundsException("The destPos cannot be negative: " + destPos + '.');
+        }
+        if (destLength < destPos + length) {
+            throw new IndexOutOfBoundsException("The destPos + length is beyond the end of the destination: " +
+                    "destPos = " + destPos + ", length = " + length + '.');
+        }
+    }
+
+    private static final class ProtonDirectBufferIterator implements ProtonBufferIterator {
+
+        private final ByteBuffer buffer;
+        private final int memoryOffset;
+        private final int endPos;
+
+        private int current;
+
+        public ProtonDirectBufferIterator(ByteBuffer buffer, int memoryOffset, int offset, int length) {
+            this.buffer = buffer;
+            this.memoryOffset = memoryOffset;
+            this.current = offset;
+            this.endPos = offset + length; // End position is exclusive
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != endPos;
+        }
+
+        @Override
+        public byte next() {
+            if (current == endPos) {
+                throw new NoSuchElementException("Buffer iteration complete, no additional bytes available");
+            }
+
+            return buffer.get(memoryOffset + current++);
+        }
+
+        @Override
+        public int remaining() {
+            return endPos - current;
+        }
+
+        @Override
+        public int offset() {
+            return current;
+        }
+    }
+
+    private static final class ProtonDirectBufferReverseIterator implements ProtonBufferIterator {
+
+        private final ByteBuffer buffer;
+        private final int memoryOffset;
+        private final int endPos;
+
+        private int current;
+
+        public ProtonDirectBufferReverseIterator(ByteBuffer buffer, int memoryOffset, int offset, int length) {
+            this.buffer = buffer;
+            this.memoryOffset = memoryOffset;
+            this.current = offset;
+            this.endPos = offset - length; // End position is exclusive
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current != endPos;
+        }
+
+        @Override
+        public byte next() {
+            if (current == endPos) {
+                throw new NoSuchElementException("Buffer iteration complete, no additional bytes available");
+            }
+
+            return buffer.get(memoryOffset + current--);
+        }
+
+        @Override
+        public int remaining() {
+            return Math.abs(endPos - current);
+        }
+
+        @Override
+        public int offset() {
+            return current;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.buffer.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonBufferUtils;
+import org.apache.qpid.protonj2.buffer.ProtonCompositeBuffer;
+
+/**
+ * A Proton built in allocator of buffers backed by native memory that can optionally pool the
+ * memory of closed buffers for reuse.
+ * <p>
+ * When pooling, the memory of buffers up to the configured maximum pooled capacity is allocated in
+ * power of two size classes and is returned to the pool of its size class when the last buffer that
+ * references it is closed, larger buffers are never pooled.  The pools are bounded so that a burst
+ * of allocations does not pin native memory forever.  Closing the allocator empties the pools and
+ * stops any further memory from being pooled.  Memory that is not pooled is freed when the last buffer
+ * that references it is closed, or if the runtime does not allow explicitly freeing native memory it is
+ * reclaimed along with the {@link ByteBuffer} that holds it once the closed buffers are no longer referenced.
+ */
+public final class ProtonDirectBufferAllocator implements ProtonBufferAllocator {
+
+    /**
+     * The default largest buffer capacity whose memory is pooled.
+     */
+    public static final int DEFAULT_MAX_POOLED_CAPACITY = 64 * 1024;
+
+    /**
+     * The default number of released memory regions retained in the pool of each size class.
+     */
+    public static final int DEFAULT_MAX_POOLED_PER_SIZE = 64;
+
+    private static final int MIN_SIZE_CLASS_SHIFT = Integer.numberOfTrailingZeros(ProtonDirectBuffer.DEFAULT_CAPACITY);
+
+    private static final MethodHandle INVOKE_CLEANER = lookupInvokeCleaner();
+
+    private static final ProtonDirectBufferAllocator UNPOOLED = new ProtonDirectBufferAllocator();
+
+    /**
+     * A default instance of the {@link ProtonDirectBufferAllocator} that does not pool memory.
+     */
+    private static final ProtonBufferAllocator DEFAULT = ProtonBufferUtils.unclosable(UNPOOLED);
+
+    private final int maxPooledCapacity;
+    private final int maxPooledPerSize;
+    private final Queue<ByteBuffer>[] pools;
+    private final AtomicInteger[] poolSizes;
+
+    private volatile boolean closed;
+
+    /**
+     * Creates a new allocator that does not pool memory.
+     */
+    public ProtonDirectBufferAllocator() {
+        this(0, 0);
+    }
+
+    /**
+     * Creates a new allocator that pools the memory of closed buffers whose capacity is no more than the
+     * given maximum pooled capacity.
+     *
+     * @param maxPooledCapacity
+     * 		The largest capacity whose memory is pooled, rounded up to a power of two, or zero to disable pooling.
+     * @param maxPooledPerSize
+     * 		The maximum number of released memory regions kept in the pool for each size class.
+     */
+    @SuppressWarnings("unchecked")
+    public ProtonDirectBufferAllocator(int maxPooledCapacity, int maxPooledPerSize) {
+        ProtonBufferUtils.checkIsNotNegative(maxPooledCapacity, "The maximum pooled capacity cannot be negative");
+        ProtonBufferUtils.checkIsNotNegative(maxPooledPerSize, "The maximum pooled per size cannot be negative");
+
+        if (maxPooledCapacity > 0 && maxPooledPerSize > 0) {
+            this.maxPooledCapacity = sizeClassCapacity(maxPooledCapacity);
+            this.maxPooledPerSize = maxPooledPerSize;
+            this.pools = new Queue[sizeClassIndex(this.maxPooledCapacity) + 1];
+            this.poolSizes = new AtomicInteger[pools.length];
+
+            for (int i = 0; i < pools.length; ++i) {
+                pools[i] = new ConcurrentLinkedQueue<>();
+                poolSizes[i] = new AtomicInteger();
+            }
+        } else {
+            this.maxPooledCapacity = 0;
+            this.maxPooledPerSize = 0;
+            this.pools = null;
+            this.poolSizes = null;
+        }
+    }
+
+    /**
+     * @return a shared allocator of native memory buffers that does not pool memory.
+     */
+    public static final ProtonBufferAllocator allocator() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a new allocator that pools memory using the default pooling limits.
+     *
+     * @return a new pooling {@link ProtonDirectBufferAllocator}.
+     */
+    public static ProtonDirectBufferAllocator pooled() {
+        return new ProtonDirectBufferAllocator(DEFAULT_MAX_POOLED_CAPACITY, DEFAULT_MAX_POOLED_PER_SIZE);
+    }
+
+    /**
+     * @return true if this allocator pools the memory of closed buffers.
+     */
+    public boolean isPooling() {
+        return pools != null;
+    }
+
+    /**
+     * @return the number of released memory regions currently held in the pools of this allocator.
+     */
+    public int getPooledCount() {
+        int count = 0;
+
+        if (poolSizes != null) {
+            for (AtomicInteger poolSize : poolSizes) {
+                count += poolSize.get();
+            }
+        }
+
+        return count;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+
+        if (pools != null) {
+            for (int i = 0; i < pools.length; ++i) {
+                ByteBuffer memory;
+                while ((memory = pools[i].poll()) != null) {
+                    poolSizes[i].decrementAndGet();
+                    freeMemory(memory);
+                }
+            }
+        }
+    }
+
+    @Override
+    public ProtonBuffer outputBuffer(int initialCapacity) {
+        checkClosed();
+        return new ProtonDirectBuffer(this, initialCapacity, ProtonDirectBuffer.DEFAULT_MAXIMUM_CAPACITY);
+    }
+
+    @Override
+    public ProtonBuffer allocate() {
+        checkClosed();
+        return new ProtonDirectBuffer(this, ProtonDirectBuffer.DEFAULT_CAPACITY, ProtonDirectBuffer.DEFAULT_MAXIMUM_CAPACITY);
+    }
+
+    @Override
+    public ProtonBuffer allocate(int initialCapacity) {
+        checkClosed();
+        return new ProtonDirectBuffer(this, initialCapacity, ProtonDirectBuffer.DEFAULT_MAXIMUM_CAPACITY);
+    }
+
+    @Override
+    public ProtonBuffer allocateHeapBuffer() {
+        checkClosed();
+        return new ProtonByteArrayBuffer();
+    }
+
+    @Override
+    public ProtonBuffer allocateHeapBuffer(int initialCapacity) {
+        checkClosed();
+        return new ProtonByteArrayBuffer(initialCapacity);
+    }
+
+    @Override
+    public ProtonBuffer copy(byte[] array, int offset, int length) {
+        checkClosed();
+        return allocate(length).writeBytes(array, offset, length);
+    }
+
+    @Override
+    public ProtonCompositeBuffer composite() {
+        checkClosed();
+        return ProtonCompositeBuffer.create(this);
+    }
+
+    @Override
+    public ProtonCompositeBuffer composite(ProtonBuffer buffer) {
+        checkClosed();
+        return ProtonCompositeBuffer.create(this, buffer);
+    }
+
+    @Override
+    public ProtonCompositeBuffer composite(ProtonBuffer[] buffers) {
+        checkClosed();
+        return ProtonCompositeBuffer.create(this, buffers);
+    }
+
+    //----- Native memory management used by the direct buffers
+
+    static ProtonDirectBufferAllocator unpooled() {
+        return UNPOOLED;
+    }
+
+    DirectMemory allocateMemory(int capacity) {
+        if (pools != null && capacity > 0 && capacity <= maxPooledCapacity) {
+            final int index = sizeClassIndex(capacity);
+            final ByteBuffer pooled = pools[index].poll();
+
+            if (pooled != null) {
+                poolSizes[index].decrementAndGet();
+                return new DirectMemory(pooled, this);
+            } else {
+                return new DirectMemory(ByteBuffer.allocateDirect(sizeClassCapacity(capacity)), this);
+            }
+        }
+
+        return new DirectMemory(ByteBuffer.allocateDirect(capacity), null);
+    }
+
+    private void recycle(ByteBuffer memory) {
+        final int index = sizeClassIndex(memory.capacity());
+
+        if (closed) {
+            freeMemory(memory);
+        } else if (poolSizes[index].incrementAndGet() <= maxPooledPerSize) {
+            pools[index].add(memory);
+        } else {
+            poolSizes[index].decrementAndGet();
+            freeMemory(memory);
+        }
+    }
+
+    private static void freeMemory(ByteBuffer memory) {
+        if (INVOKE_CLEANER != null) {
+            try {
+                INVOKE_CLEANER.invokeExact(memory);
+            } catch (Throwable ignore) {
+                // The memory is left to be reclaimed when the ByteBuffer is garbage collected
+            }
+        }
+    }
+
+    private static MethodHandle lookupInvokeCleaner() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+
+            return MethodHandles.lookup().findVirtual(
+                unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class)).bindTo(theUnsafe.get(null));
+        } catch (Throwable ignore) {
+            // Runtime does not offer explicit release so memory is reclaimed by the garbage collector
+            return null;
+        }
+    }
+
+    private static int sizeClassCapacity(int capacity) {
+        return Math.max(ProtonDirectBuffer.DEFAULT_CAPACITY, capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+    }
+
+    private static int sizeClassIndex(int capacity) {
+        return Math.max(0, (32 - Integer.numberOfLeadingZeros(capacity - 1)) - MIN_SIZE_CLASS_SHIFT);
+    }
+
+    private void checkClosed() {
+        if (closed) {
+            throw new IllegalStateException("This allocator instance is closed");
+        }
+    }
+
+    /**
+     * Reference counted native memory region that can be shared by more than one buffer.
+     */
+    static final class DirectMemory {
+
+        final ByteBuffer buffer;
+
+        private final ProtonDirectBufferAllocator pool;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        DirectMemory(ByteBuffer buffer, ProtonDirectBufferAllocator pool) {
+            this.buffer = buffer;
+            this.pool = pool;
+        }
+
+        DirectMemory retain() {
+            references.incrementAndGet();
+            return this;
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                if (pool != null) {
+                    pool.recycle(buffer);
+                } else {
+                    freeMemory(buffer);
+                }
+            }
+        }
+    }
+}
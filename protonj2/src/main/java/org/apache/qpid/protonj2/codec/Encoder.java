@@ -730,6 +730,22 @@ public interface Encoder {
      */
     void writeObject(ProtonBuffer buffer, EncoderState state, Object value) throws EncodeException;
 
+    /**
+     * Computes the number of bytes that {@link #writeObject(ProtonBuffer, EncoderState, Object)} would
+     * write for the provided {@link Object} without performing the encode, a null value is sized as an
+     * AMQP Null encoding.
+     *
+     * @param state
+     *      The {@link EncoderState} to use for any intermediate encoding work.
+     * @param value
+     * 		The value whose encoded size should be computed.
+     *
+     * @return the number of bytes the encoding of the provided value occupies.
+     *
+     * @throws EncodeException if an error occurs while computing the encoded size.
+     */
+    int sizeOf(EncoderState state, Object value) throws EncodeException;
+
     /**
      * Write the given array as with the proper array type encoding to the given buffer.
      *
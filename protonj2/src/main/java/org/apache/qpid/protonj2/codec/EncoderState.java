@@ -49,4 +49,16 @@ public interface EncoderState {
      */
     ProtonBuffer encodeUTF8(ProtonBuffer buffer, CharSequence sequence) throws EncodeException;
 
+    /**
+     * Computes the number of bytes the given sequence of characters occupies when encoded in UTF8.
+     *
+     * @param sequence
+     *      A {@link CharSequence} whose UTF-8 encoded length is to be computed.
+     *
+     * @return the number of bytes needed to encode the given characters in UTF-8.
+     *
+     * @throws EncodeException if an error occurs while computing the length of the {@link CharSequence}
+     */
+    int getUTF8Length(CharSequence sequence) throws EncodeException;
+
 }
@@ -26,6 +26,7 @@ import org.apache.qpid.protonj2.types.transport.Disposition;
 import org.apache.qpid.protonj2.types.transport.End;
 import org.apache.qpid.protonj2.types.transport.Flow;
 import org.apache.qpid.protonj2.types.transport.Open;
+import org.apache.qpid.protonj2.types.transport.Performative;
 import org.apache.qpid.protonj2.types.transport.Performative.PerformativeHandler;
 import org.apache.qpid.protonj2.types.transport.Transfer;
 
@@ -74,6 +75,43 @@ public final class PerformativeEncoder implements PerformativeHandler<Encoder> {
         return encoderState;
     }
 
+    /**
+     * Computes the encoded size of the given performative without writing it.
+     *
+     * @param performative
+     *      The performative whose encoded size is to be computed.
+     *
+     * @return the number of bytes that encoding the given performative would produce.
+     */
+    public int sizeOf(Performative performative) {
+        try {
+            switch (performative.getPerformativeType()) {
+                case ATTACH:
+                    return attachEncoder.sizeOf(encoderState, (Attach) performative);
+                case BEGIN:
+                    return beginEncoder.sizeOf(encoderState, (Begin) performative);
+                case CLOSE:
+                    return closeEncoder.sizeOf(encoderState, (Close) performative);
+                case DETACH:
+                    return detachEncoder.sizeOf(encoderState, (Detach) performative);
+                case DISPOSITION:
+                    return dispositionEncoder.sizeOf(encoderState, (Disposition) performative);
+                case END:
+                    return endEncoder.sizeOf(encoderState, (End) performative);
+                case FLOW:
+                    return flowEncoder.sizeOf(encoderState, (Flow) performative);
+                case OPEN:
+                    return openEncoder.sizeOf(encoderState, (Open) performative);
+                case TRANSFER:
+                    return transferEncoder.sizeOf(encoderState, (Transfer) performative);
+                default:
+                    return encoder.sizeOf(encoderState, performative);
+            }
+        } finally {
+            encoderState.reset();
+        }
+    }
+
     @Override
     public void handleOpen(Open open, ProtonBuffer target, int channel, Encoder encoder) {
         try {
@@ -111,6 +111,44 @@ public final class SectionEncoder {
         }
     }
 
+    /**
+     * Computes the encoded size of the given section using the cached encoder for that
+     * section type without writing it.
+     *
+     * @param section
+     *      The section whose encoded size is to be computed.
+     *
+     * @return the number of bytes that writing the given section would produce.
+     */
+    public int sizeOf(Section<?> section) {
+        try {
+            switch (section.getType()) {
+            case AmqpSequence:
+                return sequenceEncoder.sizeOf(encoderState, (AmqpSequence<?>) section);
+            case AmqpValue:
+                return valueEncoder.sizeOf(encoderState, (AmqpValue<?>) section);
+            case ApplicationProperties:
+                return apEncoder.sizeOf(encoderState, (ApplicationProperties) section);
+            case Data:
+                return dataEncoder.sizeOf(encoderState, (Data) section);
+            case DeliveryAnnotations:
+                return daEncoder.sizeOf(encoderState, (DeliveryAnnotations) section);
+            case Footer:
+                return footerEncoder.sizeOf(encoderState, (Footer) section);
+            case Header:
+                return headerEncoder.sizeOf(encoderState, (Header) section);
+            case MessageAnnotations:
+                return maEncoder.sizeOf(encoderState, (MessageAnnotations) section);
+            case Properties:
+                return propertiesEncoder.sizeOf(encoderState, (Properties) section);
+            default:
+                return 0;
+            }
+        } finally {
+            encoderState.reset();
+        }
+    }
+
     /**
      * Writes the given section using the cached encoder for that section types
      *
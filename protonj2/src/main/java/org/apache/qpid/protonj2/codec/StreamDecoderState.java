@@ -50,4 +50,19 @@ public interface StreamDecoderState {
      */
     String decodeUTF8(InputStream stream, int length) throws DecodeException;
 
+    /**
+     * Returns an {@link InputStream} that reads ahead from the given source in bulk so that the
+     * decoder does not have to pull each encoded value from the source a byte at a time.  The
+     * returned stream may buffer bytes that have not yet been decoded so once wrapped all reads
+     * must be made through the returned stream and not the original source.  The read-ahead
+     * stream is owned by this state object and is rebound on each call, discarding any bytes that
+     * were buffered from a previous source.
+     *
+     * @param source
+     *      The {@link InputStream} that encoded values will be read from.
+     *
+     * @return an {@link InputStream} to decode from in place of the given source.
+     */
+    InputStream readAheadStream(InputStream source);
+
 }
@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.codec;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 
 /**
  * Interface for an encoder of a specific AMQP Type.
@@ -52,6 +53,30 @@ public interface TypeEncoder<V> {
      */
     void writeType(ProtonBuffer buffer, EncoderState state, V value) throws EncodeException;
 
+    /**
+     * Computes the number of bytes that {@link #writeType(ProtonBuffer, EncoderState, Object)}
+     * would write for the given value without writing it, which allows a caller to size the
+     * target buffer once before encoding.
+     * <p>
+     * The default implementation encodes the value into a scratch buffer and returns the number
+     * of bytes written, encoders should override this with a direct computation of the size.
+     *
+     * @param state
+     * 		The current encoder state
+     * @param value
+     * 		The value whose encoded size is to be computed.
+     *
+     * @return the number of bytes the full AMQP type encoding of the value occupies.
+     *
+     * @throws EncodeException if an error occurs while computing the size of the given value.
+     */
+    default int sizeOf(EncoderState state, V value) throws EncodeException {
+        try (ProtonBuffer scratch = ProtonBufferAllocator.defaultAllocator().allocate()) {
+            writeType(scratch, state, value);
+            return scratch.getReadableBytes();
+        }
+    }
+
     /**
      * Write an array elements of the AMQP type to the given byte buffer.
      * <p>
@@ -0,0 +1,423 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.decoders;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A reusable read-ahead window placed in front of an {@link InputStream} source that allows the
+ * stream decoder to read encoded primitives in bulk instead of one byte at a time.
+ * <p>
+ * The window only ever requests the bytes the source reports as available beyond those that
+ * are needed to complete the current read, so it never blocks waiting for bytes the decoder
+ * has not asked for.  Bytes that have been read ahead are only visible through this stream, once
+ * bound to a source the caller must continue reading through this stream until it is reset.
+ */
+public final class ProtonDecoderInputStream extends InputStream {
+
+    /**
+     * Default size of the read-ahead window.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 8192;
+
+    private static final int NO_MARK = -1;
+
+    private final CharsetDecoder utf8Decoder = StandardCharsets.UTF_8.newDecoder();
+
+    private InputStream source;
+    private byte[] window;
+    private int position;
+    private int limit;
+    private int markPosition = NO_MARK;
+    private int markLimit;
+    private char[] charScratch = new char[0];
+
+    /**
+     * Creates a new unbound instance with the default read-ahead window size.
+     */
+    public ProtonDecoderInputStream() {
+        this(DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates a new unbound instance with the given initial read-ahead window size.
+     *
+     * @param windowSize
+     * 		The initial size of the read-ahead window.
+     */
+    public ProtonDecoderInputStream(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The read-ahead window size must be greater than zero");
+        }
+
+        this.window = new byte[windowSize];
+    }
+
+    /**
+     * Creates a new instance with the default read-ahead window size bound to the given source.
+     *
+     * @param source
+     * 		The {@link InputStream} that this stream reads ahead from.
+     */
+    public ProtonDecoderInputStream(InputStream source) {
+        this(DEFAULT_WINDOW_SIZE);
+        reset(source);
+    }
+
+    /**
+     * Binds this stream to a new source discarding any bytes that were read ahead from the
+     * previous source along with any mark that was set.
+     *
+     * @param source
+     * 		The {@link InputStream} that this stream reads ahead from.
+     *
+     * @return this {@link ProtonDecoderInputStream} instance.
+     */
+    public ProtonDecoderInputStream reset(InputStream source) {
+        Objects.requireNonNull(source, "The source InputStream cannot be null");
+
+        this.source = source;
+        this.position = 0;
+        this.limit = 0;
+        this.markPosition = NO_MARK;
+
+        return this;
+    }
+
+    /**
+     * @return the {@link InputStream} this stream is currently reading ahead from.
+     */
+    public InputStream getSource() {
+        return source;
+    }
+
+    /**
+     * @return the number of bytes read ahead from the source that have not yet been consumed.
+     */
+    public int getBufferedBytes() {
+        return limit - position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (limit == position && !fill(1)) {
+            return -1;
+        }
+
+        return window[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] target, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, target.length);
+
+        if (length == 0) {
+            return 0;
+        }
+
+        if (limit == position) {
+            // Large reads bypass the window when there is nothing retained for a reset.
+            if (length >= window.length && markPosition == NO_MARK) {
+                return checkedSource().read(target, offset, length);
+            } else if (!fill(1)) {
+                return -1;
+            }
+        }
+
+        final int count = Math.min(length, limit - position);
+        System.arraycopy(window, position, target, offset, count);
+        position += count;
+
+        return count;
+    }
+
+    @Override
+    public int readNBytes(byte[] target, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, target.length);
+
+        int total = 0;
+        while (total < length) {
+            final int count = read(target, offset + total, length - total);
+            if (count < 0) {
+                break;
+            }
+            total += count;
+        }
+
+        return total;
+    }
+
+    @Override
+    public long skip(long amount) throws IOException {
+        if (amount <= 0) {
+            return 0;
+        }
+
+        final int buffered = limit - position;
+        if (amount <= buffered) {
+            position += (int) amount;
+            return amount;
+        }
+
+        if (markPosition != NO_MARK && position - markPosition + amount <= markLimit) {
+            // The skipped bytes must remain readable after a reset so they are pulled into the window.
+            fill((int) amount);
+            final int count = (int) Math.min(amount, limit - position);
+            position += count;
+            return count;
+        }
+
+        markPosition = NO_MARK;
+        position = limit;
+
+        return buffered + checkedSource().skip(amount - buffered);
+    }
+
+    @Override
+    public int available() throws IOException {
+        final int buffered = limit - position;
+        final int remaining = checkedSource().available();
+
+        return remaining > Integer.MAX_VALUE - buffered ? Integer.MAX_VALUE : buffered + remaining;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        markPosition = position;
+        markLimit = readLimit;
+    }
+
+    @Override
+    public void reset() throws IOException {
+        if (markPosition == NO_MARK) {
+            throw new IOException("The stream has not been marked or the mark was invalidated");
+        }
+
+        position = markPosition;
+    }
+
+    @Override
+    public void close() throws IOException {
+        position = 0;
+        limit = 0;
+        markPosition = NO_MARK;
+
+        if (source != null) {
+            source.close();
+        }
+    }
+
+    /**
+     * Reads a single byte from the window.
+     *
+     * @return the next byte from the stream.
+     *
+     * @throws IOException if an error occurs reading the source or the source has reached its end.
+     */
+    public byte readByte() throws IOException {
+        require(Byte.BYTES);
+        return window[position++];
+    }
+
+    /**
+     * Reads a big endian short value from the window.
+     *
+     * @return the next short value from the stream.
+     *
+     * @throws IOException if an error occurs reading the source or the source has reached its end.
+     */
+    public short readShort() throws IOException {
+        require(Short.BYTES);
+
+        final byte[] bytes = window;
+        final int index = position;
+
+        position += Short.BYTES;
+
+        return (short) ((bytes[index] & 0xFF) << 8 | (bytes[index + 1] & 0xFF));
+    }
+
+    /**
+     * Reads a big endian int value from the window.
+     *
+     * @return the next int value from the stream.
+     *
+     * @throws IOException if an error occurs reading the source or the source has reached its end.
+     */
+    public int readInt() throws IOException {
+        require(Integer.BYTES);
+
+        final byte[] bytes = window;
+        final int index = position;
+
+        position += Integer.BYTES;
+
+        return (bytes[index] & 0xFF) << 24 |
+               (bytes[index + 1] & 0xFF) << 16 |
+               (bytes[index + 2] & 0xFF) << 8 |
+               (bytes[index + 3] & 0xFF);
+    }
+
+    /**
+     * Reads a big endian long value from the window.
+     *
+     * @return the next long value from the stream.
+     *
+     * @throws IOException if an error occurs reading the source or the source has reached its end.
+     */
+    public long readLong() throws IOException {
+        require(Long.BYTES);
+
+        final byte[] bytes = window;
+        final int index = position;
+
+        position += Long.BYTES;
+
+        return (long) (bytes[index] & 0xFF) << 56 |
+               (long) (bytes[index + 1] & 0xFF) << 48 |
+               (long) (bytes[index + 2] & 0xFF) << 40 |
+               (long) (bytes[index + 3] & 0xFF) << 32 |
+               (long) (bytes[index + 4] & 0xFF) << 24 |
+               (long) (bytes[index + 5] & 0xFF) << 16 |
+               (long) (bytes[index + 6] & 0xFF) << 8 |
+               (long) (bytes[index + 7] & 0xFF);
+    }
+
+    /**
+     * Reads the given number of bytes and decodes them as a UTF-8 encoded string.  The bytes are
+     * decoded in place from the window without first copying them into a separate array.
+     *
+     * @param length
+     * 		The number of bytes that make up the UTF-8 encoding.
+     *
+     * @return the decoded string value.
+     *
+     * @throws IOException if an error occurs reading the source or the encoding is malformed.
+     */
+    public String readUTF8(int length) throws IOException {
+        if (length == 0) {
+            return "";
+        }
+
+        require(length);
+
+        final byte[] bytes = window;
+        final int start = position;
+
+        if (charScratch.length < length) {
+            charScratch = new char[length];
+        }
+
+        final char[] chars = charScratch;
+
+        for (int i = 0; i < length; ++i) {
+            final byte value = bytes[start + i];
+            if (value < 0) {
+                final String result = utf8Decoder.decode(ByteBuffer.wrap(bytes, start, length)).toString();
+                position += length;
+                return result;
+            }
+
+            chars[i] = (char) value;
+        }
+
+        position += length;
+
+        return new String(chars, 0, length);
+    }
+
+    private void require(int required) throws IOException {
+        if (limit - position < required && !fill(required)) {
+            throw new EOFException(String.format(
+                "Reached end of stream while reading %d bytes, only %d remain", required, limit - position));
+        }
+    }
+
+    /*
+     * Ensures that the window holds at least the given number of unread bytes, compacting or
+     * growing the window as needed.  Returns false if the source ended before enough bytes
+     * could be read.
+     */
+    private boolean fill(int required) throws IOException {
+        final InputStream input = checkedSource();
+
+        if (markPosition != NO_MARK && position - markPosition > markLimit) {
+            markPosition = NO_MARK;
+        }
+
+        if (position == limit && markPosition == NO_MARK) {
+            position = limit = 0;
+        }
+
+        final int retainFrom = markPosition != NO_MARK ? markPosition : position;
+        final int retained = limit - retainFrom;
+        final int capacity = position - retainFrom + required;
+
+        if (capacity > window.length) {
+            final byte[] expanded = new byte[Math.max(capacity, window.length << 1)];
+            System.arraycopy(window, retainFrom, expanded, 0, retained);
+            window = expanded;
+        } else if (retainFrom > 0 && window.length - retainFrom < capacity) {
+            System.arraycopy(window, retainFrom, window, 0, retained);
+        } else {
+            return readFromSource(input, required);
+        }
+
+        position -= retainFrom;
+        limit = retained;
+        if (markPosition != NO_MARK) {
+            markPosition = 0;
+        }
+
+        return readFromSource(input, required);
+    }
+
+    private boolean readFromSource(InputStream input, int required) throws IOException {
+        while (limit - position < required) {
+            final int needed = required - (limit - position);
+            final int request = Math.max(needed, Math.min(window.length - limit, input.available()));
+            final int count = input.read(window, limit, request);
+
+            if (count < 0) {
+                return false;
+            }
+
+            limit += count;
+        }
+
+        return true;
+    }
+
+    private InputStream checkedSource() throws IOException {
+        if (source == null) {
+            throw new IOException("The decoder input stream has not been bound to a source");
+        }
+
+        return source;
+    }
+}
@@ -16,17 +16,27 @@
  */
 package org.apache.qpid.protonj2.codec.decoders;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.codec.DecodeException;
 import org.apache.qpid.protonj2.codec.Decoder;
 import org.apache.qpid.protonj2.codec.DecoderState;
+import org.apache.qpid.protonj2.codec.EncodingCodes;
+import org.apache.qpid.protonj2.types.DeliveryTag;
+import org.apache.qpid.protonj2.types.transport.Disposition;
+import org.apache.qpid.protonj2.types.transport.Flow;
+import org.apache.qpid.protonj2.types.transport.Transfer;
 
 /**
  * State object used by the Built in Decoder implementation.
@@ -34,13 +44,38 @@ import org.apache.qpid.protonj2.codec.DecoderState;
 public final class ProtonDecoderState implements DecoderState {
 
     private static final int MAX_CHAR_BUFFER_CACHE_SIZE = 100;
+    private static final VarHandle LONG_VIEW = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final int MAX_REUSABLE_TAG_SIZE = 32;
+
+    /**
+     * The largest encoded string size in bytes that is held in the optional string cache.
+     */
+    public static final int MAX_CACHED_STRING_SIZE = 64;
 
     private final CharsetDecoder STRING_DECODER = StandardCharsets.UTF_8.newDecoder();
     private final ProtonDecoder decoder;
     private final char[] decodeCache = new char[MAX_CHAR_BUFFER_CACHE_SIZE];
+    private final byte[] decodeBytesCache = new byte[MAX_CHAR_BUFFER_CACHE_SIZE];
 
     private UTF8Decoder stringDecoder;
 
+    private boolean reusePerformatives;
+    private Transfer reusableTransfer;
+    private Flow reusableFlow;
+    private Disposition reusableDisposition;
+    private ReusableDeliveryTag reusableDeliveryTag;
+
+    private static final int STRING_KEY_WORDS = MAX_CACHED_STRING_SIZE / Long.BYTES;
+
+    private final long[] stringKey = new long[STRING_KEY_WORDS];
+
+    // Keys of all cache entries stored in one flat array with a fixed number of words per entry
+    private long[] stringCacheKeys;
+    private int[] stringCacheLengths;
+    private String[] stringCacheValues;
+    private long stringCacheHits;
+    private long stringCacheMisses;
+
     /**
      * Create a new {@link DecoderState} instance that is joined forever to the given {@link Decoder}.
      *
@@ -84,10 +119,170 @@ public final class ProtonDecoderState implements DecoderState {
         return this;
     }
 
+    /**
+     * @return true if the {@link Transfer}, {@link Flow} and {@link Disposition} performatives are decoded into reused instances.
+     */
+    public boolean isReusePerformatives() {
+        return reusePerformatives;
+    }
+
+    /**
+     * Controls whether {@link Transfer}, {@link Flow} and {@link Disposition} performatives that are decoded as a
+     * single value using this {@link DecoderState} are decoded into instances owned by this state object which are
+     * reset and handed out again on each subsequent decode, the delivery tag of a decoded {@link Transfer} is likewise
+     * a reused instance.  A performative decoded in this mode is only valid until the next value is decoded using this
+     * state so a caller that needs to keep the performative or any of its values must copy them before that point.
+     * Performatives decoded as elements of an array are always new instances.
+     *
+     * @param reusePerformatives
+     * 		should the hot path performatives be decoded into reused instances.
+     *
+     * @return this {@link ProtonDecoderState} instance.
+     */
+    public ProtonDecoderState setReusePerformatives(boolean reusePerformatives) {
+        this.reusePerformatives = reusePerformatives;
+        return this;
+    }
+
+    /**
+     * @return the reset {@link Transfer} instance owned by this state that reused decodes are written into.
+     */
+    public Transfer getReusableTransfer() {
+        if (reusableTransfer == null) {
+            reusableTransfer = new Transfer();
+        }
+
+        return reusableTransfer.reset();
+    }
+
+    /**
+     * @return the reset {@link Flow} instance owned by this state that reused decodes are written into.
+     */
+    public Flow getReusableFlow() {
+        if (reusableFlow == null) {
+            reusableFlow = new Flow();
+        }
+
+        return reusableFlow.reset();
+    }
+
+    /**
+     * @return the reset {@link Disposition} instance owned by this state that reused decodes are written into.
+     */
+    public Disposition getReusableDisposition() {
+        if (reusableDisposition == null) {
+            reusableDisposition = new Disposition();
+        }
+
+        return reusableDisposition.reset();
+    }
+
+    /**
+     * Reads an encoded delivery tag into the {@link DeliveryTag} instance owned by this state object, the
+     * returned tag is only valid until the next delivery tag is read using this state.
+     *
+     * @param buffer
+     * 		The buffer where the encoded delivery tag is to be read from.
+     *
+     * @return the reused {@link DeliveryTag} holding the decoded tag bytes or null if the encoding was null.
+     *
+     * @throws DecodeException if an error occurs while reading the encoded delivery tag.
+     */
+    public DeliveryTag readReusableDeliveryTag(ProtonBuffer buffer) throws DecodeException {
+        final byte encodingCode = buffer.readByte();
+        final int length;
+
+        switch (encodingCode) {
+            case EncodingCodes.VBIN8:
+                length = buffer.readByte() & 0xff;
+                break;
+            case EncodingCodes.VBIN32:
+                length = buffer.readInt();
+                break;
+            case EncodingCodes.NULL:
+                return null;
+            default:
+                throw new DecodeException("Expected Binary type but found encoding: " + EncodingCodes.toString(encodingCode));
+        }
+
+        if (length > buffer.getReadableBytes()) {
+            throw new DecodeException(
+                String.format("Binary data size %d is specified to be greater than the amount " +
+                              "of data available (%d)", length, buffer.getReadableBytes()));
+        }
+
+        if (reusableDeliveryTag == null) {
+            reusableDeliveryTag = new ReusableDeliveryTag();
+        }
+
+        return reusableDeliveryTag.readFrom(buffer, length);
+    }
+
+    /**
+     * @return the number of entries in the string cache or zero if the cache is disabled.
+     */
+    public int getStringCacheSize() {
+        return stringCacheValues == null ? 0 : stringCacheValues.length;
+    }
+
+    /**
+     * Configures a small direct mapped cache of decoded {@link String} values keyed by their encoded bytes
+     * which allows repeated short strings such as addresses, subjects, content types and application property
+     * keys to be returned as the same {@link String} instance without decoding them again.  Each encoded value
+     * maps to a single entry of the cache so a value simply replaces whatever was previously cached in its
+     * entry.  Only strings whose encoding is no larger than {@link #MAX_CACHED_STRING_SIZE} are cached and the
+     * cache is not used when a custom {@link UTF8Decoder} has been set.
+     *
+     * @param cacheSize
+     * 		The number of cache entries which is rounded up to a power of two or zero to disable the cache.
+     *
+     * @return this {@link ProtonDecoderState} instance.
+     */
+    public ProtonDecoderState setStringCacheSize(int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("String cache size cannot be negative");
+        }
+
+        if (cacheSize == 0) {
+            stringCacheKeys = null;
+            stringCacheLengths = null;
+            stringCacheValues = null;
+        } else {
+            final int entries = cacheSize == 1 ? 1 : Integer.highestOneBit(cacheSize - 1) << 1;
+
+            stringCacheKeys = new long[entries * STRING_KEY_WORDS];
+            stringCacheLengths = new int[entries];
+            stringCacheValues = new String[entries];
+        }
+
+        stringCacheHits = 0;
+        stringCacheMisses = 0;
+
+        return this;
+    }
+
+    /**
+     * @return the number of decoded strings that were returned from the string cache.
+     */
+    public long getStringCacheHits() {
+        return stringCacheHits;
+    }
+
+    /**
+     * @return the number of cacheable strings that were not found in the string cache and were decoded.
+     */
+    public long getStringCacheMisses() {
+        return stringCacheMisses;
+    }
+
     @Override
     public String decodeUTF8(ProtonBuffer buffer, int length) throws DecodeException {
         if (stringDecoder == null) {
-            return internalDecode(buffer, length, STRING_DECODER, length > MAX_CHAR_BUFFER_CACHE_SIZE ? new char[length] : decodeCache);
+            if (stringCacheValues != null && length <= MAX_CACHED_STRING_SIZE) {
+                return cachedDecode(buffer, length);
+            }
+
+            return internalDecode(buffer, length, STRING_DECODER);
         } else {
             final int originalPosition = buffer.getReadOffset();
 
@@ -101,37 +296,108 @@ public final class ProtonDecoderState implements DecoderState {
         }
     }
 
-    private static String internalDecode(ProtonBuffer buffer, final int length, CharsetDecoder decoder, char[] scratch) {
-        final int bufferInitialPosition = buffer.getReadOffset();
+    private String cachedDecode(ProtonBuffer buffer, int length) {
+        final int words = readStringKey(buffer, length);
 
-        int offset;
-        for (offset = 0; offset < length; offset++) {
-            final byte b = buffer.getByte(bufferInitialPosition + offset);
-            if (b < 0) {
-                break;
+        int hash = length;
+        for (int i = 0; i < words; ++i) {
+            hash = 31 * hash + Long.hashCode(stringKey[i]);
+        }
+
+        final int index = (hash ^ (hash >>> 16)) & (stringCacheValues.length - 1);
+        final int keyOffset = index * STRING_KEY_WORDS;
+
+        if (stringCacheValues[index] != null && stringCacheLengths[index] == length &&
+            Arrays.equals(stringCacheKeys, keyOffset, keyOffset + words, stringKey, 0, words)) {
+            stringCacheHits++;
+            buffer.advanceReadOffset(length);
+            return stringCacheValues[index];
+        }
+
+        stringCacheMisses++;
+
+        final String decoded = internalDecode(buffer, length, STRING_DECODER);
+
+        System.arraycopy(stringKey, 0, stringCacheKeys, keyOffset, words);
+        stringCacheLengths[index] = length;
+        stringCacheValues[index] = decoded;
+
+        return decoded;
+    }
+
+    /*
+     * Packs the encoded string bytes into the key words eight bytes at a time without
+     * moving the read offset, the remaining bytes are packed into the final word.
+     */
+    private int readStringKey(ProtonBuffer buffer, int length) {
+        final int end = buffer.getReadOffset() + length;
+
+        int position = buffer.getReadOffset();
+        int words = 0;
+
+        for (; position + Long.BYTES <= end; position += Long.BYTES) {
+            stringKey[words++] = buffer.getLong(position);
+        }
+
+        if (position < end) {
+            long remainder = 0;
+            for (; position < end; ++position) {
+                remainder = remainder << Byte.SIZE | buffer.getByte(position) & 0xFF;
             }
-            scratch[offset] = (char) b;
+            stringKey[words++] = remainder;
         }
 
-        buffer.setReadOffset(bufferInitialPosition + offset);
+        return words;
+    }
 
-        if (offset == length) {
-            return new String(scratch, 0, length);
-        } else {
-            return internalDecodeUTF8(buffer, length, scratch, offset, decoder);
+    private String internalDecode(ProtonBuffer buffer, final int length, CharsetDecoder decoder) {
+        final byte[] bytes = length > MAX_CHAR_BUFFER_CACHE_SIZE ? new byte[length] : decodeBytesCache;
+
+        buffer.copyInto(buffer.getReadOffset(), bytes, 0, length);
+        buffer.advanceReadOffset(length);
+
+        final int asciiLength = asciiPrefixLength(bytes, length);
+
+        if (asciiLength == length) {
+            // ASCII bytes map directly to the same ISO-8859-1 characters which the String
+            // constructor copies without going through a decoder.
+            return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+        }
+
+        final char[] scratch = length > MAX_CHAR_BUFFER_CACHE_SIZE ? new char[length] : decodeCache;
+
+        for (int offset = 0; offset < asciiLength; offset++) {
+            scratch[offset] = (char) bytes[offset];
         }
+
+        return internalDecodeUTF8(ByteBuffer.wrap(bytes, asciiLength, length - asciiLength), scratch, asciiLength, decoder);
     }
 
-    private static String internalDecodeUTF8(final ProtonBuffer buffer, final int length, final char[] chars, final int offset, final CharsetDecoder decoder) {
-        final CharBuffer out = CharBuffer.wrap(chars);
-        out.position(offset);
+    /*
+     * Counts the leading ASCII bytes checking eight bytes at a time and only examines single
+     * bytes for the tail of the region or to locate the first byte with the high bit set.
+     */
+    private static int asciiPrefixLength(byte[] bytes, int length) {
+        int count = 0;
 
-        // Create a buffer from the remaining portion of the buffer and then use the decoder to complete the work
-        // remember to move the main buffer position to consume the data processed.
-        ByteBuffer byteBuffer = ByteBuffer.allocate(buffer.getReadableBytes());
+        for (; count + Long.BYTES <= length; count += Long.BYTES) {
+            if (((long) LONG_VIEW.get(bytes, count) & 0x8080808080808080L) != 0) {
+                break;
+            }
+        }
 
-        buffer.copyInto(buffer.getReadOffset(), byteBuffer, 0, length - offset);
-        buffer.advanceReadOffset(length - offset);
+        for (; count < length; count++) {
+            if (bytes[count] < 0) {
+                break;
+            }
+        }
+
+        return count;
+    }
+
+    private static String internalDecodeUTF8(final ByteBuffer byteBuffer, final char[] chars, final int offset, final CharsetDecoder decoder) {
+        final CharBuffer out = CharBuffer.wrap(chars);
+        out.position(offset);
 
         try {
             for (;;) {
@@ -155,4 +421,79 @@ public final class ProtonDecoderState implements DecoderState {
             decoder.reset();
         }
     }
+
+    /*
+     * Delivery tag whose bytes are overwritten on each decode, tag arrays are kept per
+     * length up to the largest tag size the specification allows so that the tag bytes
+     * always have the exact tag length without allocating on each transfer.
+     */
+    private static final class ReusableDeliveryTag implements DeliveryTag {
+
+        private final byte[][] tagArrays = new byte[MAX_REUSABLE_TAG_SIZE + 1][];
+
+        private byte[] tagBytes;
+
+        ReusableDeliveryTag readFrom(ProtonBuffer buffer, int length) {
+            if (length > MAX_REUSABLE_TAG_SIZE) {
+                tagBytes = new byte[length];
+            } else {
+                tagBytes = tagArrays[length];
+
+                if (tagBytes == null) {
+                    tagBytes = tagArrays[length] = new byte[length];
+                }
+            }
+
+            buffer.readBytes(tagBytes, 0, length);
+
+            return this;
+        }
+
+        @Override
+        public int tagLength() {
+            return tagBytes.length;
+        }
+
+        @Override
+        public byte[] tagBytes() {
+            return tagBytes;
+        }
+
+        @Override
+        public ProtonBuffer tagBuffer() {
+            return ProtonBufferAllocator.defaultAllocator().copy(tagBytes).convertToReadOnly();
+        }
+
+        @Override
+        public DeliveryTag copy() {
+            return new DeliveryTag.ProtonDeliveryTag(Arrays.copyOf(tagBytes, tagBytes.length));
+        }
+
+        @Override
+        public void writeTo(ProtonBuffer buffer) {
+            buffer.writeBytes(tagBytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(tagBytes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof DeliveryTag)) {
+                return false;
+            }
+
+            return Arrays.equals(tagBytes, ((DeliveryTag) other).tagBytes());
+        }
+
+        @Override
+        public String toString() {
+            return "DeliveryTag: {" + Arrays.toString(tagBytes) + "}";
+        }
+    }
 }
@@ -26,6 +26,7 @@ import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.StandardCharsets;
 
+import org.apache.qpid.protonj2.buffer.ProtonBufferInputStream;
 import org.apache.qpid.protonj2.codec.DecodeException;
 import org.apache.qpid.protonj2.codec.Decoder;
 import org.apache.qpid.protonj2.codec.StreamDecoder;
@@ -43,6 +44,7 @@ public final class ProtonStreamDecoderState implements StreamDecoderState {
     private final char[] decodeCache = new char[MAX_CHAR_BUFFER_CACHE_SIZE];
 
     private UTF8StreamDecoder stringDecoder;
+    private ProtonDecoderInputStream readAheadStream;
 
     /**
      * Create a new {@link StreamDecoderState} instance that is joined forever to the given {@link Decoder}.
@@ -84,10 +86,29 @@ public final class ProtonStreamDecoderState implements StreamDecoderState {
         this.stringDecoder = stringDecoder;
     }
 
+    /**
+     * Streams that already read in bulk from memory, a {@link ProtonBufferInputStream} or a
+     * {@link ProtonDecoderInputStream}, are returned unchanged.
+     */
+    @Override
+    public InputStream readAheadStream(InputStream source) {
+        if (source instanceof ProtonBufferInputStream || source instanceof ProtonDecoderInputStream) {
+            return source;
+        }
+
+        if (readAheadStream == null) {
+            readAheadStream = new ProtonDecoderInputStream();
+        }
+
+        return readAheadStream.reset(source);
+    }
+
     @Override
     public String decodeUTF8(InputStream stream, int length) throws DecodeException {
         try {
-            if (stringDecoder == null) {
+            if (stringDecoder == null && stream instanceof ProtonDecoderInputStream) {
+                return ((ProtonDecoderInputStream) stream).readUTF8(length);
+            } else if (stringDecoder == null) {
                 return internalDecode(stream, length, STRING_DECODER, length > MAX_CHAR_BUFFER_CACHE_SIZE ? new char[length] : decodeCache);
             } else {
                 return stringDecoder.decodeUTF8(stream);
@@ -126,7 +147,9 @@ public final class ProtonStreamDecoderState implements StreamDecoderState {
         // remember to move the main buffer position to consume the data processed.
         final byte[] trailingBytes = new byte[length - offset];
         trailingBytes[0] = stoppageByte;
-        stream.read(trailingBytes, 1, trailingBytes.length - 1);
+        if (stream.readNBytes(trailingBytes, 1, trailingBytes.length - 1) < trailingBytes.length - 1) {
+            throw new EOFException("Reached end of stream before decoding the full String content");
+        }
         ByteBuffer byteBuffer = ByteBuffer.wrap(trailingBytes);
 
         try {
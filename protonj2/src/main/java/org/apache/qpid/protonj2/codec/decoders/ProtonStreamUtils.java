@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.apache.qpid.protonj2.buffer.ProtonBufferInputStream;
 import org.apache.qpid.protonj2.codec.DecodeEOFException;
 import org.apache.qpid.protonj2.codec.DecodeException;
 import org.apache.qpid.protonj2.codec.EncodeException;
@@ -27,6 +28,10 @@ import org.apache.qpid.protonj2.codec.EncodeException;
 /**
  * Set of Utility methods useful when dealing with byte arrays and other
  * primitive types.
+ * <p>
+ * Reads from a {@link ProtonDecoderInputStream} or a {@link ProtonBufferInputStream} are
+ * performed in bulk against the underlying window or buffer, other stream types are read
+ * a byte at a time.
  */
 public abstract class ProtonStreamUtils {
 
@@ -139,14 +144,18 @@ public abstract class ProtonStreamUtils {
                 return EMPTY_ARRAY;
             } else {
                 final byte[] payload = new byte[length];
+                final int read;
 
-                // NOTE: In JDK 11 we could use stream.readNBytes(length) which would allow
-                //       the stream to more efficiently provide the resulting bytes possibly
-                //       without a memory copy.
+                if (stream instanceof ProtonBufferInputStream) {
+                    read = Math.min(length, stream.available());
+                    ((ProtonBufferInputStream) stream).readFully(payload, 0, read);
+                } else {
+                    read = stream.readNBytes(payload, 0, length);
+                }
 
-                if (stream.read(payload) < length) {
+                if (read < length) {
                     throw new DecodeException(String.format(
-                        "Failed to read requested number of bytes %d: instead only %d bytes were read.", length, payload.length));
+                        "Failed to read requested number of bytes %d: instead only %d bytes were read.", length, read));
                 }
 
                 return payload;
@@ -193,6 +202,12 @@ public abstract class ProtonStreamUtils {
      */
     public static byte readByte(InputStream stream) throws DecodeException {
         try {
+            if (stream instanceof ProtonDecoderInputStream) {
+                return ((ProtonDecoderInputStream) stream).readByte();
+            } else if (stream instanceof ProtonBufferInputStream) {
+                return ((ProtonBufferInputStream) stream).readByte();
+            }
+
             int result = stream.read();
             if (result >= 0) {
                 return (byte) result;
@@ -216,6 +231,16 @@ public abstract class ProtonStreamUtils {
      * @throws DecodeException if an error occurs during the read or EOF is reached.
      */
     public static short readShort(InputStream stream) {
+        try {
+            if (stream instanceof ProtonDecoderInputStream) {
+                return ((ProtonDecoderInputStream) stream).readShort();
+            } else if (stream instanceof ProtonBufferInputStream) {
+                return ((ProtonBufferInputStream) stream).readShort();
+            }
+        } catch (IOException ex) {
+            throw new DecodeException("Caught IO error reading from provided stream", ex);
+        }
+
         return (short) ((readByte(stream) & 0xFF) << 8 |
                         (readByte(stream) & 0xFF) << 0);
     }
@@ -232,6 +257,16 @@ public abstract class ProtonStreamUtils {
      * @throws DecodeException if an error occurs during the read or EOF is reached.
      */
     public static int readInt(InputStream stream) {
+        try {
+            if (stream instanceof ProtonDecoderInputStream) {
+                return ((ProtonDecoderInputStream) stream).readInt();
+            } else if (stream instanceof ProtonBufferInputStream) {
+                return ((ProtonBufferInputStream) stream).readInt();
+            }
+        } catch (IOException ex) {
+            throw new DecodeException("Caught IO error reading from provided stream", ex);
+        }
+
         return (readByte(stream) & 0xFF) << 24 |
                (readByte(stream) & 0xFF) << 16 |
                (readByte(stream) & 0xFF) << 8 |
@@ -250,6 +285,16 @@ public abstract class ProtonStreamUtils {
      * @throws DecodeException if an error occurs during the read or EOF is reached.
      */
     public static long readLong(InputStream stream) {
+        try {
+            if (stream instanceof ProtonDecoderInputStream) {
+                return ((ProtonDecoderInputStream) stream).readLong();
+            } else if (stream instanceof ProtonBufferInputStream) {
+                return ((ProtonBufferInputStream) stream).readLong();
+            }
+        } catch (IOException ex) {
+            throw new DecodeException("Caught IO error reading from provided stream", ex);
+        }
+
         return (long) (readByte(stream) & 0xFF) << 56 |
                (long) (readByte(stream) & 0xFF) << 48 |
                (long) (readByte(stream) & 0xFF) << 40 |
@@ -29,6 +29,7 @@ import org.apache.qpid.protonj2.codec.TypeDecoder;
 import org.apache.qpid.protonj2.codec.decoders.AbstractDescribedTypeDecoder;
 import org.apache.qpid.protonj2.codec.decoders.ProtonStreamUtils;
 import org.apache.qpid.protonj2.codec.decoders.primitives.BinaryTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.primitives.NullTypeDecoder;
 import org.apache.qpid.protonj2.types.Binary;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedLong;
@@ -107,9 +108,12 @@ public final class DataTypeDecoder extends AbstractDescribedTypeDecoder<Data> {
     public void skipValue(ProtonBuffer buffer, DecoderState state) throws DecodeException {
         final TypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(buffer, state);
 
-        checkIsExpectedType(BinaryTypeDecoder.class, decoder);
+        // A null encoding is read as an empty Data section so it is also accepted here
+        if (!(decoder instanceof NullTypeDecoder)) {
+            checkIsExpectedType(BinaryTypeDecoder.class, decoder);
 
-        decoder.skipValue(buffer, state);
+            decoder.skipValue(buffer, state);
+        }
     }
 
     @Override
@@ -151,8 +155,11 @@ public final class DataTypeDecoder extends AbstractDescribedTypeDecoder<Data> {
     public void skipValue(InputStream stream, StreamDecoderState state) throws DecodeException {
         final StreamTypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(stream, state);
 
-        checkIsExpectedType(BinaryTypeDecoder.class, decoder);
+        // A null encoding is read as an empty Data section so it is also accepted here
+        if (!(decoder instanceof NullTypeDecoder)) {
+            checkIsExpectedType(BinaryTypeDecoder.class, decoder);
 
-        decoder.skipValue(stream, state);
+            decoder.skipValue(stream, state);
+        }
     }
 }
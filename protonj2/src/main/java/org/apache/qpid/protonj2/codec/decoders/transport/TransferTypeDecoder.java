@@ -28,6 +28,7 @@ import org.apache.qpid.protonj2.codec.StreamDecoderState;
 import org.apache.qpid.protonj2.codec.StreamTypeDecoder;
 import org.apache.qpid.protonj2.codec.TypeDecoder;
 import org.apache.qpid.protonj2.codec.decoders.AbstractDescribedListTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.codec.decoders.ProtonStreamUtils;
 import org.apache.qpid.protonj2.codec.decoders.primitives.ListTypeDecoder;
 import org.apache.qpid.protonj2.types.Symbol;
@@ -64,7 +65,7 @@ public final class TransferTypeDecoder extends AbstractDescribedListTypeDecoder<
     public Transfer readValue(ProtonBuffer buffer, DecoderState state) throws DecodeException {
         final TypeDecoder<?> decoder = state.getDecoder().readNextTypeDecoder(buffer, state);
 
-        return readTransfer(buffer, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder));
+        return readTransfer(buffer, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder), isReusePerformatives(state));
     }
 
     @Override
@@ -73,14 +74,18 @@ public final class TransferTypeDecoder extends AbstractDescribedListTypeDecoder<
 
         final Transfer[] result = new Transfer[count];
         for (int i = 0; i < count; ++i) {
-            result[i] = readTransfer(buffer, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder));
+            result[i] = readTransfer(buffer, state.getDecoder(), state, checkIsExpectedTypeAndCast(ListTypeDecoder.class, decoder), false);
         }
 
         return result;
     }
 
-    private Transfer readTransfer(ProtonBuffer buffer, Decoder decoder, DecoderState state, ListTypeDecoder listDecoder) throws DecodeException {
-        final Transfer transfer = new Transfer();
+    private static boolean isReusePerformatives(DecoderState state) {
+        return state instanceof ProtonDecoderState && ((ProtonDecoderState) state).isReusePerformatives();
+    }
+
+    private Transfer readTransfer(ProtonBuffer buffer, Decoder decoder, DecoderState state, ListTypeDecoder listDecoder, boolean reuse) throws DecodeException {
+        final Transfer transfer = reuse ? ((ProtonDecoderState) state).getReusableTransfer() : new Transfer();
 
         @SuppressWarnings("unused")
         final int size = listDecoder.readSize(buffer, state);
@@ -116,7 +121,11 @@ public final class TransferTypeDecoder extends AbstractDescribedListTypeDecoder<
                     transfer.setDeliveryId(decoder.readUnsignedInteger(buffer, state, 0l));
                     break;
                 case 2:
-                    transfer.setDeliveryTag(decoder.readDeliveryTag(buffer, state));
+                    if (reuse) {
+                        transfer.setDeliveryTag(((ProtonDecoderState) state).readReusableDeliveryTag(buffer));
+                    } else {
+                        transfer.setDeliveryTag(decoder.readDeliveryTag(buffer, state));
+                    }
                     break;
                 case 3:
                     transfer.setMessageFormat(decoder.readUnsignedInteger(buffer, state, 0l));
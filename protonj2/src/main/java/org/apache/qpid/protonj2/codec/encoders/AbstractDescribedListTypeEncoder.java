@@ -17,10 +17,12 @@
 package org.apache.qpid.protonj2.codec.encoders;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.codec.EncodeException;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
+import org.apache.qpid.protonj2.codec.encoders.primitives.UnsignedLongTypeEncoder;
 
 /**
  * Base class used for all Described Type objects that are represented as a List
@@ -63,6 +65,31 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
      */
     public abstract void writeElement(V source, int index, ProtonBuffer buffer, Encoder encoder, EncoderState state);
 
+    /**
+     * Computes the number of bytes that writing the element identified with the given index
+     * would produce.
+     * <p>
+     * The default implementation writes the element into a scratch buffer to measure it, the
+     * encoders of types that are encoded often should override this with a direct computation.
+     *
+     * @param source
+     *      the source of the list elements to size
+     * @param index
+     *      the element index that needs to be sized
+     * @param encoder
+     *      the current Encoder value to use.
+     * @param state
+     *      the current EncoderState value to use.
+     *
+     * @return the number of bytes the encoded element occupies.
+     */
+    public int getElementSize(V source, int index, Encoder encoder, EncoderState state) {
+        try (ProtonBuffer scratch = ProtonBufferAllocator.defaultAllocator().allocate()) {
+            writeElement(source, index, scratch, encoder, state);
+            return scratch.getReadableBytes();
+        }
+    }
+
     /**
      * Gets the number of elements that will result when this type is encoded
      * into an AMQP List type.
@@ -89,7 +116,7 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
         final Encoder encoder = state.getEncoder();
 
         buffer.writeByte(EncodingCodes.DESCRIBED_TYPE_INDICATOR);
-        encoder.writeUnsignedLong(buffer, state, getDescriptorCode().byteValue());
+        encoder.writeUnsignedLong(buffer, state, getDescriptorCode().longValue());
 
         final int count = getElementCount(value);
         final byte encodingCode = getListEncoding(value);
@@ -110,6 +137,37 @@ public abstract class AbstractDescribedListTypeEncoder<V> extends AbstractDescri
         }
     }
 
+    @Override
+    public int sizeOf(EncoderState state, V value) {
+        final Encoder encoder = state.getEncoder();
+        final int count = getElementCount(value);
+        final byte encodingCode = getListEncoding(value);
+
+        if (count < getMinElementCount()) {
+            throw new EncodeException("Incomplete Type cannot be encoded");
+        }
+
+        // Described type indicator, descriptor code and list encoding code
+        int size = UnsignedLongTypeEncoder.getEncodedSize(getDescriptorCode().longValue()) + 2;
+
+        switch (encodingCode) {
+            case EncodingCodes.LIST8:
+                size += Byte.BYTES + Byte.BYTES;
+                break;
+            case EncodingCodes.LIST32:
+                size += Integer.BYTES + Integer.BYTES;
+                break;
+            default:
+                return size;
+        }
+
+        for (int i = 0; i < count; ++i) {
+            size += getElementSize(value, i, encoder, state);
+        }
+
+        return size;
+    }
+
     private void writeSmallType(ProtonBuffer buffer, Encoder encoder, EncoderState state, V value, int elementCount) {
         final int startIndex = buffer.getWriteOffset();
 
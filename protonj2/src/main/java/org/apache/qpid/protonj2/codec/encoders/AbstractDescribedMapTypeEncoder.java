@@ -16,10 +16,15 @@
  */
 package org.apache.qpid.protonj2.codec.encoders;
 
+import java.util.Map;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
+import org.apache.qpid.protonj2.codec.TypeEncoder;
+import org.apache.qpid.protonj2.codec.encoders.primitives.UnsignedLongTypeEncoder;
 
 /**
  * Base class used for all Described Type objects that are represented as a List
@@ -30,6 +35,8 @@ import org.apache.qpid.protonj2.codec.EncodingCodes;
  */
 public abstract class AbstractDescribedMapTypeEncoder<K, V, M> extends AbstractDescribedTypeEncoder<M> {
 
+    private static final int MAX_MAP8_CANDIDATE_ENTRIES = 8;
+
     /**
      * Determine the map type the given value can be encoded to based on the number
      * of bytes that would be needed to hold the encoded form of the resulting list
@@ -86,12 +93,97 @@ public abstract class AbstractDescribedMapTypeEncoder<K, V, M> extends AbstractD
      */
     public abstract void writeMapEntries(ProtonBuffer buffer, Encoder encoder, EncoderState state, M value);
 
+    /**
+     * Computes the number of bytes that writing the Map entries of the given value would
+     * produce, not including the Map preamble.
+     * <p>
+     * The default implementation writes the entries into a scratch buffer to measure them,
+     * the encoders of types that are encoded often should override this with a direct
+     * computation.
+     *
+     * @param encoder
+     *      the current encoder.
+     * @param state
+     *      the current encoder state.
+     * @param value
+     * 		the value whose map entries are to be sized.
+     *
+     * @return the number of bytes the encoded map entries occupy.
+     */
+    public int getMapEntriesSize(Encoder encoder, EncoderState state, M value) {
+        try (ProtonBuffer scratch = ProtonBufferAllocator.defaultAllocator().allocate()) {
+            writeMapEntries(scratch, encoder, state, value);
+            return scratch.getReadableBytes();
+        }
+    }
+
+    /**
+     * Selects the Map encoding for a map with the given number of entries without visiting them.
+     * Maps with only a few entries are optimistically written as a MAP8 and are widened to a MAP32
+     * after the entries are written in the uncommon case that they do not fit, larger maps are
+     * always written as a MAP32.
+     *
+     * @param map
+     * 		The map whose entries are going to be encoded.
+     *
+     * @return the encoding code of the map type encoding that should be used to write the map.
+     */
+    protected static byte selectMapEncoding(Map<?, ?> map) {
+        return map.size() <= MAX_MAP8_CANDIDATE_ENTRIES ? EncodingCodes.MAP8 : EncodingCodes.MAP32;
+    }
+
+    /**
+     * Writes the entries of the given map using the provided encoder for the keys and resolves the
+     * encoder of the values only when the type of the value differs from that of the previous value
+     * so that maps whose values are all of the same type perform a single encoder lookup.
+     *
+     * @param <T> the type of the map keys
+     *
+     * @param buffer
+     *      the buffer where the map entries should be encoded to.
+     * @param encoder
+     *      the current encoder.
+     * @param state
+     *      the current encoder state.
+     * @param keyEncoder
+     *      the encoder used to write each of the map keys.
+     * @param map
+     * 		the map whose entries are written.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    protected static <T> void writeMapEntries(ProtonBuffer buffer, Encoder encoder, EncoderState state, TypeEncoder<T> keyEncoder, Map<T, ?> map) {
+        Class<?> valueType = null;
+        TypeEncoder valueEncoder = null;
+
+        for (Map.Entry<T, ?> entry : map.entrySet()) {
+            keyEncoder.writeType(buffer, state, entry.getKey());
+
+            final Object value = entry.getValue();
+
+            if (value == null) {
+                buffer.writeByte(EncodingCodes.NULL);
+                continue;
+            }
+
+            if (value.getClass() != valueType) {
+                valueType = value.getClass();
+                valueEncoder = encoder.getTypeEncoder(value);
+
+                if (valueEncoder == null) {
+                    throw new IllegalArgumentException("Do not know how to write Objects of class " + valueType.getName());
+                }
+            }
+
+            valueEncoder.writeType(buffer, state, value);
+        }
+    }
+
     @Override
     public void writeType(ProtonBuffer buffer, EncoderState state, M value) {
         final Encoder encoder = state.getEncoder();
 
         buffer.writeByte(EncodingCodes.DESCRIBED_TYPE_INDICATOR);
-        encoder.writeUnsignedLong(buffer, state, getDescriptorCode().byteValue());
+        encoder.writeUnsignedLong(buffer, state, getDescriptorCode().longValue());
 
         if (hasMap(value)) {
             final int count = getMapSize(value);
@@ -112,6 +204,31 @@ public abstract class AbstractDescribedMapTypeEncoder<K, V, M> extends AbstractD
         }
     }
 
+    @Override
+    public int sizeOf(EncoderState state, M value) {
+        // Described type indicator and descriptor code
+        final int size = UnsignedLongTypeEncoder.getEncodedSize(getDescriptorCode().longValue()) + 1;
+
+        if (hasMap(value)) {
+            final int entriesSize = getMapEntriesSize(state.getEncoder(), state, value);
+
+            switch (getMapEncoding(value)) {
+                case EncodingCodes.MAP8:
+                    if (entriesSize + Byte.BYTES <= 255) {
+                        return size + 1 + Byte.BYTES + Byte.BYTES + entriesSize;
+                    }
+                    // Widened to a MAP32 when written
+                    return size + 1 + Integer.BYTES + Integer.BYTES + entriesSize;
+                case EncodingCodes.MAP32:
+                    return size + 1 + Integer.BYTES + Integer.BYTES + entriesSize;
+                default:
+                    return size + 1;
+            }
+        } else {
+            return size + 1;
+        }
+    }
+
     private void writeSmallType(ProtonBuffer buffer, Encoder encoder, EncoderState state, M value, int elementCount) {
         final int startIndex = buffer.getWriteOffset();
 
@@ -124,7 +241,26 @@ public abstract class AbstractDescribedMapTypeEncoder<K, V, M> extends AbstractD
         // Move back and write the size
         final int writeSize = (buffer.getWriteOffset() - startIndex) - Byte.BYTES;
 
-        buffer.setByte(startIndex, (byte) writeSize);
+        if (writeSize <= 255) {
+            buffer.setByte(startIndex, (byte) writeSize);
+        } else {
+            widenToLargeType(buffer, startIndex, elementCount);
+        }
+    }
+
+    private static void widenToLargeType(ProtonBuffer buffer, int startIndex, int elementCount) {
+        final int entriesIndex = startIndex + Byte.BYTES + Byte.BYTES;
+        final int entriesSize = buffer.getWriteOffset() - entriesIndex;
+        final byte[] entries = new byte[entriesSize];
+
+        buffer.copyInto(entriesIndex, entries, 0, entriesSize);
+
+        // Rewrite from the encoding code with the MAP32 preamble followed by the entries
+        buffer.setWriteOffset(startIndex - Byte.BYTES);
+        buffer.writeByte(EncodingCodes.MAP32);
+        buffer.writeInt(entriesSize + Integer.BYTES);
+        buffer.writeInt(elementCount * 2);
+        buffer.writeBytes(entries);
     }
 
     private void writeLargeType(ProtonBuffer buffer, Encoder encoder, EncoderState state, M value, int elementCount) {
@@ -52,6 +52,13 @@ public final class DeliveryTagEncoder implements TypeEncoder<DeliveryTag> {
         value.writeTo(buffer);
     }
 
+    @Override
+    public int sizeOf(EncoderState state, DeliveryTag value) {
+        final int tagLength = value.tagLength();
+
+        return tagLength > 255 ? tagLength + Integer.BYTES + 1 : tagLength + Byte.BYTES + 1;
+    }
+
     @Override
     public void writeArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         throw new UnsupportedOperationException("Cannot Write Arrays of Delivery Tags, use Binary types instead.");
@@ -103,6 +103,20 @@ public final class ProtonEncoder implements Encoder {
     private ProtonEncoderState singleThreadedState;
 
     private final Map<Class<?>, TypeEncoder<?>> typeEncoders = new HashMap<>();
+
+    // Caches the encoder resolved for each class so that encoding an Object does not need to
+    // consult the registry or walk the type hierarchy again, entries are dropped from the cache
+    // when an encoder is registered for their class.
+    private final ClassValue<TypeEncoder<?>> encoderCache = new ClassValue<TypeEncoder<?>>() {
+
+        @Override
+        protected TypeEncoder<?> computeValue(Class<?> typeClass) {
+            final TypeEncoder<?> encoder = typeEncoders.get(typeClass);
+
+            return encoder != null ? encoder : deduceTypeEncoder(typeClass);
+        }
+    };
+
     {
         typeEncoders.put(arrayEncoder.getTypeClass(), arrayEncoder);
         typeEncoders.put(binaryEncoder.getTypeClass(), binaryEncoder);
@@ -654,61 +668,40 @@ public final class ProtonEncoder implements Encoder {
     @Override
     public void writeObject(ProtonBuffer buffer, EncoderState state, Object value) throws EncodeException {
         if (value != null) {
-            TypeEncoder encoder = typeEncoders.get(value.getClass());
+            final TypeEncoder encoder = encoderCache.get(value.getClass());
 
             if (encoder == null) {
-                writeUnregisteredType(buffer, state, value);
-            } else {
-                encoder.writeType(buffer, state, value);
+                throw new IllegalArgumentException(
+                    "Do not know how to write Objects of class " + value.getClass().getName());
             }
+
+            encoder.writeType(buffer, state, value);
         } else {
             buffer.writeByte(EncodingCodes.NULL);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void writeUnregisteredType(ProtonBuffer buffer, EncoderState state, Object value) {
-        if (value.getClass().isArray()) {
-            Class<?> componentType = value.getClass().getComponentType();
-            if (componentType.isPrimitive()) {
-                if (componentType == Boolean.TYPE) {
-                    writeArray(buffer, state, (boolean[]) value);
-                } else if (componentType == Byte.TYPE) {
-                    writeArray(buffer, state, (byte[]) value);
-                } else if (componentType == Short.TYPE) {
-                    writeArray(buffer, state, (short[]) value);
-                } else if (componentType == Integer.TYPE) {
-                    writeArray(buffer, state, (int[]) value);
-                } else if (componentType == Long.TYPE) {
-                    writeArray(buffer, state, (long[]) value);
-                } else if (componentType == Float.TYPE) {
-                    writeArray(buffer, state, (float[]) value);
-                } else if (componentType == Double.TYPE) {
-                    writeArray(buffer, state, (double[]) value);
-                } else if (componentType == Character.TYPE) {
-                    writeArray(buffer, state, (char[]) value);
-                } else {
-                    throw new IllegalArgumentException(
-                        "Cannot write arrays of type " + componentType.getName());
-                }
-            } else {
-                writeArray(buffer, state, (Object[]) value);
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @Override
+    public int sizeOf(EncoderState state, Object value) throws EncodeException {
+        if (value != null) {
+            final TypeEncoder encoder = encoderCache.get(value.getClass());
+
+            if (encoder == null) {
+                throw new IllegalArgumentException(
+                    "Do not know how to write Objects of class " + value.getClass().getName());
             }
-        } else if (value instanceof List) {
-            writeList(buffer, state, (List<Object>) value);
-        } else if (value instanceof Map) {
-            writeMap(buffer, state, (Map<Object, Object>) value);
-        } else if (value instanceof DescribedType) {
-            writeDescribedType(buffer, state, (DescribedType) value);
+
+            return encoder.sizeOf(state, value);
         } else {
-            throw new IllegalArgumentException(
-                "Do not know how to write Objects of class " + value.getClass().getName());
+            return 1;
         }
     }
 
     @Override
     public <V> ProtonEncoder registerDescribedTypeEncoder(DescribedTypeEncoder<V> encoder) {
         typeEncoders.put(encoder.getTypeClass(), encoder.encoderRegistered(this));
+        encoderCache.remove(encoder.getTypeClass());
         return this;
     }
 
@@ -717,7 +710,7 @@ public final class ProtonEncoder implements Encoder {
         if (value == null) {
             return nullEncoder;
         } else {
-            return getTypeEncoder(value.getClass(), value);
+            return encoderCache.get(value.getClass());
         }
     }
 
@@ -738,41 +731,29 @@ public final class ProtonEncoder implements Encoder {
      * @return a {@link TypeEncoder} if a match to the given query is found or null of non can be deduced.
      */
     public TypeEncoder<?> getTypeEncoder(Class<?> typeClass, Object instance) {
-        TypeEncoder<?> encoder = typeEncoders.get(typeClass);
+        final TypeEncoder<?> encoder = encoderCache.get(typeClass);
 
-        if (encoder == null) {
-            encoder = deduceTypeEncoder(typeClass, instance);
+        // For instances of a specific DescribedType that we don't know about the generic
+        // described type encoder will work.  We don't use that though for class lookups
+        // as we don't want to allow arrays of polymorphic types.
+        if (encoder == unknownTypeEncoder && instance == null && typeClass != unknownTypeEncoder.getTypeClass()) {
+            return null;
         }
 
         return encoder;
     }
 
-    private TypeEncoder<?> deduceTypeEncoder(Class<?> typeClass, Object instance) {
-        TypeEncoder<?> encoder = typeEncoders.get(typeClass);
-
+    private static TypeEncoder<?> deduceTypeEncoder(Class<?> typeClass) {
         if (typeClass.isArray()) {
-            encoder = arrayEncoder;
-        } else {
-            if (List.class.isAssignableFrom(typeClass)) {
-                encoder = listEncoder;
-            } else if (Map.class.isAssignableFrom(typeClass)) {
-                encoder = mapEncoder;
-            } else if (DescribedType.class.isAssignableFrom(typeClass)) {
-                // For instances of a specific DescribedType that we don't know about the
-                // generic described type encoder will work.  We don't use that though for
-                // class lookups as we don't want to allow arrays of polymorphic types.
-                if (encoder == null && instance != null) {
-                    if (encoder == null) {
-                        return unknownTypeEncoder;
-                    }
-                }
-            }
+            return arrayEncoder;
+        } else if (List.class.isAssignableFrom(typeClass)) {
+            return listEncoder;
+        } else if (Map.class.isAssignableFrom(typeClass)) {
+            return mapEncoder;
+        } else if (DescribedType.class.isAssignableFrom(typeClass)) {
+            return unknownTypeEncoder;
+        } else {
+            return null;
         }
-
-        // Ensure that next time we find the encoder immediately and don't need to
-        // go through this process again.
-        typeEncoders.put(typeClass, encoder);
-
-        return encoder;
     }
 }
@@ -82,6 +82,12 @@ public final class ProtonEncoderState implements EncoderState {
         return buffer;
     }
 
+    @Override
+    public int getUTF8Length(CharSequence sequence) {
+        // Any custom UTF8 encoder must produce the same number of bytes for valid input
+        return calculateUTF8Length(0, sequence);
+    }
+
     private static void encodeUTF8Sequence(ProtonBuffer buffer, CharSequence sequence) {
         final int length = sequence.length();
 
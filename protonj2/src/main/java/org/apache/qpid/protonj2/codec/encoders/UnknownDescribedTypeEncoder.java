@@ -44,6 +44,12 @@ public final class UnknownDescribedTypeEncoder implements TypeEncoder<DescribedT
         state.getEncoder().writeObject(buffer, state, value.getDescribed());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, DescribedType value) {
+        return 1 + state.getEncoder().sizeOf(state, value.getDescriptor()) +
+                   state.getEncoder().sizeOf(state, value.getDescribed());
+    }
+
     @Override
     public void writeArray(ProtonBuffer buffer, EncoderState state, Object[] value) {
         throw new UnsupportedOperationException("Cannot write array of unknown described types.");
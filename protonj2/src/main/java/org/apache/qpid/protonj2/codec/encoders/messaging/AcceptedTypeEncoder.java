@@ -62,6 +62,11 @@ public final class AcceptedTypeEncoder extends AbstractDescribedListTypeEncoder<
         buffer.writeBytes(ACCEPTED_ENCODING);
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Accepted value) {
+        return ACCEPTED_ENCODING.length;
+    }
+
     @Override
     public void writeElement(Accepted source, int index, ProtonBuffer buffer, Encoder encoder, EncoderState state) {
     }
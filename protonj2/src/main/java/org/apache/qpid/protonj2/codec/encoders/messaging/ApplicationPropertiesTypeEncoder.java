@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.codec.encoders.messaging;
 
+import java.util.Map;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
@@ -61,12 +63,25 @@ public final class ApplicationPropertiesTypeEncoder extends AbstractDescribedMap
         }
     }
 
+    @Override
+    public byte getMapEncoding(ApplicationProperties value) {
+        return selectMapEncoding(value.getValue());
+    }
+
     @Override
     public void writeMapEntries(ProtonBuffer buffer, Encoder encoder, EncoderState state, ApplicationProperties properties) {
-        // Write the Map elements and then compute total size written.
-        properties.getValue().forEach((key, value) -> {
-            STRING_ENCODER.writeType(buffer, state, key);
-            encoder.writeObject(buffer, state, value);
-        });
+        writeMapEntries(buffer, encoder, state, STRING_ENCODER, properties.getValue());
+    }
+
+    @Override
+    public int getMapEntriesSize(Encoder encoder, EncoderState state, ApplicationProperties properties) {
+        int size = 0;
+
+        for (Map.Entry<String, Object> entry : properties.getValue().entrySet()) {
+            size += STRING_ENCODER.sizeOf(state, entry.getKey());
+            size += encoder.sizeOf(state, entry.getValue());
+        }
+
+        return size;
     }
 }
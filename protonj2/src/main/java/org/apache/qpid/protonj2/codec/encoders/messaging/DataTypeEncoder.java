@@ -20,6 +20,7 @@ import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.encoders.AbstractDescribedTypeEncoder;
+import org.apache.qpid.protonj2.codec.encoders.primitives.BinaryTypeEncoder;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedLong;
 import org.apache.qpid.protonj2.types.messaging.Data;
@@ -72,6 +73,15 @@ public final class DataTypeEncoder extends AbstractDescribedTypeEncoder<Data> {
         }
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Data value) {
+        if (value.hasBinary()) {
+            return DATA_PREAMBLE.length + BinaryTypeEncoder.getEncodedSize(value.getDataLength());
+        } else {
+            return DATA_PREAMBLE.length + 1;
+        }
+    }
+
     @Override
     public void writeArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         // Write the Array Type encoding code, we don't optimize here.
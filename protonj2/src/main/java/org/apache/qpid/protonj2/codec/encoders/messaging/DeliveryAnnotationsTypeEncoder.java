@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.codec.encoders.messaging;
 
+import java.util.Map;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
@@ -66,4 +68,16 @@ public final class DeliveryAnnotationsTypeEncoder extends AbstractDescribedMapTy
             encoder.writeObject(buffer, state, value);
         });
     }
+
+    @Override
+    public int getMapEntriesSize(Encoder encoder, EncoderState state, DeliveryAnnotations annotations) {
+        int size = 0;
+
+        for (Map.Entry<Symbol, Object> entry : annotations.getValue().entrySet()) {
+            size += encoder.sizeOf(state, entry.getKey());
+            size += encoder.sizeOf(state, entry.getValue());
+        }
+
+        return size;
+    }
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.codec.encoders.messaging;
 
+import java.util.Map;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
@@ -66,4 +68,16 @@ public final class FooterTypeEncoder extends AbstractDescribedMapTypeEncoder<Obj
             encoder.writeObject(buffer, state, value);
         });
     }
+
+    @Override
+    public int getMapEntriesSize(Encoder encoder, EncoderState state, Footer footers) {
+        int size = 0;
+
+        for (Map.Entry<Symbol, Object> entry : footers.getValue().entrySet()) {
+            size += encoder.sizeOf(state, entry.getKey());
+            size += encoder.sizeOf(state, entry.getValue());
+        }
+
+        return size;
+    }
 }
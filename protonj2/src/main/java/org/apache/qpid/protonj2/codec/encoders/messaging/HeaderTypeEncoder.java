@@ -21,6 +21,7 @@ import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.encoders.AbstractDescribedListTypeEncoder;
+import org.apache.qpid.protonj2.codec.encoders.primitives.UnsignedIntegerTypeEncoder;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedLong;
 import org.apache.qpid.protonj2.types.messaging.Header;
@@ -96,6 +97,24 @@ public final class HeaderTypeEncoder extends AbstractDescribedListTypeEncoder<He
         }
     }
 
+    @Override
+    public int getElementSize(Header header, int index, Encoder encoder, EncoderState state) {
+        switch (index) {
+            case 0:
+                return 1;
+            case 1:
+                return header.hasPriority() ? Byte.BYTES + 1 : 1;
+            case 2:
+                return header.hasTimeToLive() ? UnsignedIntegerTypeEncoder.getEncodedSize(header.getTimeToLive()) : 1;
+            case 3:
+                return 1;
+            case 4:
+                return header.hasDeliveryCount() ? UnsignedIntegerTypeEncoder.getEncodedSize(header.getDeliveryCount()) : 1;
+            default:
+                throw new IllegalArgumentException("Unknown Header value index: " + index);
+        }
+    }
+
     @Override
     public int getElementCount(Header header) {
         return header.getElementCount();
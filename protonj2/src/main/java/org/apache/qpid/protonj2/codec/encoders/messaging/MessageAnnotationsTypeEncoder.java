@@ -16,6 +16,8 @@
  */
 package org.apache.qpid.protonj2.codec.encoders.messaging;
 
+import java.util.Map;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
@@ -61,12 +63,25 @@ public final class MessageAnnotationsTypeEncoder extends AbstractDescribedMapTyp
         }
     }
 
+    @Override
+    public byte getMapEncoding(MessageAnnotations value) {
+        return selectMapEncoding(value.getValue());
+    }
+
     @Override
     public void writeMapEntries(ProtonBuffer buffer, Encoder encoder, EncoderState state, MessageAnnotations annotations) {
-        // Write the Map elements and then compute total size written.
-        annotations.getValue().forEach((key, value) -> {
-            SYMBOL_ENCODER.writeType(buffer, state, key);
-            encoder.writeObject(buffer, state, value);
-        });
+        writeMapEntries(buffer, encoder, state, SYMBOL_ENCODER, annotations.getValue());
+    }
+
+    @Override
+    public int getMapEntriesSize(Encoder encoder, EncoderState state, MessageAnnotations annotations) {
+        int size = 0;
+
+        for (Map.Entry<Symbol, Object> entry : annotations.getValue().entrySet()) {
+            size += SYMBOL_ENCODER.sizeOf(state, entry.getKey());
+            size += encoder.sizeOf(state, entry.getValue());
+        }
+
+        return size;
     }
 }
@@ -62,6 +62,19 @@ public final class ModifiedTypeEncoder extends AbstractDescribedListTypeEncoder<
         }
     }
 
+    @Override
+    public int getElementSize(Modified source, int index, Encoder encoder, EncoderState state) {
+        switch (index) {
+            case 0:
+            case 1:
+                return 1;
+            case 2:
+                return encoder.sizeOf(state, source.getMessageAnnotations());
+            default:
+                throw new IllegalArgumentException("Unknown Modified value index: " + index);
+        }
+    }
+
     @Override
     public byte getListEncoding(Modified value) {
         if (value.getMessageAnnotations() != null) {
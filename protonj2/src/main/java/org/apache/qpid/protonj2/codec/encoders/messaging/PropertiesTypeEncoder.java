@@ -21,6 +21,7 @@ import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.encoders.AbstractDescribedListTypeEncoder;
+import org.apache.qpid.protonj2.codec.encoders.primitives.UnsignedIntegerTypeEncoder;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedLong;
 import org.apache.qpid.protonj2.types.messaging.Properties;
@@ -104,6 +105,50 @@ public final class PropertiesTypeEncoder extends AbstractDescribedListTypeEncode
         }
     }
 
+    @Override
+    public int getElementSize(Properties properties, int index, Encoder encoder, EncoderState state) {
+        switch (index) {
+            case 0:
+                return encoder.sizeOf(state, properties.getMessageId());
+            case 1:
+                return encoder.sizeOf(state, properties.getUserId());
+            case 2:
+                return encoder.sizeOf(state, properties.getTo());
+            case 3:
+                return encoder.sizeOf(state, properties.getSubject());
+            case 4:
+                return encoder.sizeOf(state, properties.getReplyTo());
+            case 5:
+                return encoder.sizeOf(state, properties.getCorrelationId());
+            case 6:
+                return getSymbolSize(properties.getContentType());
+            case 7:
+                return getSymbolSize(properties.getContentEncoding());
+            case 8:
+                return properties.hasAbsoluteExpiryTime() ? Long.BYTES + 1 : 1;
+            case 9:
+                return properties.hasCreationTime() ? Long.BYTES + 1 : 1;
+            case 10:
+                return encoder.sizeOf(state, properties.getGroupId());
+            case 11:
+                return properties.hasGroupSequence() ? UnsignedIntegerTypeEncoder.getEncodedSize(properties.getGroupSequence()) : 1;
+            case 12:
+                return encoder.sizeOf(state, properties.getReplyToGroupId());
+            default:
+                throw new IllegalArgumentException("Unknown Properties value index: " + index);
+        }
+    }
+
+    private static int getSymbolSize(String value) {
+        if (value == null) {
+            return 1;
+        }
+
+        final int symbolBytes = Symbol.valueOf(value).getLength();
+
+        return symbolBytes <= 255 ? symbolBytes + Byte.BYTES + 1 : symbolBytes + Integer.BYTES + 1;
+    }
+
     @Override
     public byte getListEncoding(Properties value) {
         return EncodingCodes.LIST32;
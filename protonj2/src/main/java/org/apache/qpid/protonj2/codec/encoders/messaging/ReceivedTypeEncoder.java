@@ -59,6 +59,18 @@ public final class ReceivedTypeEncoder extends AbstractDescribedListTypeEncoder<
         }
     }
 
+    @Override
+    public int getElementSize(Received source, int index, Encoder encoder, EncoderState state) {
+        switch (index) {
+            case 0:
+                return encoder.sizeOf(state, source.getSectionNumber());
+            case 1:
+                return encoder.sizeOf(state, source.getSectionOffset());
+            default:
+                throw new IllegalArgumentException("Unknown Received value index: " + index);
+        }
+    }
+
     @Override
     public byte getListEncoding(Received value) {
         return EncodingCodes.LIST8;
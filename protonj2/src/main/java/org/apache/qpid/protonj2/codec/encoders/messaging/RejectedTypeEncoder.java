@@ -56,6 +56,16 @@ public final class RejectedTypeEncoder extends AbstractDescribedListTypeEncoder<
         }
     }
 
+    @Override
+    public int getElementSize(Rejected source, int index, Encoder encoder, EncoderState state) {
+        switch (index) {
+            case 0:
+                return encoder.sizeOf(state, source.getError());
+            default:
+                throw new IllegalArgumentException("Unknown Rejected value index: " + index);
+        }
+    }
+
     @Override
     public byte getListEncoding(Rejected value) {
         if (value.getError() != null) {
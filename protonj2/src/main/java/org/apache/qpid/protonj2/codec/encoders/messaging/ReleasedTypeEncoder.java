@@ -62,6 +62,11 @@ public final class ReleasedTypeEncoder extends AbstractDescribedListTypeEncoder<
         buffer.writeBytes(RELEASED_ENCODING);
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Released value) {
+        return RELEASED_ENCODING.length;
+    }
+
     @Override
     public void writeElement(Released source, int index, ProtonBuffer buffer, Encoder encoder, EncoderState state) {
     }
@@ -37,6 +37,24 @@ public final class BinaryTypeEncoder extends AbstractPrimitiveTypeEncoder<Binary
         writeType(buffer, state, value.asProtonBuffer());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Binary value) {
+        return getEncodedSize(value.getLength());
+    }
+
+    /**
+     * Computes the encoded size of a binary value with the given number of bytes, the
+     * vbin8 encoding is used for values of up to 255 bytes.
+     *
+     * @param length
+     * 		The number of bytes in the binary value.
+     *
+     * @return the number of bytes needed to encode a binary value of the given length.
+     */
+    public static int getEncodedSize(int length) {
+        return length > 255 ? length + Integer.BYTES + 1 : length + Byte.BYTES + 1;
+    }
+
     /**
      * Shortcut API that allows a {@link ProtonBuffer} to be directly encoded as an AMQP Binary
      * type without the need to create a {@link Binary} instance.  The encoder will attempt
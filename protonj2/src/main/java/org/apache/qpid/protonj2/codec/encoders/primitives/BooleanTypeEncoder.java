@@ -36,6 +36,11 @@ public final class BooleanTypeEncoder extends AbstractPrimitiveTypeEncoder<Boole
         buffer.writeByte(value == Boolean.TRUE ? EncodingCodes.BOOLEAN_TRUE : EncodingCodes.BOOLEAN_FALSE);
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Boolean value) {
+        return 1;
+    }
+
     /**
      * Write the full AMQP type data for the boolean to the given byte buffer.
      *
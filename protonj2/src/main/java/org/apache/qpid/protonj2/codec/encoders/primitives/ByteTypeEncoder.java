@@ -37,6 +37,11 @@ public final class ByteTypeEncoder extends AbstractPrimitiveTypeEncoder<Byte> {
         buffer.writeByte(value.byteValue());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Byte value) {
+        return Byte.BYTES + 1;
+    }
+
     /**
      * Write the full AMQP type data for the byte to the given byte buffer.
      *
@@ -37,6 +37,11 @@ public final class CharacterTypeEncoder extends AbstractPrimitiveTypeEncoder<Cha
         buffer.writeInt(value.charValue() & 0xffff);
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Character value) {
+        return Integer.BYTES + 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.CHAR);
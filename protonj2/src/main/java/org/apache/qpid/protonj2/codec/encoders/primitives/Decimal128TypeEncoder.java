@@ -39,6 +39,11 @@ public final class Decimal128TypeEncoder extends AbstractPrimitiveTypeEncoder<De
         buffer.writeLong(value.getLeastSignificantBits());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Decimal128 value) {
+        return Long.BYTES + Long.BYTES + 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.DECIMAL128);
@@ -38,6 +38,11 @@ public final class Decimal32TypeEncoder extends AbstractPrimitiveTypeEncoder<Dec
         buffer.writeInt(value.getBits());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Decimal32 value) {
+        return Integer.BYTES + 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.DECIMAL32);
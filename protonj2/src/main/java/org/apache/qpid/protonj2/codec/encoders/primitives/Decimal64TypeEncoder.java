@@ -38,6 +38,11 @@ public final class Decimal64TypeEncoder extends AbstractPrimitiveTypeEncoder<Dec
         buffer.writeLong(value.getBits());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Decimal64 value) {
+        return Long.BYTES + 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.DECIMAL64);
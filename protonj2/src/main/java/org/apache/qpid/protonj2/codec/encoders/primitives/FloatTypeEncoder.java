@@ -37,6 +37,11 @@ public final class FloatTypeEncoder extends AbstractPrimitiveTypeEncoder<Float>
         buffer.writeFloat(value.floatValue());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Float value) {
+        return Float.BYTES + 1;
+    }
+
     /**
      * Write the full AMQP type data for the float to the given byte buffer.
      *
@@ -36,6 +36,24 @@ public final class IntegerTypeEncoder extends AbstractPrimitiveTypeEncoder<Integ
         writeType(buffer, state, value.intValue());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Integer value) {
+        return getEncodedSize(value.intValue());
+    }
+
+    /**
+     * Computes the encoded size of the given int value which will use the small int encoding
+     * when the value fits into a single byte.
+     *
+     * @param value
+     * 		The value whose encoded size is to be computed.
+     *
+     * @return the number of bytes needed to encode the given value.
+     */
+    public static int getEncodedSize(int value) {
+        return value >= -128 && value <= 127 ? Byte.BYTES + 1 : Integer.BYTES + 1;
+    }
+
     /**
      * Write the full AMQP type data for the int to the given byte buffer.
      *
@@ -46,6 +46,22 @@ public final class ListTypeEncoder extends AbstractPrimitiveTypeEncoder<List> {
         }
     }
 
+    @Override
+    public int sizeOf(EncoderState state, List value) {
+        if (value.isEmpty()) {
+            return 1;
+        }
+
+        // Encoding code, size and element count followed by the elements
+        int size = Integer.BYTES + Integer.BYTES + 1;
+
+        for (int i = 0; i < value.size(); ++i) {
+            size += state.getEncoder().sizeOf(state, value.get(i));
+        }
+
+        return size;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.LIST32);
@@ -36,6 +36,12 @@ public final class LongTypeEncoder extends AbstractPrimitiveTypeEncoder<Long> {
         writeType(buffer, state, value.longValue());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Long value) {
+        final long longValue = value.longValue();
+        return longValue >= -128 && longValue <= 127 ? Byte.BYTES + 1 : Long.BYTES + 1;
+    }
+
     /**
      * Write the full AMQP type data for the long to the given byte buffer.
      *
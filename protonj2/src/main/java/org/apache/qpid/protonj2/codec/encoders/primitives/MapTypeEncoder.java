@@ -42,6 +42,21 @@ public final class MapTypeEncoder extends AbstractPrimitiveTypeEncoder<Map> {
         writeValue(buffer, state, value);
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Map value) {
+        // Encoding code, size and element count followed by the keys and values
+        int size = Integer.BYTES + Integer.BYTES + 1;
+
+        for (Object element : value.entrySet()) {
+            final Map.Entry entry = (Map.Entry) element;
+
+            size += state.getEncoder().sizeOf(state, entry.getKey());
+            size += state.getEncoder().sizeOf(state, entry.getValue());
+        }
+
+        return size;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.MAP32);
@@ -37,6 +37,11 @@ public final class ShortTypeEncoder extends AbstractPrimitiveTypeEncoder<Short>
         buffer.writeShort(value.shortValue());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Short value) {
+        return Short.BYTES + 1;
+    }
+
     /**
      * Write the full AMQP type data for the short to the given byte buffer.
      *
@@ -42,6 +42,18 @@ public final class StringTypeEncoder extends AbstractPrimitiveTypeEncoder<String
         }
     }
 
+    @Override
+    public int sizeOf(EncoderState state, String value) {
+        final int encodedLength = state.getUTF8Length(value);
+
+        // Size prefix choice must match the pessimistic choice made in writeType
+        if (value.length() > 64) {
+            return encodedLength + Integer.BYTES + 1;
+        } else {
+            return encodedLength + Byte.BYTES + 1;
+        }
+    }
+
     private static void writeSmallString(ProtonBuffer buffer, EncoderState state, String value) {
         buffer.writeByte(EncodingCodes.STR8);
         buffer.writeByte((byte) 0);
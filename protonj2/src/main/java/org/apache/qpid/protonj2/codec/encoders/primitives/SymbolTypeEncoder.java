@@ -47,6 +47,13 @@ public final class SymbolTypeEncoder extends AbstractPrimitiveTypeEncoder<Symbol
         value.writeTo(buffer);
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Symbol value) {
+        final int symbolBytes = value.getLength();
+
+        return symbolBytes <= 255 ? symbolBytes + Byte.BYTES + 1 : symbolBytes + Integer.BYTES + 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.SYM32);
@@ -39,6 +39,11 @@ public final class TimestampTypeEncoder extends AbstractPrimitiveTypeEncoder<Dat
         buffer.writeLong(value.getTime());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, Date value) {
+        return Long.BYTES + 1;
+    }
+
     /**
      * Write the full AMQP type data for the time-stamp to the given byte buffer.
      *
@@ -40,6 +40,11 @@ public final class UUIDTypeEncoder extends AbstractPrimitiveTypeEncoder<UUID> {
         buffer.writeLong(value.getLeastSignificantBits());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, UUID value) {
+        return Long.BYTES + Long.BYTES + 1;
+    }
+
     @Override
     public void writeRawArray(ProtonBuffer buffer, EncoderState state, Object[] values) {
         buffer.writeByte(EncodingCodes.UUID);
@@ -38,6 +38,11 @@ public final class UnsignedByteTypeEncoder extends AbstractPrimitiveTypeEncoder<
         buffer.writeByte(value.byteValue());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, UnsignedByte value) {
+        return Byte.BYTES + 1;
+    }
+
     /**
      * Write the full AMQP type data for the byte to the given byte buffer.
      *
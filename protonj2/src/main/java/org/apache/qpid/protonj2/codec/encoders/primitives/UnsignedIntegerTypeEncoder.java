@@ -47,6 +47,30 @@ public final class UnsignedIntegerTypeEncoder extends AbstractPrimitiveTypeEncod
         }
     }
 
+    @Override
+    public int sizeOf(EncoderState state, UnsignedInteger value) {
+        return getEncodedSize(value.longValue());
+    }
+
+    /**
+     * Computes the encoded size of the given unsigned int value which will use the uint0
+     * or small uint encodings when the value allows.
+     *
+     * @param value
+     * 		The value whose encoded size is to be computed.
+     *
+     * @return the number of bytes needed to encode the given value.
+     */
+    public static int getEncodedSize(long value) {
+        if (value == 0) {
+            return 1;
+        } else if (value > 0 && value <= 255) {
+            return Byte.BYTES + 1;
+        } else {
+            return Integer.BYTES + 1;
+        }
+    }
+
     /**
      * Write the full AMQP type data for the unsigned int to the given byte buffer.
      *
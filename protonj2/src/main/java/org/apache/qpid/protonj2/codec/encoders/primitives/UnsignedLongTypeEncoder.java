@@ -37,6 +37,30 @@ public final class UnsignedLongTypeEncoder extends AbstractPrimitiveTypeEncoder<
         writeType(buffer, state, value.longValue());
     }
 
+    @Override
+    public int sizeOf(EncoderState state, UnsignedLong value) {
+        return getEncodedSize(value.longValue());
+    }
+
+    /**
+     * Computes the encoded size of the given unsigned long value which will use the ulong0
+     * or small ulong encodings when the value allows.
+     *
+     * @param value
+     * 		The value whose encoded size is to be computed.
+     *
+     * @return the number of bytes needed to encode the given value.
+     */
+    public static int getEncodedSize(long value) {
+        if (value == 0) {
+            return 1;
+        } else if (value > 0 && value <= 255) {
+            return Byte.BYTES + 1;
+        } else {
+            return Long.BYTES + 1;
+        }
+    }
+
     /**
      * Write the full AMQP type data for the unsigned long to the given byte buffer.
      *
@@ -59,6 +59,18 @@ public final class TransactionStateTypeEncoder extends AbstractDescribedListType
         }
     }
 
+    @Override
+    public int getElementSize(TransactionalState txState, int index, Encoder encoder, EncoderState state) {
+        switch (index) {
+            case 0:
+                return encoder.sizeOf(state, txState.getTxnId());
+            case 1:
+                return encoder.sizeOf(state, txState.getOutcome());
+            default:
+                throw new IllegalArgumentException("Unknown TransactionalState value index: " + index);
+        }
+    }
+
     @Override
     public byte getListEncoding(TransactionalState value) {
         return EncodingCodes.LIST32;
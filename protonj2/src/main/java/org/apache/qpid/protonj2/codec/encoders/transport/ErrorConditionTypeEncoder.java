@@ -62,6 +62,20 @@ public final class ErrorConditionTypeEncoder extends AbstractDescribedListTypeEn
         }
     }
 
+    @Override
+    public int getElementSize(ErrorCondition error, int index, Encoder encoder, EncoderState state) {
+        switch (index) {
+            case 0:
+                return encoder.sizeOf(state, error.getCondition());
+            case 1:
+                return encoder.sizeOf(state, error.getDescription());
+            case 2:
+                return encoder.sizeOf(state, error.getInfo());
+            default:
+                throw new IllegalArgumentException("Unknown ErrorCondition value index: " + index);
+        }
+    }
+
     @Override
     public byte getListEncoding(ErrorCondition value) {
         return EncodingCodes.LIST32;
@@ -21,6 +21,8 @@ import org.apache.qpid.protonj2.codec.Encoder;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.encoders.AbstractDescribedListTypeEncoder;
+import org.apache.qpid.protonj2.codec.encoders.primitives.BinaryTypeEncoder;
+import org.apache.qpid.protonj2.codec.encoders.primitives.UnsignedIntegerTypeEncoder;
 import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedLong;
 import org.apache.qpid.protonj2.types.transport.Transfer;
@@ -106,6 +108,37 @@ public final class TransferTypeEncoder extends AbstractDescribedListTypeEncoder<
         }
     }
 
+    @Override
+    public int getElementSize(Transfer transfer, int index, Encoder encoder, EncoderState state) {
+        if (transfer.hasElement(index)) {
+            switch (index) {
+                case 0:
+                    return UnsignedIntegerTypeEncoder.getEncodedSize(transfer.getHandle());
+                case 1:
+                    return UnsignedIntegerTypeEncoder.getEncodedSize(transfer.getDeliveryId());
+                case 2:
+                    return transfer.getDeliveryTag() == null ? 1 : BinaryTypeEncoder.getEncodedSize(transfer.getDeliveryTag().tagLength());
+                case 3:
+                    return UnsignedIntegerTypeEncoder.getEncodedSize(transfer.getMessageFormat());
+                case 4:
+                case 5:
+                    return 1;
+                case 6:
+                    return Byte.BYTES + 1;
+                case 7:
+                    return encoder.sizeOf(state, transfer.getState());
+                case 8:
+                case 9:
+                case 10:
+                    return 1;
+                default:
+                    throw new IllegalArgumentException("Unknown Transfer value index: " + index);
+            }
+        } else {
+            return 1;
+        }
+    }
+
     @Override
     public byte getListEncoding(Transfer value) {
         if (value.getState() != null) {
@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.selector;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.codec.DecodeException;
+import org.apache.qpid.protonj2.codec.Decoder;
+import org.apache.qpid.protonj2.codec.DecoderState;
+import org.apache.qpid.protonj2.codec.TypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderFactory;
+import org.apache.qpid.protonj2.codec.decoders.ProtonScanningContext;
+import org.apache.qpid.protonj2.codec.decoders.ScanningContext;
+import org.apache.qpid.protonj2.codec.decoders.messaging.ApplicationPropertiesTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.messaging.DeliveryAnnotationsTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.messaging.HeaderTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.messaging.MessageAnnotationsTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.messaging.PropertiesTypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.primitives.ListTypeDecoder;
+import org.apache.qpid.protonj2.types.Binary;
+
+/**
+ * A compiled JMS style message selector that is evaluated directly against the encoded bytes of an
+ * AMQP message.
+ * <p>
+ * The selector supports comparisons, arithmetic, <code>BETWEEN</code>, <code>IN</code>, <code>LIKE</code>,
+ * <code>IS NULL</code> and the boolean operators with SQL three valued logic.  Identifiers that name one of
+ * the JMS message headers mapped onto the AMQP Properties section (JMSMessageID, JMSCorrelationID, JMSType,
+ * JMSDestination, JMSReplyTo, JMSTimestamp, JMSExpiration, JMSXUserID, JMSXGroupID and JMSXGroupSeq) are
+ * read from the Properties section and all other identifiers are keys in the ApplicationProperties section.
+ * <p>
+ * Evaluation scans only the message sections that precede the body, skipping any that the selector does not
+ * reference, and only decodes the Properties fields and ApplicationProperties values that the selector uses so
+ * that messages can be filtered without creating a message object or decoding the application properties
+ * into a {@link Map}.
+ * <p>
+ * A selector instance retains state between evaluations and must not be used from more than one thread at
+ * a time, the same selector string can be compiled again for use on another thread.
+ */
+public final class MessageSelector {
+
+    private static final int MESSAGE_ID = 0;
+    private static final int USER_ID = 1;
+    private static final int TO = 2;
+    private static final int SUBJECT = 3;
+    private static final int REPLY_TO = 4;
+    private static final int CORRELATION_ID = 5;
+    private static final int ABSOLUTE_EXPIRY_TIME = 8;
+    private static final int CREATION_TIME = 9;
+    private static final int GROUP_ID = 10;
+    private static final int GROUP_SEQUENCE = 11;
+
+    private static final Map<String, Integer> PROPERTIES_FIELDS = new HashMap<>();
+
+    static {
+        PROPERTIES_FIELDS.put("JMSMessageID", MESSAGE_ID);
+        PROPERTIES_FIELDS.put("JMSXUserID", USER_ID);
+        PROPERTIES_FIELDS.put("JMSDestination", TO);
+        PROPERTIES_FIELDS.put("JMSType", SUBJECT);
+        PROPERTIES_FIELDS.put("JMSReplyTo", REPLY_TO);
+        PROPERTIES_FIELDS.put("JMSCorrelationID", CORRELATION_ID);
+        PROPERTIES_FIELDS.put("JMSExpiration", ABSOLUTE_EXPIRY_TIME);
+        PROPERTIES_FIELDS.put("JMSTimestamp", CREATION_TIME);
+        PROPERTIES_FIELDS.put("JMSXGroupID", GROUP_ID);
+        PROPERTIES_FIELDS.put("JMSXGroupSeq", GROUP_SEQUENCE);
+    }
+
+    private final String selector;
+    private final SelectorExpression expression;
+
+    private final Map<String, Integer> slots = new HashMap<>();
+    private final List<String> applicationPropertyKeys = new ArrayList<>();
+    private final int[] propertiesSlots = new int[GROUP_SEQUENCE + 1];
+    private final int lastPropertiesField;
+    private final Object[] values;
+
+    private final ScanningContext<String> applicationPropertiesContext;
+    private final BiConsumer<String, Object> applicationPropertyConsumer;
+
+    private Decoder decoder;
+    private DecoderState decoderState;
+
+    private MessageSelector(String selector) {
+        this.selector = selector;
+
+        Arrays.fill(propertiesSlots, -1);
+
+        this.expression = SelectorParser.parse(selector, this::assignSlot);
+        this.values = new Object[slots.size()];
+
+        int lastField = -1;
+        for (int i = 0; i < propertiesSlots.length; ++i) {
+            if (propertiesSlots[i] >= 0) {
+                lastField = i;
+            }
+        }
+
+        this.lastPropertiesField = lastField;
+
+        if (applicationPropertyKeys.isEmpty()) {
+            this.applicationPropertiesContext = null;
+            this.applicationPropertyConsumer = null;
+        } else {
+            this.applicationPropertiesContext = ProtonScanningContext.createStringScanContext(applicationPropertyKeys);
+            this.applicationPropertyConsumer = (key, value) -> values[slots.get(key)] = value;
+        }
+    }
+
+    /**
+     * Compiles the given selector string into a {@link MessageSelector}.
+     *
+     * @param selector
+     * 		The JMS style selector expression to compile.
+     *
+     * @return a new {@link MessageSelector} that evaluates the given selector.
+     *
+     * @throws IllegalArgumentException if the selector is not a valid selector expression.
+     */
+    public static MessageSelector compile(String selector) {
+        if (selector == null || selector.trim().isEmpty()) {
+            throw new IllegalArgumentException("Selector cannot be null or empty");
+        }
+
+        return new MessageSelector(selector);
+    }
+
+    /**
+     * @return the selector string that this {@link MessageSelector} was compiled from.
+     */
+    public String getSelector() {
+        return selector;
+    }
+
+    /**
+     * Evaluates the selector against the encoded message sections in the given buffer using a
+     * decoder that is owned by this selector.
+     *
+     * @param encodedMessage
+     * 		The buffer whose readable bytes are the encoded sections of an AMQP message.
+     *
+     * @return true if the selector evaluates to true for the given message.
+     *
+     * @throws DecodeException if an error occurs while scanning the encoded message sections.
+     */
+    public boolean matches(ProtonBuffer encodedMessage) throws DecodeException {
+        if (decoder == null) {
+            decoder = ProtonDecoderFactory.create();
+            decoderState = decoder.newDecoderState();
+        }
+
+        return matches(encodedMessage, decoder, decoderState);
+    }
+
+    /**
+     * Evaluates the selector against the encoded message sections in the given buffer.  The
+     * read offset of the buffer is left unchanged.
+     *
+     * @param encodedMessage
+     * 		The buffer whose readable bytes are the encoded sections of an AMQP message.
+     * @param decoder
+     * 		The decoder used to read the encoded sections.
+     * @param state
+     * 		The decoder state used to read the encoded sections.
+     *
+     * @return true if the selector evaluates to true for the given message.
+     *
+     * @throws DecodeException if an error occurs while scanning the encoded message sections.
+     */
+    public boolean matches(ProtonBuffer encodedMessage, Decoder decoder, DecoderState state) throws DecodeException {
+        final int startOffset = encodedMessage.getReadOffset();
+
+        try {
+            resolveValues(encodedMessage, decoder, state);
+            return Boolean.TRUE.equals(expression.evaluate(values));
+        } finally {
+            encodedMessage.setReadOffset(startOffset);
+            Arrays.fill(values, null);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MessageSelector [" + selector + "]";
+    }
+
+    //----- Internal implementation
+
+    private int assignSlot(String identifier) {
+        Integer slot = slots.get(identifier);
+
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(identifier, slot);
+
+            final Integer field = PROPERTIES_FIELDS.get(identifier);
+            if (field != null) {
+                propertiesSlots[field] = slot;
+            } else {
+                applicationPropertyKeys.add(identifier);
+            }
+        }
+
+        return slot;
+    }
+
+    private void resolveValues(ProtonBuffer buffer, Decoder decoder, DecoderState state) throws DecodeException {
+        boolean needsProperties = lastPropertiesField >= 0;
+        boolean needsApplicationProperties = applicationPropertiesContext != null;
+
+        // Sections that follow the Application Properties are never needed.
+        while ((needsProperties || needsApplicationProperties) && buffer.isReadable()) {
+            final TypeDecoder<?> typeDecoder = decoder.readNextTypeDecoder(buffer, state);
+
+            if (typeDecoder instanceof PropertiesTypeDecoder) {
+                if (needsProperties) {
+                    scanProperties(buffer, decoder, state);
+                    needsProperties = false;
+                } else {
+                    typeDecoder.skipValue(buffer, state);
+                }
+            } else if (typeDecoder instanceof ApplicationPropertiesTypeDecoder) {
+                if (needsApplicationProperties) {
+                    ((ApplicationPropertiesTypeDecoder) typeDecoder).scanProperties(
+                        buffer, state, applicationPropertiesContext, applicationPropertyConsumer);
+                }
+                break;
+            } else if (typeDecoder instanceof HeaderTypeDecoder ||
+                       typeDecoder instanceof DeliveryAnnotationsTypeDecoder ||
+                       typeDecoder instanceof MessageAnnotationsTypeDecoder) {
+                typeDecoder.skipValue(buffer, state);
+            } else {
+                break;
+            }
+        }
+    }
+
+    private void scanProperties(ProtonBuffer buffer, Decoder decoder, DecoderState state) throws DecodeException {
+        final TypeDecoder<?> typeDecoder = decoder.readNextTypeDecoder(buffer, state);
+
+        if (typeDecoder.isNull()) {
+            return;
+        }
+
+        if (!(typeDecoder instanceof ListTypeDecoder)) {
+            throw new DecodeException("Expected List type encoding for Properties but got: " + typeDecoder.getTypeClass().getSimpleName());
+        }
+
+        final ListTypeDecoder listDecoder = (ListTypeDecoder) typeDecoder;
+        final int size = listDecoder.readSize(buffer, state);
+        final int completionOffset = buffer.getReadOffset() + size;
+        final int count = listDecoder.readCount(buffer, state);
+
+        for (int index = 0; index < count && index <= lastPropertiesField; ++index) {
+            final int slot = propertiesSlots[index];
+
+            if (slot >= 0) {
+                values[slot] = convertPropertiesField(index, decoder.readObject(buffer, state));
+            } else {
+                decoder.readNextTypeDecoder(buffer, state).skipValue(buffer, state);
+            }
+        }
+
+        buffer.setReadOffset(completionOffset);
+    }
+
+    private static Object convertPropertiesField(int index, Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        switch (index) {
+            case MESSAGE_ID:
+            case CORRELATION_ID:
+                return value.toString();
+            case USER_ID:
+                return new String(((Binary) value).asByteArray(), StandardCharsets.UTF_8);
+            default:
+                return value;
+        }
+    }
+}
@@ -0,0 +1,549 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.selector;
+
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.UnsignedLong;
+
+/**
+ * Node of a compiled message selector expression tree.
+ * <p>
+ * Expressions evaluate against an array of the values that were resolved for the identifiers
+ * used in the selector and produce a {@link Boolean}, {@link Long}, {@link Double} or {@link String}
+ * result, a null result represents the SQL unknown value which results from any operation on an
+ * identifier that has no value.
+ */
+abstract class SelectorExpression {
+
+    /**
+     * Evaluates this expression using the identifier values resolved from the message.
+     *
+     * @param values
+     * 		The values of the identifiers used in the selector indexed by their assigned slot.
+     *
+     * @return the result of evaluating the expression or null if the result is unknown.
+     */
+    abstract Object evaluate(Object[] values);
+
+    /**
+     * @return true if this expression can produce a boolean value.
+     */
+    boolean isBoolean() {
+        return false;
+    }
+
+    //----- Value conversions shared by the operators
+
+    /*
+     * Converts the AMQP typed value of an identifier to the value type used by the operators,
+     * integral numbers are widened to Long, floating point numbers to Double and symbols are
+     * compared as strings, other types are left as is and only compare equal to themselves.
+     */
+    static Object normalize(Object value) {
+        if (value instanceof Long || value instanceof Double || value instanceof String || value instanceof Boolean) {
+            return value;
+        } else if (value instanceof Float) {
+            return ((Float) value).doubleValue();
+        } else if (value instanceof UnsignedLong) {
+            final long longValue = ((UnsignedLong) value).longValue();
+            return longValue >= 0 ? (Object) longValue : (Object) ((UnsignedLong) value).bigIntegerValue().doubleValue();
+        } else if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value instanceof Symbol || value instanceof Character) {
+            return value.toString();
+        } else {
+            return value;
+        }
+    }
+
+    static boolean isNumeric(Object value) {
+        return value instanceof Long || value instanceof Double;
+    }
+
+    static Boolean not(Boolean value) {
+        return value == null ? null : Boolean.valueOf(!value);
+    }
+
+    /*
+     * Compares two numeric operand values returning the sign of the comparison.
+     */
+    static int compareNumbers(Object left, Object right) {
+        if (left instanceof Long && right instanceof Long) {
+            return Long.compare((Long) left, (Long) right);
+        } else {
+            return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        }
+    }
+
+    /*
+     * Equality of operand values where values of unlike types are never equal.
+     */
+    static boolean valuesEqual(Object left, Object right) {
+        if (isNumeric(left) && isNumeric(right)) {
+            return compareNumbers(left, right) == 0;
+        } else {
+            return left.equals(right);
+        }
+    }
+
+    //----- Expression node implementations
+
+    static final class Literal extends SelectorExpression {
+
+        static final Literal NULL = new Literal(null);
+        static final Literal TRUE = new Literal(Boolean.TRUE);
+        static final Literal FALSE = new Literal(Boolean.FALSE);
+
+        private final Object value;
+
+        Literal(Object value) {
+            this.value = value;
+        }
+
+        Object value() {
+            return value;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            return value;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return value instanceof Boolean;
+        }
+    }
+
+    static final class Identifier extends SelectorExpression {
+
+        private final String name;
+        private final int slot;
+
+        Identifier(String name, int slot) {
+            this.name = name;
+            this.slot = slot;
+        }
+
+        String name() {
+            return name;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            return normalize(values[slot]);
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    static final class And extends SelectorExpression {
+
+        private final SelectorExpression left;
+        private final SelectorExpression right;
+
+        And(SelectorExpression left, SelectorExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object lhs = left.evaluate(values);
+            if (Boolean.FALSE.equals(lhs)) {
+                return Boolean.FALSE;
+            }
+
+            final Object rhs = right.evaluate(values);
+            if (Boolean.FALSE.equals(rhs)) {
+                return Boolean.FALSE;
+            }
+
+            return Boolean.TRUE.equals(lhs) && Boolean.TRUE.equals(rhs) ? Boolean.TRUE : null;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    static final class Or extends SelectorExpression {
+
+        private final SelectorExpression left;
+        private final SelectorExpression right;
+
+        Or(SelectorExpression left, SelectorExpression right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object lhs = left.evaluate(values);
+            if (Boolean.TRUE.equals(lhs)) {
+                return Boolean.TRUE;
+            }
+
+            final Object rhs = right.evaluate(values);
+            if (Boolean.TRUE.equals(rhs)) {
+                return Boolean.TRUE;
+            }
+
+            return Boolean.FALSE.equals(lhs) && Boolean.FALSE.equals(rhs) ? Boolean.FALSE : null;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    static final class Not extends SelectorExpression {
+
+        private final SelectorExpression operand;
+
+        Not(SelectorExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object value = operand.evaluate(values);
+            return value instanceof Boolean ? not((Boolean) value) : null;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    enum ComparisonOperator {
+        EQUAL, NOT_EQUAL, LESS_THAN, LESS_THAN_OR_EQUAL, GREATER_THAN, GREATER_THAN_OR_EQUAL
+    }
+
+    static final class Comparison extends SelectorExpression {
+
+        private final ComparisonOperator operator;
+        private final SelectorExpression left;
+        private final SelectorExpression right;
+
+        Comparison(ComparisonOperator operator, SelectorExpression left, SelectorExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object lhs = left.evaluate(values);
+            final Object rhs = right.evaluate(values);
+
+            if (lhs == null || rhs == null) {
+                return null;
+            }
+
+            switch (operator) {
+                case EQUAL:
+                    return valuesEqual(lhs, rhs);
+                case NOT_EQUAL:
+                    if (isNumeric(lhs) != isNumeric(rhs) || (!isNumeric(lhs) && lhs.getClass() != rhs.getClass())) {
+                        return Boolean.FALSE;
+                    }
+                    return !valuesEqual(lhs, rhs);
+                default:
+                    break;
+            }
+
+            // Ordering is only defined for numeric values
+            if (!isNumeric(lhs) || !isNumeric(rhs)) {
+                return null;
+            }
+
+            final int result = compareNumbers(lhs, rhs);
+
+            switch (operator) {
+                case LESS_THAN:
+                    return result < 0;
+                case LESS_THAN_OR_EQUAL:
+                    return result <= 0;
+                case GREATER_THAN:
+                    return result > 0;
+                default:
+                    return result >= 0;
+            }
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    static final class Between extends SelectorExpression {
+
+        private final SelectorExpression value;
+        private final SelectorExpression lower;
+        private final SelectorExpression upper;
+        private final boolean negated;
+
+        Between(SelectorExpression value, SelectorExpression lower, SelectorExpression upper, boolean negated) {
+            this.value = value;
+            this.lower = lower;
+            this.upper = upper;
+            this.negated = negated;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object operand = value.evaluate(values);
+            final Object low = lower.evaluate(values);
+            final Object high = upper.evaluate(values);
+
+            if (!isNumeric(operand) || !isNumeric(low) || !isNumeric(high)) {
+                return null;
+            }
+
+            final boolean result = compareNumbers(operand, low) >= 0 && compareNumbers(operand, high) <= 0;
+
+            return result != negated;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    static final class In extends SelectorExpression {
+
+        private final SelectorExpression value;
+        private final Object[] candidates;
+        private final boolean negated;
+
+        In(SelectorExpression value, Object[] candidates, boolean negated) {
+            this.value = value;
+            this.candidates = candidates;
+            this.negated = negated;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object operand = value.evaluate(values);
+
+            if (operand == null) {
+                return null;
+            }
+
+            for (Object candidate : candidates) {
+                if (valuesEqual(operand, candidate)) {
+                    return !negated;
+                }
+            }
+
+            return negated;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    static final class IsNull extends SelectorExpression {
+
+        private final SelectorExpression value;
+        private final boolean negated;
+
+        IsNull(SelectorExpression value, boolean negated) {
+            this.value = value;
+            this.negated = negated;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            return (value.evaluate(values) == null) != negated;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+    }
+
+    static final class Like extends SelectorExpression {
+
+        private static final char NO_ESCAPE = Character.MAX_VALUE;
+
+        private final SelectorExpression value;
+        private final String pattern;
+        private final char escape;
+        private final boolean negated;
+
+        Like(SelectorExpression value, String pattern, String escape, boolean negated) {
+            this.value = value;
+            this.pattern = pattern;
+            this.escape = escape == null ? NO_ESCAPE : escape.charAt(0);
+            this.negated = negated;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object operand = value.evaluate(values);
+
+            if (!(operand instanceof String)) {
+                return null;
+            }
+
+            return matches((String) operand, 0, 0) != negated;
+        }
+
+        @Override
+        boolean isBoolean() {
+            return true;
+        }
+
+        /*
+         * Matches the value against the pattern where '_' matches any single character and '%'
+         * matches any sequence of characters, the escape character makes the following pattern
+         * character match only itself.
+         */
+        private boolean matches(String text, int textIndex, int patternIndex) {
+            while (patternIndex < pattern.length()) {
+                char next = pattern.charAt(patternIndex++);
+
+                if (next == '%') {
+                    // Collapse a run of wildcards and then try each possible split point
+                    while (patternIndex < pattern.length() && pattern.charAt(patternIndex) == '%') {
+                        patternIndex++;
+                    }
+
+                    if (patternIndex == pattern.length()) {
+                        return true;
+                    }
+
+                    for (int i = textIndex; i <= text.length(); ++i) {
+                        if (matches(text, i, patternIndex)) {
+                            return true;
+                        }
+                    }
+
+                    return false;
+                }
+
+                if (textIndex == text.length()) {
+                    return false;
+                }
+
+                if (next == escape && patternIndex < pattern.length()) {
+                    if (text.charAt(textIndex++) != pattern.charAt(patternIndex++)) {
+                        return false;
+                    }
+                } else if (next != '_' && text.charAt(textIndex) != next) {
+                    return false;
+                } else {
+                    textIndex++;
+                }
+            }
+
+            return textIndex == text.length();
+        }
+    }
+
+    static final class Negate extends SelectorExpression {
+
+        private final SelectorExpression operand;
+
+        Negate(SelectorExpression operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object value = operand.evaluate(values);
+
+            if (value instanceof Long) {
+                return -((Long) value);
+            } else if (value instanceof Double) {
+                return -((Double) value);
+            } else {
+                return null;
+            }
+        }
+    }
+
+    enum ArithmeticOperator {
+        ADD, SUBTRACT, MULTIPLY, DIVIDE
+    }
+
+    static final class Arithmetic extends SelectorExpression {
+
+        private final ArithmeticOperator operator;
+        private final SelectorExpression left;
+        private final SelectorExpression right;
+
+        Arithmetic(ArithmeticOperator operator, SelectorExpression left, SelectorExpression right) {
+            this.operator = operator;
+            this.left = left;
+            this.right = right;
+        }
+
+        @Override
+        Object evaluate(Object[] values) {
+            final Object lhs = left.evaluate(values);
+            final Object rhs = right.evaluate(values);
+
+            if (!isNumeric(lhs) || !isNumeric(rhs)) {
+                return null;
+            }
+
+            if (lhs instanceof Long && rhs instanceof Long) {
+                final long x = (Long) lhs;
+                final long y = (Long) rhs;
+
+                switch (operator) {
+                    case ADD:
+                        return x + y;
+                    case SUBTRACT:
+                        return x - y;
+                    case MULTIPLY:
+                        return x * y;
+                    default:
+                        return y == 0 ? null : (Object) (x / y);
+                }
+            } else {
+                final double x = ((Number) lhs).doubleValue();
+                final double y = ((Number) rhs).doubleValue();
+
+                switch (operator) {
+                    case ADD:
+                        return x + y;
+                    case SUBTRACT:
+                        return x - y;
+                    case MULTIPLY:
+                        return x * y;
+                    default:
+                        return x / y;
+                }
+            }
+        }
+    }
+}
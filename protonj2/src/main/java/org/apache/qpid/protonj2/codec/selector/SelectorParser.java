@@ -0,0 +1,525 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.selector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToIntFunction;
+
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.And;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Arithmetic;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.ArithmeticOperator;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Between;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Comparison;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.ComparisonOperator;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Identifier;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.In;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.IsNull;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Like;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Literal;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Negate;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Not;
+import org.apache.qpid.protonj2.codec.selector.SelectorExpression.Or;
+
+/**
+ * Recursive descent parser of the JMS message selector syntax.
+ * <p>
+ * The grammar accepted, from lowest to highest precedence, is:
+ * <pre>
+ *   expression     = and-expression { OR and-expression }
+ *   and-expression = not-expression { AND not-expression }
+ *   not-expression = NOT not-expression | predicate
+ *   predicate      = additive [ comparison-op additive
+ *                             | [NOT] BETWEEN additive AND additive
+ *                             | [NOT] IN ( literal { , literal } )
+ *                             | [NOT] LIKE string [ESCAPE string]
+ *                             | IS [NOT] NULL ]
+ *   additive       = multiplicative { (+|-) multiplicative }
+ *   multiplicative = unary { (*|/) unary }
+ *   unary          = (+|-) unary | ( expression ) | literal | identifier
+ * </pre>
+ * Keywords are case insensitive while identifiers are case sensitive.
+ */
+final class SelectorParser {
+
+    private enum TokenType {
+        IDENTIFIER, STRING, LONG, DOUBLE, OPERATOR, END
+    }
+
+    private final String selector;
+    private final ToIntFunction<String> slotResolver;
+
+    private int position;
+    private TokenType tokenType;
+    private String token;
+    private Object tokenValue;
+    private int tokenStart;
+
+    private SelectorParser(String selector, ToIntFunction<String> slotResolver) {
+        this.selector = selector;
+        this.slotResolver = slotResolver;
+    }
+
+    /**
+     * Parses the given selector into an expression tree.
+     *
+     * @param selector
+     * 		The selector string to parse.
+     * @param slotResolver
+     * 		Assigns the value slot of each identifier as it is encountered.
+     *
+     * @return the root of the parsed expression tree.
+     *
+     * @throws IllegalArgumentException if the selector is not valid.
+     */
+    static SelectorExpression parse(String selector, ToIntFunction<String> slotResolver) {
+        final SelectorParser parser = new SelectorParser(selector, slotResolver);
+
+        parser.next();
+
+        final SelectorExpression expression = parser.parseOr();
+
+        if (parser.tokenType != TokenType.END) {
+            throw parser.error("Unexpected token '" + parser.token + "'");
+        }
+
+        if (!expression.isBoolean()) {
+            throw new IllegalArgumentException("Selector does not produce a boolean result: " + selector);
+        }
+
+        return expression;
+    }
+
+    //----- Grammar productions
+
+    private SelectorExpression parseOr() {
+        SelectorExpression expression = parseAnd();
+
+        while (acceptKeyword("OR")) {
+            expression = new Or(checkBoolean(expression), checkBoolean(parseAnd()));
+        }
+
+        return expression;
+    }
+
+    private SelectorExpression parseAnd() {
+        SelectorExpression expression = parseNot();
+
+        while (acceptKeyword("AND")) {
+            expression = new And(checkBoolean(expression), checkBoolean(parseNot()));
+        }
+
+        return expression;
+    }
+
+    private SelectorExpression parseNot() {
+        if (acceptKeyword("NOT")) {
+            return new Not(checkBoolean(parseNot()));
+        }
+
+        return parsePredicate();
+    }
+
+    private SelectorExpression parsePredicate() {
+        final SelectorExpression left = parseAdditive();
+
+        if (tokenType == TokenType.OPERATOR) {
+            final ComparisonOperator operator = comparisonOperator(token);
+            if (operator != null) {
+                next();
+                return new Comparison(operator, left, parseAdditive());
+            }
+        }
+
+        if (acceptKeyword("IS")) {
+            final boolean negated = acceptKeyword("NOT");
+            expectKeyword("NULL");
+            return new IsNull(left, negated);
+        }
+
+        final boolean negated = acceptKeyword("NOT");
+
+        if (acceptKeyword("BETWEEN")) {
+            final SelectorExpression lower = parseAdditive();
+            expectKeyword("AND");
+            return new Between(left, lower, parseAdditive(), negated);
+        } else if (acceptKeyword("IN")) {
+            return new In(left, parseInList(), negated);
+        } else if (acceptKeyword("LIKE")) {
+            final String pattern = expectString();
+            String escape = null;
+            if (acceptKeyword("ESCAPE")) {
+                escape = expectString();
+                if (escape.length() != 1) {
+                    throw error("LIKE escape must be a single character");
+                }
+            }
+            return new Like(left, pattern, escape, negated);
+        } else if (negated) {
+            throw error("Expected BETWEEN, IN or LIKE after NOT");
+        }
+
+        return left;
+    }
+
+    private Object[] parseInList() {
+        expectOperator("(");
+
+        final List<Object> candidates = new ArrayList<>();
+
+        do {
+            final SelectorExpression literal = parseUnary();
+            if (!(literal instanceof Literal) || ((Literal) literal).value() == null) {
+                throw error("IN list entries must be literal values");
+            }
+            candidates.add(((Literal) literal).value());
+        } while (acceptOperator(","));
+
+        expectOperator(")");
+
+        return candidates.toArray();
+    }
+
+    private SelectorExpression parseAdditive() {
+        SelectorExpression expression = parseMultiplicative();
+
+        for (;;) {
+            if (acceptOperator("+")) {
+                expression = new Arithmetic(ArithmeticOperator.ADD, expression, parseMultiplicative());
+            } else if (acceptOperator("-")) {
+                expression = new Arithmetic(ArithmeticOperator.SUBTRACT, expression, parseMultiplicative());
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private SelectorExpression parseMultiplicative() {
+        SelectorExpression expression = parseUnary();
+
+        for (;;) {
+            if (acceptOperator("*")) {
+                expression = new Arithmetic(ArithmeticOperator.MULTIPLY, expression, parseUnary());
+            } else if (acceptOperator("/")) {
+                expression = new Arithmetic(ArithmeticOperator.DIVIDE, expression, parseUnary());
+            } else {
+                return expression;
+            }
+        }
+    }
+
+    private SelectorExpression parseUnary() {
+        if (acceptOperator("+")) {
+            return parseUnary();
+        } else if (acceptOperator("-")) {
+            final SelectorExpression operand = parseUnary();
+
+            // Fold negative numeric literals so they can be used in IN lists
+            if (operand instanceof Literal && ((Literal) operand).value() instanceof Long) {
+                return new Literal(-(Long) ((Literal) operand).value());
+            } else if (operand instanceof Literal && ((Literal) operand).value() instanceof Double) {
+                return new Literal(-(Double) ((Literal) operand).value());
+            }
+
+            return new Negate(operand);
+        } else if (acceptOperator("(")) {
+            final SelectorExpression expression = parseOr();
+            expectOperator(")");
+            return expression;
+        }
+
+        final SelectorExpression result;
+
+        switch (tokenType) {
+            case STRING:
+            case LONG:
+            case DOUBLE:
+                result = new Literal(tokenValue);
+                break;
+            case IDENTIFIER:
+                result = identifierOrKeywordLiteral();
+                break;
+            default:
+                throw error(tokenType == TokenType.END ? "Unexpected end of selector" : "Unexpected token '" + token + "'");
+        }
+
+        next();
+
+        return result;
+    }
+
+    private SelectorExpression identifierOrKeywordLiteral() {
+        switch (token.toUpperCase(Locale.ROOT)) {
+            case "TRUE":
+                return Literal.TRUE;
+            case "FALSE":
+                return Literal.FALSE;
+            case "NULL":
+                return Literal.NULL;
+            case "NOT":
+            case "AND":
+            case "OR":
+            case "BETWEEN":
+            case "LIKE":
+            case "IN":
+            case "IS":
+            case "ESCAPE":
+                throw error("Unexpected keyword '" + token + "'");
+            default:
+                return new Identifier(token, slotResolver.applyAsInt(token));
+        }
+    }
+
+    private SelectorExpression checkBoolean(SelectorExpression expression) {
+        if (!expression.isBoolean()) {
+            throw error("Expected a boolean expression");
+        }
+
+        return expression;
+    }
+
+    private static ComparisonOperator comparisonOperator(String operator) {
+        switch (operator) {
+            case "=":
+                return ComparisonOperator.EQUAL;
+            case "<>":
+                return ComparisonOperator.NOT_EQUAL;
+            case "<":
+                return ComparisonOperator.LESS_THAN;
+            case "<=":
+                return ComparisonOperator.LESS_THAN_OR_EQUAL;
+            case ">":
+                return ComparisonOperator.GREATER_THAN;
+            case ">=":
+                return ComparisonOperator.GREATER_THAN_OR_EQUAL;
+            default:
+                return null;
+        }
+    }
+
+    //----- Token matching helpers
+
+    private boolean acceptKeyword(String keyword) {
+        if (tokenType == TokenType.IDENTIFIER && token.equalsIgnoreCase(keyword)) {
+            next();
+            return true;
+        }
+
+        return false;
+    }
+
+    private void expectKeyword(String keyword) {
+        if (!acceptKeyword(keyword)) {
+            throw error("Expected " + keyword);
+        }
+    }
+
+    private boolean acceptOperator(String operator) {
+        if (tokenType == TokenType.OPERATOR && token.equals(operator)) {
+            next();
+            return true;
+        }
+
+        return false;
+    }
+
+    private void expectOperator(String operator) {
+        if (!acceptOperator(operator)) {
+            throw error("Expected '" + operator + "'");
+        }
+    }
+
+    private String expectString() {
+        if (tokenType != TokenType.STRING) {
+            throw error("Expected a string literal");
+        }
+
+        final String value = (String) tokenValue;
+        next();
+        return value;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + tokenStart + " in selector: " + selector);
+    }
+
+    //----- Tokenizer
+
+    private void next() {
+        while (position < selector.length() && Character.isWhitespace(selector.charAt(position))) {
+            position++;
+        }
+
+        tokenStart = position;
+        tokenValue = null;
+
+        if (position == selector.length()) {
+            tokenType = TokenType.END;
+            token = "";
+            return;
+        }
+
+        final char c = selector.charAt(position);
+
+        if (Character.isJavaIdentifierStart(c)) {
+            while (position < selector.length() && Character.isJavaIdentifierPart(selector.charAt(position))) {
+                position++;
+            }
+            tokenType = TokenType.IDENTIFIER;
+            token = selector.substring(tokenStart, position);
+        } else if (c == '\'') {
+            readString();
+        } else if (Character.isDigit(c) || (c == '.' && position + 1 < selector.length() && Character.isDigit(selector.charAt(position + 1)))) {
+            readNumber();
+        } else {
+            readOperator(c);
+        }
+    }
+
+    private void readString() {
+        final StringBuilder value = new StringBuilder();
+
+        position++;
+
+        for (;;) {
+            if (position == selector.length()) {
+                throw error("Unterminated string literal");
+            }
+
+            final char c = selector.charAt(position++);
+
+            if (c == '\'') {
+                // A doubled quote is an escaped quote within the literal
+                if (position < selector.length() && selector.charAt(position) == '\'') {
+                    value.append('\'');
+                    position++;
+                } else {
+                    break;
+                }
+            } else {
+                value.append(c);
+            }
+        }
+
+        tokenType = TokenType.STRING;
+        token = selector.substring(tokenStart, position);
+        tokenValue = value.toString();
+    }
+
+    private void readNumber() {
+        if (selector.startsWith("0x", position) || selector.startsWith("0X", position)) {
+            position += 2;
+            while (position < selector.length() && Character.digit(selector.charAt(position), 16) >= 0) {
+                position++;
+            }
+
+            token = selector.substring(tokenStart, position);
+            tokenType = TokenType.LONG;
+            tokenValue = parseLong(token.substring(2), 16);
+        } else {
+            boolean floating = false;
+
+            while (position < selector.length()) {
+                final char c = selector.charAt(position);
+
+                if (Character.isDigit(c)) {
+                    position++;
+                } else if (c == '.') {
+                    floating = true;
+                    position++;
+                } else if ((c == 'e' || c == 'E') && position + 1 < selector.length()) {
+                    floating = true;
+                    position++;
+                    if (selector.charAt(position) == '+' || selector.charAt(position) == '-') {
+                        position++;
+                    }
+                } else {
+                    break;
+                }
+            }
+
+            final String digits = selector.substring(tokenStart, position);
+
+            // Optional type suffixes as used in Java numeric literals
+            if (position < selector.length()) {
+                final char suffix = Character.toUpperCase(selector.charAt(position));
+                if (suffix == 'L' && !floating) {
+                    position++;
+                } else if (suffix == 'F' || suffix == 'D') {
+                    floating = true;
+                    position++;
+                }
+            }
+
+            token = selector.substring(tokenStart, position);
+
+            if (floating) {
+                tokenType = TokenType.DOUBLE;
+                try {
+                    tokenValue = Double.valueOf(digits);
+                } catch (NumberFormatException e) {
+                    throw error("Invalid numeric literal '" + token + "'");
+                }
+            } else {
+                tokenType = TokenType.LONG;
+                tokenValue = parseLong(digits, 10);
+            }
+        }
+    }
+
+    private Long parseLong(String digits, int radix) {
+        try {
+            return Long.valueOf(digits, radix);
+        } catch (NumberFormatException e) {
+            throw error("Invalid numeric literal '" + selector.substring(tokenStart, position) + "'");
+        }
+    }
+
+    private void readOperator(char c) {
+        position++;
+
+        if (position < selector.length()) {
+            final char following = selector.charAt(position);
+            if ((c == '<' && (following == '>' || following == '=')) || (c == '>' && following == '=')) {
+                position++;
+            }
+        }
+
+        token = selector.substring(tokenStart, position);
+
+        switch (token) {
+            case "=":
+            case "<>":
+            case "<":
+            case "<=":
+            case ">":
+            case ">=":
+            case "+":
+            case "-":
+            case "*":
+            case "/":
+            case "(":
+            case ")":
+            case ",":
+                tokenType = TokenType.OPERATOR;
+                break;
+            default:
+                throw error("Unexpected character '" + c + "'");
+        }
+    }
+}
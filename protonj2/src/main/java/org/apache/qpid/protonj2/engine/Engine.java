@@ -135,6 +135,20 @@ public interface Engine extends Consumer<ProtonBuffer> {
      */
     Engine ingest(ProtonBuffer input) throws EngineStateException;
 
+    /**
+     * Signals the end of the current unit of work performed against this engine which allows the engine
+     * to write any output it held back in order to combine it with work that followed, such as the
+     * coalesced dispositions of receivers that have enabled {@link Receiver#setCoalesceDispositions(boolean)}.
+     * The engine ends a work cycle itself after each call to {@link #ingest(ProtonBuffer)} and on each
+     * tick, applications that act on the engine outside of those calls should call this method once they
+     * have completed a batch of work.
+     *
+     * @return this {@link Engine}
+     *
+     * @throws EngineStateException if the Engine state precludes writing any output.
+     */
+    Engine completeWorkCycle() throws EngineStateException;
+
     /**
      * Provide data input for this Engine from some external source.  If the engine is not writable
      * when this method is called an {@link EngineNotWritableException} will be thrown if unless the
@@ -60,4 +60,126 @@ public interface EngineConfiguration {
      */
     boolean isTraceFrames();
 
+    /**
+     * Sets the payload size at or above which an outgoing transfer payload is written by reference
+     * instead of being copied into the frame buffer.  When enabled the engine writes a composite
+     * buffer made up of the encoded frame header and performative followed by a read-only view of
+     * the payload bytes.  The caller must not modify the payload bytes until the output consumer
+     * has finished with the written buffers.  A value of zero (the default) disables this and all
+     * payload bytes are copied into the frame buffer.
+     *
+     * @param zeroCopyThreshold
+     *      The payload size in bytes at which the payload is written by reference or zero to disable.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    EngineConfiguration setZeroCopyThreshold(int zeroCopyThreshold);
+
+    /**
+     * @return the payload size at or above which transfer payloads are written by reference or zero if disabled.
+     */
+    int getZeroCopyThreshold();
+
+    /**
+     * Controls whether the engine decodes the incoming Transfer, Flow and Disposition performatives into
+     * instances that it reuses for each frame received instead of allocating new ones.  The engine copies
+     * any of the values that it retains from these performatives so the mode is invisible to the engine
+     * APIs, however any handler added to the engine pipeline that reads incoming performatives must not
+     * hold onto them or their delivery tags beyond the handling of the frame that carried them.  This
+     * option has no effect if the engine was not configured with the default frame decoding handler.
+     *
+     * @param reusePerformatives
+     *      Should the incoming Transfer, Flow and Disposition performatives be decoded into reused instances.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    EngineConfiguration setReusePerformatives(boolean reusePerformatives);
+
+    /**
+     * @return true if the incoming Transfer, Flow and Disposition performatives are decoded into reused instances.
+     */
+    boolean isReusePerformatives();
+
+    /**
+     * Controls whether the engine delivers the payload of an incoming Transfer frame as it arrives instead of
+     * buffering the complete frame before decoding it.  When enabled a Transfer frame that spans more than one
+     * read is decoded as soon as its performative has arrived and each following read hands the payload bytes
+     * it carries to the incoming delivery as a partial transfer, which keeps the memory used by the frame parser
+     * bounded by the size of the reads rather than the maximum frame size.  Handlers added to the engine pipeline
+     * see each portion of the frame as a separate Transfer envelope, the envelopes after the first are marked
+     * with {@link IncomingAMQPEnvelope#isFrameContinuation()}.  This option has no effect if the engine was not
+     * configured with the default frame decoding handler.
+     *
+     * @param streamIncomingTransfers
+     *      Should the payload of incoming Transfer frames be delivered as it arrives.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    EngineConfiguration setStreamIncomingTransfers(boolean streamIncomingTransfers);
+
+    /**
+     * @return true if the payload of incoming Transfer frames is delivered as it arrives.
+     */
+    boolean isStreamIncomingTransfers();
+
+    /**
+     * Sets the largest number of settled deliveries that the engine merges into a single ranged Disposition
+     * frame for receivers that have opted in to disposition coalescing with
+     * {@link Receiver#setCoalesceDispositions(boolean)}.  Once the pending range covers this many deliveries
+     * it is written immediately.
+     *
+     * @param dispositionCoalescingLimit
+     *      The maximum number of deliveries a single coalesced Disposition covers.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    EngineConfiguration setDispositionCoalescingLimit(int dispositionCoalescingLimit);
+
+    /**
+     * @return the maximum number of deliveries a single coalesced Disposition covers.
+     */
+    int getDispositionCoalescingLimit();
+
+    /**
+     * Sets the longest time in milliseconds that a coalesced Disposition range may remain pending before it
+     * is written.  The engine otherwise writes a pending range at the end of each work cycle, see
+     * {@link Engine#completeWorkCycle()}, or when any other frame is written.  The time bound is only
+     * enforced by a scheduled task when the engine was set to tick automatically, otherwise it is checked
+     * as dispositions are added.
+     *
+     * @param dispositionCoalescingDelay
+     *      The maximum time in milliseconds a coalesced Disposition remains pending.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    EngineConfiguration setDispositionCoalescingDelay(long dispositionCoalescingDelay);
+
+    /**
+     * @return the maximum time in milliseconds a coalesced Disposition remains pending.
+     */
+    long getDispositionCoalescingDelay();
+
+    /**
+     * Sets the number of bytes of outgoing AMQP frames that the engine encodes into a single shared output
+     * buffer before handing that buffer to the engine output handler, a value of zero (the default) disables
+     * coalescing and each frame is written in its own buffer.  Coalesced frames are otherwise written at the
+     * end of each work cycle, see {@link Engine#completeWorkCycle()}, or before any output that must follow
+     * them such as a frame whose payload is sent by reference.  The write completion callback passed to the
+     * output handler for a coalesced buffer runs the completion of every frame the buffer carries.  Frames
+     * still held when the engine is shut down or fails are discarded, so an application that enables this
+     * option must end each unit of work on the engine with a completed work cycle.  This option has no effect
+     * if the engine was not configured with the default frame encoding handler.
+     *
+     * @param frameCoalescingLimit
+     *      The number of bytes of frames coalesced into one output buffer or zero to disable coalescing.
+     *
+     * @return this {@link EngineConfiguration} for chaining.
+     */
+    EngineConfiguration setFrameCoalescingLimit(int frameCoalescingLimit);
+
+    /**
+     * @return the number of bytes of frames coalesced into one output buffer or zero if coalescing is disabled.
+     */
+    int getFrameCoalescingLimit();
+
 }
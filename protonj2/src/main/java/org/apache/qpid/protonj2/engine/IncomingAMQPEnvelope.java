@@ -30,6 +30,7 @@ public class IncomingAMQPEnvelope extends PerformativeEnvelope<Performative> {
     public static final byte AMQP_FRAME_TYPE = (byte) 0;
 
     private AMQPPerformativeEnvelopePool<IncomingAMQPEnvelope> pool;
+    private boolean frameContinuation;
 
     IncomingAMQPEnvelope() {
         this(null);
@@ -49,12 +50,34 @@ public class IncomingAMQPEnvelope extends PerformativeEnvelope<Performative> {
      */
     public final void release() {
         initialize(null, -1, null);
+        frameContinuation = false;
 
         if (pool != null) {
             pool.release(this);
         }
     }
 
+    /**
+     * @return true if this envelope carries further payload of a Transfer frame whose performative was delivered in an earlier envelope.
+     */
+    public boolean isFrameContinuation() {
+        return frameContinuation;
+    }
+
+    /**
+     * Marks this envelope as carrying further payload of a Transfer frame whose performative was delivered
+     * in an earlier envelope, the receiver of the envelope must not account for it as a new frame.
+     *
+     * @param frameContinuation
+     * 		Is this envelope a continuation of a previously delivered frame.
+     *
+     * @return this {@link IncomingAMQPEnvelope} instance.
+     */
+    public IncomingAMQPEnvelope setFrameContinuation(boolean frameContinuation) {
+        this.frameContinuation = frameContinuation;
+        return this;
+    }
+
     /**
      * Invoke the correct PerformativeHandler event based on the body of this {@link IncomingAMQPEnvelope}
      *
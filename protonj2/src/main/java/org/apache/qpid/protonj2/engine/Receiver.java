@@ -79,6 +79,30 @@ public interface Receiver extends Link<Receiver> {
      */
     DeliveryState getDefaultDeliveryState();
 
+    /**
+     * Controls whether the dispositions this receiver applies are coalesced by the engine.  When enabled
+     * the Disposition frames for deliveries with consecutive delivery ids that are given the same outcome
+     * and settlement are merged into a single frame covering the range of ids, which is written once the
+     * range reaches the configured limit or age, at the end of the current engine work cycle or before any
+     * other frame.  A receiver that settles deliveries in the order they arrive can then acknowledge many
+     * deliveries with one frame.  Only outcomes that carry no per delivery values, Accepted and Released,
+     * or the same delivery state instance are merged.
+     *
+     * @param coalesceDispositions
+     *      Should the dispositions applied by this receiver be coalesced.
+     *
+     * @return this {@link Receiver} for chaining.
+     *
+     * @see EngineConfiguration#setDispositionCoalescingLimit(int)
+     * @see EngineConfiguration#setDispositionCoalescingDelay(long)
+     */
+    Receiver setCoalesceDispositions(boolean coalesceDispositions);
+
+    /**
+     * @return true if the dispositions applied by this receiver are coalesced by the engine.
+     */
+    boolean isCoalesceDispositions();
+
     /**
      * For each unsettled outgoing delivery that is pending in the {@link Receiver} apply the given predicate
      * and if it matches then apply the given delivery state and settled value to it.
@@ -564,7 +564,20 @@ public class ProtonConnection extends ProtonEndpoint<Connection> implements Conn
         if (session == null) {
             engine.engineFailed(new ProtocolViolationException("Received uncorrelated channel on Transfer from remote: " + channel));
         } else {
-            session.remoteTransfer(transfer, payload, channel);
+            session.remoteTransfer(transfer, payload, channel, false);
+        }
+    }
+
+    /*
+     * Handles further payload of a Transfer frame whose performative was already processed, the payload
+     * portion is routed like any Transfer but is not counted as a new frame against the session window.
+     */
+    void handleTransferFrameContinuation(Transfer transfer, ProtonBuffer payload, int channel) {
+        final ProtonSession session = remoteSessions.get(channel);
+        if (session == null) {
+            engine.engineFailed(new ProtocolViolationException("Received uncorrelated channel on Transfer from remote: " + channel));
+        } else {
+            session.remoteTransfer(transfer, payload, channel, true);
         }
     }
 
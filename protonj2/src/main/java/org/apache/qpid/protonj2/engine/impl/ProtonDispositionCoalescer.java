@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.engine.Scheduler;
+import org.apache.qpid.protonj2.types.transport.DeliveryState;
+import org.apache.qpid.protonj2.types.transport.DeliveryState.DeliveryStateType;
+import org.apache.qpid.protonj2.types.transport.Disposition;
+import org.apache.qpid.protonj2.types.transport.Role;
+
+/**
+ * Merges the receiver Disposition frames for deliveries with consecutive delivery ids and the same
+ * outcome into a single ranged frame.
+ * <p>
+ * Only one range is pending at a time, a disposition that cannot extend it writes the pending range
+ * first.  The engine writes the pending range before writing any other frame so that the order in
+ * which the remote sees the dispositions relative to other performatives is unchanged.
+ */
+final class ProtonDispositionCoalescer {
+
+    private final ProtonEngine engine;
+    private final Disposition disposition = new Disposition();
+    private final Runnable scheduledFlush = this::scheduledFlush;
+
+    private boolean pending;
+    private boolean flushScheduled;
+    private int channel;
+    private long first;
+    private long last;
+    private int count;
+    private boolean settled;
+    private DeliveryState state;
+    private long pendingSince;
+
+    ProtonDispositionCoalescer(ProtonEngine engine) {
+        this.engine = engine;
+    }
+
+    boolean hasPending() {
+        return pending;
+    }
+
+    void add(int channel, long deliveryId, boolean settled, DeliveryState state) {
+        if (pending) {
+            if (channel == this.channel && deliveryId == last + 1 && settled == this.settled && isSameOutcome(state, this.state)) {
+                last = deliveryId;
+                count++;
+            } else {
+                flush();
+            }
+        }
+
+        if (!pending) {
+            this.pending = true;
+            this.channel = channel;
+            this.first = deliveryId;
+            this.last = deliveryId;
+            this.count = 1;
+            this.settled = settled;
+            this.state = state;
+            this.pendingSince = System.nanoTime();
+
+            scheduleFlush();
+        }
+
+        final ProtonEngineConfiguration configuration = engine.configuration();
+
+        if (count >= configuration.getDispositionCoalescingLimit() || isExpired(configuration)) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (pending) {
+            pending = false;
+
+            disposition.reset();
+            disposition.setRole(Role.RECEIVER);
+            disposition.setFirst(first);
+            if (last != first) {
+                disposition.setLast(last);
+            }
+            disposition.setSettled(settled);
+            disposition.setState(state);
+
+            state = null;
+
+            engine.fireWrite(disposition, channel);
+        }
+    }
+
+    private boolean isExpired(ProtonEngineConfiguration configuration) {
+        return System.nanoTime() - pendingSince >= TimeUnit.MILLISECONDS.toNanos(configuration.getDispositionCoalescingDelay());
+    }
+
+    private void scheduleFlush() {
+        final Scheduler scheduler = engine.autoTickScheduler();
+
+        if (scheduler != null && !flushScheduled) {
+            flushScheduled = true;
+            scheduler.schedule(scheduledFlush, engine.configuration().getDispositionCoalescingDelay(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void scheduledFlush() {
+        flushScheduled = false;
+
+        if (pending && engine.isRunning()) {
+            try {
+                if (isExpired(engine.configuration())) {
+                    flush();
+                } else {
+                    // A newer range started after the one this task was scheduled for
+                    scheduleFlush();
+                }
+            } catch (Exception error) {
+                engine.engineFailed(error);
+            }
+        }
+    }
+
+    private static boolean isSameOutcome(DeliveryState state, DeliveryState other) {
+        if (state == other) {
+            return true;
+        } else if (state == null || other == null) {
+            return false;
+        }
+
+        final DeliveryStateType type = state.getType();
+
+        return type == other.getType() && (type == DeliveryStateType.Accepted || type == DeliveryStateType.Released);
+    }
+}
@@ -62,9 +62,11 @@ public class ProtonEngine implements Engine {
     private final ProtonEnginePipelineProxy pipelineProxy = new ProtonEnginePipelineProxy(pipeline);
     private final ProtonEngineConfiguration configuration = new ProtonEngineConfiguration(this);
     private final ProtonConnection connection = new ProtonConnection(this);
+    private final ProtonDispositionCoalescer dispositionCoalescer = new ProtonDispositionCoalescer(this);
     private final AMQPPerformativeEnvelopePool<OutgoingAMQPEnvelope> framePool = AMQPPerformativeEnvelopePool.outgoingEnvelopePool();
 
     private EngineSaslDriver saslDriver = new ProtonEngineNoOpSaslDriver();
+    private ProtonFrameEncodingHandler frameCoalescer;
 
     private boolean writable;
     private EngineState state = EngineState.IDLE;
@@ -147,6 +149,8 @@ public class ProtonEngine implements Engine {
             state = EngineState.SHUTDOWN;
             writable = false;
 
+            discardCoalescedFrames();
+
             if (nextIdleTimeoutCheck != null) {
                 LOG.trace("Canceling scheduled Idle Timeout Check");
                 nextIdleTimeoutCheck.cancel(false);
@@ -182,6 +186,8 @@ public class ProtonEngine implements Engine {
             throw new IllegalStateException("Automatic ticking previously initiated.");
         }
 
+        completeCoalescedOutput();
+
         performReadCheck(currentTime);
         performWriteCheck(currentTime);
 
@@ -264,6 +270,9 @@ public class ProtonEngine implements Engine {
         if (input.isReadable()) {
             try {
                 pipeline.fireRead(input);
+                if (isRunning()) {
+                    completeCoalescedOutput();
+                }
             } catch (Exception error) {
                 throw engineFailed(error);
             } finally {
@@ -274,6 +283,19 @@ public class ProtonEngine implements Engine {
         return this;
     }
 
+    @Override
+    public ProtonEngine completeWorkCycle() throws EngineStateException {
+        checkShutdownOrFailed("Cannot complete a work cycle on an Engine that has been shutdown or failed");
+
+        try {
+            completeCoalescedOutput();
+        } catch (Exception error) {
+            throw engineFailed(error);
+        }
+
+        return this;
+    }
+
     @Override
     public EngineStateException engineFailed(Throwable cause) {
         final EngineStateException failure;
@@ -283,6 +305,8 @@ public class ProtonEngine implements Engine {
             failureCause = cause;
             writable = false;
 
+            discardCoalescedFrames();
+
             if (nextIdleTimeoutCheck != null) {
                 LOG.trace("Canceling scheduled Idle Timeout Check");
                 nextIdleTimeoutCheck.cancel(false);
@@ -386,20 +410,62 @@ public class ProtonEngine implements Engine {
     }
 
     ProtonEngine fireWrite(OutgoingAMQPEnvelope frame) {
+        if (dispositionCoalescer.hasPending()) {
+            dispositionCoalescer.flush();
+        }
         pipeline.fireWrite(frame);
         return this;
     }
 
     ProtonEngine fireWrite(Performative performative, int channel) {
+        if (dispositionCoalescer.hasPending()) {
+            dispositionCoalescer.flush();
+        }
         pipeline.fireWrite(framePool.take(performative, channel, null));
         return this;
     }
 
     ProtonEngine fireWrite(Performative performative, int channel, ProtonBuffer payload) {
+        if (dispositionCoalescer.hasPending()) {
+            dispositionCoalescer.flush();
+        }
         pipeline.fireWrite(framePool.take(performative, channel, payload));
         return this;
     }
 
+    ProtonDispositionCoalescer dispositionCoalescer() {
+        return dispositionCoalescer;
+    }
+
+    ProtonEngine frameCoalescer(ProtonFrameEncodingHandler frameCoalescer) {
+        this.frameCoalescer = frameCoalescer;
+        return this;
+    }
+
+    /*
+     * Writes the output held back during the current work cycle, coalesced dispositions are written
+     * first so that they join any frames coalesced by the frame encoder.
+     */
+    private void completeCoalescedOutput() {
+        if (dispositionCoalescer.hasPending()) {
+            dispositionCoalescer.flush();
+        }
+
+        if (frameCoalescer != null && frameCoalescer.hasCoalescedFrames()) {
+            frameCoalescer.flushCoalescedFrames();
+        }
+    }
+
+    private void discardCoalescedFrames() {
+        if (frameCoalescer != null) {
+            frameCoalescer.discardCoalescedFrames();
+        }
+    }
+
+    Scheduler autoTickScheduler() {
+        return idleTimeoutExecutor;
+    }
+
     OutgoingAMQPEnvelope wrap(Performative performative, int channel, ProtonBuffer payload) {
         return framePool.take(performative, channel, payload);
     }
@@ -520,6 +586,8 @@ public class ProtonEngine implements Engine {
                 long now = TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
 
                 try {
+                    completeCoalescedOutput();
+
                     performReadCheck(now);
                     performWriteCheck(now);
 
@@ -31,6 +31,16 @@ public class ProtonEngineConfiguration implements EngineConfiguration {
 
     private static final ProtonLogger LOG = ProtonLoggerFactory.getLogger(ProtonEngineConfiguration.class);
 
+    /**
+     * Default number of deliveries a single coalesced Disposition frame may cover.
+     */
+    public static final int DEFAULT_DISPOSITION_COALESCING_LIMIT = 256;
+
+    /**
+     * Default time in milliseconds that a coalesced Disposition may remain pending.
+     */
+    public static final long DEFAULT_DISPOSITION_COALESCING_DELAY = 10;
+
     private final ProtonEngine engine;
 
     private ProtonBufferAllocator allocator = ProtonBufferAllocator.defaultAllocator();
@@ -38,6 +48,13 @@ public class ProtonEngineConfiguration implements EngineConfiguration {
     private long effectiveMaxInboundFrameSize = ProtonConstants.MIN_MAX_AMQP_FRAME_SIZE;
     private long effectiveMaxOutboundFrameSize = ProtonConstants.MIN_MAX_AMQP_FRAME_SIZE;
 
+    private int zeroCopyThreshold;
+    private boolean reusePerformatives;
+    private boolean streamIncomingTransfers;
+    private int dispositionCoalescingLimit = DEFAULT_DISPOSITION_COALESCING_LIMIT;
+    private long dispositionCoalescingDelay = DEFAULT_DISPOSITION_COALESCING_DELAY;
+    private int frameCoalescingLimit;
+
     ProtonEngineConfiguration(ProtonEngine engine) {
         this.engine = engine;
     }
@@ -77,6 +94,110 @@ public class ProtonEngineConfiguration implements EngineConfiguration {
         }
     }
 
+    @Override
+    public ProtonEngineConfiguration setZeroCopyThreshold(int zeroCopyThreshold) {
+        if (zeroCopyThreshold < 0) {
+            throw new IllegalArgumentException("Zero copy threshold cannot be negative");
+        }
+
+        this.zeroCopyThreshold = zeroCopyThreshold;
+        return this;
+    }
+
+    @Override
+    public int getZeroCopyThreshold() {
+        return zeroCopyThreshold;
+    }
+
+    @Override
+    public ProtonEngineConfiguration setReusePerformatives(boolean reusePerformatives) {
+        EngineHandler handler = engine.pipeline().find(ProtonConstants.FRAME_DECODING_HANDLER);
+        if (handler != null && handler instanceof ProtonFrameDecodingHandler) {
+            ((ProtonFrameDecodingHandler) handler).setReusePerformatives(reusePerformatives);
+            this.reusePerformatives = reusePerformatives;
+        } else {
+            LOG.debug("Engine not configured with a frame decoding handler: cannot apply reusePerformatives={}", reusePerformatives);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean isReusePerformatives() {
+        return reusePerformatives;
+    }
+
+    @Override
+    public ProtonEngineConfiguration setStreamIncomingTransfers(boolean streamIncomingTransfers) {
+        EngineHandler handler = engine.pipeline().find(ProtonConstants.FRAME_DECODING_HANDLER);
+        if (handler != null && handler instanceof ProtonFrameDecodingHandler) {
+            ((ProtonFrameDecodingHandler) handler).setStreamIncomingTransfers(streamIncomingTransfers);
+            this.streamIncomingTransfers = streamIncomingTransfers;
+        } else {
+            LOG.debug("Engine not configured with a frame decoding handler: cannot apply streamIncomingTransfers={}", streamIncomingTransfers);
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean isStreamIncomingTransfers() {
+        return streamIncomingTransfers;
+    }
+
+    @Override
+    public ProtonEngineConfiguration setDispositionCoalescingLimit(int dispositionCoalescingLimit) {
+        if (dispositionCoalescingLimit <= 0) {
+            throw new IllegalArgumentException("Disposition coalescing limit must be greater than zero");
+        }
+
+        this.dispositionCoalescingLimit = dispositionCoalescingLimit;
+        return this;
+    }
+
+    @Override
+    public int getDispositionCoalescingLimit() {
+        return dispositionCoalescingLimit;
+    }
+
+    @Override
+    public ProtonEngineConfiguration setDispositionCoalescingDelay(long dispositionCoalescingDelay) {
+        if (dispositionCoalescingDelay < 0) {
+            throw new IllegalArgumentException("Disposition coalescing delay cannot be negative");
+        }
+
+        this.dispositionCoalescingDelay = dispositionCoalescingDelay;
+        return this;
+    }
+
+    @Override
+    public long getDispositionCoalescingDelay() {
+        return dispositionCoalescingDelay;
+    }
+
+    @Override
+    public ProtonEngineConfiguration setFrameCoalescingLimit(int frameCoalescingLimit) {
+        if (frameCoalescingLimit < 0) {
+            throw new IllegalArgumentException("Frame coalescing limit cannot be negative");
+        }
+
+        EngineHandler handler = engine.pipeline().find(ProtonConstants.FRAME_ENCODING_HANDLER);
+        if (handler != null && handler instanceof ProtonFrameEncodingHandler) {
+            ((ProtonFrameEncodingHandler) handler).setFrameCoalescingLimit(frameCoalescingLimit);
+            engine.frameCoalescer(frameCoalescingLimit > 0 ? (ProtonFrameEncodingHandler) handler : null);
+            this.frameCoalescingLimit = frameCoalescingLimit;
+        } else {
+            LOG.debug("Engine not configured with a frame encoding handler: cannot apply frameCoalescingLimit={}", frameCoalescingLimit);
+        }
+
+        return this;
+    }
+
+    @Override
+    public int getFrameCoalescingLimit() {
+        return frameCoalescingLimit;
+    }
+
     //---- proton specific APIs
 
     void recomputeEffectiveFrameSizeLimits() {
@@ -0,0 +1,535 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.engine.Connection;
+import org.apache.qpid.protonj2.engine.ConnectionState;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EventHandler;
+import org.apache.qpid.protonj2.engine.util.TimingWheel;
+import org.apache.qpid.protonj2.logging.ProtonLogger;
+import org.apache.qpid.protonj2.logging.ProtonLoggerFactory;
+
+/**
+ * Drives a large number of {@link Engine} instances from a small fixed set of event loop threads.
+ * <p>
+ * Each registered engine is bound to one event loop for its whole lifetime and all input, tasks
+ * and idle timeout processing for that engine run on the thread of that loop so the engine is never
+ * accessed concurrently.  Input and tasks submitted through the {@link Registration} are queued and
+ * then processed in batches, all the output an engine writes while a batch is processed is handed to
+ * the registered output handler in a single call once the batch is done which allows the transport
+ * to write the frames and then flush only once.
+ * <p>
+ * Instead of each engine scheduling its own idle timeout check as {@link Engine#tickAuto(ScheduledExecutorService)}
+ * does, every event loop keeps one {@link TimingWheel} holding the next tick deadline of each of its
+ * engines and calls {@link Engine#tick(long)} on those engines whose deadline has been reached.  An
+ * engine is ticked for the first time once its {@link Connection} has been opened and again whenever
+ * the remote idle timeout changes, so engines registered with a driver must not use automatic ticking.
+ * The tick resolution of the wheel bounds how late a tick can be and should be well below the idle
+ * timeouts in use.
+ */
+public final class ProtonEngineDriver implements AutoCloseable {
+
+    private static final ProtonLogger LOG = ProtonLoggerFactory.getLogger(ProtonEngineDriver.class);
+
+    /**
+     * The default tick resolution of the timing wheel in milliseconds.
+     */
+    public static final long DEFAULT_TICK_RESOLUTION = 100;
+
+    /**
+     * The default number of slots in the timing wheel of each event loop.
+     */
+    public static final int DEFAULT_WHEEL_SIZE = 512;
+
+    // Upper bound on the work processed for one engine before moving on to the next engine
+    private static final int MAX_BATCH_SIZE = 256;
+
+    private static final AtomicInteger DRIVER_SEQUENCE = new AtomicInteger();
+
+    private final EngineLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Creates a new {@link ProtonEngineDriver} with the given number of event loops using the default
+     * tick resolution and timing wheel size and daemon event loop threads.
+     *
+     * @param loopCount
+     * 		The number of event loops (and threads) that the registered engines are spread over.
+     */
+    public ProtonEngineDriver(int loopCount) {
+        this(loopCount, DEFAULT_TICK_RESOLUTION, DEFAULT_WHEEL_SIZE, createThreadFactory());
+    }
+
+    /**
+     * Creates a new {@link ProtonEngineDriver} instance.
+     *
+     * @param loopCount
+     * 		The number of event loops (and threads) that the registered engines are spread over.
+     * @param tickResolution
+     * 		The duration in milliseconds of one tick of the idle timeout timing wheel.
+     * @param wheelSize
+     * 		The number of slots in the timing wheel of each event loop.
+     * @param threadFactory
+     * 		The factory used to create the event loop threads.
+     */
+    public ProtonEngineDriver(int loopCount, long tickResolution, int wheelSize, ThreadFactory threadFactory) {
+        Objects.requireNonNull(threadFactory, "Thread factory cannot be null");
+
+        if (loopCount <= 0) {
+            throw new IllegalArgumentException("Loop count must be greater than zero");
+        }
+
+        this.loops = new EngineLoop[loopCount];
+
+        final long now = currentTime();
+
+        for (int i = 0; i < loopCount; ++i) {
+            loops[i] = new EngineLoop(new TimingWheel<>(wheelSize, tickResolution, now), threadFactory);
+        }
+
+        for (EngineLoop loop : loops) {
+            loop.thread.start();
+        }
+    }
+
+    /**
+     * @return the number of event loops this driver spreads the registered engines over.
+     */
+    public int getLoopCount() {
+        return loops.length;
+    }
+
+    /**
+     * @return true if this driver has been closed.
+     */
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Registers the given {@link Engine} with this driver, the engine is assigned to one of the event
+     * loops and its output consumer is replaced with one that batches the output for the given handler.
+     * Once registered the engine must only be accessed from tasks submitted through the returned
+     * {@link Registration} or from the engine event handlers that those tasks or the input trigger.
+     * <p>
+     * The output handler is called on the event loop thread with all of the buffers written by the
+     * engine while processing a batch of input or tasks or while ticking, ownership of the buffers
+     * passes to the handler but the list itself is reused and must not be retained.
+     *
+     * @param engine
+     * 		The engine to drive.
+     * @param outputHandler
+     * 		The handler that writes the output of the engine to its transport.
+     *
+     * @return a {@link Registration} used to feed the engine input and tasks.
+     *
+     * @throws IllegalStateException if this driver has been closed.
+     */
+    public Registration register(Engine engine, EventHandler<List<ProtonBuffer>> outputHandler) {
+        Objects.requireNonNull(engine, "Engine cannot be null");
+        Objects.requireNonNull(outputHandler, "Output handler cannot be null");
+
+        if (isClosed()) {
+            throw new IllegalStateException("Cannot register an Engine with a closed driver");
+        }
+
+        final EngineLoop loop = loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+        final Registration registration = new Registration(loop, engine, outputHandler);
+
+        loop.registrations.add(registration);
+
+        if (isClosed()) {
+            registration.close();
+            throw new IllegalStateException("Cannot register an Engine with a closed driver");
+        }
+
+        return registration;
+    }
+
+    /**
+     * Stops all event loops and waits for their threads to exit, input that is still queued for any
+     * registered engine is discarded and the registered engines are left in whatever state they were in.
+     */
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            for (EngineLoop loop : loops) {
+                loop.running = false;
+                LockSupport.unpark(loop.thread);
+            }
+
+            for (EngineLoop loop : loops) {
+                if (loop.thread != Thread.currentThread()) {
+                    try {
+                        loop.thread.join();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long currentTime() {
+        // Using nano time since it is not related to the wall clock, which may change
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+    }
+
+    private static ThreadFactory createThreadFactory() {
+        final int driverId = DRIVER_SEQUENCE.incrementAndGet();
+        final AtomicInteger loopId = new AtomicInteger();
+
+        return runnable -> {
+            final Thread thread = new Thread(runnable, "ProtonEngineDriver-" + driverId + "-" + loopId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * The handle to an {@link Engine} registered with a {@link ProtonEngineDriver} through which
+     * input and tasks are handed to the event loop that drives the engine.  The methods of this
+     * class can be called from any thread.
+     */
+    public static final class Registration {
+
+        // Queued in place of a task to have the loop release the engine in order with other work
+        private static final Object DETACH = new Object();
+
+        private final EngineLoop loop;
+        private final Engine engine;
+        private final EventHandler<List<ProtonBuffer>> outputHandler;
+        private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean readyQueued = new AtomicBoolean();
+        private final List<ProtonBuffer> output = new ArrayList<>();
+        private final TimingWheel<Registration>.Timeout idleTimeout;
+
+        private volatile boolean closed;
+
+        // State that is only accessed from the event loop thread
+        private boolean detached;
+        private boolean ticking;
+        private long remoteIdleTimeout;
+
+        private Registration(EngineLoop loop, Engine engine, EventHandler<List<ProtonBuffer>> outputHandler) {
+            this.loop = loop;
+            this.engine = engine;
+            this.outputHandler = outputHandler;
+            this.idleTimeout = loop.wheel.newTimeout(this);
+
+            engine.outputConsumer(output::add);
+        }
+
+        /**
+         * @return the {@link Engine} that this registration drives.
+         */
+        public Engine engine() {
+            return engine;
+        }
+
+        /**
+         * @return true if this registration has been closed or the driver released the engine.
+         */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Queues the given input for the engine, the input is ingested on the event loop thread and
+         * the buffer is closed once the engine has read it.
+         *
+         * @param input
+         * 		The bytes read from the transport of the engine.
+         *
+         * @throws IllegalStateException if this registration has been closed.
+         */
+        public void ingest(ProtonBuffer input) {
+            Objects.requireNonNull(input, "Input buffer cannot be null");
+
+            if (closed) {
+                input.close();
+                throw new IllegalStateException("Cannot ingest input for an Engine whose registration is closed");
+            }
+
+            enqueue(input);
+        }
+
+        /**
+         * Queues the given task to be run on the event loop thread, tasks and input are processed in
+         * the order they were submitted.  Any output the task causes the engine to write is batched
+         * with the output of the other work processed in the same loop iteration.
+         *
+         * @param task
+         * 		The task to run with exclusive access to the engine.
+         *
+         * @throws IllegalStateException if this registration has been closed.
+         */
+        public void execute(Runnable task) {
+            Objects.requireNonNull(task, "Task cannot be null");
+
+            if (closed) {
+                throw new IllegalStateException("Cannot execute tasks for an Engine whose registration is closed");
+            }
+
+            enqueue(task);
+        }
+
+        /**
+         * Releases the engine from the driver once all work queued before this call has been
+         * processed, the engine itself is not shut down.
+         */
+        public void close() {
+            if (!closed) {
+                closed = true;
+                enqueue(DETACH);
+            }
+        }
+
+        private void enqueue(Object work) {
+            pending.add(work);
+
+            if (readyQueued.compareAndSet(false, true)) {
+                loop.ready.add(this);
+                loop.wakeup();
+            }
+        }
+
+        //----- Event loop side of the registration
+
+        private void processPending(long now) {
+            readyQueued.set(false);
+
+            Object work;
+            int processed = 0;
+            while (processed++ < MAX_BATCH_SIZE && (work = pending.poll()) != null) {
+                if (detached) {
+                    discard(work);
+                } else if (work == DETACH) {
+                    flushOutput();
+                    detach();
+                } else if (work instanceof ProtonBuffer) {
+                    ingestInput((ProtonBuffer) work);
+                } else {
+                    runTask((Runnable) work);
+                }
+            }
+
+            afterActivity(now);
+
+            // Let the other engines on this loop run before processing the rest of the backlog
+            if (!detached && !pending.isEmpty() && readyQueued.compareAndSet(false, true)) {
+                loop.ready.add(this);
+            }
+        }
+
+        private void processIdleTimeout(long now) {
+            if (!detached) {
+                tick(now);
+                afterActivity(now);
+            }
+        }
+
+        private void ingestInput(ProtonBuffer input) {
+            try (input) {
+                do {
+                    engine.ingest(input);
+                } while (input.isReadable() && engine.isWritable());
+            } catch (Exception error) {
+                // The engine has already failed and notified its failure handler
+                LOG.trace("Engine failed while ingesting input: ", error);
+            }
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable error) {
+                LOG.warn("Engine task threw an unexpected error: ", error);
+            }
+        }
+
+        private void afterActivity(long now) {
+            if (detached) {
+                return;
+            }
+
+            if (engine.isRunning()) {
+                try {
+                    engine.completeWorkCycle();
+                } catch (Exception error) {
+                    LOG.trace("Engine failed while completing its work cycle: ", error);
+                }
+            }
+
+            flushOutput();
+
+            if (engine.isShutdown() || engine.isFailed()) {
+                detach();
+            } else if (engine.connection().getState() == ConnectionState.ACTIVE) {
+                // Tick when the connection first opens and whenever the remote idle timeout changes
+                // as the engine may then need to send heart beats sooner than the current deadline.
+                final long currentRemoteIdleTimeout = engine.connection().getRemoteIdleTimeout();
+
+                if (!ticking || currentRemoteIdleTimeout != remoteIdleTimeout) {
+                    ticking = true;
+                    remoteIdleTimeout = currentRemoteIdleTimeout;
+                    tick(now);
+                    flushOutput();
+                }
+            }
+        }
+
+        private void tick(long now) {
+            if (engine.isRunning() && engine.connection().getState() == ConnectionState.ACTIVE) {
+                try {
+                    final long deadline = engine.tick(now);
+
+                    if (deadline != 0) {
+                        idleTimeout.schedule(deadline);
+                    } else {
+                        idleTimeout.cancel();
+                    }
+                } catch (Exception error) {
+                    idleTimeout.cancel();
+                    LOG.trace("Engine idle timeout processing failed: ", error);
+                }
+            } else {
+                idleTimeout.cancel();
+            }
+        }
+
+        private void flushOutput() {
+            if (!output.isEmpty()) {
+                try {
+                    outputHandler.handle(output);
+                } catch (Throwable error) {
+                    engine.engineFailed(error);
+                } finally {
+                    output.clear();
+                }
+            }
+        }
+
+        private void detach() {
+            if (!detached) {
+                detached = true;
+                closed = true;
+                idleTimeout.cancel();
+                loop.registrations.remove(this);
+
+                Object work;
+                while ((work = pending.poll()) != null) {
+                    discard(work);
+                }
+
+                // Anything written after release was not batched so drop it rather than leak it
+                output.forEach(ProtonBuffer::close);
+                output.clear();
+            }
+        }
+
+        private static void discard(Object work) {
+            if (work instanceof ProtonBuffer) {
+                ((ProtonBuffer) work).close();
+            }
+        }
+    }
+
+    private static final class EngineLoop implements Runnable {
+
+        private final Queue<Registration> ready = new ConcurrentLinkedQueue<>();
+        private final Set<Registration> registrations = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean sleeping = new AtomicBoolean();
+        private final TimingWheel<Registration> wheel;
+        private final Thread thread;
+
+        private volatile boolean running = true;
+
+        EngineLoop(TimingWheel<Registration> wheel, ThreadFactory threadFactory) {
+            this.wheel = wheel;
+            this.thread = threadFactory.newThread(this);
+        }
+
+        void wakeup() {
+            if (sleeping.compareAndSet(true, false)) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    long now = currentTime();
+
+                    Registration registration;
+                    while (running && (registration = ready.poll()) != null) {
+                        registration.processPending(now);
+                    }
+
+                    wheel.expire(now, timedOut -> timedOut.processIdleTimeout(currentTime()));
+
+                    awaitWork();
+                }
+            } finally {
+                registrations.forEach(Registration::detach);
+                registrations.clear();
+
+                Registration registration;
+                while ((registration = ready.poll()) != null) {
+                    registration.detach();
+                }
+            }
+        }
+
+        private void awaitWork() {
+            sleeping.set(true);
+
+            if (running && ready.isEmpty()) {
+                if (wheel.isEmpty()) {
+                    LockSupport.park(this);
+                } else {
+                    // Wake for the next tick boundary of the wheel
+                    final long resolution = wheel.getTickDuration();
+                    final long delay = resolution - Math.floorMod(currentTime(), resolution);
+
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(delay));
+                }
+            }
+
+            sleeping.set(false);
+        }
+    }
+}
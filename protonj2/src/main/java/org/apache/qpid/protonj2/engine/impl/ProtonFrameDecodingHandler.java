@@ -16,12 +16,16 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import java.nio.charset.StandardCharsets;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonCompositeBuffer;
 import org.apache.qpid.protonj2.codec.CodecFactory;
 import org.apache.qpid.protonj2.codec.DecodeException;
 import org.apache.qpid.protonj2.codec.Decoder;
 import org.apache.qpid.protonj2.codec.DecoderState;
+import org.apache.qpid.protonj2.codec.EncodingCodes;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.engine.AMQPPerformativeEnvelopePool;
 import org.apache.qpid.protonj2.engine.EmptyEnvelope;
 import org.apache.qpid.protonj2.engine.EngineHandler;
@@ -39,6 +43,7 @@ import org.apache.qpid.protonj2.types.security.SaslOutcome;
 import org.apache.qpid.protonj2.types.security.SaslPerformative;
 import org.apache.qpid.protonj2.types.transport.AMQPHeader;
 import org.apache.qpid.protonj2.types.transport.Performative;
+import org.apache.qpid.protonj2.types.transport.Transfer;
 
 /**
  * Handler used to parse incoming frame data input into the engine
@@ -62,6 +67,8 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
      */
     public static final int FRAME_SIZE_BYTES = 4;
 
+    private static final byte[] TRANSFER_SYMBOL = Transfer.DESCRIPTOR_SYMBOL.toString().getBytes(StandardCharsets.US_ASCII);
+
     private final AMQPPerformativeEnvelopePool<IncomingAMQPEnvelope> framePool = AMQPPerformativeEnvelopePool.incomingEnvelopePool();
 
     private Decoder decoder;
@@ -69,11 +76,39 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
     private FrameParserStage stage = new HeaderParsingStage();
     private ProtonEngine engine;
     private ProtonEngineConfiguration configuration;
+    private boolean reusePerformatives;
+    private boolean streamIncomingTransfers;
 
     // Parser stages used during the parsing process
     private final FrameSizeParsingStage frameSizeParser = new FrameSizeParsingStage();
     private final FrameBufferingStage frameBufferingStage = new FrameBufferingStage();
     private final FrameBodyParsingStage frameBodyParsingStage = new FrameBodyParsingStage();
+    private final TransferStreamingStage transferStreamingStage = new TransferStreamingStage();
+
+    //----- Configuration applied from the engine configuration
+
+    void setReusePerformatives(boolean reusePerformatives) {
+        this.reusePerformatives = reusePerformatives;
+        applyReusePerformatives();
+    }
+
+    boolean isReusePerformatives() {
+        return reusePerformatives;
+    }
+
+    void setStreamIncomingTransfers(boolean streamIncomingTransfers) {
+        this.streamIncomingTransfers = streamIncomingTransfers;
+    }
+
+    boolean isStreamIncomingTransfers() {
+        return streamIncomingTransfers;
+    }
+
+    private void applyReusePerformatives() {
+        if (decoderState instanceof ProtonDecoderState) {
+            ((ProtonDecoderState) decoderState).setReusePerformatives(reusePerformatives);
+        }
+    }
 
     //----- Handler method implementations
 
@@ -140,6 +175,10 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
         return stage = frameBufferingStage.reset(length);
     }
 
+    private FrameParserStage transitionToTransferStreamingStage(int length) {
+        return stage = transferStreamingStage.reset(length);
+    }
+
     private FrameParserStage initializeFrameBodyParsingStage(int length) {
         return stage = frameBodyParsingStage.reset(length);
     }
@@ -153,6 +192,18 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
         return (ParsingErrorStage) stage;
     }
 
+    private static void validateDataOffset(int dataOffset, int frameSize) throws FrameDecodingException {
+        if (dataOffset < 8) {
+            throw new FrameDecodingException(String.format(
+                "specified frame data offset %d smaller than minimum frame header size %d", dataOffset, 8));
+        }
+
+        if (dataOffset > frameSize) {
+            throw new FrameDecodingException(String.format(
+                "specified frame data offset %d larger than the frame size %d", dataOffset, frameSize));
+        }
+    }
+
     //----- Frame Parsing Stage definition
 
     private interface FrameParserStage {
@@ -221,6 +272,7 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
                 } else {
                     decoder = CodecFactory.getDecoder();
                     decoderState = decoder.newDecoderState();
+                    applyReusePerformatives();
                     // Once we've read an AMQP header we no longer care if any SASL work
                     // occurs as that would be erroneous behavior which this handler doesn't
                     // deal with.
@@ -257,7 +309,11 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
                 int length = frameSize - FRAME_SIZE_BYTES;
 
                 if (input.getReadableBytes() < length) {
-                    transitionToFrameBufferingStage(length);
+                    if (streamIncomingTransfers) {
+                        transitionToTransferStreamingStage(length);
+                    } else {
+                        transitionToFrameBufferingStage(length);
+                    }
                 } else {
                     initializeFrameBodyParsingStage(length);
                 }
@@ -333,6 +389,233 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
         }
     }
 
+    /*
+     * Used in place of the frame buffering stage when incoming transfers are streamed.  The frame bytes are
+     * buffered only until the Transfer performative that starts the frame can be decoded, from then on the
+     * payload bytes of each read are handed on as a continuation of that Transfer.  Frames that do not start
+     * with a Transfer performative, or that arrive in full before the performative could be decoded, are
+     * buffered and parsed exactly as the frame buffering stage would.
+     */
+    private final class TransferStreamingStage implements FrameParserStage {
+
+        private static final int NEED_MORE_BYTES = -1;
+        private static final int NOT_A_TRANSFER = -2;
+
+        private ProtonCompositeBuffer buffer;
+        private int frameBytesRemaining;
+        private int frameSize;
+        private boolean bufferingOnly;
+        private boolean streaming;
+
+        private short channel;
+        private long handle;
+        private boolean more;
+        private boolean aborted;
+
+        @Override
+        public void parse(EngineHandlerContext context, ProtonBuffer input) {
+            if (streaming) {
+                streamPayload(context, input);
+                return;
+            }
+
+            if (input.getReadableBytes() > frameBytesRemaining) {
+                buffer.append(input.readSplit(frameBytesRemaining));
+            } else {
+                buffer.append(input);
+            }
+
+            frameBytesRemaining = frameSize - buffer.getReadableBytes();
+
+            if (frameBytesRemaining == 0) {
+                initializeFrameBodyParsingStage(buffer.getReadableBytes());
+                try (ProtonBuffer buffered = buffer) {
+                    stage.parse(context, buffer);
+                } finally {
+                    buffer = null;
+                }
+            } else if (!bufferingOnly) {
+                final int performativeEnd = locateTransferPerformativeEnd();
+
+                if (performativeEnd == NOT_A_TRANSFER) {
+                    bufferingOnly = true;
+                } else if (performativeEnd != NEED_MORE_BYTES && buffer.getReadableBytes() >= performativeEnd) {
+                    beginStreaming(context);
+                }
+            }
+        }
+
+        /*
+         * Peeks at the buffered frame bytes and returns the number of bytes from the start of the frame header
+         * to the end of the Transfer performative, or a negative marker if more bytes are needed to tell or the
+         * frame does not carry a Transfer.
+         */
+        private int locateTransferPerformativeEnd() {
+            final int start = buffer.getReadOffset();
+            final int readable = buffer.getReadableBytes();
+
+            if (readable < 2) {
+                return NEED_MORE_BYTES;
+            }
+
+            final int dataOffset = (buffer.getByte(start) << 2) & 0x3FF;
+
+            validateDataOffset(dataOffset, frameSize + FRAME_SIZE_BYTES);
+
+            if (buffer.getByte(start + 1) != AMQP_FRAME_TYPE) {
+                return NOT_A_TRANSFER;
+            }
+
+            int position = dataOffset - FRAME_SIZE_BYTES;
+
+            if (readable < position + 3) {
+                return NEED_MORE_BYTES;
+            }
+
+            if (buffer.getByte(start + position) != EncodingCodes.DESCRIBED_TYPE_INDICATOR) {
+                return NOT_A_TRANSFER;
+            }
+
+            final boolean transfer;
+
+            switch (buffer.getByte(start + position + 1)) {
+                case EncodingCodes.SMALLULONG:
+                    transfer = (buffer.getByte(start + position + 2) & 0xFF) == Transfer.DESCRIPTOR_CODE.longValue();
+                    position += 3;
+                    break;
+                case EncodingCodes.ULONG:
+                    if (readable < position + 10) {
+                        return NEED_MORE_BYTES;
+                    }
+                    transfer = buffer.getLong(start + position + 2) == Transfer.DESCRIPTOR_CODE.longValue();
+                    position += 10;
+                    break;
+                case EncodingCodes.SYM8:
+                    if (readable < position + 3 + TRANSFER_SYMBOL.length) {
+                        return NEED_MORE_BYTES;
+                    }
+                    transfer = (buffer.getByte(start + position + 2) & 0xFF) == TRANSFER_SYMBOL.length &&
+                               matchesTransferSymbol(start + position + 3);
+                    position += 3 + TRANSFER_SYMBOL.length;
+                    break;
+                case EncodingCodes.SYM32:
+                    if (readable < position + 6 + TRANSFER_SYMBOL.length) {
+                        return NEED_MORE_BYTES;
+                    }
+                    transfer = buffer.getInt(start + position + 2) == TRANSFER_SYMBOL.length &&
+                               matchesTransferSymbol(start + position + 6);
+                    position += 6 + TRANSFER_SYMBOL.length;
+                    break;
+                default:
+                    return NOT_A_TRANSFER;
+            }
+
+            if (!transfer) {
+                return NOT_A_TRANSFER;
+            }
+
+            if (readable < position + 1) {
+                return NEED_MORE_BYTES;
+            }
+
+            switch (buffer.getByte(start + position)) {
+                case EncodingCodes.LIST0:
+                    return position + 1;
+                case EncodingCodes.LIST8:
+                    if (readable < position + 2) {
+                        return NEED_MORE_BYTES;
+                    }
+                    return position + 2 + (buffer.getByte(start + position + 1) & 0xFF);
+                case EncodingCodes.LIST32:
+                    if (readable < position + 5) {
+                        return NEED_MORE_BYTES;
+                    }
+                    final int listSize = buffer.getInt(start + position + 1);
+                    // A size beyond the frame leaves the frame to be buffered and rejected by the full decode
+                    return listSize < 0 || listSize > frameSize ? NOT_A_TRANSFER : position + 5 + listSize;
+                default:
+                    return NOT_A_TRANSFER;
+            }
+        }
+
+        private boolean matchesTransferSymbol(int index) {
+            for (int i = 0; i < TRANSFER_SYMBOL.length; ++i) {
+                if (buffer.getByte(index + i) != TRANSFER_SYMBOL[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private void beginStreaming(EngineHandlerContext context) {
+            final int dataOffset = (buffer.readByte() << 2) & 0x3FF;
+
+            buffer.readByte(); // Frame type already checked to be AMQP
+            channel = buffer.readShort();
+
+            if (dataOffset != 8) {
+                buffer.advanceReadOffset(dataOffset - 8);
+            }
+
+            final Transfer transfer = (Transfer) decoder.readObject(buffer, decoderState);
+
+            ProtonBuffer payload = null;
+            if (buffer.isReadable()) {
+                payload = buffer.copy(buffer.getReadOffset(), buffer.getReadableBytes(), true);
+            }
+
+            buffer.close();
+            buffer = null;
+
+            // The original more and aborted state only applies once the final bytes of the frame have arrived
+            handle = transfer.getHandle();
+            more = transfer.getMore();
+            aborted = transfer.getAborted();
+            streaming = true;
+
+            transfer.setMore(true);
+            if (aborted) {
+                transfer.setAborted(false);
+            }
+
+            context.fireRead(framePool.take(transfer, channel, payload));
+        }
+
+        private void streamPayload(EngineHandlerContext context, ProtonBuffer input) {
+            final int chunkSize = Math.min(input.getReadableBytes(), frameBytesRemaining);
+            final ProtonBuffer payload = input.copy(input.getReadOffset(), chunkSize, true);
+
+            input.advanceReadOffset(chunkSize);
+            frameBytesRemaining -= chunkSize;
+
+            final Transfer continuation = new Transfer().setHandle(handle);
+
+            if (frameBytesRemaining == 0) {
+                continuation.setMore(more);
+                if (aborted) {
+                    continuation.setAborted(true);
+                }
+                transitionToFrameSizeParsingStage();
+            } else {
+                continuation.setMore(true);
+            }
+
+            context.fireRead(framePool.take(continuation, channel, payload).setFrameContinuation(true));
+        }
+
+        @Override
+        public TransferStreamingStage reset(int length) {
+            buffer = configuration.getBufferAllocator().composite().convertToReadOnly();
+            frameBytesRemaining = length;
+            frameSize = length;
+            bufferingOnly = false;
+            streaming = false;
+
+            return this;
+        }
+    }
+
     private final class FrameBodyParsingStage implements FrameParserStage {
 
         private int length;
@@ -396,18 +679,6 @@ public class ProtonFrameDecodingHandler implements EngineHandler, SaslPerformati
             }
         }
 
-        private void validateDataOffset(int dataOffset, int frameSize) throws FrameDecodingException {
-            if (dataOffset < 8) {
-                throw new FrameDecodingException(String.format(
-                    "specified frame data offset %d smaller than minimum frame header size %d", dataOffset, 8));
-            }
-
-            if (dataOffset > frameSize) {
-                throw new FrameDecodingException(String.format(
-                    "specified frame data offset %d larger than the frame size %d", dataOffset, frameSize));
-            }
-        }
-
         @Override
         public FrameBodyParsingStage reset(int length) {
             this.length = length;
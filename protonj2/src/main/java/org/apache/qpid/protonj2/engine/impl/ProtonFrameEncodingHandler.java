@@ -16,6 +16,9 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.codec.CodecFactory;
 import org.apache.qpid.protonj2.codec.EncodeException;
@@ -32,6 +35,12 @@ import org.apache.qpid.protonj2.types.transport.Performative;
 
 /**
  * Handler that encodes performatives into properly formed frames for IO
+ * <p>
+ * When a frame coalescing limit is configured the AMQP frames that are written without a payload
+ * reference are encoded one after another into a shared output buffer which is written once the
+ * engine completes its work cycle, once the buffer reaches the limit, or before any other output
+ * that must follow the coalesced frames.  The write completion callbacks of the coalesced frames
+ * are chained to the write of the shared buffer so each frame still reports its own completion.
  */
 public class ProtonFrameEncodingHandler implements EngineHandler {
 
@@ -60,14 +69,96 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
     private final EncoderState saslEncoderState = saslEncoder.newEncoderState();
     private final Encoder amqpEncoder = CodecFactory.getEncoder();
 
+    private final List<Runnable> coalescedWriteCompletions = new ArrayList<>();
+
     private PerformativeEncoder encoder;
     private ProtonEngine engine;
     private ProtonEngineConfiguration configuration;
+    private EngineHandlerContext context;
+    private int frameCoalescingLimit;
+    private ProtonBuffer coalescedOutput;
+
+    //----- Configuration applied from the engine configuration
+
+    void setFrameCoalescingLimit(int frameCoalescingLimit) {
+        if (frameCoalescingLimit <= 0) {
+            flushCoalescedFrames();
+        }
+
+        this.frameCoalescingLimit = frameCoalescingLimit;
+    }
+
+    int getFrameCoalescingLimit() {
+        return frameCoalescingLimit;
+    }
+
+    //----- Coalesced output management
+
+    /**
+     * Returns the number of frames carried by an output buffer given the write completion callback
+     * that accompanied it to the engine output handler.  A buffer of coalesced frames carries one frame
+     * for each frame write completion chained to its callback, any other output is a single frame.
+     *
+     * @param ioComplete
+     *      The write completion callback that was passed to the engine output handler.
+     *
+     * @return the number of frames carried by the output buffer written with the given callback.
+     */
+    public static int frameCount(Runnable ioComplete) {
+        if (ioComplete instanceof CoalescedFramesWriteComplete) {
+            return ((CoalescedFramesWriteComplete) ioComplete).frameCount();
+        } else {
+            return 1;
+        }
+    }
+
+    /**
+     * @return true if frames have been coalesced that have not yet been written.
+     */
+    boolean hasCoalescedFrames() {
+        return coalescedOutput != null;
+    }
+
+    /**
+     * Writes any frames that have been coalesced into the shared output buffer as a single write
+     * whose completion runs the write completion callback of each frame it carries.
+     */
+    void flushCoalescedFrames() {
+        if (coalescedOutput != null) {
+            final ProtonBuffer output = coalescedOutput.convertToReadOnly();
+            final Runnable ioComplete;
+
+            if (coalescedWriteCompletions.size() == 1) {
+                ioComplete = coalescedWriteCompletions.get(0);
+            } else {
+                ioComplete = new CoalescedFramesWriteComplete(coalescedWriteCompletions.toArray(new Runnable[coalescedWriteCompletions.size()]));
+            }
+
+            coalescedOutput = null;
+            coalescedWriteCompletions.clear();
+
+            context.fireWrite(output, ioComplete);
+        }
+    }
+
+    /**
+     * Drops any coalesced frames without writing them, used once the engine can no longer produce output.
+     */
+    void discardCoalescedFrames() {
+        if (coalescedOutput != null) {
+            coalescedOutput.close();
+            coalescedOutput = null;
+            coalescedWriteCompletions.clear();
+        }
+    }
+
+    //----- Handler method implementations
 
     @Override
     public void handlerAdded(EngineHandlerContext context) {
-        engine = (ProtonEngine) context.engine();
-        configuration = engine.configuration();
+        this.engine = (ProtonEngine) context.engine();
+        this.configuration = engine.configuration();
+        this.context = context;
 
         ((ProtonEngineHandlerContext) context).interestMask(ProtonEngineHandlerContext.HANDLER_WRITES);
     }
@@ -79,6 +170,7 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
 
     @Override
     public void handleWrite(EngineHandlerContext context, HeaderEnvelope envelope) {
+        flushCoalescedFrames();
         context.fireWrite(envelope.getBody().getBuffer(), null);
     }
 
@@ -97,13 +189,24 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
             saslEncoderState.reset();
         }
 
+        flushCoalescedFrames();
         context.fireWrite(output.setInt(FRAME_START_BYTE, output.getReadableBytes()), null);
     }
 
+    @Override
+    public void handleWrite(EngineHandlerContext context, ProtonBuffer buffer, Runnable ioComplete) {
+        flushCoalescedFrames();
+        context.fireWrite(buffer, ioComplete);
+    }
+
     @Override
     public void handleWrite(EngineHandlerContext context, OutgoingAMQPEnvelope envelope) {
+        final int zeroCopyThreshold = configuration.getZeroCopyThreshold();
+
         if (envelope.getPayload() == null) {
             writePerformativeWithNoPayload(context, envelope);
+        } else if (zeroCopyThreshold > 0 && envelope.getPayload().getReadableBytes() >= zeroCopyThreshold) {
+            writePerformativeWithPayloadReference(context, envelope);
         } else {
             writePerformativeWithPayload(context, envelope);
         }
@@ -112,95 +215,158 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
     private void writePerformativeWithNoPayload(EngineHandlerContext context, OutgoingAMQPEnvelope envelope) {
         final int maxFrameSize = (int) configuration.getOutboundMaxFrameSize();
         final int estimatedCapacity = Math.min(maxFrameSize, AMQP_PERFORMATIVE_PAD);
-        final ProtonBuffer output = configuration.getBufferAllocator().outputBuffer(estimatedCapacity)
-                                                                      .implicitGrowthLimit(maxFrameSize);
-
-        writePerformative(output, encoder, envelope.getChannel(), envelope.getBody());
+        final ProtonBuffer output = frameOutputBuffer(estimatedCapacity, maxFrameSize);
+        final int frameStart = output.getWriteOffset();
 
-        // Now fill in the frame header with the specified information
-        output.setInt(FRAME_START_BYTE, output.getReadableBytes());
-        output.setInt(FRAME_DOFF_BYTE, FRAME_HEADER_PREFIX | envelope.getChannel());
-        output.convertToReadOnly();
+        try {
+            writePerformative(output, frameStart, encoder, envelope.getChannel(), envelope.getBody());
+        } catch (Throwable error) {
+            frameEncodingFailed(output, frameStart);
+            throw error;
+        }
 
-        context.fireWrite(output, envelope::handleOutgoingFrameWriteComplete);
+        frameEncoded(context, output, frameStart, envelope);
     }
 
     private void writePerformativeWithPayload(EngineHandlerContext context, OutgoingAMQPEnvelope envelope) {
         final int maxFrameSize = (int) configuration.getOutboundMaxFrameSize();
         final ProtonBuffer payload = envelope.getPayload();
-        final int estimatedCapacity = Math.min(maxFrameSize, AMQP_PERFORMATIVE_PAD + payload.getReadableBytes());
-        final ProtonBuffer output = configuration.getBufferAllocator().outputBuffer(estimatedCapacity)
-                                                                      .implicitGrowthLimit(maxFrameSize);
+        final int performativeSize = sizeOfPerformative(encoder, envelope.getBody());
+        final int requiredCapacity = (int) Math.min(maxFrameSize, (long) FRAME_HEADER_SIZE + performativeSize + payload.getReadableBytes());
+        final ProtonBuffer output = frameOutputBuffer(requiredCapacity, maxFrameSize);
+        final int frameStart = output.getWriteOffset();
 
-        writePerformative(output, encoder, envelope.getChannel(), envelope.getBody());
+        try {
+            writePerformative(output, frameStart, encoder, envelope.getChannel(), envelope.getBody());
 
-        int remainingBytes = maxFrameSize - output.getWriteOffset();
+            int remainingBytes = maxFrameSize - (output.getWriteOffset() - frameStart);
 
-        if (payload.getReadableBytes() > remainingBytes) {
-            envelope.handlePayloadToLarge();
+            if (payload.getReadableBytes() > remainingBytes) {
+                envelope.handlePayloadToLarge();
 
-            writePerformative(output, encoder, envelope.getChannel(), envelope.getBody());
+                writePerformative(output, frameStart, encoder, envelope.getChannel(), envelope.getBody());
 
-            remainingBytes = maxFrameSize - output.getWriteOffset();
+                remainingBytes = maxFrameSize - (output.getWriteOffset() - frameStart);
 
-            output.ensureWritable(remainingBytes);
-            payload.copyInto(payload.getReadOffset(), output, output.getWriteOffset(), remainingBytes);
-            output.advanceWriteOffset(remainingBytes);
-            payload.advanceReadOffset(remainingBytes);
-        } else {
-            output.writeBytes(payload);
+                output.ensureWritable(remainingBytes);
+                payload.copyInto(payload.getReadOffset(), output, output.getWriteOffset(), remainingBytes);
+                output.advanceWriteOffset(remainingBytes);
+                payload.advanceReadOffset(remainingBytes);
+            } else {
+                output.writeBytes(payload);
+            }
+        } catch (Throwable error) {
+            frameEncodingFailed(output, frameStart);
+            throw error;
+        }
+
+        frameEncoded(context, output, frameStart, envelope);
+    }
+
+    private void writePerformativeWithPayloadReference(EngineHandlerContext context, OutgoingAMQPEnvelope envelope) {
+        // The payload is written as its own buffer component so any coalesced frames must go first
+        flushCoalescedFrames();
+
+        final int maxFrameSize = (int) configuration.getOutboundMaxFrameSize();
+        final ProtonBuffer performative = configuration.getBufferAllocator()
+                                                       .outputBuffer(FRAME_HEADER_SIZE + sizeOfPerformative(encoder, envelope.getBody()))
+                                                       .implicitGrowthLimit(maxFrameSize);
+
+        ProtonBuffer payload = envelope.getPayload();
+
+        try {
+            writePerformative(performative, encoder, envelope.getChannel(), envelope.getBody());
+
+            if (payload.getReadableBytes() > maxFrameSize - performative.getWriteOffset()) {
+                envelope.handlePayloadToLarge();
+
+                writePerformative(performative, encoder, envelope.getChannel(), envelope.getBody());
+
+                payload = payload.readSplit(maxFrameSize - performative.getWriteOffset());
+            } else {
+                payload = payload.readSplit(payload.getReadableBytes());
+            }
+        } catch (Throwable error) {
+            performative.close();
+            throw error;
         }
 
         // Now fill in the frame header with the specified information
-        output.setInt(FRAME_START_BYTE, output.getReadableBytes());
-        output.setInt(FRAME_DOFF_BYTE, FRAME_HEADER_PREFIX | envelope.getChannel());
-        output.convertToReadOnly();
+        performative.setInt(FRAME_START_BYTE, performative.getReadableBytes() + payload.getReadableBytes());
+        performative.setInt(FRAME_DOFF_BYTE, FRAME_HEADER_PREFIX | envelope.getChannel());
+
+        // The payload portion is handed on as its own component of the output without a copy.
+        final ProtonBuffer output = configuration.getBufferAllocator().composite(
+            new ProtonBuffer[] { performative.convertToReadOnly(), payload.convertToReadOnly() });
 
         context.fireWrite(output, envelope::handleOutgoingFrameWriteComplete);
     }
 
-    // TODO:
-    //-----------------------------------
-    // Eventual optimizations should allow for no copy of the incoming data into the
-    // output buffer by using a composite write similar to the below. Likely this will
-    // work best if the output buffer is written directly using a Netty 5 buffer proxy.
-    //
-    // @SuppressWarnings("resource")
-    // private void writePerformativeWithPayload(EngineHandlerContext context, OutgoingAMQPEnvelope envelope) {
-    //     final int maxFrameSize = (int) configuration.getOutboundMaxFrameSize();
-    //     final ProtonBuffer performativeBuffer = configuration.getBufferAllocator()
-    //                                                          .outputBuffer(AMQP_PERFORMATIVE_PAD)
-    //                                                          .implicitGrowthLimit(maxFrameSize);
-    //
-    //     ProtonBuffer payload = envelope.getPayload();
-    //
-    //     try (performativeBuffer) {
-    //         writePerformative(performativeBuffer, encoder, envelope.getChannel(), envelope.getBody());
-    //
-    //         if (payload.getReadableBytes() > (maxFrameSize - performativeBuffer.getWriteOffset())) {
-    //             envelope.handlePayloadToLarge();
-    //
-    //             writePerformative(performativeBuffer.setWriteOffset(0), encoder, envelope.getChannel(), envelope.getBody());
-    //
-    //             payload = payload.readSplit(maxFrameSize - performativeBuffer.getWriteOffset()).convertToReadOnly();
-    //         } else {
-    //             payload = payload.split().convertToReadOnly();
-    //         }
-    //
-    //         // Now fill in the frame header with the specified information
-    //         performativeBuffer.setInt(FRAME_START_BYTE, performativeBuffer.getReadableBytes() + payload.getReadableBytes());
-    //         performativeBuffer.setInt(FRAME_DOFF_BYTE, FRAME_HEADER_PREFIX | envelope.getChannel());
-    //         performativeBuffer.convertToReadOnly();
-    //
-    //         final ProtonCompositeBuffer output =
-    //             configuration.getBufferAllocator().composite(new ProtonBuffer[] { performativeBuffer, payload });
-    //
-    //         context.fireWrite(output, envelope::handleOutgoingFrameWriteComplete);
-    //     }
-    // }
+    private ProtonBuffer frameOutputBuffer(int requiredCapacity, int maxFrameSize) {
+        if (frameCoalescingLimit <= 0) {
+            return configuration.getBufferAllocator().outputBuffer(requiredCapacity).implicitGrowthLimit(maxFrameSize);
+        }
+
+        if (coalescedOutput != null && coalescedOutput.getReadableBytes() + requiredCapacity > frameCoalescingLimit) {
+            flushCoalescedFrames();
+        }
+
+        if (coalescedOutput == null) {
+            coalescedOutput = configuration.getBufferAllocator().outputBuffer(Math.max(requiredCapacity, AMQP_PERFORMATIVE_PAD));
+        } else if (coalescedOutput.getWritableBytes() < requiredCapacity) {
+            // Grow geometrically up to the coalescing limit to avoid a copy of the buffer for each frame
+            final int capacity = coalescedOutput.capacity();
+            coalescedOutput.ensureWritable(requiredCapacity, Math.min(capacity, Math.max(0, frameCoalescingLimit - capacity)), false);
+        }
+
+        // Each frame in the shared buffer is still bound by the maximum frame size
+        return coalescedOutput.implicitGrowthLimit((int) Math.min(Integer.MAX_VALUE, (long) coalescedOutput.getWriteOffset() + maxFrameSize));
+    }
+
+    private void frameEncodingFailed(ProtonBuffer output, int frameStart) {
+        if (output == coalescedOutput) {
+            // Drop the partially written frame so it is never written along with the coalesced frames
+            if (coalescedWriteCompletions.isEmpty()) {
+                discardCoalescedFrames();
+            } else {
+                output.setWriteOffset(frameStart);
+            }
+        } else {
+            output.close();
+        }
+    }
+
+    private void frameEncoded(EngineHandlerContext context, ProtonBuffer output, int frameStart, OutgoingAMQPEnvelope envelope) {
+        // Now fill in the frame header with the specified information
+        output.setInt(frameStart + FRAME_START_BYTE, output.getWriteOffset() - frameStart);
+        output.setInt(frameStart + FRAME_DOFF_BYTE, FRAME_HEADER_PREFIX | envelope.getChannel());
+
+        if (output == coalescedOutput) {
+            coalescedWriteCompletions.add(envelope::handleOutgoingFrameWriteComplete);
+
+            if (output.getReadableBytes() >= frameCoalescingLimit) {
+                flushCoalescedFrames();
+            }
+        } else {
+            output.convertToReadOnly();
+            context.fireWrite(output, envelope::handleOutgoingFrameWriteComplete);
+        }
+    }
+
+    private static int sizeOfPerformative(PerformativeEncoder encoder, Performative performative) {
+        try {
+            return encoder.sizeOf(performative);
+        } catch (EncodeException ex) {
+            throw new FrameEncodingException(ex);
+        }
+    }
 
     private static void writePerformative(ProtonBuffer target, PerformativeEncoder encoder, int channel, Performative performative) {
-        target.setWriteOffset(FRAME_HEADER_SIZE);
+        writePerformative(target, 0, encoder, channel, performative);
+    }
+
+    private static void writePerformative(ProtonBuffer target, int frameStart, PerformativeEncoder encoder, int channel, Performative performative) {
+        target.setWriteOffset(frameStart + FRAME_HEADER_SIZE);
 
         try {
             performative.invoke(encoder, target, channel, encoder.getEncoder());
@@ -208,4 +374,24 @@ public class ProtonFrameEncodingHandler implements EngineHandler {
             throw new FrameEncodingException(ex);
         }
     }
+
+    private static final class CoalescedFramesWriteComplete implements Runnable {
+
+        private final Runnable[] completions;
+
+        CoalescedFramesWriteComplete(Runnable[] completions) {
+            this.completions = completions;
+        }
+
+        int frameCount() {
+            return completions.length;
+        }
+
+        @Override
+        public void run() {
+            for (Runnable completion : completions) {
+                completion.run();
+            }
+        }
+    }
 }
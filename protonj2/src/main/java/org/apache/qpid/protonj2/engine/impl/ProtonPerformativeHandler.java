@@ -65,7 +65,11 @@ public class ProtonPerformativeHandler implements EngineHandler, HeaderHandler<E
     @Override
     public void handleRead(EngineHandlerContext context, IncomingAMQPEnvelope envelope) {
         try {
-            envelope.invoke(this, context);
+            if (envelope.isFrameContinuation()) {
+                connection.handleTransferFrameContinuation((Transfer) envelope.getBody(), envelope.getPayload(), envelope.getChannel());
+            } else {
+                envelope.invoke(this, context);
+            }
         } finally {
             envelope.release();
         }
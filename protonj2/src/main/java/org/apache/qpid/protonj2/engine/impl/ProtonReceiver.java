@@ -32,6 +32,7 @@ import org.apache.qpid.protonj2.engine.Session;
 import org.apache.qpid.protonj2.engine.exceptions.ProtocolViolationException;
 import org.apache.qpid.protonj2.engine.util.DeliveryIdTracker;
 import org.apache.qpid.protonj2.engine.util.UnsettledMap;
+import org.apache.qpid.protonj2.types.DeliveryTag;
 import org.apache.qpid.protonj2.types.UnsignedInteger;
 import org.apache.qpid.protonj2.types.transport.Attach;
 import org.apache.qpid.protonj2.types.transport.DeliveryState;
@@ -57,6 +58,7 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         new UnsettledMap<ProtonIncomingDelivery>(ProtonIncomingDelivery::getDeliveryIdInt);
 
     private DeliveryState defaultDeliveryState;
+    private boolean coalesceDispositions;
     private LinkCreditState drainStateSnapshot;
 
     /**
@@ -84,6 +86,17 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         return defaultDeliveryState;
     }
 
+    @Override
+    public ProtonReceiver setCoalesceDispositions(boolean coalesceDispositions) {
+        this.coalesceDispositions = coalesceDispositions;
+        return this;
+    }
+
+    @Override
+    public boolean isCoalesceDispositions() {
+        return coalesceDispositions;
+    }
+
     @Override
     public Role getRole() {
         return Role.RECEIVER;
@@ -392,7 +405,7 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         } else {
             verifyNewDeliveryIdSequence(transfer, currentDeliveryId);
 
-            delivery = new ProtonIncomingDelivery(this, transfer.getDeliveryId(), transfer.getDeliveryTag());
+            delivery = new ProtonIncomingDelivery(this, transfer.getDeliveryId(), retainedDeliveryTag(transfer));
             delivery.setMessageFormat((int) transfer.getMessageFormat());
 
             unsettled.put((int) transfer.getDeliveryId(), delivery);
@@ -450,6 +463,15 @@ public class ProtonReceiver extends ProtonLink<Receiver> implements Receiver {
         return this;
     }
 
+    private DeliveryTag retainedDeliveryTag(Transfer transfer) {
+        // The decoded tag is overwritten by the next transfer when the engine reuses performatives
+        if (transfer.getDeliveryTag() != null && getEngine().configuration().isReusePerformatives()) {
+            return transfer.getDeliveryTag().copy();
+        } else {
+            return transfer.getDeliveryTag();
+        }
+    }
+
     private void verifyNewDeliveryIdSequence(Transfer transfer, DeliveryIdTracker currentDeliveryId) {
         if (!transfer.hasDeliveryId()) {
             getEngine().engineFailed(
@@ -303,7 +303,8 @@ public class ProtonSender extends ProtonLink<Sender> implements Sender {
                 delivery.setDeliveryId(currentDeliveryId.longValue());
             }
 
-            if (!delivery.isSettled()) {
+            // Only track on the first transfer as streamed deliveries pass through here many times.
+            if (!delivery.isSettled() && delivery.getTransferCount() == 0) {
                 unsettled.put((int) delivery.getDeliveryId(), delivery);
             }
 
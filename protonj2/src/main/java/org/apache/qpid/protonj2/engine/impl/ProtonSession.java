@@ -584,7 +584,7 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
         }
     }
 
-    void remoteTransfer(Transfer transfer, ProtonBuffer payload, int channel) {
+    void remoteTransfer(Transfer transfer, ProtonBuffer payload, int channel, boolean frameContinuation) {
         final ProtonLink<?> link = remoteLinks.get((int) transfer.getHandle());
         if (link == null) {
             getEngine().engineFailed(new ProtocolViolationException(
@@ -592,7 +592,7 @@ public class ProtonSession extends ProtonEndpoint<Session> implements Session {
         } else if (!link.isRemotelyOpen()) {
             getEngine().engineFailed(new ProtocolViolationException("Received Transfer for detached Receiver: " + link));
         } else {
-            incomingWindow.handleTransfer(link, transfer, payload);
+            incomingWindow.handleTransfer(link, transfer, payload, frameContinuation);
         }
     }
 
@@ -132,9 +132,27 @@ public class ProtonSessionIncomingWindow {
      *      the payload that was transmitted with the incoming {@link Transfer}
      */
     Transfer handleTransfer(ProtonLink<?> link, Transfer transfer, ProtonBuffer payload) {
+        return handleTransfer(link, transfer, payload, false);
+    }
+
+    /**
+     * Update the session window state based on an incoming {@link Transfer} performative or on further
+     * payload of a Transfer frame that has already been accounted for.
+     *
+     * @param transfer
+     *      the incoming {@link Transfer} performative to process.
+     * @param payload
+     *      the payload that was transmitted with the incoming {@link Transfer}
+     * @param frameContinuation
+     *      true if the payload continues a frame whose {@link Transfer} was already processed.
+     */
+    Transfer handleTransfer(ProtonLink<?> link, Transfer transfer, ProtonBuffer payload, boolean frameContinuation) {
         incomingBytes += payload != null ? payload.getReadableBytes() : 0;
-        incomingWindow--;
-        nextIncomingId++;
+
+        if (!frameContinuation) {
+            incomingWindow--;
+            nextIncomingId++;
+        }
 
         final ProtonIncomingDelivery delivery = link.remoteTransfer(transfer, payload);
 
@@ -225,13 +243,18 @@ public class ProtonSessionIncomingWindow {
                 unsettled.remove((int) delivery.getDeliveryId());
             }
 
-            cachedDisposition.reset();
-            cachedDisposition.setFirst(delivery.getDeliveryId());
-            cachedDisposition.setRole(Role.RECEIVER);
-            cachedDisposition.setSettled(delivery.isSettled());
-            cachedDisposition.setState(delivery.getState());
-
-            engine.fireWrite(cachedDisposition, session.getLocalChannel());
+            if (receiver.isCoalesceDispositions()) {
+                engine.dispositionCoalescer().add(
+                    session.getLocalChannel(), delivery.getDeliveryId(), delivery.isSettled(), delivery.getState());
+            } else {
+                cachedDisposition.reset();
+                cachedDisposition.setFirst(delivery.getDeliveryId());
+                cachedDisposition.setRole(Role.RECEIVER);
+                cachedDisposition.setSettled(delivery.isSettled());
+                cachedDisposition.setState(delivery.getState());
+
+                engine.fireWrite(cachedDisposition, session.getLocalChannel());
+            }
         }
     }
 
@@ -261,7 +261,8 @@ public class ProtonSessionOutgoingWindow {
         // For a transfer that hasn't completed but has no bytes in the final transfer write we want
         // to allow a transfer to go out with the more flag as false.
 
-        if (!delivery.isSettled()) {
+        // Only track on the first transfer as streamed deliveries pass through here many times.
+        if (!delivery.isSettled() && delivery.getTransferCount() == 0) {
             unsettled.put((int) delivery.getDeliveryId(), delivery);
         }
 
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel that tracks a large number of timeouts with constant time schedule,
+ * reschedule and cancel operations.  Time is divided into ticks of a fixed duration and each
+ * timeout is stored in the wheel slot that its deadline tick hashes to, timeouts that are more
+ * than one revolution of the wheel away simply remain in their slot until the wheel reaches
+ * the deadline tick.
+ * <p>
+ * The wheel does not keep time itself, the owner calls {@link #expire(long, Consumer)} with the
+ * current time and every timeout whose deadline has been reached is removed and handed to the
+ * given consumer.  A timeout never expires before its deadline but can expire up to one tick
+ * duration after it.  This class is not thread safe and is meant to be used from a single thread.
+ *
+ * @param <E> the type of value that is associated with each timeout.
+ */
+public final class TimingWheel<E> {
+
+    private static final int MAXIMUM_WHEEL_SIZE = 1 << 30;
+
+    private final Timeout[] wheel;
+    private final int mask;
+    private final long tickDuration;
+    private final List<Timeout> expired = new ArrayList<>();
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a new {@link TimingWheel} instance.
+     *
+     * @param wheelSize
+     * 		The number of slots in the wheel, rounded up to the next power of two.
+     * @param tickDuration
+     * 		The duration of each tick of the wheel in the same units as the deadline values.
+     * @param currentTime
+     * 		The current time in the same units as the deadline values.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(int wheelSize, long tickDuration, long currentTime) {
+        if (wheelSize <= 0 || wheelSize > MAXIMUM_WHEEL_SIZE) {
+            throw new IllegalArgumentException("Wheel size must be greater than zero and no more than " + MAXIMUM_WHEEL_SIZE);
+        }
+
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("Tick duration must be greater than zero");
+        }
+
+        this.wheel = new TimingWheel.Timeout[wheelSize == 1 ? 1 : Integer.highestOneBit(wheelSize - 1) << 1];
+        this.mask = wheel.length - 1;
+        this.tickDuration = tickDuration;
+        this.currentTick = Math.floorDiv(currentTime, tickDuration);
+    }
+
+    /**
+     * @return the number of slots in this wheel.
+     */
+    public int getWheelSize() {
+        return wheel.length;
+    }
+
+    /**
+     * @return the duration of each tick of this wheel.
+     */
+    public long getTickDuration() {
+        return tickDuration;
+    }
+
+    /**
+     * @return the number of timeouts that are currently scheduled in this wheel.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no timeouts currently scheduled in this wheel.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Creates a new unscheduled {@link Timeout} for the given value, the returned timeout can be
+     * scheduled, cancelled and scheduled again as many times as needed.
+     *
+     * @param value
+     * 		The value that is handed to the expiration consumer when the timeout expires.
+     *
+     * @return a new unscheduled {@link Timeout} instance.
+     */
+    public Timeout newTimeout(E value) {
+        return new Timeout(value);
+    }
+
+    /**
+     * Creates a new {@link Timeout} for the given value and schedules it at the given deadline.
+     *
+     * @param value
+     * 		The value that is handed to the expiration consumer when the timeout expires.
+     * @param deadline
+     * 		The time at or after which the timeout should expire.
+     *
+     * @return the newly scheduled {@link Timeout} instance.
+     */
+    public Timeout schedule(E value, long deadline) {
+        final Timeout timeout = new Timeout(value);
+        timeout.schedule(deadline);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to the given time and hands the value of each timeout whose deadline has
+     * been reached to the given consumer.  The consumer is free to schedule or cancel any timeout
+     * of this wheel, including the one that just expired.
+     *
+     * @param currentTime
+     * 		The current time in the same units as the deadline values.
+     * @param consumer
+     * 		The consumer of the values of the expired timeouts.
+     *
+     * @return the number of timeouts that expired.
+     */
+    public int expire(long currentTime, Consumer<? super E> consumer) {
+        final long targetTick = Math.floorDiv(currentTime, tickDuration);
+
+        if (targetTick <= currentTick) {
+            return 0;
+        }
+
+        // Visiting each slot once is enough to find everything due no matter how far we advanced
+        final long slotsToVisit = Math.min(targetTick - currentTick, wheel.length);
+
+        for (long tick = currentTick + 1; tick <= currentTick + slotsToVisit; ++tick) {
+            Timeout timeout = wheel[(int) (tick & mask)];
+
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+
+                if (timeout.deadlineTick <= targetTick) {
+                    timeout.unlink();
+                    timeout.expired = true;
+                    expired.add(timeout);
+                }
+
+                timeout = next;
+            }
+        }
+
+        currentTick = targetTick;
+
+        int count = 0;
+
+        try {
+            for (int i = 0; i < expired.size(); ++i) {
+                final Timeout timeout = expired.get(i);
+
+                // Skip any that the consumer has since cancelled or scheduled again
+                if (timeout.expired) {
+                    timeout.expired = false;
+                    count++;
+                    consumer.accept(timeout.value);
+                }
+            }
+        } finally {
+            expired.forEach(timeout -> timeout.expired = false);
+            expired.clear();
+        }
+
+        return count;
+    }
+
+    /**
+     * A timeout that is tracked by the enclosing {@link TimingWheel}.
+     */
+    public final class Timeout {
+
+        private final E value;
+
+        private Timeout next;
+        private Timeout previous;
+        private int slot = -1;
+        private long deadline;
+        private long deadlineTick;
+        private boolean expired;
+
+        private Timeout(E value) {
+            this.value = value;
+        }
+
+        /**
+         * @return the value associated with this timeout.
+         */
+        public E getValue() {
+            return value;
+        }
+
+        /**
+         * @return the deadline that this timeout was last scheduled with.
+         */
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * @return true if this timeout is currently scheduled in the wheel.
+         */
+        public boolean isScheduled() {
+            return slot >= 0;
+        }
+
+        /**
+         * Schedules this timeout to expire at the given deadline replacing any previously
+         * scheduled deadline.  A deadline that has already passed expires on the next call
+         * to {@link TimingWheel#expire(long, Consumer)} that advances the wheel.
+         *
+         * @param deadline
+         * 		The time at or after which the timeout should expire.
+         *
+         * @return this {@link Timeout} instance.
+         */
+        public Timeout schedule(long deadline) {
+            if (isScheduled()) {
+                unlink();
+            }
+
+            expired = false;
+
+            this.deadline = deadline;
+            // Round up so that a timeout never fires before its deadline has been reached
+            this.deadlineTick = Math.max(Math.floorDiv(deadline, tickDuration) +
+                                         (Math.floorMod(deadline, tickDuration) == 0 ? 0 : 1), currentTick + 1);
+            this.slot = (int) (deadlineTick & mask);
+            this.next = wheel[slot];
+
+            if (next != null) {
+                next.previous = this;
+            }
+
+            wheel[slot] = this;
+            size++;
+
+            return this;
+        }
+
+        /**
+         * Cancels this timeout if it is scheduled, otherwise this method has no effect.
+         *
+         * @return true if the timeout was scheduled and has now been cancelled.
+         */
+        public boolean cancel() {
+            expired = false;
+
+            if (isScheduled()) {
+                unlink();
+                return true;
+            }
+
+            return false;
+        }
+
+        private void unlink() {
+            if (previous != null) {
+                previous.next = next;
+            } else {
+                wheel[slot] = next;
+            }
+
+            if (next != null) {
+                next.previous = previous;
+            }
+
+            next = null;
+            previous = null;
+            slot = -1;
+            size--;
+        }
+    }
+}
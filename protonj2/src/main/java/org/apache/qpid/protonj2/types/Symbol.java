@@ -18,26 +18,23 @@ package org.apache.qpid.protonj2.types;
 
 import static java.nio.charset.StandardCharsets.US_ASCII;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 
 /**
  * Class that represents an AMQP Symbol value.  The creation of a Symbol object
  * occurs during a lookup operation which cannot find an already stored version
- * of the string or byte buffer view of the Symbol's ASCII bytes.
+ * of the string or byte buffer view of the Symbol's ASCII bytes.  Symbols are
+ * interned in a size bounded {@link SymbolCache} so rarely used symbols can be
+ * evicted and recreated later, symbols must therefore always be compared using
+ * {@link #equals(Object)}.
  */
 public final class Symbol implements Comparable<Symbol> {
 
-    private static final Map<ProtonBuffer, Symbol> bufferToSymbols = new ConcurrentHashMap<>(2048);
-    private static final Map<String, Symbol> stringToSymbols = new ConcurrentHashMap<>(2048);
+    private static final SymbolCache CACHE = new SymbolCache(SymbolCache.DEFAULT_CAPACITY);
 
     private static final Symbol EMPTY_SYMBOL = new Symbol();
 
-    private static final int MAX_CACHED_SYMBOL_SIZE = 64;
-
     private String symbolString;
     private final ProtonBuffer underlying;
     private final int hashCode;
@@ -48,9 +45,19 @@ public final class Symbol implements Comparable<Symbol> {
         this.symbolString = "";
     }
 
-    private Symbol(ProtonBuffer underlying) {
+    private Symbol(ProtonBuffer underlying, String symbolString) {
         this.underlying = underlying;
         this.hashCode = underlying.hashCode();
+        this.symbolString = symbolString;
+    }
+
+    static Symbol create(ProtonBuffer underlying, String symbolString) {
+        return new Symbol(underlying, symbolString);
+    }
+
+
+    ProtonBuffer underlying() {
+        return underlying;
     }
 
     /**
@@ -76,13 +83,6 @@ public final class Symbol implements Comparable<Symbol> {
     public String toString() {
         if (symbolString == null && underlying.getReadableBytes() > 0) {
             symbolString = underlying.toString(US_ASCII);
-
-            if (underlying.getReadableBytes() <= MAX_CACHED_SYMBOL_SIZE) {
-                final Symbol existing;
-                if ((existing = stringToSymbols.putIfAbsent(symbolString, this)) != null) {
-                    symbolString = existing.symbolString;
-                }
-            }
         }
 
         return symbolString;
@@ -163,29 +163,31 @@ public final class Symbol implements Comparable<Symbol> {
             return EMPTY_SYMBOL;
         }
 
-        Symbol symbol = bufferToSymbols.get(symbolBuffer);
-        if (symbol == null) {
-            if (copyOnCreate) {
-                // Copy to a known heap based buffer to avoid issue with life-cycle of pooled buffer types.
-                int symbolSize = symbolBuffer.getReadableBytes();
-                ProtonBuffer copy = ProtonBufferAllocator.defaultAllocator().allocate(symbolSize);
-                copy.writeBytes(symbolBuffer);
-                symbolBuffer = copy.convertToReadOnly();
-            }
-
-            symbol = new Symbol(symbolBuffer);
-
-            // Don't cache overly large symbols to prevent holding large
-            // amount of memory in the symbol cache.
-            if (symbolBuffer.getReadableBytes() <= MAX_CACHED_SYMBOL_SIZE) {
-                final Symbol existing;
-                if ((existing = bufferToSymbols.putIfAbsent(symbolBuffer, symbol)) != null) {
-                    symbol = existing;
-                }
-            }
+        return CACHE.lookup(symbolBuffer, symbolBuffer.getReadOffset(), symbolBuffer.getReadableBytes(), copyOnCreate);
+    }
+
+    /**
+     * Look up a singleton {@link Symbol} instance that matches the ASCII bytes in the given region
+     * of the provided {@link ProtonBuffer}.  The lookup reads the bytes in place and does not modify
+     * the buffer offsets, if no matching {@link Symbol} exists the bytes are copied into a new one.
+     *
+     * @param buffer
+     * 		The {@link ProtonBuffer} that contains the {@link Symbol} bytes.
+     * @param offset
+     * 		The offset into the buffer where the {@link Symbol} bytes begin.
+     * @param length
+     * 		The number of bytes that make up the {@link Symbol}.
+     *
+     * @return a {@link Symbol} that matches the given bytes.
+     */
+    public static Symbol getSymbol(ProtonBuffer buffer, int offset, int length) {
+        if (buffer == null) {
+            return null;
+        } else if (length == 0) {
+            return EMPTY_SYMBOL;
         }
 
-        return symbol;
+        return CACHE.lookup(buffer, offset, length, true);
     }
 
     /**
@@ -204,17 +206,13 @@ public final class Symbol implements Comparable<Symbol> {
             return EMPTY_SYMBOL;
         }
 
-        Symbol symbol = stringToSymbols.get(stringValue);
-        if (symbol == null) {
-            symbol = getSymbol(ProtonBufferAllocator.defaultAllocator().copy(stringValue.getBytes(US_ASCII)));
-
-            // Don't cache overly large symbols to prevent holding large
-            // amount of memory in the symbol cache.
-            if (symbol.underlying.getReadableBytes() <= MAX_CACHED_SYMBOL_SIZE) {
-                stringToSymbols.put(stringValue, symbol);
-            }
-        }
+        return CACHE.lookup(stringValue);
+    }
 
-        return symbol;
+    /**
+     * @return the {@link SymbolCache} that interns the {@link Symbol} instances.
+     */
+    public static SymbolCache getCache() {
+        return CACHE;
     }
 }
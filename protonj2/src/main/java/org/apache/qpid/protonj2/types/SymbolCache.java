@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.types;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+
+/**
+ * Size bounded intern table of {@link Symbol} instances.
+ * <p>
+ * The table is split into segments that are each guarded by their own lock so that lookups of
+ * different symbols rarely contend.  Once a segment is full a CLOCK sweep evicts a symbol that
+ * has not been looked up since the last time the sweep passed it.  Symbols created from a
+ * {@link String} are pinned and never evicted as these are the well known symbols that the code
+ * defines as constants, to keep the table bounded only a portion of each segment can be pinned
+ * and any symbols created from strings beyond that point are evictable.  An evicted symbol is
+ * still a valid {@link Symbol}, a later lookup simply creates and interns a new equal instance.
+ */
+public final class SymbolCache {
+
+    /**
+     * The default maximum number of symbols held in the {@link Symbol} intern table.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The largest symbol in bytes that is interned, larger symbols are always new instances.
+     */
+    public static final int MAX_CACHED_SYMBOL_SIZE = 64;
+
+    private static final int SEGMENT_COUNT = 16;
+    private static final int SEGMENT_SHIFT = Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+    private final int capacity;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    SymbolCache(int capacity) {
+        if (capacity < SEGMENT_COUNT) {
+            throw new IllegalArgumentException("Symbol cache capacity must be at least " + SEGMENT_COUNT);
+        }
+
+        final int segmentCapacity = capacity / SEGMENT_COUNT;
+
+        for (int i = 0; i < SEGMENT_COUNT; ++i) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+
+        this.capacity = segmentCapacity * SEGMENT_COUNT;
+    }
+
+    /**
+     * @return the maximum number of symbols that this cache holds.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of symbols currently held in this cache.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * @return the number of lookups that found an already interned {@link Symbol}.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that had to create a new {@link Symbol}.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of symbols that have been evicted to make room for new ones.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    //----- Lookup operations used by the Symbol factory methods
+
+    Symbol lookup(ProtonBuffer buffer, int offset, int length, boolean copyOnCreate) {
+        if (length > MAX_CACHED_SYMBOL_SIZE) {
+            misses.increment();
+            return Symbol.create(createUnderlying(buffer, offset, length, copyOnCreate), null);
+        }
+
+        int hash = 1;
+        for (int i = 0; i < length; ++i) {
+            hash = 31 * hash + buffer.getByte(offset + i);
+        }
+        hash = spread(hash);
+
+        return segmentFor(hash).lookup(hash, buffer, offset, length, copyOnCreate);
+    }
+
+    Symbol lookup(String value) {
+        final int length = value.length();
+
+        if (length > MAX_CACHED_SYMBOL_SIZE) {
+            misses.increment();
+            return Symbol.create(ProtonBufferAllocator.defaultAllocator().copy(value.getBytes(US_ASCII)).convertToReadOnly(), value);
+        }
+
+        int hash = 1;
+        for (int i = 0; i < length; ++i) {
+            final char c = value.charAt(i);
+            if (c > 0x7F) {
+                // Not plain ASCII so interned using the bytes the ASCII encoding produces
+                final ProtonBuffer bytes = ProtonBufferAllocator.defaultAllocator().copy(value.getBytes(US_ASCII)).convertToReadOnly();
+                return lookup(bytes, bytes.getReadOffset(), bytes.getReadableBytes(), false);
+            }
+            hash = 31 * hash + c;
+        }
+        hash = spread(hash);
+
+        return segmentFor(hash).lookup(hash, value);
+    }
+
+    //----- Internal implementation
+
+    private Segment segmentFor(int hash) {
+        return segments[hash >>> (Integer.SIZE - SEGMENT_SHIFT)];
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    }
+
+    private static ProtonBuffer createUnderlying(ProtonBuffer buffer, int offset, int length, boolean copyOnCreate) {
+        if (copyOnCreate) {
+            // Copy to a known heap based buffer to avoid issue with life-cycle of pooled buffer types.
+            final ProtonBuffer copy = ProtonBufferAllocator.defaultAllocator().allocate(length);
+            buffer.copyInto(offset, copy, 0, length);
+            copy.advanceWriteOffset(length);
+            return copy.convertToReadOnly();
+        } else {
+            return buffer;
+        }
+    }
+
+    private static final class Entry {
+
+        final int hash;
+        final Symbol symbol;
+
+        boolean pinned;
+
+        Entry next;
+        int slot;
+        boolean referenced;
+
+        Entry(int hash, Symbol symbol, boolean pinned) {
+            this.hash = hash;
+            this.symbol = symbol;
+            this.pinned = pinned;
+        }
+
+        boolean matches(ProtonBuffer buffer, int offset, int length) {
+            final ProtonBuffer bytes = symbol.underlying();
+            if (bytes.getReadableBytes() != length) {
+                return false;
+            }
+
+            final int start = bytes.getReadOffset();
+            for (int i = 0; i < length; ++i) {
+                if (bytes.getByte(start + i) != buffer.getByte(offset + i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        boolean matches(String value) {
+            final ProtonBuffer bytes = symbol.underlying();
+            final int length = value.length();
+            if (bytes.getReadableBytes() != length) {
+                return false;
+            }
+
+            final int start = bytes.getReadOffset();
+            for (int i = 0; i < length; ++i) {
+                if (bytes.getByte(start + i) != value.charAt(i)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    private final class Segment {
+
+        private final Entry[] buckets;
+        private final Entry[] slots;
+        private final int maxPinned;
+
+        private int size;
+        private int pinned;
+        private int clockHand;
+
+        Segment(int capacity) {
+            this.buckets = new Entry[Integer.highestOneBit(capacity * 2 - 1) << 1];
+            this.slots = new Entry[capacity];
+            this.maxPinned = capacity / 2;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized Symbol lookup(int hash, ProtonBuffer buffer, int offset, int length, boolean copyOnCreate) {
+            final int index = hash & (buckets.length - 1);
+
+            for (Entry entry = buckets[index]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.matches(buffer, offset, length)) {
+                    entry.referenced = true;
+                    hits.increment();
+                    return entry.symbol;
+                }
+            }
+
+            misses.increment();
+
+            final Symbol symbol = Symbol.create(createUnderlying(buffer, offset, length, copyOnCreate), null);
+            insert(index, new Entry(hash, symbol, false));
+
+            return symbol;
+        }
+
+        synchronized Symbol lookup(int hash, String value) {
+            final int index = hash & (buckets.length - 1);
+
+            for (Entry entry = buckets[index]; entry != null; entry = entry.next) {
+                if (entry.hash == hash && entry.matches(value)) {
+                    // Interned from received bytes before the code asked for it by name
+                    if (!entry.pinned && pinned < maxPinned) {
+                        entry.pinned = true;
+                        pinned++;
+                    }
+
+                    entry.referenced = true;
+                    hits.increment();
+                    return entry.symbol;
+                }
+            }
+
+            misses.increment();
+
+            final Symbol symbol = Symbol.create(
+                ProtonBufferAllocator.defaultAllocator().copy(value.getBytes(US_ASCII)).convertToReadOnly(), value);
+            final boolean pin = pinned < maxPinned;
+
+            if (pin) {
+                pinned++;
+            }
+
+            insert(index, new Entry(hash, symbol, pin));
+
+            return symbol;
+        }
+
+        private void insert(int index, Entry entry) {
+            // Slots fill in order until the segment is full and from then on each
+            // insert reuses the slot of the entry that was evicted to make room.
+            entry.slot = size == slots.length ? evict() : size;
+            slots[entry.slot] = entry;
+            entry.next = buckets[index];
+            buckets[index] = entry;
+            size++;
+        }
+
+        private int evict() {
+            for (;;) {
+                final Entry candidate = slots[clockHand];
+                final int slot = clockHand;
+
+                clockHand = (clockHand + 1) % slots.length;
+
+                if (candidate.referenced) {
+                    candidate.referenced = false;
+                } else if (!candidate.pinned) {
+                    remove(candidate);
+                    evictions.increment();
+                    return slot;
+                }
+            }
+        }
+
+        private void remove(Entry entry) {
+            final int index = entry.hash & (buckets.length - 1);
+
+            if (buckets[index] == entry) {
+                buckets[index] = entry.next;
+            } else {
+                Entry previous = buckets[index];
+                while (previous.next != entry) {
+                    previous = previous.next;
+                }
+                previous.next = entry.next;
+            }
+
+            slots[entry.slot] = null;
+            entry.next = null;
+            size--;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.buffer.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+
+import org.apache.qpid.protonj2.buffer.ProtonAbstractBufferTest;
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonBufferComponent;
+import org.apache.qpid.protonj2.buffer.ProtonBufferComponentAccessor;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the native memory backed proton buffer
+ */
+public class ProtonDirectBufferTest extends ProtonAbstractBufferTest {
+
+    @Override
+    public ProtonBufferAllocator createTestCaseAllocator() {
+        return new ProtonDirectBufferAllocator();
+    }
+
+    @Test
+    public void testBufferIsDirect() {
+        try (ProtonBufferAllocator allocator = createTestCaseAllocator();
+             ProtonBuffer buffer = allocator.allocate(16)) {
+
+            assertTrue(buffer.isDirect());
+
+            try (ProtonBufferComponentAccessor accessor = buffer.componentAccessor()) {
+                for (ProtonBufferComponent component : accessor.components()) {
+                    assertFalse(component.hasReadbleArray());
+                    assertFalse(component.hasWritableArray());
+                    assertTrue(component.getWritableBuffer().isDirect());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReadableBufferViewsTheNativeMemory() {
+        try (ProtonBufferAllocator allocator = createTestCaseAllocator();
+             ProtonBuffer buffer = allocator.allocate(16)) {
+
+            buffer.writeLong(0x0102030405060708L);
+            buffer.readInt();
+
+            try (ProtonBufferComponentAccessor accessor = buffer.componentAccessor()) {
+                final ByteBuffer readable = accessor.firstReadable().getReadableBuffer();
+
+                assertTrue(readable.isDirect());
+                assertTrue(readable.isReadOnly());
+                assertEquals(4, readable.remaining());
+                assertEquals(0x05060708, readable.getInt());
+            }
+        }
+    }
+
+    @Test
+    public void testHeapBufferAllocationIsNotDirect() {
+        try (ProtonBufferAllocator allocator = createTestCaseAllocator();
+             ProtonBuffer buffer = allocator.allocateHeapBuffer(16)) {
+
+            assertFalse(buffer.isDirect());
+        }
+    }
+
+    @Test
+    public void testGrowthRetainsContents() {
+        try (ProtonBufferAllocator allocator = createTestCaseAllocator();
+             ProtonBuffer buffer = allocator.allocate(8)) {
+
+            for (int i = 0; i < 1024; ++i) {
+                buffer.writeInt(i);
+            }
+
+            assertTrue(buffer.capacity() >= 4096);
+
+            for (int i = 0; i < 1024; ++i) {
+                assertEquals(i, buffer.readInt());
+            }
+        }
+    }
+}
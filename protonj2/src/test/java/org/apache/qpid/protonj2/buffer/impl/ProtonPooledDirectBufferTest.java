@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.buffer.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test the native memory backed proton buffer when allocated from a pooling allocator
+ */
+public class ProtonPooledDirectBufferTest extends ProtonDirectBufferTest {
+
+    @Override
+    public ProtonBufferAllocator createTestCaseAllocator() {
+        return ProtonDirectBufferAllocator.pooled();
+    }
+
+    @Test
+    public void testDefaultAllocatorDoesNotPool() {
+        assertFalse(new ProtonDirectBufferAllocator().isPooling());
+        assertTrue(ProtonDirectBufferAllocator.pooled().isPooling());
+    }
+
+    @Test
+    public void testClosedBufferMemoryIsPooledAndReused() {
+        try (ProtonDirectBufferAllocator allocator = ProtonDirectBufferAllocator.pooled()) {
+            ProtonBuffer buffer = allocator.allocate(100);
+            buffer.writeLong(Long.MAX_VALUE);
+
+            assertEquals(0, allocator.getPooledCount());
+            buffer.close();
+            assertEquals(1, allocator.getPooledCount());
+
+            // Same size class reuses the pooled memory
+            try (ProtonBuffer reused = allocator.allocate(120)) {
+                assertEquals(0, allocator.getPooledCount());
+                assertEquals(120, reused.capacity());
+                assertEquals(0, reused.getReadableBytes());
+            }
+
+            assertEquals(1, allocator.getPooledCount());
+        }
+    }
+
+    @Test
+    public void testBuffersLargerThanMaximumAreNotPooled() {
+        try (ProtonDirectBufferAllocator allocator = new ProtonDirectBufferAllocator(1024, 4)) {
+            allocator.allocate(2048).close();
+            assertEquals(0, allocator.getPooledCount());
+
+            allocator.allocate(1024).close();
+            assertEquals(1, allocator.getPooledCount());
+        }
+    }
+
+    @Test
+    public void testPoolSizeIsBounded() {
+        try (ProtonDirectBufferAllocator allocator = new ProtonDirectBufferAllocator(1024, 2)) {
+            ProtonBuffer buffer1 = allocator.allocate(64);
+            ProtonBuffer buffer2 = allocator.allocate(64);
+            ProtonBuffer buffer3 = allocator.allocate(64);
+
+            buffer1.close();
+            buffer2.close();
+            buffer3.close();
+
+            assertEquals(2, allocator.getPooledCount());
+        }
+    }
+
+    @Test
+    public void testSplitBuffersReleaseMemoryOnlyOnceBothClosed() {
+        try (ProtonDirectBufferAllocator allocator = ProtonDirectBufferAllocator.pooled()) {
+            ProtonBuffer buffer = allocator.allocate(64);
+            buffer.writeLong(1).writeLong(2);
+
+            ProtonBuffer front = buffer.split(8);
+
+            front.close();
+            assertEquals(0, allocator.getPooledCount());
+            assertEquals(2, buffer.readLong());
+
+            buffer.close();
+            assertEquals(1, allocator.getPooledCount());
+        }
+    }
+
+    @Test
+    public void testTransferredBufferKeepsMemory() {
+        try (ProtonDirectBufferAllocator allocator = ProtonDirectBufferAllocator.pooled()) {
+            ProtonBuffer buffer = allocator.allocate(64);
+            buffer.writeLong(42);
+
+            ProtonBuffer transferred = buffer.transfer();
+
+            assertTrue(buffer.isClosed());
+            assertEquals(0, allocator.getPooledCount());
+            assertEquals(42, transferred.readLong());
+
+            transferred.close();
+            assertEquals(1, allocator.getPooledCount());
+        }
+    }
+
+    @Test
+    public void testGrowthReleasesPreviousMemory() {
+        try (ProtonDirectBufferAllocator allocator = ProtonDirectBufferAllocator.pooled()) {
+            ProtonBuffer buffer = allocator.allocate(64);
+            buffer.writeLong(42);
+            buffer.ensureWritable(512);
+
+            assertEquals(1, allocator.getPooledCount());
+            assertEquals(42, buffer.readLong());
+
+            buffer.close();
+            assertEquals(2, allocator.getPooledCount());
+        }
+    }
+
+    @Test
+    public void testCloseAllocatorEmptiesPool() {
+        ProtonDirectBufferAllocator allocator = ProtonDirectBufferAllocator.pooled();
+
+        ProtonBuffer buffer = allocator.allocate(64);
+        allocator.allocate(64).close();
+
+        assertEquals(1, allocator.getPooledCount());
+        allocator.close();
+        assertEquals(0, allocator.getPooledCount());
+
+        buffer.close();
+        assertEquals(0, allocator.getPooledCount());
+    }
+
+    @Test
+    public void testMemoryNotPooledIsFreedWhenLastBufferClosed() {
+        final int capacity = 1024 * 1024;
+
+        try (ProtonDirectBufferAllocator allocator = new ProtonDirectBufferAllocator(1024, 1)) {
+            ProtonBuffer unpooled = allocator.allocate(capacity);
+            ProtonBuffer split = unpooled.split(capacity / 2);
+
+            final long allocated = directMemoryUsed();
+
+            split.close();
+            assertEquals(allocated, directMemoryUsed());
+
+            unpooled.close();
+            assertTrue(directMemoryUsed() <= allocated - capacity);
+        }
+
+        ProtonBuffer unpooled = new ProtonDirectBufferAllocator().allocate(capacity);
+        final long allocated = directMemoryUsed();
+
+        unpooled.close();
+        assertTrue(directMemoryUsed() <= allocated - capacity);
+    }
+
+    private static long directMemoryUsed() {
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                return pool.getMemoryUsed();
+            }
+        }
+
+        return -1;
+    }
+}
@@ -17,6 +17,8 @@
 package org.apache.qpid.protonj2.codec;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
@@ -28,6 +30,7 @@ import org.apache.qpid.protonj2.buffer.ProtonBufferInputStream;
 import org.apache.qpid.protonj2.codec.util.NoLocalType;
 import org.apache.qpid.protonj2.codec.util.NoLocalTypeDecoder;
 import org.apache.qpid.protonj2.codec.util.NoLocalTypeEncoder;
+import org.apache.qpid.protonj2.types.UnknownDescribedType;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -67,4 +70,16 @@ public class RegisteredTypeCodecTest extends CodecTestSupport {
         NoLocalType resultTye = (NoLocalType) result;
         assertEquals(NoLocalType.NO_LOCAL.getDescriptor(), resultTye.getDescriptor());
     }
+
+    @Test
+    public void testRegisteredEncoderReplacesEncoderResolvedBeforeRegistration() throws IOException {
+        assertSame(encoder.getTypeEncoder(new UnknownDescribedType(NoLocalType.NO_LOCAL.getDescriptor(), "")),
+                   encoder.getTypeEncoder(NoLocalType.NO_LOCAL));
+        assertNull(encoder.getTypeEncoder(NoLocalType.class));
+
+        encoder.registerDescribedTypeEncoder(new NoLocalTypeEncoder());
+
+        assertTrue(encoder.getTypeEncoder(NoLocalType.NO_LOCAL) instanceof NoLocalTypeEncoder);
+        assertTrue(encoder.getTypeEncoder(NoLocalType.class) instanceof NoLocalTypeEncoder);
+    }
 }
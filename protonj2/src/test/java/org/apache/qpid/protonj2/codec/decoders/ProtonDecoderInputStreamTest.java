@@ -0,0 +1,272 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.decoders;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.buffer.ProtonBufferInputStream;
+import org.apache.qpid.protonj2.codec.CodecTestSupport;
+import org.apache.qpid.protonj2.codec.DecodeEOFException;
+import org.apache.qpid.protonj2.types.Binary;
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.UnsignedInteger;
+import org.apache.qpid.protonj2.types.messaging.Properties;
+import org.apache.qpid.protonj2.types.transport.Transfer;
+import org.junit.jupiter.api.Test;
+
+public class ProtonDecoderInputStreamTest extends CodecTestSupport {
+
+    @Test
+    public void testReadPrimitivesFromSingleSourceRead() throws IOException {
+        final byte[] bytes = new byte[] { 1, 0, 2, 0, 0, 0, 3, 0, 0, 0, 0, 0, 0, 0, 4 };
+        final TrackingInputStream source = new TrackingInputStream(bytes, true);
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(source);
+
+        assertEquals(1, stream.readByte());
+        assertEquals(2, stream.readShort());
+        assertEquals(3, stream.readInt());
+        assertEquals(4, stream.readLong());
+        assertEquals(1, source.readCalls);
+        assertEquals(-1, stream.read());
+    }
+
+    @Test
+    public void testOnlyRequestsNeededBytesWhenSourceReportsNoneAvailable() throws IOException {
+        final byte[] bytes = new byte[] { 0, 0, 0, 1, 0, 0, 0, 2 };
+        final TrackingInputStream source = new TrackingInputStream(bytes, false);
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(source);
+
+        assertEquals(1, stream.readInt());
+        assertEquals(4, source.bytesRead);
+        assertEquals(0, stream.getBufferedBytes());
+        assertEquals(2, stream.readInt());
+        assertEquals(8, source.bytesRead);
+    }
+
+    @Test
+    public void testReadPrimitiveSpanningSourceReads() throws IOException {
+        final byte[] bytes = new byte[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 1, 2 };
+        final TrackingInputStream source = new TrackingInputStream(bytes, true);
+        source.maxChunk = 3;
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(source);
+
+        assertEquals(0, stream.readLong());
+        assertEquals(0, stream.readInt());
+        assertEquals(0, stream.readShort());
+        assertEquals(0x0102, stream.readShort());
+    }
+
+    @Test
+    public void testReadPastEndThrowsEOFException() throws IOException {
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(new ByteArrayInputStream(new byte[] { 1, 2 }));
+
+        assertThrows(EOFException.class, () -> stream.readInt());
+    }
+
+    @Test
+    public void testMarkAndResetRetainsBytesWhenWindowGrows() throws IOException {
+        final byte[] bytes = new byte[64];
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte) i;
+        }
+
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(8);
+        stream.reset(new TrackingInputStream(bytes, false));
+
+        assertEquals(0, stream.read());
+        assertEquals(1, stream.read());
+
+        stream.mark(bytes.length);
+
+        final byte[] first = new byte[32];
+        assertEquals(first.length, stream.readNBytes(first, 0, first.length));
+
+        stream.reset();
+
+        final byte[] second = new byte[32];
+        assertEquals(second.length, stream.readNBytes(second, 0, second.length));
+        assertArrayEquals(first, second);
+        assertEquals(2, first[0]);
+        assertEquals(34, stream.read());
+    }
+
+    @Test
+    public void testResetWithoutMarkFails() throws IOException {
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(new ByteArrayInputStream(new byte[] { 1 }));
+
+        assertThrows(IOException.class, () -> stream.reset());
+    }
+
+    @Test
+    public void testLargeReadBypassesWindow() throws IOException {
+        final byte[] bytes = new byte[64];
+        final TrackingInputStream source = new TrackingInputStream(bytes, true);
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(16);
+        stream.reset(source);
+
+        final byte[] target = new byte[bytes.length];
+
+        assertEquals(bytes.length, stream.read(target, 0, target.length));
+        assertEquals(1, source.readCalls);
+        assertEquals(0, stream.getBufferedBytes());
+    }
+
+    @Test
+    public void testSkipConsumesBufferedAndSourceBytes() throws IOException {
+        final byte[] bytes = new byte[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(4);
+        stream.reset(new TrackingInputStream(bytes, true));
+
+        assertEquals(0, stream.read());
+        assertEquals(6, stream.skip(6));
+        assertEquals(7, stream.read());
+    }
+
+    @Test
+    public void testReadUTF8() throws IOException {
+        final String ascii = "ascii-string";
+        final String multiByte = "é中文-text";
+        final byte[] asciiBytes = ascii.getBytes(StandardCharsets.UTF_8);
+        final byte[] multiBytes = multiByte.getBytes(StandardCharsets.UTF_8);
+        final byte[] bytes = new byte[asciiBytes.length + multiBytes.length];
+
+        System.arraycopy(asciiBytes, 0, bytes, 0, asciiBytes.length);
+        System.arraycopy(multiBytes, 0, bytes, asciiBytes.length, multiBytes.length);
+
+        final TrackingInputStream source = new TrackingInputStream(bytes, true);
+        source.maxChunk = 5;
+        final ProtonDecoderInputStream stream = new ProtonDecoderInputStream(4);
+        stream.reset(source);
+
+        assertEquals(ascii, stream.readUTF8(asciiBytes.length));
+        assertEquals(multiByte, stream.readUTF8(multiBytes.length));
+        assertEquals("", stream.readUTF8(0));
+    }
+
+    @Test
+    public void testReadAheadStreamReturnsBufferStreamsUnchanged() {
+        final ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        final InputStream bufferStream = new ProtonBufferInputStream(buffer);
+
+        assertSame(bufferStream, streamDecoderState.readAheadStream(bufferStream));
+
+        final InputStream first = streamDecoderState.readAheadStream(new ByteArrayInputStream(new byte[0]));
+        final InputStream second = streamDecoderState.readAheadStream(new ByteArrayInputStream(new byte[0]));
+
+        assertNotSame(bufferStream, first);
+        assertSame(first, second);
+        assertSame(first, streamDecoderState.readAheadStream(first));
+    }
+
+    @Test
+    public void testDecodeThroughReadAheadStream() throws IOException {
+        final Transfer transfer = new Transfer();
+        transfer.setHandle(1);
+        transfer.setDeliveryId(UnsignedInteger.MAX_VALUE.longValue());
+        transfer.setDeliveryTag(new byte[] { 1, 2, 3 });
+        transfer.setMessageFormat(0);
+        transfer.setMore(true);
+
+        final Properties properties = new Properties();
+        properties.setMessageId("ID:é-1");
+        properties.setSubject("subject");
+        properties.setContentType("text/plain");
+        properties.setUserId(new Binary(new byte[] { 4, 5, 6 }));
+        properties.setAbsoluteExpiryTime(Long.MAX_VALUE);
+
+        final ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        encoder.writeObject(buffer, encoderState, transfer);
+        encoder.writeObject(buffer, encoderState, properties);
+        encoder.writeSymbol(buffer, encoderState, Symbol.valueOf("trailer"));
+
+        final byte[] bytes = new byte[buffer.getReadableBytes()];
+        buffer.readBytes(bytes, 0, bytes.length);
+
+        final TrackingInputStream source = new TrackingInputStream(bytes, true);
+        source.maxChunk = 7;
+
+        final InputStream stream = streamDecoderState.readAheadStream(source);
+        assertTrue(stream instanceof ProtonDecoderInputStream);
+
+        final Transfer decodedTransfer = (Transfer) streamDecoder.readObject(stream, streamDecoderState);
+        final Properties decodedProperties = (Properties) streamDecoder.readObject(stream, streamDecoderState);
+
+        assertEquals(transfer.getHandle(), decodedTransfer.getHandle());
+        assertEquals(transfer.getDeliveryId(), decodedTransfer.getDeliveryId());
+        assertEquals(transfer.getDeliveryTag(), decodedTransfer.getDeliveryTag());
+        assertEquals(transfer.getMore(), decodedTransfer.getMore());
+        assertEquals(properties.getMessageId(), decodedProperties.getMessageId());
+        assertEquals(properties.getSubject(), decodedProperties.getSubject());
+        assertEquals(properties.getContentType(), decodedProperties.getContentType());
+        assertEquals(properties.getUserId(), decodedProperties.getUserId());
+        assertEquals(properties.getAbsoluteExpiryTime(), decodedProperties.getAbsoluteExpiryTime());
+        assertEquals(Symbol.valueOf("trailer"), streamDecoder.readSymbol(stream, streamDecoderState));
+        assertThrows(DecodeEOFException.class, () -> streamDecoder.readObject(stream, streamDecoderState));
+    }
+
+    private static final class TrackingInputStream extends ByteArrayInputStream {
+
+        private final boolean reportAvailable;
+
+        private int maxChunk = Integer.MAX_VALUE;
+        private int readCalls;
+        private int bytesRead;
+
+        TrackingInputStream(byte[] bytes, boolean reportAvailable) {
+            super(bytes);
+            this.reportAvailable = reportAvailable;
+        }
+
+        @Override
+        public synchronized int available() {
+            return reportAvailable ? super.available() : 0;
+        }
+
+        @Override
+        public synchronized int read() {
+            readCalls++;
+            final int result = super.read();
+            if (result >= 0) {
+                bytesRead++;
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized int read(byte[] target, int offset, int length) {
+            readCalls++;
+            final int result = super.read(target, offset, Math.min(length, maxChunk));
+            if (result > 0) {
+                bytesRead += result;
+            }
+            return result;
+        }
+    }
+}
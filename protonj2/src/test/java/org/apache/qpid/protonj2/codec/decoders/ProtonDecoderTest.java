@@ -19,6 +19,7 @@ package org.apache.qpid.protonj2.codec.decoders;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -289,4 +290,104 @@ public class ProtonDecoderTest extends CodecTestSupport {
         assertNotNull(((ProtonDecoderState) decoderState).getStringDecoder());
         assertThrows(DecodeException.class, () -> decoder.readString(buffer, decoderState));
     }
+
+    @Test
+    public void testStringCacheDisabledByDefault() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        encoder.writeString(buffer, encoderState, "address");
+        encoder.writeString(buffer, encoderState, "address");
+
+        String first = decoder.readString(buffer, decoderState);
+        String second = decoder.readString(buffer, decoderState);
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(0, ((ProtonDecoderState) decoderState).getStringCacheSize());
+        assertEquals(0, ((ProtonDecoderState) decoderState).getStringCacheHits());
+    }
+
+    @Test
+    public void testStringCacheSizeRoundedToPowerOfTwo() {
+        ProtonDecoderState state = (ProtonDecoderState) decoderState;
+
+        assertEquals(64, state.setStringCacheSize(50).getStringCacheSize());
+        assertEquals(1, state.setStringCacheSize(1).getStringCacheSize());
+        assertEquals(0, state.setStringCacheSize(0).getStringCacheSize());
+        assertThrows(IllegalArgumentException.class, () -> state.setStringCacheSize(-1));
+    }
+
+    @Test
+    public void testStringCacheReturnsCanonicalInstances() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ((ProtonDecoderState) decoderState).setStringCacheSize(16);
+
+        for (int i = 0; i < 3; ++i) {
+            encoder.writeString(buffer, encoderState, "queue://address");
+            encoder.writeString(buffer, encoderState, "text/plain");
+            encoder.writeString(buffer, encoderState, "\u00e9t\u00e9");
+        }
+
+        final String address = decoder.readString(buffer, decoderState);
+        final String contentType = decoder.readString(buffer, decoderState);
+        final String nonAscii = decoder.readString(buffer, decoderState);
+
+        assertEquals("queue://address", address);
+        assertEquals("text/plain", contentType);
+        assertEquals("\u00e9t\u00e9", nonAscii);
+
+        for (int i = 0; i < 2; ++i) {
+            assertSame(address, decoder.readString(buffer, decoderState));
+            assertSame(contentType, decoder.readString(buffer, decoderState));
+            assertSame(nonAscii, decoder.readString(buffer, decoderState));
+        }
+
+        assertFalse(buffer.isReadable());
+        assertEquals(6, ((ProtonDecoderState) decoderState).getStringCacheHits());
+        assertEquals(3, ((ProtonDecoderState) decoderState).getStringCacheMisses());
+    }
+
+    @Test
+    public void testStringCacheEntryReplacedOnCollision() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ((ProtonDecoderState) decoderState).setStringCacheSize(1);
+
+        encoder.writeString(buffer, encoderState, "first");
+        encoder.writeString(buffer, encoderState, "second");
+        encoder.writeString(buffer, encoderState, "second");
+        encoder.writeString(buffer, encoderState, "first");
+
+        assertEquals("first", decoder.readString(buffer, decoderState));
+        final String second = decoder.readString(buffer, decoderState);
+        assertEquals("second", second);
+        assertSame(second, decoder.readString(buffer, decoderState));
+        assertEquals("first", decoder.readString(buffer, decoderState));
+
+        assertEquals(1, ((ProtonDecoderState) decoderState).getStringCacheHits());
+        assertEquals(3, ((ProtonDecoderState) decoderState).getStringCacheMisses());
+    }
+
+    @Test
+    public void testStringCacheSkipsLargeStrings() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ((ProtonDecoderState) decoderState).setStringCacheSize(16);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i <= ProtonDecoderState.MAX_CACHED_STRING_SIZE; ++i) {
+            builder.append('a');
+        }
+
+        final String large = builder.toString();
+
+        encoder.writeString(buffer, encoderState, large);
+        encoder.writeString(buffer, encoderState, large);
+
+        assertEquals(large, decoder.readString(buffer, decoderState));
+        assertEquals(large, decoder.readString(buffer, decoderState));
+        assertEquals(0, ((ProtonDecoderState) decoderState).getStringCacheHits());
+        assertEquals(0, ((ProtonDecoderState) decoderState).getStringCacheMisses());
+    }
 }
@@ -23,16 +23,47 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.codec.CodecTestSupport;
 import org.apache.qpid.protonj2.codec.EncoderState;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
+import org.apache.qpid.protonj2.codec.PerformativeEncoder;
+import org.apache.qpid.protonj2.codec.SectionEncoder;
+import org.apache.qpid.protonj2.types.Binary;
+import org.apache.qpid.protonj2.types.Symbol;
 import org.apache.qpid.protonj2.types.UnsignedByte;
 import org.apache.qpid.protonj2.types.UnsignedInteger;
 import org.apache.qpid.protonj2.types.UnsignedLong;
 import org.apache.qpid.protonj2.types.UnsignedShort;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
+import org.apache.qpid.protonj2.types.messaging.AmqpSequence;
+import org.apache.qpid.protonj2.types.messaging.AmqpValue;
+import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Data;
+import org.apache.qpid.protonj2.types.messaging.DeliveryAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Footer;
+import org.apache.qpid.protonj2.types.messaging.Header;
+import org.apache.qpid.protonj2.types.messaging.MessageAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Modified;
+import org.apache.qpid.protonj2.types.messaging.Properties;
+import org.apache.qpid.protonj2.types.messaging.Rejected;
+import org.apache.qpid.protonj2.types.messaging.Section;
+import org.apache.qpid.protonj2.types.transport.DeliveryState;
+import org.apache.qpid.protonj2.types.transport.Disposition;
+import org.apache.qpid.protonj2.types.transport.ErrorCondition;
+import org.apache.qpid.protonj2.types.transport.Flow;
+import org.apache.qpid.protonj2.types.transport.Performative;
+import org.apache.qpid.protonj2.types.transport.Role;
+import org.apache.qpid.protonj2.types.transport.Transfer;
 import org.junit.jupiter.api.Test;
 
 class ProtonEncoderTest extends CodecTestSupport {
@@ -405,4 +436,148 @@ class ProtonEncoderTest extends CodecTestSupport {
         assertEquals(buffer.getByte(5), (byte) 255);
         assertEquals(buffer.getByte(6), (byte) 255);
     }
+
+    @Test
+    public void testSizeOfPrimitivesMatchesEncodedSize() throws IOException {
+        final StringBuilder longString = new StringBuilder();
+        for (int i = 0; i < 300; ++i) {
+            longString.append((char) ('a' + i % 26));
+        }
+
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("key", "value");
+        map.put(Symbol.valueOf("symbol"), UnsignedInteger.valueOf(1024));
+        map.put(1, Arrays.asList(1L, Long.MAX_VALUE, "\u00e9t\u00e9"));
+
+        final List<Object> list = new ArrayList<>();
+        list.add(true);
+        list.add(UUID.randomUUID());
+
+        final Object[] values = {
+            null, true, (byte) 1, (short) 2, 'c', 0, 127, Integer.MAX_VALUE, 0L, Long.MIN_VALUE, 1.0f, 2.0d,
+            UnsignedByte.valueOf((byte) 1), UnsignedShort.valueOf((short) 2),
+            UnsignedInteger.ZERO, UnsignedInteger.valueOf(255), UnsignedInteger.MAX_VALUE,
+            UnsignedLong.ZERO, UnsignedLong.valueOf(255), UnsignedLong.valueOf(Long.MAX_VALUE),
+            new Date(), UUID.randomUUID(), new Binary(new byte[10]), new Binary(new byte[300]),
+            "", "ascii", "\u00e9t\u00e9 \u20ac \ud83d\ude00", longString.toString(),
+            Symbol.valueOf("symbol"), Symbol.valueOf(longString.toString()),
+            new ArrayList<>(), list, new LinkedHashMap<>(), map
+        };
+
+        for (Object value : values) {
+            assertSizeOfMatchesEncoding(value);
+        }
+    }
+
+    @Test
+    public void testSizeOfSectionsMatchesEncodedSize() throws IOException {
+        final SectionEncoder sectionEncoder = new SectionEncoder(encoder);
+
+        final Properties properties = new Properties();
+        properties.setMessageId("ID:1");
+        properties.setTo("queue");
+        properties.setContentType("text/plain");
+        properties.setCreationTime(System.currentTimeMillis());
+        properties.setGroupSequence(2);
+
+        final Header header = new Header();
+        header.setDurable(true);
+        header.setPriority((byte) 6);
+        header.setTimeToLive(30000);
+
+        final Map<String, Object> applicationProperties = new LinkedHashMap<>();
+        applicationProperties.put("string", "value");
+        applicationProperties.put("int", 1);
+
+        final Map<Symbol, Object> annotations = new LinkedHashMap<>();
+        annotations.put(Symbol.valueOf("x-opt-test"), "annotation");
+
+        final List<Section<?>> sections = new ArrayList<>();
+        sections.add(new Header());
+        sections.add(header);
+        sections.add(new Properties());
+        sections.add(properties);
+        sections.add(new ApplicationProperties(null));
+        sections.add(new ApplicationProperties(applicationProperties));
+        sections.add(new MessageAnnotations(annotations));
+        sections.add(new DeliveryAnnotations(annotations));
+        sections.add(new Footer(annotations));
+        sections.add(new Data(new byte[0]));
+        sections.add(new Data(new byte[1024]));
+        sections.add(new AmqpValue<>("body"));
+        sections.add(new AmqpValue<>(null));
+        sections.add(new AmqpSequence<>(Arrays.asList("one", 2, 3L)));
+
+        for (Section<?> section : sections) {
+            final ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+            sectionEncoder.write(buffer, section);
+
+            assertEquals(buffer.getReadableBytes(), sectionEncoder.sizeOf(section), "Wrong size computed for: " + section);
+        }
+    }
+
+    @Test
+    public void testSizeOfPerformativesMatchesEncodedSize() throws IOException {
+        final PerformativeEncoder performativeEncoder = new PerformativeEncoder(encoder);
+
+        final Transfer transfer = new Transfer();
+        transfer.setHandle(1);
+        transfer.setDeliveryId(65536);
+        transfer.setDeliveryTag(new byte[] { 0, 1, 2, 3 });
+        transfer.setMessageFormat(0);
+        transfer.setSettled(false);
+        transfer.setMore(true);
+
+        final Flow flow = new Flow();
+        flow.setNextIncomingId(1);
+        flow.setIncomingWindow(Integer.MAX_VALUE);
+        flow.setNextOutgoingId(1);
+        flow.setOutgoingWindow(Integer.MAX_VALUE);
+        flow.setHandle(0);
+        flow.setLinkCredit(1000);
+
+        final Disposition disposition = new Disposition();
+        disposition.setRole(Role.RECEIVER);
+        disposition.setFirst(1);
+        disposition.setLast(10);
+        disposition.setSettled(true);
+        disposition.setState(Accepted.getInstance());
+
+        final Performative[] performatives = { transfer, new Transfer().setHandle(0).setDeliveryId(0), flow, disposition };
+
+        for (Performative performative : performatives) {
+            final ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+            performative.invoke(performativeEncoder, buffer, 0, encoder);
+
+            assertEquals(buffer.getReadableBytes(), performativeEncoder.sizeOf(performative), "Wrong size computed for: " + performative);
+        }
+    }
+
+    @Test
+    public void testSizeOfDeliveryStatesMatchesEncodedSize() throws IOException {
+        final Map<Symbol, Object> info = new LinkedHashMap<>();
+        info.put(Symbol.valueOf("reason"), "test");
+
+        final DeliveryState[] states = {
+            Accepted.getInstance(),
+            new Rejected(),
+            new Rejected().setError(new ErrorCondition(Symbol.valueOf("amqp:internal-error"), "failed", info)),
+            new Modified(),
+            new Modified().setDeliveryFailed(true).setUndeliverableHere(true).setMessageAnnotations(info)
+        };
+
+        for (DeliveryState state : states) {
+            assertSizeOfMatchesEncoding(state);
+        }
+    }
+
+    private void assertSizeOfMatchesEncoding(Object value) {
+        final ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        encoder.writeObject(buffer, encoderState, value);
+
+        assertEquals(buffer.getReadableBytes(), encoder.sizeOf(encoderState, value), "Wrong size computed for: " + value);
+    }
 }
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -819,4 +820,65 @@ public class ApplicationPropertiesTypeCodecTest extends CodecTestSupport {
             assertEquals(propertiesMap2, decoded.getValue());
         }
     }
+
+    @Test
+    public void testEncodeSmallApplicationPropertiesUsesMap8() throws IOException {
+        Map<String, Object> propertiesMap = new LinkedHashMap<>();
+        propertiesMap.put("key-1", 1);
+        propertiesMap.put("key-2", 2);
+        propertiesMap.put("key-3", 3);
+
+        doTestEncodeApplicationPropertiesMapEncoding(propertiesMap, EncodingCodes.MAP8);
+    }
+
+    @Test
+    public void testEncodeSmallApplicationPropertiesWithMixedValuesUsesMap8() throws IOException {
+        Map<String, Object> propertiesMap = new LinkedHashMap<>();
+        propertiesMap.put("key-1", 1);
+        propertiesMap.put("key-2", "two");
+        propertiesMap.put("key-3", null);
+        propertiesMap.put("key-4", 4L);
+        propertiesMap.put("key-5", 5);
+
+        doTestEncodeApplicationPropertiesMapEncoding(propertiesMap, EncodingCodes.MAP8);
+    }
+
+    @Test
+    public void testEncodeLargeApplicationPropertiesUsesMap32() throws IOException {
+        Map<String, Object> propertiesMap = new LinkedHashMap<>();
+        for (int i = 0; i < 100; ++i) {
+            propertiesMap.put("key-" + i, i);
+        }
+
+        doTestEncodeApplicationPropertiesMapEncoding(propertiesMap, EncodingCodes.MAP32);
+    }
+
+    @Test
+    public void testEncodeSmallApplicationPropertiesThatDoNotFitMap8AreWidenedToMap32() throws IOException {
+        Map<String, Object> propertiesMap = new LinkedHashMap<>();
+        propertiesMap.put("key-1", 1);
+        for (int i = 2; i <= 4; ++i) {
+            propertiesMap.put("key-" + i, String.join("", Collections.nCopies(100, String.valueOf(i))));
+        }
+
+        doTestEncodeApplicationPropertiesMapEncoding(propertiesMap, EncodingCodes.MAP32);
+    }
+
+    private void doTestEncodeApplicationPropertiesMapEncoding(Map<String, Object> propertiesMap, byte expected) throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        ApplicationProperties properties = new ApplicationProperties(propertiesMap);
+
+        encoder.writeObject(buffer, encoderState, properties);
+
+        assertEquals(encoder.sizeOf(encoderState, properties), buffer.getReadableBytes());
+        assertEquals(EncodingCodes.DESCRIBED_TYPE_INDICATOR, buffer.getByte(0));
+        assertEquals(EncodingCodes.SMALLULONG, buffer.getByte(1));
+        assertEquals(ApplicationProperties.DESCRIPTOR_CODE.byteValue(), buffer.getByte(2));
+        assertEquals(expected, buffer.getByte(3));
+
+        final ApplicationProperties result = decoder.readObject(buffer, decoderState, ApplicationProperties.class);
+
+        assertEquals(propertiesMap, result.getValue());
+        assertFalse(buffer.isReadable());
+    }
 }
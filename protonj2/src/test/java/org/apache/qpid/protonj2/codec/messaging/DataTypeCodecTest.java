@@ -304,6 +304,43 @@ public class DataTypeCodecTest extends CodecTestSupport {
         assertFalse(modified.isDeliveryFailed());
     }
 
+    @Test
+    public void testSkipValueWithNullEncoding() throws IOException {
+        doTestSkipValueWithNullEncoding(false);
+    }
+
+    @Test
+    public void testSkipValueWithNullEncodingFromStream() throws IOException {
+        doTestSkipValueWithNullEncoding(true);
+    }
+
+    private void doTestSkipValueWithNullEncoding(boolean fromStream) throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        buffer.writeByte((byte) 0); // Described Type Indicator
+        buffer.writeByte(EncodingCodes.SMALLULONG);
+        buffer.writeByte(Data.DESCRIPTOR_CODE.byteValue());
+        buffer.writeByte(EncodingCodes.NULL);
+
+        encoder.writeObject(buffer, encoderState, new Modified());
+
+        final Object result;
+        if (fromStream) {
+            InputStream stream = new ProtonBufferInputStream(buffer);
+            StreamTypeDecoder<?> typeDecoder = streamDecoder.readNextTypeDecoder(stream, streamDecoderState);
+            assertEquals(Data.class, typeDecoder.getTypeClass());
+            typeDecoder.skipValue(stream, streamDecoderState);
+            result = streamDecoder.readObject(stream, streamDecoderState);
+        } else {
+            TypeDecoder<?> typeDecoder = decoder.readNextTypeDecoder(buffer, decoderState);
+            assertEquals(Data.class, typeDecoder.getTypeClass());
+            typeDecoder.skipValue(buffer, decoderState);
+            result = decoder.readObject(buffer, decoderState);
+        }
+
+        assertTrue(result instanceof Modified);
+    }
+
     @Test
     public void testDecodeWithInvalidMap32Type() throws IOException {
         doTestDecodeWithInvalidMapType(EncodingCodes.MAP32, false);
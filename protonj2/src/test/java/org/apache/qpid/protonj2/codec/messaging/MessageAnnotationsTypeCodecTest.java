@@ -879,4 +879,43 @@ public class MessageAnnotationsTypeCodecTest extends CodecTestSupport {
             assertEquals(propertiesMap2, decoded.getValue());
         }
     }
+
+    @Test
+    public void testEncodeSmallMessageAnnotationsUsesMap8() throws IOException {
+        Map<Symbol, Object> annotationsMap = new LinkedHashMap<>();
+        annotationsMap.put(Symbol.valueOf("x-opt-1"), UnsignedInteger.valueOf(1));
+        annotationsMap.put(Symbol.valueOf("x-opt-2"), UnsignedInteger.valueOf(2));
+        annotationsMap.put(Symbol.valueOf("x-opt-3"), Symbol.valueOf("three"));
+        annotationsMap.put(Symbol.valueOf("x-opt-4"), UnsignedInteger.valueOf(4));
+
+        doTestEncodeMessageAnnotationsMapEncoding(annotationsMap, EncodingCodes.MAP8);
+    }
+
+    @Test
+    public void testEncodeLargeMessageAnnotationsUsesMap32() throws IOException {
+        Map<Symbol, Object> annotationsMap = new LinkedHashMap<>();
+        for (int i = 0; i < 64; ++i) {
+            annotationsMap.put(Symbol.valueOf("x-opt-" + i), UUID.randomUUID());
+        }
+
+        doTestEncodeMessageAnnotationsMapEncoding(annotationsMap, EncodingCodes.MAP32);
+    }
+
+    private void doTestEncodeMessageAnnotationsMapEncoding(Map<Symbol, Object> annotationsMap, byte expected) throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+        MessageAnnotations annotations = new MessageAnnotations(annotationsMap);
+
+        encoder.writeObject(buffer, encoderState, annotations);
+
+        assertEquals(encoder.sizeOf(encoderState, annotations), buffer.getReadableBytes());
+        assertEquals(EncodingCodes.DESCRIBED_TYPE_INDICATOR, buffer.getByte(0));
+        assertEquals(EncodingCodes.SMALLULONG, buffer.getByte(1));
+        assertEquals(MessageAnnotations.DESCRIPTOR_CODE.byteValue(), buffer.getByte(2));
+        assertEquals(expected, buffer.getByte(3));
+
+        final MessageAnnotations result = decoder.readObject(buffer, decoderState, MessageAnnotations.class);
+
+        assertEquals(annotationsMap, result.getValue());
+        assertFalse(buffer.isReadable());
+    }
 }
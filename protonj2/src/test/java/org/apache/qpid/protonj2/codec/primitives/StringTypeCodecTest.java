@@ -26,6 +26,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.Character.UnicodeBlock;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -36,6 +37,7 @@ import java.util.UUID;
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
 import org.apache.qpid.protonj2.buffer.ProtonBufferInputStream;
+import org.apache.qpid.protonj2.buffer.impl.ProtonDirectBufferAllocator;
 import org.apache.qpid.protonj2.codec.CodecTestSupport;
 import org.apache.qpid.protonj2.codec.DecodeException;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
@@ -316,6 +318,53 @@ public class StringTypeCodecTest extends CodecTestSupport {
         }
     }
 
+    @Test
+    public void testEncodeAndDecodeNonAsciiAtEachPosition() throws IOException {
+        doTestEncodeAndDecodeNonAsciiAtEachPosition(ProtonBufferAllocator.defaultAllocator());
+    }
+
+    @Test
+    public void testEncodeAndDecodeNonAsciiAtEachPositionDirectBuffer() throws IOException {
+        doTestEncodeAndDecodeNonAsciiAtEachPosition(ProtonDirectBufferAllocator.allocator());
+    }
+
+    private void doTestEncodeAndDecodeNonAsciiAtEachPosition(ProtonBufferAllocator allocator) throws IOException {
+        final String[] insertions = new String[] { "", "\u00e9", "\u20ac", "\ud83d\ude00" };
+
+        for (String insertion : insertions) {
+            for (int length = 0; length <= 40; ++length) {
+                for (int position = 0; position <= length; ++position) {
+                    final StringBuilder builder = new StringBuilder();
+                    for (int i = 0; i < length; ++i) {
+                        builder.append((char) ('a' + i % 26));
+                    }
+                    builder.insert(position, insertion);
+
+                    final String value = builder.toString();
+                    final byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+
+                    assertEquals(expected.length, encoderState.getUTF8Length(value));
+
+                    final ProtonBuffer buffer = allocator.allocate(expected.length + 16);
+
+                    // Write at an unaligned offset with trailing data to check only the string bytes are read
+                    buffer.writeByte((byte) 0);
+                    buffer.setReadOffset(1);
+                    encoderState.encodeUTF8(buffer, value);
+                    assertEquals(expected.length + 1, buffer.getWriteOffset());
+                    buffer.writeByte((byte) 0xFF);
+
+                    for (int i = 0; i < expected.length; ++i) {
+                        assertEquals(expected[i], buffer.getByte(i + 1), "Wrong byte " + i + " when encoding: " + value);
+                    }
+
+                    assertEquals(value, decoderState.decodeUTF8(buffer, expected.length));
+                    assertEquals(1, buffer.getReadableBytes());
+                }
+            }
+        }
+    }
+
     @Test
     public void testEncodedSizeExceedsRemainingDetectedStr32() throws IOException {
         testEncodedSizeExceedsRemainingDetectedStr32(false);
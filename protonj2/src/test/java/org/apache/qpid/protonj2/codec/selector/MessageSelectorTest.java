@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.codec.selector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.codec.CodecTestSupport;
+import org.apache.qpid.protonj2.types.Binary;
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.UnsignedInteger;
+import org.apache.qpid.protonj2.types.UnsignedLong;
+import org.apache.qpid.protonj2.types.messaging.AmqpValue;
+import org.apache.qpid.protonj2.types.messaging.ApplicationProperties;
+import org.apache.qpid.protonj2.types.messaging.Header;
+import org.apache.qpid.protonj2.types.messaging.MessageAnnotations;
+import org.apache.qpid.protonj2.types.messaging.Properties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MessageSelectorTest extends CodecTestSupport {
+
+    private ProtonBuffer message;
+
+    @Override
+    @BeforeEach
+    public void setUp() {
+        super.setUp();
+
+        Map<String, Object> applicationProperties = new LinkedHashMap<>();
+        applicationProperties.put("color", "red");
+        applicationProperties.put("weight", 2500);
+        applicationProperties.put("price", 12.5);
+        applicationProperties.put("region", Symbol.valueOf("emea"));
+        applicationProperties.put("priority", UnsignedInteger.valueOf(7));
+        applicationProperties.put("urgent", true);
+        applicationProperties.put("code", "A_1%");
+
+        Map<Symbol, Object> annotations = new LinkedHashMap<>();
+        annotations.put(Symbol.valueOf("x-opt-test"), "annotation");
+
+        Properties properties = new Properties();
+        properties.setMessageId("ID:1");
+        properties.setUserId(new Binary("user".getBytes(StandardCharsets.UTF_8)));
+        properties.setSubject("order");
+        properties.setCorrelationId(UnsignedLong.valueOf(42));
+        properties.setCreationTime(1000);
+        properties.setGroupId("group");
+        properties.setGroupSequence(3);
+
+        message = encode(new Header().setDurable(true),
+                         new MessageAnnotations(annotations),
+                         properties,
+                         new ApplicationProperties(applicationProperties),
+                         new AmqpValue<>("body"));
+    }
+
+    @Test
+    public void testCompileRejectsInvalidSelectors() {
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile(" "));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("color ="));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("color = 'red"));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("weight + 1"));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("color IN ()"));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("color LIKE 'a' ESCAPE 'ab'"));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("color NOT = 'red'"));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("color = 'red' weight"));
+        assertThrows(IllegalArgumentException.class, () -> MessageSelector.compile("color # 1"));
+    }
+
+    @Test
+    public void testComparisons() {
+        assertMatches("color = 'red'");
+        assertMatches("color <> 'blue'");
+        assertNotMatches("color = 'blue'");
+        assertMatches("weight = 2500");
+        assertMatches("weight > 1000 AND weight <= 2500");
+        assertNotMatches("weight < 1000");
+        assertMatches("price >= 12.5");
+        assertMatches("price < 13");
+        assertMatches("priority = 7");
+        assertMatches("region = 'emea'");
+        assertMatches("urgent = TRUE");
+        assertMatches("urgent");
+        assertNotMatches("NOT urgent");
+    }
+
+    @Test
+    public void testComparisonOfUnlikeTypesIsFalse() {
+        assertNotMatches("color = 1");
+        assertNotMatches("color <> 1");
+        assertNotMatches("color > 1");
+    }
+
+    @Test
+    public void testArithmetic() {
+        assertMatches("weight / 100 = 25");
+        assertMatches("weight * 2 - 1000 = 4000");
+        assertMatches("price * 2 = 25.0");
+        assertMatches("-weight < 0");
+        assertNotMatches("weight / 0 = 1");
+    }
+
+    @Test
+    public void testBetween() {
+        assertMatches("weight BETWEEN 2000 AND 3000");
+        assertNotMatches("weight NOT BETWEEN 2000 AND 3000");
+        assertMatches("price BETWEEN 12 AND 12.5");
+    }
+
+    @Test
+    public void testIn() {
+        assertMatches("color IN ('green', 'red')");
+        assertNotMatches("color NOT IN ('green', 'red')");
+        assertMatches("weight IN (1, 2500, -3)");
+        assertNotMatches("missing IN ('red')");
+        assertNotMatches("missing NOT IN ('red')");
+    }
+
+    @Test
+    public void testLike() {
+        assertMatches("color LIKE 'r%'");
+        assertMatches("color LIKE '_ed'");
+        assertMatches("color LIKE '%e%'");
+        assertMatches("color LIKE 'red%'");
+        assertNotMatches("color LIKE 'r_'");
+        assertNotMatches("color NOT LIKE 'r%'");
+        assertMatches("code LIKE 'A!_1!%' ESCAPE '!'");
+        assertNotMatches("code LIKE 'A!_2%' ESCAPE '!'");
+        assertMatches("code LIKE 'A_1%'");
+    }
+
+    @Test
+    public void testIsNull() {
+        assertMatches("missing IS NULL");
+        assertMatches("color IS NOT NULL");
+        assertNotMatches("color IS NULL");
+    }
+
+    @Test
+    public void testUnknownValuesFollowThreeValuedLogic() {
+        assertNotMatches("missing = 'red'");
+        assertNotMatches("NOT (missing = 'red')");
+        assertMatches("missing = 'red' OR color = 'red'");
+        assertNotMatches("missing = 'red' AND color = 'red'");
+        assertNotMatches("missing = 'red' OR color = 'blue'");
+    }
+
+    @Test
+    public void testKeywordsAreCaseInsensitive() {
+        assertMatches("color = 'red' and weight between 2000 and 3000 or false");
+        assertMatches("color is not null");
+    }
+
+    @Test
+    public void testPropertiesSectionIdentifiers() {
+        assertMatches("JMSMessageID = 'ID:1'");
+        assertMatches("JMSXUserID = 'user'");
+        assertMatches("JMSType = 'order'");
+        assertMatches("JMSCorrelationID = '42'");
+        assertMatches("JMSTimestamp = 1000");
+        assertMatches("JMSXGroupID = 'group' AND JMSXGroupSeq = 3");
+        assertMatches("JMSDestination IS NULL");
+        assertMatches("JMSType = 'order' AND color = 'red'");
+    }
+
+    @Test
+    public void testMessageWithoutApplicationProperties() {
+        ProtonBuffer buffer = encode(new Header(), new AmqpValue<>("body"));
+
+        MessageSelector selector = MessageSelector.compile("color IS NULL");
+
+        assertTrue(selector.matches(buffer));
+        assertFalse(MessageSelector.compile("color = 'red'").matches(buffer));
+    }
+
+    @Test
+    public void testMatchDoesNotConsumeBuffer() {
+        final int readable = message.getReadableBytes();
+
+        MessageSelector selector = MessageSelector.compile("JMSType = 'order' AND color = 'red'");
+
+        assertTrue(selector.matches(message));
+        assertEquals(readable, message.getReadableBytes());
+        assertTrue(selector.matches(message));
+        assertEquals(readable, message.getReadableBytes());
+    }
+
+    @Test
+    public void testSelectorIsReusableAcrossMessages() {
+        Map<String, Object> applicationProperties = new LinkedHashMap<>();
+        applicationProperties.put("color", "blue");
+
+        ProtonBuffer other = encode(new ApplicationProperties(applicationProperties));
+
+        MessageSelector selector = MessageSelector.compile("color = 'red'");
+
+        assertTrue(selector.matches(message));
+        assertFalse(selector.matches(other));
+        assertTrue(selector.matches(message));
+    }
+
+    @Test
+    public void testMatchesUsingProvidedDecoder() {
+        MessageSelector selector = MessageSelector.compile("weight = 2500");
+
+        assertTrue(selector.matches(message, decoder, decoderState));
+    }
+
+    private void assertMatches(String selector) {
+        assertTrue(MessageSelector.compile(selector).matches(message), "Expected match for: " + selector);
+    }
+
+    private void assertNotMatches(String selector) {
+        assertFalse(MessageSelector.compile(selector).matches(message), "Expected no match for: " + selector);
+    }
+
+    private ProtonBuffer encode(Object... sections) {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        for (Object section : sections) {
+            encoder.writeObject(buffer, encoderState, section);
+        }
+
+        return buffer;
+    }
+}
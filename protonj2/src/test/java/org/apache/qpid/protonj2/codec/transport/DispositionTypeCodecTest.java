@@ -17,6 +17,7 @@
 package org.apache.qpid.protonj2.codec.transport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -36,6 +37,7 @@ import org.apache.qpid.protonj2.codec.EncodeException;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.StreamTypeDecoder;
 import org.apache.qpid.protonj2.codec.TypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.codec.decoders.transport.DispositionTypeDecoder;
 import org.apache.qpid.protonj2.codec.encoders.transport.DispositionTypeEncoder;
 import org.apache.qpid.protonj2.types.messaging.Accepted;
@@ -193,6 +195,44 @@ public class DispositionTypeCodecTest extends CodecTestSupport {
         }
     }
 
+    @Test
+    public void testDecodeIntoReusedDisposition() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ((ProtonDecoderState) decoderState).setReusePerformatives(true);
+
+        Disposition first = new Disposition();
+        first.setRole(Role.RECEIVER);
+        first.setFirst(1);
+        first.setLast(10);
+        first.setSettled(true);
+        first.setState(Accepted.getInstance());
+
+        Disposition second = new Disposition();
+        second.setRole(Role.SENDER);
+        second.setFirst(11);
+
+        encoder.writeObject(buffer, encoderState, first);
+        encoder.writeObject(buffer, encoderState, second);
+
+        final Disposition result1 = (Disposition) decoder.readObject(buffer, decoderState);
+
+        assertEquals(Role.RECEIVER, result1.getRole());
+        assertEquals(1, result1.getFirst());
+        assertEquals(10, result1.getLast());
+        assertTrue(result1.getSettled());
+        assertSame(Accepted.getInstance(), result1.getState());
+
+        final Disposition result2 = (Disposition) decoder.readObject(buffer, decoderState);
+
+        assertSame(result1, result2);
+        assertEquals(Role.SENDER, result2.getRole());
+        assertEquals(11, result2.getFirst());
+        assertFalse(result2.hasLast());
+        assertFalse(result2.getSettled());
+        assertNull(result2.getState());
+    }
+
     @Test
     public void testSkipValue() throws IOException {
         testSkipValue(false);
@@ -17,8 +17,10 @@
 package org.apache.qpid.protonj2.codec.transport;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -35,6 +37,7 @@ import org.apache.qpid.protonj2.codec.EncodeException;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.StreamTypeDecoder;
 import org.apache.qpid.protonj2.codec.TypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.codec.decoders.transport.FlowTypeDecoder;
 import org.apache.qpid.protonj2.codec.encoders.transport.FlowTypeEncoder;
 import org.apache.qpid.protonj2.types.UnsignedInteger;
@@ -131,6 +134,48 @@ public class FlowTypeCodecTest extends CodecTestSupport {
         assertNull(input.getProperties());
     }
 
+    @Test
+    public void testDecodeIntoReusedFlow() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ((ProtonDecoderState) decoderState).setReusePerformatives(true);
+
+        Flow first = new Flow();
+        first.setNextIncomingId(1);
+        first.setIncomingWindow(2);
+        first.setNextOutgoingId(3);
+        first.setOutgoingWindow(4);
+        first.setHandle(5);
+        first.setLinkCredit(6);
+        first.setDrain(true);
+
+        Flow second = new Flow();
+        second.setIncomingWindow(20);
+        second.setNextOutgoingId(30);
+        second.setOutgoingWindow(40);
+
+        encoder.writeObject(buffer, encoderState, first);
+        encoder.writeObject(buffer, encoderState, second);
+
+        final Flow result1 = (Flow) decoder.readObject(buffer, decoderState);
+
+        assertEquals(1, result1.getNextIncomingId());
+        assertEquals(5, result1.getHandle());
+        assertEquals(6, result1.getLinkCredit());
+        assertTrue(result1.getDrain());
+
+        final Flow result2 = (Flow) decoder.readObject(buffer, decoderState);
+
+        assertSame(result1, result2);
+        assertFalse(result2.hasNextIncomingId());
+        assertFalse(result2.hasHandle());
+        assertFalse(result2.hasLinkCredit());
+        assertFalse(result2.getDrain());
+        assertEquals(20, result2.getIncomingWindow());
+        assertEquals(30, result2.getNextOutgoingId());
+        assertEquals(40, result2.getOutgoingWindow());
+    }
+
     @Test
     public void testSkipValue() throws IOException {
         testSkipValue(false);
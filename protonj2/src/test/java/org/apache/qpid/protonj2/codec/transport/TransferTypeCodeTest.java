@@ -16,9 +16,13 @@
  */
 package org.apache.qpid.protonj2.codec.transport;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -35,9 +39,12 @@ import org.apache.qpid.protonj2.codec.EncodeException;
 import org.apache.qpid.protonj2.codec.EncodingCodes;
 import org.apache.qpid.protonj2.codec.StreamTypeDecoder;
 import org.apache.qpid.protonj2.codec.TypeDecoder;
+import org.apache.qpid.protonj2.codec.decoders.ProtonDecoderState;
 import org.apache.qpid.protonj2.codec.decoders.transport.TransferTypeDecoder;
 import org.apache.qpid.protonj2.codec.encoders.transport.TransferTypeEncoder;
+import org.apache.qpid.protonj2.types.DeliveryTag;
 import org.apache.qpid.protonj2.types.UnsignedInteger;
+import org.apache.qpid.protonj2.types.messaging.Accepted;
 import org.apache.qpid.protonj2.types.transport.Transfer;
 import org.junit.jupiter.api.Test;
 
@@ -119,6 +126,86 @@ public class TransferTypeCodeTest extends CodecTestSupport {
         assertFalse(result.getBatchable());
     }
 
+    @Test
+    public void testDecodeIntoReusedTransfer() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ((ProtonDecoderState) decoderState).setReusePerformatives(true);
+
+        Transfer first = new Transfer();
+        first.setHandle(1);
+        first.setDeliveryId(2);
+        first.setDeliveryTag(new byte[] {0, 1, 2});
+        first.setSettled(true);
+        first.setState(Accepted.getInstance());
+
+        Transfer second = new Transfer();
+        second.setHandle(3);
+        second.setDeliveryTag(new byte[] {3, 4, 5});
+
+        Transfer third = new Transfer();
+        third.setHandle(4);
+
+        encoder.writeObject(buffer, encoderState, first);
+        encoder.writeObject(buffer, encoderState, second);
+        encoder.writeObject(buffer, encoderState, third);
+
+        final Transfer result1 = (Transfer) decoder.readObject(buffer, decoderState);
+
+        assertEquals(1, result1.getHandle());
+        assertEquals(2, result1.getDeliveryId());
+        assertArrayEquals(new byte[] {0, 1, 2}, result1.getDeliveryTag().tagBytes());
+        assertTrue(result1.getSettled());
+        assertSame(Accepted.getInstance(), result1.getState());
+
+        final DeliveryTag retained = result1.getDeliveryTag().copy();
+        final DeliveryTag reused = result1.getDeliveryTag();
+        final Transfer result2 = (Transfer) decoder.readObject(buffer, decoderState);
+
+        assertSame(result1, result2);
+        assertSame(reused, result2.getDeliveryTag());
+        assertEquals(3, result2.getHandle());
+        assertFalse(result2.hasDeliveryId());
+        assertFalse(result2.hasSettled());
+        assertFalse(result2.hasState());
+        assertArrayEquals(new byte[] {3, 4, 5}, result2.getDeliveryTag().tagBytes());
+        assertArrayEquals(new byte[] {0, 1, 2}, retained.tagBytes());
+
+        final Transfer result3 = (Transfer) decoder.readObject(buffer, decoderState);
+
+        assertSame(result1, result3);
+        assertEquals(4, result3.getHandle());
+        assertNull(result3.getDeliveryTag());
+    }
+
+    @Test
+    public void testArrayOfTransfersNotDecodedIntoReusedInstance() throws IOException {
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().allocate();
+
+        ((ProtonDecoderState) decoderState).setReusePerformatives(true);
+
+        Transfer[] array = new Transfer[3];
+
+        for (int i = 0; i < array.length; ++i) {
+            array[i] = new Transfer();
+            array[i].setHandle(i);
+            array[i].setDeliveryTag(new byte[] {(byte) i});
+        }
+
+        encoder.writeObject(buffer, encoderState, array);
+
+        final Object[] result = (Object[]) decoder.readObject(buffer, decoderState);
+
+        assertEquals(array.length, result.length);
+
+        for (int i = 0; i < result.length; ++i) {
+            Transfer value = (Transfer) result[i];
+            assertEquals(i, value.getHandle());
+            assertArrayEquals(new byte[] {(byte) i}, value.getDeliveryTag().tagBytes());
+            assertNotSame(((ProtonDecoderState) decoderState).getReusableTransfer(), value);
+        }
+    }
+
     @Test
     public void testSkipValue() throws IOException {
         doTestSkipValue(false);
@@ -0,0 +1,383 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.apache.qpid.protonj2.engine.Connection;
+import org.apache.qpid.protonj2.engine.Engine;
+import org.apache.qpid.protonj2.engine.EngineFactory;
+import org.apache.qpid.protonj2.engine.Session;
+import org.apache.qpid.protonj2.engine.exceptions.IdleTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+/**
+ * Tests for the {@link ProtonEngineDriver} which runs many engines on a shared set of event loops.
+ */
+@Timeout(20)
+public class ProtonEngineDriverTest {
+
+    // AMQP empty frame used as a heart beat
+    private static final int EMPTY_FRAME_SIZE = 8;
+
+    private ProtonEngineDriver driver;
+
+    @AfterEach
+    public void tearDown() {
+        if (driver != null) {
+            driver.close();
+        }
+    }
+
+    @Test
+    public void testCreateWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ProtonEngineDriver(0));
+        assertThrows(NullPointerException.class, () -> new ProtonEngineDriver(1, 100, 16, null));
+    }
+
+    @Test
+    public void testRegisteredEnginesOpenConnectionThroughDriver() throws Exception {
+        driver = new ProtonEngineDriver(2);
+
+        final CountDownLatch serverOpened = new CountDownLatch(1);
+        final CountDownLatch clientOpened = new CountDownLatch(1);
+
+        final Engine server = EngineFactory.PROTON.createNonSaslEngine();
+        final Engine client = EngineFactory.PROTON.createNonSaslEngine();
+
+        final ProtonEngineDriver.Registration[] registrations = connect(server, client);
+
+        registrations[0].execute(() -> {
+            final Connection connection = server.start();
+            connection.openHandler(remote -> {
+                remote.setContainerId("server").open();
+                serverOpened.countDown();
+            });
+        });
+
+        registrations[1].execute(() -> {
+            final Connection connection = client.start();
+            connection.openHandler(remote -> clientOpened.countDown());
+            connection.setContainerId("client").open();
+        });
+
+        assertTrue(serverOpened.await(5, TimeUnit.SECONDS));
+        assertTrue(clientOpened.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testOutputOfTaskIsHandedOverInOneBatch() throws Exception {
+        driver = new ProtonEngineDriver(1);
+
+        final Engine server = EngineFactory.PROTON.createNonSaslEngine();
+        final Engine client = EngineFactory.PROTON.createNonSaslEngine();
+
+        final CountDownLatch opened = new CountDownLatch(1);
+        final CountDownLatch sessionsOpened = new CountDownLatch(3);
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final AtomicBoolean recording = new AtomicBoolean();
+
+        final ProtonEngineDriver.Registration[] registrations = new ProtonEngineDriver.Registration[2];
+
+        registrations[0] = driver.register(server, output -> {
+            output.forEach(registrations[1]::ingest);
+        });
+        registrations[1] = driver.register(client, output -> {
+            if (recording.get()) {
+                batchSizes.add(output.size());
+            }
+            output.forEach(registrations[0]::ingest);
+        });
+
+        registrations[0].execute(() -> {
+            final Connection connection = server.start();
+            connection.openHandler(remote -> remote.open());
+            connection.sessionOpenHandler(Session::open);
+        });
+
+        registrations[1].execute(() -> {
+            final Connection connection = client.start();
+            connection.openHandler(remote -> opened.countDown());
+            connection.open();
+        });
+
+        assertTrue(opened.await(5, TimeUnit.SECONDS));
+
+        recording.set(true);
+
+        registrations[1].execute(() -> {
+            for (int i = 0; i < 3; ++i) {
+                client.connection().session().openHandler(session -> sessionsOpened.countDown()).open();
+            }
+        });
+
+        assertTrue(sessionsOpened.await(5, TimeUnit.SECONDS));
+
+        // All three Begin frames arrive in a single call
+        assertEquals(1, batchSizes.size());
+        assertEquals(3, batchSizes.get(0));
+    }
+
+    @Test
+    public void testTasksAndInputAreProcessedInSubmissionOrder() throws Exception {
+        driver = new ProtonEngineDriver(1);
+
+        final Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        final List<Integer> order = new CopyOnWriteArrayList<>();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        final ProtonEngineDriver.Registration registration = driver.register(engine, output -> {
+            output.forEach(ProtonBuffer::close);
+        });
+
+        for (int i = 0; i < 1000; ++i) {
+            final int value = i;
+            registration.execute(() -> order.add(value));
+        }
+
+        registration.execute(done::countDown);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1000, order.size());
+
+        for (int i = 0; i < 1000; ++i) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    public void testDriverSendsHeartbeatsForRemoteIdleTimeout() throws Exception {
+        driver = new ProtonEngineDriver(2, 10, 64, Executors.defaultThreadFactory());
+
+        final CountDownLatch opened = new CountDownLatch(1);
+        final AtomicInteger heartbeats = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Engine server = EngineFactory.PROTON.createNonSaslEngine();
+        final Engine client = EngineFactory.PROTON.createNonSaslEngine();
+
+        server.errorHandler(failed -> failure.set(failed.failureCause()));
+        client.errorHandler(failed -> failure.set(failed.failureCause()));
+
+        final ProtonEngineDriver.Registration[] registrations = connect(server, client, buffer -> {
+            if (buffer.getReadableBytes() == EMPTY_FRAME_SIZE) {
+                heartbeats.incrementAndGet();
+            }
+        });
+
+        registrations[0].execute(() -> {
+            final Connection connection = server.start();
+            connection.setIdleTimeout(400);
+            connection.openHandler(remote -> remote.setContainerId("server").open());
+        });
+
+        registrations[1].execute(() -> {
+            final Connection connection = client.start();
+            connection.setIdleTimeout(400);
+            connection.openHandler(remote -> opened.countDown());
+            connection.setContainerId("client").open();
+        });
+
+        assertTrue(opened.await(5, TimeUnit.SECONDS));
+
+        Thread.sleep(1_200);
+
+        assertNull(failure.get());
+        assertTrue(heartbeats.get() >= 4, "Expected heart beats to be sent but saw: " + heartbeats.get());
+        assertFalse(registrations[0].isClosed());
+        assertFalse(registrations[1].isClosed());
+    }
+
+    @Test
+    public void testDriverFailsEngineWhenLocalIdleTimeoutExpires() throws Exception {
+        driver = new ProtonEngineDriver(1, 10, 64, Executors.defaultThreadFactory());
+
+        final CountDownLatch failed = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Engine server = EngineFactory.PROTON.createNonSaslEngine();
+        final Engine client = EngineFactory.PROTON.createNonSaslEngine();
+
+        server.errorHandler(engine -> {
+            failure.set(engine.failureCause());
+            failed.countDown();
+        });
+
+        final ProtonEngineDriver.Registration registration = driver.register(server, output -> {
+            // The client is never ticked so it will never send heart beats
+            output.forEach(buffer -> {
+                try (buffer) {
+                    client.ingest(buffer);
+                }
+            });
+        });
+
+        registration.execute(() -> {
+            final Connection connection = server.start();
+            connection.setIdleTimeout(200);
+            connection.openHandler(remote -> remote.open());
+        });
+
+        client.outputConsumer(registration::ingest);
+        registration.execute(() -> client.start().open());
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertTrue(failure.get() instanceof IdleTimeoutException);
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!registration.isClosed() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertTrue(registration.isClosed());
+    }
+
+    @Test
+    public void testClosedRegistrationRejectsInputAndTasks() throws Exception {
+        driver = new ProtonEngineDriver(1);
+
+        final Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        final ProtonEngineDriver.Registration registration = driver.register(engine, output -> {
+            output.forEach(ProtonBuffer::close);
+        });
+
+        assertFalse(registration.isClosed());
+        registration.close();
+        assertTrue(registration.isClosed());
+
+        final ProtonBuffer input = ProtonBufferAllocator.defaultAllocator().copy(new byte[] { 'A', 'M', 'Q', 'P' });
+
+        assertThrows(IllegalStateException.class, () -> registration.ingest(input));
+        assertThrows(IllegalStateException.class, () -> registration.execute(() -> {}));
+        assertTrue(input.isClosed());
+    }
+
+    @Test
+    public void testShutdownEngineIsReleasedByDriver() throws Exception {
+        driver = new ProtonEngineDriver(1);
+
+        final Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        final ProtonEngineDriver.Registration registration = driver.register(engine, output -> {
+            output.forEach(ProtonBuffer::close);
+        });
+
+        final CountDownLatch done = new CountDownLatch(1);
+
+        registration.execute(() -> {
+            engine.start().open();
+            engine.shutdown();
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!registration.isClosed() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertTrue(registration.isClosed());
+    }
+
+    @Test
+    public void testCloseDriverPreventsRegistration() {
+        driver = new ProtonEngineDriver(2);
+
+        assertEquals(2, driver.getLoopCount());
+        assertFalse(driver.isClosed());
+
+        driver.close();
+
+        assertTrue(driver.isClosed());
+        assertThrows(IllegalStateException.class, () ->
+            driver.register(EngineFactory.PROTON.createNonSaslEngine(), output -> {}));
+    }
+
+    @Test
+    public void testManyEnginesShareLoops() throws Exception {
+        driver = new ProtonEngineDriver(2, 10, 64, Executors.defaultThreadFactory());
+
+        final int pairs = 50;
+        final CountDownLatch sessionsOpened = new CountDownLatch(pairs);
+
+        final List<Engine> engines = new ArrayList<>();
+
+        for (int i = 0; i < pairs; ++i) {
+            final Engine server = EngineFactory.PROTON.createNonSaslEngine();
+            final Engine client = EngineFactory.PROTON.createNonSaslEngine();
+            final ProtonEngineDriver.Registration[] registrations = connect(server, client);
+
+            engines.add(server);
+            engines.add(client);
+
+            registrations[0].execute(() -> {
+                final Connection connection = server.start();
+                connection.setIdleTimeout(1000);
+                connection.openHandler(remote -> remote.open());
+                connection.sessionOpenHandler(Session::open);
+            });
+
+            registrations[1].execute(() -> {
+                final Connection connection = client.start();
+                connection.setIdleTimeout(1000);
+                connection.open();
+                connection.session().openHandler(session -> sessionsOpened.countDown()).open();
+            });
+        }
+
+        assertTrue(sessionsOpened.await(10, TimeUnit.SECONDS));
+    }
+
+    private ProtonEngineDriver.Registration[] connect(Engine server, Engine client) {
+        return connect(server, client, buffer -> {});
+    }
+
+    private ProtonEngineDriver.Registration[] connect(Engine server, Engine client, Consumer<ProtonBuffer> clientOutputObserver) {
+        final ProtonEngineDriver.Registration[] registrations = new ProtonEngineDriver.Registration[2];
+
+        registrations[0] = driver.register(server, output -> {
+            output.forEach(registrations[1]::ingest);
+        });
+        registrations[1] = driver.register(client, output -> {
+            output.forEach(buffer -> {
+                clientOutputObserver.accept(buffer);
+                registrations[0].ingest(buffer);
+            });
+        });
+
+        return registrations;
+    }
+}
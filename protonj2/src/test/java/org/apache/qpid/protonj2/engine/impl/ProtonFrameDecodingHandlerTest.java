@@ -841,6 +841,160 @@ public class ProtonFrameDecodingHandlerTest {
         assertFalse(open.hasProperties());
     }
 
+    @Test
+    public void testStreamedTransferFrameDeliversPayloadAsEachReadArrives() {
+        // Frame data for: Transfer
+        //   Transfer{handle=2, deliveryId=1, deliveryTag=\x00\x01, messageFormat=null, settled=true, more=false, rcvSettleMode=null, state=null, resume=false, aborted=false, batchable=false}
+        //   payload of size: 169
+        final byte[] completedTransfer1 = new byte[] {
+            0, 0, 0, -63, 2, 0, 0, 0, 0, 83, 20, -64, 11, 5, 82, 2, 82, 1, -96, 2, 0, 1, 64, 65, 0, 83, 115,
+            -48, 0, 0, 0, 28, 0, 0, 0, 3, -104, -107, -75, 19, 123, 103, 50, 77, 43, -73, 93, 29, 105, 64};
+        final byte[] completedTransfer2 = new byte[] {
+            -84, 45, 110, 64, -95, 4, 116, 101, 115, 116, 0, 83, 116, -63, 23, 2, -95, 9, 116, 105, 109, 101,
+            115, 116, 97, 109, 112, -95, 9, 49, 50, 51, 52, 53, 54, 55, 56, 57, 0, 83, 117, -96, 100, 65, 65};
+        final byte[] completedTransfer3 = new byte[] {
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65,
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65,
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65,
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65};
+
+        ArgumentCaptor<IncomingAMQPEnvelope> argument = ArgumentCaptor.forClass(IncomingAMQPEnvelope.class);
+
+        ProtonFrameDecodingHandler handler = createFrameDecoder();
+        ProtonEngineHandlerContext context = Mockito.mock(ProtonEngineHandlerContext.class);
+
+        handler.setStreamIncomingTransfers(true);
+        handler.handleRead(context, AMQPHeader.getAMQPHeader().getBuffer());
+
+        handler.handleRead(context, ProtonBufferAllocator.defaultAllocator().copy(completedTransfer1));
+
+        Mockito.verify(context).fireRead(Mockito.any(HeaderEnvelope.class));
+        Mockito.verify(context).interestMask(ProtonEngineHandlerContext.HANDLER_READS);
+        Mockito.verify(context).fireRead(argument.capture());
+
+        handler.handleRead(context, ProtonBufferAllocator.defaultAllocator().copy(completedTransfer2));
+        handler.handleRead(context, ProtonBufferAllocator.defaultAllocator().copy(completedTransfer3));
+
+        Mockito.verify(context, times(3)).fireRead(argument.capture());
+        Mockito.verifyNoMoreInteractions(context);
+
+        List<IncomingAMQPEnvelope> arguments = argument.getAllValues().subList(1, 4);
+
+        Transfer first = (Transfer) arguments.get(0).getBody();
+
+        assertFalse(arguments.get(0).isFrameContinuation());
+        assertEquals(2, first.getHandle());
+        assertEquals(1, first.getDeliveryId());
+        assertArrayEquals(new byte[] { 0, 1 }, first.getDeliveryTag().tagBytes());
+        assertTrue(first.getSettled());
+        assertTrue(first.getMore());
+        assertEquals(26, arguments.get(0).getPayload().getReadableBytes());
+
+        Transfer second = (Transfer) arguments.get(1).getBody();
+
+        assertTrue(arguments.get(1).isFrameContinuation());
+        assertEquals(2, second.getHandle());
+        assertFalse(second.hasDeliveryId());
+        assertTrue(second.getMore());
+        assertEquals(45, arguments.get(1).getPayload().getReadableBytes());
+
+        Transfer last = (Transfer) arguments.get(2).getBody();
+
+        assertTrue(arguments.get(2).isFrameContinuation());
+        assertEquals(2, last.getHandle());
+        assertFalse(last.getMore());
+        assertFalse(last.getAborted());
+        assertEquals(98, arguments.get(2).getPayload().getReadableBytes());
+    }
+
+    @Test
+    public void testStreamedTransferFrameFollowedByAnotherFrameInTheSameRead() {
+        // Frame data for: Transfer
+        //   Transfer{handle=2, deliveryId=1, deliveryTag=\x00\x01, messageFormat=null, settled=true, more=false, rcvSettleMode=null, state=null, resume=false, aborted=false, batchable=false}
+        //   payload of size: 169
+        final byte[] completedTransfer1 = new byte[] {
+            0, 0, 0, -63, 2, 0, 0, 0, 0, 83, 20, -64, 11, 5, 82, 2, 82, 1, -96, 2, 0, 1, 64, 65, 0, 83, 115,
+            -48, 0, 0, 0, 28, 0, 0, 0, 3, -104, -107, -75, 19, 123, 103, 50, 77, 43, -73, 93, 29, 105, 64,
+            -84, 45, 110, 64, -95, 4, 116, 101, 115, 116, 0, 83, 116, -63, 23, 2, -95, 9, 116, 105, 109, 101,
+            115, 116, 97, 109, 112, -95, 9, 49, 50, 51, 52, 53, 54, 55, 56, 57, 0, 83, 117, -96, 100, 65, 65};
+        final byte[] completedTransfer2 = new byte[] {
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65,
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65,
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65,
+            65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65, 65};
+        // Frame data for: Open
+        //   Open{ containerId="", hostname='null', maxFrameSize=4294967295, channelMax=65535,
+        //         idleTimeOut=null, outgoingLocales=null, incomingLocales=null, offeredCapabilities=null,
+        //         desiredCapabilities=null, properties=null}
+        final byte[] emptyOpen = new byte[] {0, 0, 0, 16, 2, 0, 0, 0, 0, 83, 16, -64, 3, 1, -95, 0};
+
+        ArgumentCaptor<IncomingAMQPEnvelope> argument = ArgumentCaptor.forClass(IncomingAMQPEnvelope.class);
+
+        ProtonFrameDecodingHandler handler = createFrameDecoder();
+        ProtonEngineHandlerContext context = Mockito.mock(ProtonEngineHandlerContext.class);
+
+        handler.setStreamIncomingTransfers(true);
+        handler.handleRead(context, AMQPHeader.getAMQPHeader().getBuffer());
+
+        final ProtonBuffer buffer2 = ProtonBufferAllocator.defaultAllocator().allocate(completedTransfer2.length + emptyOpen.length);
+        buffer2.writeBytes(completedTransfer2);
+        buffer2.writeBytes(emptyOpen);
+
+        handler.handleRead(context, ProtonBufferAllocator.defaultAllocator().copy(completedTransfer1));
+        handler.handleRead(context, buffer2);
+
+        Mockito.verify(context).fireRead(Mockito.any(HeaderEnvelope.class));
+        Mockito.verify(context).interestMask(ProtonEngineHandlerContext.HANDLER_READS);
+        Mockito.verify(context, times(3)).fireRead(argument.capture());
+        Mockito.verifyNoMoreInteractions(context);
+
+        List<IncomingAMQPEnvelope> arguments = argument.getAllValues();
+
+        assertTrue(arguments.get(0).getBody() instanceof Transfer);
+        assertTrue(((Transfer) arguments.get(0).getBody()).getMore());
+        assertEquals(71, arguments.get(0).getPayload().getReadableBytes());
+
+        assertTrue(arguments.get(1).isFrameContinuation());
+        assertFalse(((Transfer) arguments.get(1).getBody()).getMore());
+        assertEquals(98, arguments.get(1).getPayload().getReadableBytes());
+
+        assertFalse(arguments.get(2).isFrameContinuation());
+        assertTrue(arguments.get(2).getBody() instanceof Open);
+        assertTrue(((Open) arguments.get(2).getBody()).hasContainerId());
+    }
+
+    @Test
+    public void testStreamingBuffersSplitFrameThatDoesNotCarryTransfer() throws Exception {
+        // Frame data for: Open
+        //   Open{ containerId="", hostname='null', maxFrameSize=4294967295, channelMax=65535,
+        //         idleTimeOut=null, outgoingLocales=null, incomingLocales=null, offeredCapabilities=null,
+        //         desiredCapabilities=null, properties=null}
+        final byte[] emptyOpen1 = new byte[] {0, 0, 0, 16, 2, 0, 0, 0, 0, 83, 16};
+        final byte[] emptyOpen2 = new byte[] {-64, 3, 1, -95, 0};
+
+        ArgumentCaptor<IncomingAMQPEnvelope> argument = ArgumentCaptor.forClass(IncomingAMQPEnvelope.class);
+
+        ProtonFrameDecodingHandler handler = createFrameDecoder();
+        ProtonEngineHandlerContext context = Mockito.mock(ProtonEngineHandlerContext.class);
+
+        handler.setStreamIncomingTransfers(true);
+        handler.handleRead(context, AMQPHeader.getAMQPHeader().getBuffer());
+        handler.handleRead(context, ProtonBufferAllocator.defaultAllocator().copy(emptyOpen1));
+
+        Mockito.verify(context).fireRead(Mockito.any(HeaderEnvelope.class));
+        Mockito.verify(context).interestMask(ProtonEngineHandlerContext.HANDLER_READS);
+        Mockito.verifyNoMoreInteractions(context);
+
+        handler.handleRead(context, ProtonBufferAllocator.defaultAllocator().copy(emptyOpen2));
+
+        Mockito.verify(context).fireRead(argument.capture());
+        Mockito.verifyNoMoreInteractions(context);
+
+        assertFalse(argument.getValue().isFrameContinuation());
+        assertTrue(argument.getValue().getBody() instanceof Open);
+        assertTrue(((Open) argument.getValue().getBody()).hasContainerId());
+    }
+
     @Test
     public void testDecodeOfSplitFramedMessage() throws Exception {
         final String capture1 = "00 00 01 4c 02 00 00 00 00 53 14 c0 1d 0b 43 43 " +
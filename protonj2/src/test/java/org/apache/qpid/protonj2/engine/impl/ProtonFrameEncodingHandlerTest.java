@@ -16,12 +16,17 @@
  */
 package org.apache.qpid.protonj2.engine.impl;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Collections;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.qpid.protonj2.buffer.ProtonBuffer;
 import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
@@ -31,6 +36,9 @@ import org.apache.qpid.protonj2.codec.DecoderState;
 import org.apache.qpid.protonj2.engine.AMQPPerformativeEnvelopePool;
 import org.apache.qpid.protonj2.engine.EngineHandlerContext;
 import org.apache.qpid.protonj2.engine.OutgoingAMQPEnvelope;
+import org.apache.qpid.protonj2.types.Symbol;
+import org.apache.qpid.protonj2.types.transport.Attach;
+import org.apache.qpid.protonj2.types.transport.Role;
 import org.apache.qpid.protonj2.types.transport.Transfer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -238,6 +246,309 @@ class ProtonFrameEncodingHandlerTest {
         assertEquals(transfer.getMore(), decodedTransfer.getMore());
     }
 
+    @Test
+    void testEncodeTransferWithPayloadReferenceThatFitsIntoFrame() {
+        Mockito.when(configuration.getZeroCopyThreshold()).thenReturn(64);
+
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+        handler.engineStarting(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        final byte[] payload = new byte[64];
+
+        random.nextBytes(payload);
+
+        final ProtonBuffer payloadBuffer = ProtonBufferAllocator.defaultAllocator().copy(payload).convertToReadOnly();
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, payloadBuffer);
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+
+        ProtonBuffer output = argument.getValue();
+
+        assertNotNull(output);
+        assertTrue(output.isComposite());
+        assertTrue(output.isReadOnly());
+        assertEquals(2, output.componentCount());
+        assertFalse(payloadBuffer.isReadable());
+
+        final int bufferSize = output.getReadableBytes();
+
+        assertEquals(bufferSize, output.readInt());
+        assertEquals(FRAME_DOFF_SIZE, output.readByte());
+        assertEquals(AMQP_FRAME_TYPE, output.readByte());
+        assertEquals(32, output.readShort());
+
+        final Transfer decodedTransfer = decode(output);
+        assertEquals(transfer.getHandle(), decodedTransfer.getHandle());
+        assertEquals(transfer.getDeliveryId(), decodedTransfer.getDeliveryId());
+        assertEquals(transfer.getDeliveryTag(), decodedTransfer.getDeliveryTag());
+        assertEquals(transfer.getMore(), decodedTransfer.getMore());
+
+        final byte[] written = new byte[output.getReadableBytes()];
+        output.readBytes(written, 0, written.length);
+
+        assertArrayEquals(payload, written);
+    }
+
+    @Test
+    void testEncodeTransferWithPayloadReferenceThatDoesNotFitIntoFrame() {
+        Mockito.when(configuration.getZeroCopyThreshold()).thenReturn(1024);
+
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+        handler.engineStarting(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        final byte[] payload = new byte[(int) (configuration.getOutboundMaxFrameSize() * 2)];
+        final AtomicBoolean toLargeHandlerCalled = new AtomicBoolean();
+
+        random.nextBytes(payload);
+
+        final ProtonBuffer payloadBuffer = ProtonBufferAllocator.defaultAllocator().copy(payload).convertToReadOnly();
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, payloadBuffer);
+        frame.setPayloadToLargeHandler((performative) -> {
+            transfer.setMore(true);
+            toLargeHandlerCalled.set(true);
+        });
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+
+        ProtonBuffer output = argument.getValue();
+
+        assertTrue(toLargeHandlerCalled.get());
+        assertNotNull(output);
+        assertTrue(output.isComposite());
+        assertEquals(configuration.getOutboundMaxFrameSize(), output.getReadableBytes());
+
+        final int bufferSize = output.getReadableBytes();
+
+        assertEquals(bufferSize, output.readInt());
+        assertEquals(FRAME_DOFF_SIZE, output.readByte());
+        assertEquals(AMQP_FRAME_TYPE, output.readByte());
+        assertEquals(32, output.readShort());
+
+        final Transfer decodedTransfer = decode(output);
+        assertEquals(transfer.getHandle(), decodedTransfer.getHandle());
+        assertEquals(transfer.getDeliveryId(), decodedTransfer.getDeliveryId());
+        assertEquals(transfer.getDeliveryTag(), decodedTransfer.getDeliveryTag());
+        assertTrue(decodedTransfer.getMore());
+
+        final int written = output.getReadableBytes();
+
+        assertEquals(payload.length - written, payloadBuffer.getReadableBytes());
+
+        for (int i = 0; i < written; ++i) {
+            assertEquals(payload[i], output.readByte());
+        }
+        for (int i = written; i < payload.length; ++i) {
+            assertEquals(payload[i], payloadBuffer.readByte());
+        }
+    }
+
+    @Test
+    void testPayloadBelowZeroCopyThresholdIsCopied() {
+        Mockito.when(configuration.getZeroCopyThreshold()).thenReturn(1024);
+
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+        handler.engineStarting(context);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, ProtonBufferAllocator.defaultAllocator().copy(new byte[64]));
+
+        handler.handleWrite(context, frame);
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+
+        assertFalse(argument.getValue().isComposite());
+    }
+
+    @Test
+    void testCoalescedFramesWrittenAsOneBufferOnFlush() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+        handler.engineStarting(context);
+        handler.setFrameCoalescingLimit(1024);
+
+        final AtomicInteger completions = new AtomicInteger();
+
+        for (int i = 0; i < 3; ++i) {
+            Transfer transfer = new Transfer();
+            transfer.setHandle(i);
+            transfer.setDeliveryId(i);
+            transfer.setDeliveryTag(new byte[] {(byte) i});
+
+            OutgoingAMQPEnvelope frame = framePool.take(transfer, 32, i == 1 ? ProtonBufferAllocator.defaultAllocator().copy(new byte[16]) : null);
+            frame.setFrameWriteCompletionHandler(completions::incrementAndGet);
+
+            handler.handleWrite(context, frame);
+        }
+
+        Mockito.verify(context, Mockito.never()).fireWrite(Mockito.any(ProtonBuffer.class), Mockito.any(Runnable.class));
+        assertTrue(handler.hasCoalescedFrames());
+
+        handler.flushCoalescedFrames();
+
+        assertFalse(handler.hasCoalescedFrames());
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        ArgumentCaptor<Runnable> ioComplete = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(context).fireWrite(argument.capture(), ioComplete.capture());
+
+        ProtonBuffer output = argument.getValue();
+
+        assertTrue(output.isReadOnly());
+
+        for (int i = 0; i < 3; ++i) {
+            final int frameStart = output.getReadOffset();
+            final int frameSize = output.readInt();
+
+            assertEquals(FRAME_DOFF_SIZE, output.readByte());
+            assertEquals(AMQP_FRAME_TYPE, output.readByte());
+            assertEquals(32, output.readShort());
+
+            final Transfer decodedTransfer = decode(output);
+            assertEquals(i, decodedTransfer.getHandle());
+            assertEquals(i, decodedTransfer.getDeliveryId());
+
+            output.setReadOffset(frameStart + frameSize);
+        }
+
+        assertFalse(output.isReadable());
+        assertEquals(0, completions.get());
+        assertEquals(3, ProtonFrameEncodingHandler.frameCount(ioComplete.getValue()));
+
+        ioComplete.getValue().run();
+
+        assertEquals(3, completions.get());
+    }
+
+    @Test
+    void testCoalescedFramesWrittenOnceLimitReached() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+        handler.engineStarting(context);
+        handler.setFrameCoalescingLimit(96);
+
+        for (int i = 0; i < 2; ++i) {
+            Transfer transfer = new Transfer();
+            transfer.setHandle(0);
+            transfer.setDeliveryId(i);
+            transfer.setDeliveryTag(new byte[] {(byte) i});
+
+            handler.handleWrite(context, framePool.take(transfer, 32, ProtonBufferAllocator.defaultAllocator().copy(new byte[64])));
+        }
+
+        // The second frame would take the buffer over the limit so the first is written on its own
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+
+        ProtonBuffer output = argument.getValue();
+
+        assertEquals(output.getReadableBytes(), output.readInt());
+        assertTrue(handler.hasCoalescedFrames());
+    }
+
+    @Test
+    void testCoalescedFramesWrittenBeforePayloadReference() {
+        Mockito.when(configuration.getZeroCopyThreshold()).thenReturn(64);
+
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+        handler.engineStarting(context);
+        handler.setFrameCoalescingLimit(1024);
+
+        Transfer transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(0);
+        transfer.setDeliveryTag(new byte[] {0});
+
+        handler.handleWrite(context, framePool.take(transfer, 32, null));
+
+        Mockito.verify(context, Mockito.never()).fireWrite(Mockito.any(ProtonBuffer.class), Mockito.any(Runnable.class));
+
+        transfer = new Transfer();
+        transfer.setHandle(0);
+        transfer.setDeliveryId(1);
+        transfer.setDeliveryTag(new byte[] {1});
+
+        handler.handleWrite(context, framePool.take(transfer, 32, ProtonBufferAllocator.defaultAllocator().copy(new byte[64])));
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context, Mockito.times(2)).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+
+        assertFalse(argument.getAllValues().get(0).isComposite());
+        assertTrue(argument.getAllValues().get(1).isComposite());
+        assertFalse(handler.hasCoalescedFrames());
+    }
+
+    @Test
+    void testFailedFrameEncodeIsNotWrittenWithCoalescedFrames() {
+        ProtonFrameEncodingHandler handler = new ProtonFrameEncodingHandler();
+        handler.handlerAdded(context);
+        handler.engineStarting(context);
+        handler.setFrameCoalescingLimit(1024);
+
+        for (int i = 0; i < 2; ++i) {
+            Attach attach = new Attach().setName("bad").setHandle(1).setRole(Role.SENDER);
+            attach.setProperties(Collections.singletonMap(Symbol.valueOf("bad"), new Object()));
+
+            assertThrows(RuntimeException.class, () -> handler.handleWrite(context, framePool.take(attach, 32, null)));
+
+            Transfer transfer = new Transfer();
+            transfer.setHandle(i);
+            transfer.setDeliveryId(i);
+            transfer.setDeliveryTag(new byte[] {(byte) i});
+
+            handler.handleWrite(context, framePool.take(transfer, 32, null));
+        }
+
+        handler.flushCoalescedFrames();
+
+        ArgumentCaptor<ProtonBuffer> argument = ArgumentCaptor.forClass(ProtonBuffer.class);
+        Mockito.verify(context).fireWrite(argument.capture(), Mockito.any(Runnable.class));
+
+        ProtonBuffer output = argument.getValue();
+
+        for (int i = 0; i < 2; ++i) {
+            final int frameStart = output.getReadOffset();
+            final int frameSize = output.readInt();
+
+            assertEquals(FRAME_DOFF_SIZE, output.readByte());
+            assertEquals(AMQP_FRAME_TYPE, output.readByte());
+            assertEquals(32, output.readShort());
+
+            final Transfer decodedTransfer = decode(output);
+            assertEquals(i, decodedTransfer.getHandle());
+
+            output.setReadOffset(frameStart + frameSize);
+        }
+
+        assertFalse(output.isReadable());
+    }
+
     private Transfer decode(ProtonBuffer encoded) {
         Decoder decoder = CodecFactory.getDecoder();
         DecoderState decoderState = decoder.newDecoderState();
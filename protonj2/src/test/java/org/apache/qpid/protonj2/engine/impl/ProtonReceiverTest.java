@@ -34,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -1634,6 +1635,135 @@ public class ProtonReceiverTest extends ProtonEngineTestSupport {
         assertNull(failure);
     }
 
+    @Test
+    public void testCoalescedDispositionsForConsecutiveDeliveriesAreSentAsRange() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.configuration().setDispositionCoalescingDelay(TimeUnit.MINUTES.toMillis(1));
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(4);
+        for (int i = 0; i < 4; ++i) {
+            peer.remoteTransfer().withDeliveryId(i)
+                                 .withDeliveryTag(new byte[] {(byte) i})
+                                 .withMore(false)
+                                 .withMessageFormat(0).queue();
+        }
+
+        Connection connection = engine.start();
+
+        connection.open();
+        Session session = connection.session();
+        session.open();
+        Receiver receiver = session.receiver("test");
+        receiver.setCoalesceDispositions(true);
+
+        assertTrue(receiver.isCoalesceDispositions());
+
+        final ArrayList<IncomingDelivery> deliveries = new ArrayList<>();
+
+        receiver.deliveryReadHandler(delivery -> deliveries.add(delivery));
+        receiver.open();
+        receiver.addCredit(4);
+
+        peer.waitForScriptToComplete();
+        assertEquals(4, deliveries.size(), "Not all deliveries arrived");
+
+        peer.expectDisposition().withFirst(0)
+                                .withLast(2)
+                                .withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().accepted();
+        peer.expectDisposition().withFirst(3)
+                                .withLast(nullValue())
+                                .withSettled(true)
+                                .withRole(Role.RECEIVER.getValue())
+                                .withState().released();
+
+        deliveries.get(0).disposition(Accepted.getInstance(), true);
+        deliveries.get(1).disposition(Accepted.getInstance(), true);
+        deliveries.get(2).disposition(Accepted.getInstance(), true);
+        deliveries.get(3).disposition(Released.getInstance(), true);
+
+        engine.completeWorkCycle();
+
+        peer.waitForScriptToComplete();
+        assertFalse(receiver.hasUnsettled());
+
+        peer.expectDetach().respond();
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
+    @Test
+    public void testCoalescedDispositionsAreSentAtLimitAndBeforeOtherFrames() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.configuration().setDispositionCoalescingDelay(TimeUnit.MINUTES.toMillis(1));
+        engine.configuration().setDispositionCoalescingLimit(2);
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(3);
+        for (int i = 0; i < 3; ++i) {
+            peer.remoteTransfer().withDeliveryId(i)
+                                 .withDeliveryTag(new byte[] {(byte) i})
+                                 .withMore(false)
+                                 .withMessageFormat(0).queue();
+        }
+
+        Connection connection = engine.start();
+
+        connection.open();
+        Session session = connection.session();
+        session.open();
+        Receiver receiver = session.receiver("test");
+        receiver.setCoalesceDispositions(true);
+
+        final ArrayList<IncomingDelivery> deliveries = new ArrayList<>();
+
+        receiver.deliveryReadHandler(delivery -> deliveries.add(delivery));
+        receiver.open();
+        receiver.addCredit(3);
+
+        peer.waitForScriptToComplete();
+        assertEquals(3, deliveries.size(), "Not all deliveries arrived");
+
+        peer.expectDisposition().withFirst(0)
+                                .withLast(1)
+                                .withSettled(true)
+                                .withState().accepted();
+
+        deliveries.get(0).disposition(Accepted.getInstance(), true);
+        deliveries.get(1).disposition(Accepted.getInstance(), true);
+
+        peer.waitForScriptToComplete();
+
+        peer.expectDisposition().withFirst(2)
+                                .withSettled(true)
+                                .withState().accepted();
+        peer.expectDetach().respond();
+
+        deliveries.get(2).disposition(Accepted.getInstance(), true);
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
     @Test
     public void testReceiverSendsDispositionOnlyOnceForTransfer() throws Exception {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
@@ -2023,6 +2153,81 @@ public class ProtonReceiverTest extends ProtonEngineTestSupport {
         assertNull(failure);
     }
 
+    @Test
+    public void testReceiverRetainsDeliveryTagsWhenEngineReusesPerformatives() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.configuration().setReusePerformatives(true);
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        assertTrue(engine.configuration().isReusePerformatives());
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond();
+        peer.expectAttach().respond();
+        peer.expectFlow().withLinkCredit(3);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(true)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] {0}).queue();
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withMore(false)
+                             .withPayload(new byte[] {1}).queue();
+        peer.remoteTransfer().withDeliveryId(1)
+                             .withDeliveryTag(new byte[] {1})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] {2}).queue();
+        peer.remoteTransfer().withDeliveryId(2)
+                             .withDeliveryTag(new byte[] {2, 2})
+                             .withMore(false)
+                             .withMessageFormat(0)
+                             .withPayload(new byte[] {3}).queue();
+        peer.remoteDisposition().withSettled(true)
+                                .withRole(Role.SENDER.getValue())
+                                .withState().accepted()
+                                .withFirst(0)
+                                .withLast(2).queue();
+        peer.expectDetach().respond();
+
+        Connection connection = engine.start();
+
+        connection.open();
+        Session session = connection.session();
+        session.open();
+        Receiver receiver = session.receiver("test");
+
+        final ArrayList<IncomingDelivery> deliveries = new ArrayList<>();
+
+        receiver.deliveryReadHandler(delivery -> {
+            if (!delivery.isPartial()) {
+                deliveries.add(delivery);
+            }
+        });
+
+        receiver.open();
+        receiver.addCredit(3);
+
+        assertEquals(3, deliveries.size(), "Not all deliveries arrived");
+        assertArrayEquals(new byte[] {0}, deliveries.get(0).getTag().tagBytes());
+        assertArrayEquals(new byte[] {1}, deliveries.get(1).getTag().tagBytes());
+        assertArrayEquals(new byte[] {2, 2}, deliveries.get(2).getTag().tagBytes());
+        assertEquals(2, deliveries.get(0).available());
+
+        for (IncomingDelivery delivery : deliveries) {
+            assertTrue(delivery.isRemotelySettled(), "Delivery should be marked as remotely settled");
+            assertTrue(delivery.getRemoteState() instanceof Accepted);
+        }
+
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
     @Test
     public void testReceiverReportsDeliveryUpdatedNextFrameForMultiFrameTransfer() throws Exception {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
@@ -4097,6 +4302,75 @@ public class ProtonReceiverTest extends ProtonEngineTestSupport {
         assertNull(failure);
     }
 
+    @Test
+    public void testStreamedTransferFrameSignalsPartialReadsAndCountsAsOneFrame() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        engine.configuration().setStreamIncomingTransfers(true);
+
+        // Hand the engine the peer output in small reads so that the transfer frame spans many of them
+        ProtonTestConnector peer = new ProtonTestConnector(buffer -> {
+            while (buffer.hasRemaining()) {
+                final byte[] chunk = new byte[Math.min(32, buffer.remaining())];
+                buffer.get(chunk);
+                try (ProtonBuffer copy = ProtonBufferAllocator.defaultAllocator().copy(chunk)) {
+                    engine.accept(copy.convertToReadOnly());
+                }
+            }
+        });
+        engine.outputConsumer(buffer -> {
+            ByteBuffer byteBuffer = ByteBuffer.allocate(buffer.getReadableBytes());
+            buffer.readBytes(byteBuffer);
+            peer.accept(byteBuffer.flip());
+        });
+
+        final byte[] payload = new byte[256];
+        Arrays.fill(payload, (byte) 'A');
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond().withContainerId("driver");
+        peer.expectBegin().respond().withNextOutgoingId(0);
+        peer.expectAttach().withRole(Role.RECEIVER.getValue()).respond();
+        peer.expectFlow().withLinkCredit(1);
+        peer.remoteTransfer().withDeliveryId(0)
+                             .withDeliveryTag(new byte[] {0})
+                             .withMore(false)
+                             .withPayload(payload)
+                             .withMessageFormat(0).queue();
+        peer.expectFlow().withLinkCredit(1).withNextIncomingId(1);
+        peer.expectDetach().respond();
+
+        Connection connection = engine.start().setMaxFrameSize(1024).open();
+        Session session = connection.session().open();
+        Receiver receiver = session.receiver("test");
+
+        final AtomicInteger deliveryReads = new AtomicInteger();
+        final AtomicReference<IncomingDelivery> received = new AtomicReference<>();
+
+        receiver.deliveryReadHandler(delivery -> {
+            deliveryReads.incrementAndGet();
+            received.set(delivery);
+        });
+
+        receiver.open();
+        receiver.addCredit(1);
+
+        assertTrue(deliveryReads.get() > 1, "Payload should have been signalled as it arrived");
+        assertNotNull(received.get());
+        assertFalse(received.get().isPartial());
+
+        final byte[] receivedPayload = new byte[payload.length];
+        received.get().readAll().readBytes(receivedPayload, 0, receivedPayload.length);
+        assertArrayEquals(payload, receivedPayload);
+
+        receiver.addCredit(1);
+        receiver.close();
+
+        peer.waitForScriptToComplete();
+
+        assertNull(failure);
+    }
+
     @Test
     public void testIncomingDeliveryTracksTransferInCount() throws Exception {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
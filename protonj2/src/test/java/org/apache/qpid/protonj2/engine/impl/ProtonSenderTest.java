@@ -3305,6 +3305,66 @@ public class ProtonSenderTest extends ProtonEngineTestSupport {
         peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
     }
 
+    @Test
+    public void testStreamedDeliveryTrackedOnceWhileUnsettled() throws Exception {
+        Engine engine = EngineFactory.PROTON.createNonSaslEngine();
+        engine.errorHandler(result -> failure = result.failureCause());
+        ProtonTestConnector peer = createTestPeer(engine);
+
+        ProtonBuffer payload = ProtonBufferAllocator.defaultAllocator().copy(new byte[] {0, 1, 2, 3, 4}).convertToReadOnly();
+
+        peer.expectAMQPHeader().respondWithAMQPHeader();
+        peer.expectOpen().respond();
+        peer.expectBegin().respond();
+        peer.expectAttach().withRole(Role.SENDER.getValue()).respond();
+        peer.remoteFlow().withLinkCredit(10).queue();
+
+        Connection connection = engine.start().open();
+        Session session = connection.session().open();
+        Sender sender = session.sender("sender-1");
+
+        sender.setDeliveryTagGenerator(ProtonDeliveryTagGenerator.BUILTIN.SEQUENTIAL.createGenerator());
+        sender.deliveryStateUpdatedHandler((delivery) -> {
+            delivery.settle();
+        });
+
+        sender.open();
+
+        peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+        peer.expectTransfer().withNonNullPayload().withMore(true);
+        peer.expectTransfer().withNonNullPayload().withMore(true);
+        peer.expectTransfer().withNonNullPayload().withMore(false);
+
+        OutgoingDelivery delivery = sender.next();
+        delivery.streamBytes(payload.copy(true), false);
+        delivery.streamBytes(payload.copy(true), false);
+        delivery.streamBytes(payload.copy(true), true);
+
+        peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+        assertEquals(1, sender.unsettled().size());
+
+        peer.remoteDisposition().withRole(Role.RECEIVER.getValue())
+                                .withFirst(0)
+                                .withSettled(true)
+                                .withState().accepted().now();
+
+        assertTrue(delivery.isSettled());
+        assertTrue(delivery.isRemotelySettled());
+        assertFalse(sender.hasUnsettled());
+        assertEquals(0, sender.unsettled().size());
+
+        peer.expectDetach().respond();
+        peer.expectClose().respond();
+
+        sender.close();
+        connection.close();
+
+        peer.waitForScriptToComplete(5, TimeUnit.SECONDS);
+
+        assertNull(failure);
+    }
+
     @Test
     public void testNoDispositionSentWhenNoStateOrSettlementRequested() {
         Engine engine = EngineFactory.PROTON.createNonSaslEngine();
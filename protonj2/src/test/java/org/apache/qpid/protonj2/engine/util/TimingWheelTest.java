@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.engine.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TimingWheelTest {
+
+    protected long seed;
+    protected Random random;
+
+    @BeforeEach
+    public void setUp() {
+        seed = System.currentTimeMillis();
+        random = new Random();
+        random.setSeed(seed);
+    }
+
+    @Test
+    public void testCreate() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 10, 0);
+
+        assertEquals(128, wheel.getWheelSize());
+        assertEquals(10, wheel.getTickDuration());
+        assertTrue(wheel.isEmpty());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testCreateWithInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0, 10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(16, 0, 0));
+    }
+
+    @Test
+    public void testTimeoutNeverExpiresBeforeDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(16, 10, 0);
+        List<String> expired = new ArrayList<>();
+
+        TimingWheel<String>.Timeout timeout = wheel.schedule("one", 25);
+
+        assertTrue(timeout.isScheduled());
+        assertEquals(25, timeout.getDeadline());
+        assertEquals(1, wheel.size());
+
+        assertEquals(0, wheel.expire(20, expired::add));
+        assertTrue(expired.isEmpty());
+        assertEquals(0, wheel.expire(29, expired::add));
+        assertTrue(expired.isEmpty());
+        assertEquals(1, wheel.expire(30, expired::add));
+        assertEquals(List.of("one"), expired);
+
+        assertFalse(timeout.isScheduled());
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testTimeoutOnTickBoundaryExpiresAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(16, 10, 0);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("one", 30);
+
+        assertEquals(0, wheel.expire(29, expired::add));
+        assertEquals(1, wheel.expire(30, expired::add));
+    }
+
+    @Test
+    public void testPastDeadlineExpiresOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(16, 10, 100);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("late", 50);
+
+        assertEquals(0, wheel.expire(105, expired::add));
+        assertEquals(1, wheel.expire(110, expired::add));
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    public void testTimeoutsBeyondOneRevolution() {
+        TimingWheel<String> wheel = new TimingWheel<>(4, 10, 0);
+        List<String> expired = new ArrayList<>();
+
+        wheel.schedule("near", 20);
+        wheel.schedule("far", 20 + 4 * 10);
+        wheel.schedule("further", 20 + 8 * 10);
+
+        assertEquals(1, wheel.expire(20, expired::add));
+        assertEquals(List.of("near"), expired);
+        assertEquals(1, wheel.expire(60, expired::add));
+        assertEquals(List.of("near", "far"), expired);
+        assertEquals(1, wheel.expire(100, expired::add));
+        assertEquals(List.of("near", "far", "further"), expired);
+    }
+
+    @Test
+    public void testLargeAdvanceExpiresEverythingDue() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(8, 10, 0);
+        List<Integer> expired = new ArrayList<>();
+
+        for (int i = 1; i <= 100; ++i) {
+            wheel.schedule(i, i * 7);
+        }
+
+        assertEquals(100, wheel.size());
+        assertEquals(71, wheel.expire(500, expired::add));
+        assertEquals(29, wheel.size());
+
+        expired.forEach(value -> assertTrue(value * 7 <= 500));
+
+        assertEquals(29, wheel.expire(10_000, expired::add));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(16, 10, 0);
+        List<String> expired = new ArrayList<>();
+
+        TimingWheel<String>.Timeout one = wheel.schedule("one", 20);
+        TimingWheel<String>.Timeout two = wheel.schedule("two", 20);
+
+        assertTrue(one.cancel());
+        assertFalse(one.cancel());
+        assertFalse(one.isScheduled());
+        assertEquals(1, wheel.size());
+
+        assertEquals(1, wheel.expire(100, expired::add));
+        assertEquals(List.of("two"), expired);
+        assertFalse(two.cancel());
+    }
+
+    @Test
+    public void testRescheduleMovesTimeout() {
+        TimingWheel<String> wheel = new TimingWheel<>(16, 10, 0);
+        List<String> expired = new ArrayList<>();
+
+        TimingWheel<String>.Timeout timeout = wheel.newTimeout("one");
+
+        assertFalse(timeout.isScheduled());
+
+        timeout.schedule(20);
+        timeout.schedule(50);
+
+        assertEquals(1, wheel.size());
+        assertEquals(0, wheel.expire(40, expired::add));
+        assertEquals(1, wheel.expire(50, expired::add));
+
+        timeout.schedule(70);
+
+        assertEquals(1, wheel.expire(70, expired::add));
+        assertEquals(List.of("one", "one"), expired);
+    }
+
+    @Test
+    public void testConsumerCanRescheduleAndCancelDuringExpire() {
+        TimingWheel<String> wheel = new TimingWheel<>(16, 10, 0);
+        Map<String, TimingWheel<String>.Timeout> timeouts = new HashMap<>();
+        List<String> expired = new ArrayList<>();
+
+        timeouts.put("first", wheel.schedule("first", 10));
+        timeouts.put("second", wheel.schedule("second", 10));
+        timeouts.put("third", wheel.schedule("third", 10));
+
+        assertEquals(2, wheel.expire(10, value -> {
+            expired.add(value);
+            if (expired.size() == 1) {
+                // Reschedule ourself and cancel whichever of the others runs next
+                timeouts.get(value).schedule(40);
+                timeouts.values().stream().filter(timeout -> !timeout.getValue().equals(value))
+                                          .findFirst().get().cancel();
+            }
+        }));
+
+        assertEquals(1, wheel.size());
+        assertEquals(1, wheel.expire(40, expired::add));
+        assertEquals(expired.get(0), expired.get(2));
+    }
+
+    @Test
+    public void testRandomDeadlinesExpireInTickOrder() {
+        TimingWheel<Long> wheel = new TimingWheel<>(32, 5, 0);
+        List<Long> expired = new ArrayList<>();
+
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 1000; ++i) {
+            long deadline = 5 + random.nextInt(2000);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+
+        for (long now = 5; now <= 2010; now += 1 + random.nextInt(20)) {
+            final long currentTime = now;
+            wheel.expire(currentTime, deadline -> {
+                assertTrue(deadline <= currentTime, "Expired early with seed: " + seed);
+                expired.add(deadline);
+            });
+        }
+
+        wheel.expire(5000, expired::add);
+
+        assertEquals(deadlines.size(), expired.size(), "Lost timeouts with seed: " + seed);
+        assertTrue(wheel.isEmpty());
+    }
+}
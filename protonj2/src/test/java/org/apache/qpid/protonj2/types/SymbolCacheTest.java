@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.qpid.protonj2.types;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.qpid.protonj2.buffer.ProtonBuffer;
+import org.apache.qpid.protonj2.buffer.ProtonBufferAllocator;
+import org.junit.jupiter.api.Test;
+
+public class SymbolCacheTest {
+
+    @Test
+    public void testCreateWithInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SymbolCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new SymbolCache(15));
+    }
+
+    @Test
+    public void testCapacityIsSplitAcrossSegments() {
+        assertEquals(64, new SymbolCache(64).capacity());
+        assertEquals(64, new SymbolCache(70).capacity());
+    }
+
+    @Test
+    public void testLookupCountsHitsAndMisses() {
+        SymbolCache cache = new SymbolCache(64);
+
+        Symbol symbol1 = cache.lookup(bufferOf("test"), 0, 4, true);
+        Symbol symbol2 = cache.lookup(bufferOf("test"), 0, 4, true);
+
+        assertSame(symbol1, symbol2);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testLookupFromBufferRegionMatchesStringLookup() {
+        SymbolCache cache = new SymbolCache(64);
+
+        Symbol fromString = cache.lookup("amqp:accepted:list");
+
+        ProtonBuffer buffer = bufferOf("xxamqp:accepted:listyy");
+        buffer.setReadOffset(1);
+
+        Symbol fromBuffer = cache.lookup(buffer, 2, 18, true);
+
+        assertSame(fromString, fromBuffer);
+        assertEquals(1, buffer.getReadOffset());
+        assertEquals(22, buffer.getWriteOffset());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    public void testSymbolCreatedOnMissDoesNotShareLookupBuffer() {
+        SymbolCache cache = new SymbolCache(64);
+
+        ProtonBuffer buffer = bufferOf("test");
+
+        Symbol symbol = cache.lookup(buffer, 0, 4, true);
+
+        buffer.setByte(0, (byte) 'b');
+
+        assertEquals("test", symbol.toString());
+        assertSame(symbol, cache.lookup("test"));
+    }
+
+    @Test
+    public void testLargeSymbolsAreNotCached() {
+        SymbolCache cache = new SymbolCache(64);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i <= SymbolCache.MAX_CACHED_SYMBOL_SIZE; ++i) {
+            builder.append('a');
+        }
+
+        String large = builder.toString();
+
+        Symbol symbol1 = cache.lookup(large);
+        Symbol symbol2 = cache.lookup(bufferOf(large), 0, large.length(), true);
+
+        assertNotSame(symbol1, symbol2);
+        assertEquals(symbol1, symbol2);
+        assertEquals(0, cache.size());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testCacheSizeIsBounded() {
+        SymbolCache cache = new SymbolCache(64);
+
+        for (int i = 0; i < 10_000; ++i) {
+            String value = "symbol-" + i;
+            Symbol symbol = cache.lookup(bufferOf(value), 0, value.length(), true);
+            assertEquals(value, symbol.toString());
+        }
+
+        assertTrue(cache.size() <= cache.capacity());
+        assertEquals(10_000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    public void testCacheSizeIsBoundedWhenCreatingFromStrings() {
+        SymbolCache cache = new SymbolCache(64);
+
+        for (int i = 0; i < 10_000; ++i) {
+            cache.lookup("symbol-" + i);
+        }
+
+        assertTrue(cache.size() <= cache.capacity());
+        assertEquals(10_000 - cache.size(), cache.getEvictionCount());
+    }
+
+    @Test
+    public void testEvictedSymbolIsRecreatedAsEqualSymbol() {
+        SymbolCache cache = new SymbolCache(16);
+
+        Symbol first = cache.lookup(bufferOf("first"), 0, 5, true);
+
+        for (int i = 0; i < 1_000; ++i) {
+            String value = "symbol-" + i;
+            cache.lookup(bufferOf(value), 0, value.length(), true);
+        }
+
+        Symbol again = cache.lookup(bufferOf("first"), 0, 5, true);
+
+        assertNotSame(first, again);
+        assertEquals(first, again);
+        assertEquals(first.hashCode(), again.hashCode());
+    }
+
+    @Test
+    public void testSymbolsCreatedFromStringsArePinned() {
+        SymbolCache cache = new SymbolCache(64);
+
+        Symbol wellKnown = cache.lookup("amqp:accepted:list");
+
+        for (int i = 0; i < 10_000; ++i) {
+            String value = "symbol-" + i;
+            cache.lookup(bufferOf(value), 0, value.length(), true);
+        }
+
+        assertSame(wellKnown, cache.lookup("amqp:accepted:list"));
+        assertSame(wellKnown, cache.lookup(bufferOf("amqp:accepted:list"), 0, 18, true));
+    }
+
+    @Test
+    public void testSymbolReceivedBeforeBeingNamedBecomesPinned() {
+        SymbolCache cache = new SymbolCache(64);
+
+        Symbol received = cache.lookup(bufferOf("amqp:accepted:list"), 0, 18, true);
+
+        assertSame(received, cache.lookup("amqp:accepted:list"));
+
+        for (int i = 0; i < 10_000; ++i) {
+            String value = "symbol-" + i;
+            cache.lookup(bufferOf(value), 0, value.length(), true);
+        }
+
+        assertSame(received, cache.lookup("amqp:accepted:list"));
+    }
+
+    @Test
+    public void testNonAsciiStringMatchesAsciiEncodedBytes() {
+        SymbolCache cache = new SymbolCache(64);
+
+        Symbol symbol = cache.lookup("café");
+
+        assertEquals(4, symbol.getLength());
+        assertSame(symbol, cache.lookup(bufferOf("caf?"), 0, 4, true));
+    }
+
+    @Test
+    public void testConcurrentLookupsReturnSameInstances() throws Exception {
+        final SymbolCache cache = new SymbolCache(SymbolCache.DEFAULT_CAPACITY);
+        final int threads = 4;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<Symbol[]>> results = new ArrayList<>();
+
+            for (int t = 0; t < threads; ++t) {
+                results.add(executor.submit(() -> {
+                    start.await();
+
+                    Symbol[] symbols = new Symbol[100];
+                    for (int i = 0; i < symbols.length; ++i) {
+                        String value = "symbol-" + i;
+                        symbols[i] = cache.lookup(bufferOf(value), 0, value.length(), true);
+                    }
+
+                    return symbols;
+                }));
+            }
+
+            start.countDown();
+
+            Symbol[] expected = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<Symbol[]> result : results) {
+                Symbol[] actual = result.get(10, TimeUnit.SECONDS);
+                for (int i = 0; i < expected.length; ++i) {
+                    assertSame(expected[i], actual[i]);
+                }
+            }
+
+            assertEquals(100, cache.size());
+            assertEquals(100, cache.getMissCount());
+            assertEquals(300, cache.getHitCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ProtonBuffer bufferOf(String value) {
+        return ProtonBufferAllocator.defaultAllocator().copy(value.getBytes(StandardCharsets.US_ASCII));
+    }
+}
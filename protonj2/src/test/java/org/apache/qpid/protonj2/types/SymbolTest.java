@@ -213,6 +213,18 @@ public class SymbolTest {
         assertSame(symbol1.toString(), symbol2.toString());
     }
 
+    @Test
+    public void testGetSymbolFromBufferRegion() {
+        Symbol symbol = Symbol.valueOf("region-symbol");
+
+        ProtonBuffer buffer = ProtonBufferAllocator.defaultAllocator().copy("--region-symbol--".getBytes(StandardCharsets.US_ASCII));
+
+        assertSame(symbol, Symbol.getSymbol(buffer, 2, 13));
+        assertEquals(0, buffer.getReadOffset());
+        assertSame(Symbol.valueOf(""), Symbol.getSymbol(buffer, 2, 0));
+        assertNull(Symbol.getSymbol(null, 0, 0));
+    }
+
     @Test
     public void testLargeSymbolNotCached() {
         Symbol symbol1 = Symbol.valueOf(LARGE_SYMBOL_VALUE);